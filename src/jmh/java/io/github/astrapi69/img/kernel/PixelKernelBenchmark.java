@@ -0,0 +1,195 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img.kernel;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.github.astrapi69.color.ColorExtensions;
+import io.github.astrapi69.img.PixelView;
+
+/**
+ * The benchmark class for the class {@link PixelKernel}. It compares the default kernel, the scalar
+ * kernel and a per-pixel loop over {@link BufferedImage#getRGB(int, int)} and
+ * {@link BufferedImage#setRGB(int, int, int)} for the same operation
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PixelKernelBenchmark
+{
+
+	/** The width and height of the square image */
+	@Param({ "256", "1024" })
+	int size;
+
+	/** The source image */
+	BufferedImage source;
+
+	/** The destination image */
+	BufferedImage target;
+
+	/** The pixels of the source image */
+	int[] src;
+
+	/** The pixels of the destination image */
+	int[] dst;
+
+	/**
+	 * Creates the images with random pixels
+	 */
+	@Setup
+	public void setUp()
+	{
+		source = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+		target = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+		src = ((DataBufferInt)source.getRaster().getDataBuffer()).getData();
+		dst = ((DataBufferInt)target.getRaster().getDataBuffer()).getData();
+		final SplittableRandom random = new SplittableRandom(42);
+		for (int i = 0; i < src.length; i++)
+		{
+			src[i] = random.nextInt();
+		}
+	}
+
+	/**
+	 * Converts the image to gray pixel by pixel with getRGB and setRGB
+	 *
+	 * @return the destination image
+	 */
+	@Benchmark
+	public BufferedImage grayscaleGetRgb()
+	{
+		for (int y = 0; y < size; y++)
+		{
+			for (int x = 0; x < size; x++)
+			{
+				target.setRGB(x, y, ColorExtensions.toGray(source.getRGB(x, y)));
+			}
+		}
+		return target;
+	}
+
+	/**
+	 * Converts the image to gray with the scalar kernel
+	 *
+	 * @return the destination pixels
+	 */
+	@Benchmark
+	public int[] grayscaleScalar()
+	{
+		PixelKernel.scalar().grayscale(src, 0, dst, 0, src.length);
+		return dst;
+	}
+
+	/**
+	 * Converts the image to gray with the default kernel
+	 *
+	 * @return the destination pixels
+	 */
+	@Benchmark
+	public int[] grayscaleDefault()
+	{
+		PixelKernel.getDefault().grayscale(src, 0, dst, 0, src.length);
+		return dst;
+	}
+
+	/**
+	 * Premultiplies the image pixel by pixel with getRGB and setRGB
+	 *
+	 * @return the destination image
+	 */
+	@Benchmark
+	public BufferedImage premultiplyGetRgb()
+	{
+		for (int y = 0; y < size; y++)
+		{
+			for (int x = 0; x < size; x++)
+			{
+				target.setRGB(x, y, PixelView.premultiply(source.getRGB(x, y)));
+			}
+		}
+		return target;
+	}
+
+	/**
+	 * Premultiplies the image with the scalar kernel
+	 *
+	 * @return the destination pixels
+	 */
+	@Benchmark
+	public int[] premultiplyScalar()
+	{
+		PixelKernel.scalar().premultiply(src, 0, dst, 0, src.length);
+		return dst;
+	}
+
+	/**
+	 * Premultiplies the image with the default kernel
+	 *
+	 * @return the destination pixels
+	 */
+	@Benchmark
+	public int[] premultiplyDefault()
+	{
+		PixelKernel.getDefault().premultiply(src, 0, dst, 0, src.length);
+		return dst;
+	}
+
+	/**
+	 * Tints the image with the default kernel
+	 *
+	 * @return the destination pixels
+	 */
+	@Benchmark
+	public int[] tintDefault()
+	{
+		PixelKernel.getDefault().tint(src, 0, dst, 0, src.length, 0x3366CC, 0.6f);
+		return dst;
+	}
+
+	/**
+	 * Tints the image with the scalar kernel
+	 *
+	 * @return the destination pixels
+	 */
+	@Benchmark
+	public int[] tintScalar()
+	{
+		PixelKernel.scalar().tint(src, 0, dst, 0, src.length, 0x3366CC, 0.6f);
+		return dst;
+	}
+}
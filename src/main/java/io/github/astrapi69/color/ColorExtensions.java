@@ -117,4 +117,93 @@ public class ColorExtensions
 		return HsbModel.builder().hue(hsb[0]).saturation(hsb[1]).brightness(hsb[2]).build();
 	}
 
+	/**
+	 * Converts the given packed ARGB value to a gray value with the luma weights of ITU-R BT.601
+	 * and keeps the alpha channel
+	 *
+	 * @param argb
+	 *            the packed ARGB value
+	 * @return the packed ARGB value of the gray color
+	 */
+	public static int toGray(final int argb)
+	{
+		int gray = (((argb >> 16) & 0xFF) * 77 + ((argb >> 8) & 0xFF) * 150 + (argb & 0xFF) * 29
+			+ 128) >> 8;
+		return (argb & 0xFF000000) | (gray << 16) | (gray << 8) | gray;
+	}
+
+	/**
+	 * Moves the color channels of the given packed ARGB value towards white and keeps the alpha
+	 * channel
+	 *
+	 * @param argb
+	 *            the packed ARGB value
+	 * @param amount
+	 *            the amount between 0 for the unchanged color and 1 for white
+	 * @return the packed ARGB value of the lightened color
+	 */
+	public static int lighten(final int argb, final float amount)
+	{
+		int red = (argb >> 16) & 0xFF;
+		int green = (argb >> 8) & 0xFF;
+		int blue = argb & 0xFF;
+		red += Math.round((255 - red) * amount);
+		green += Math.round((255 - green) * amount);
+		blue += Math.round((255 - blue) * amount);
+		return (argb & 0xFF000000) | (red << 16) | (green << 8) | blue;
+	}
+
+	/**
+	 * Shifts the HSB brightness of the given packed ARGB value by the given delta and keeps the
+	 * alpha channel
+	 *
+	 * @param argb
+	 *            the packed ARGB value
+	 * @param delta
+	 *            the delta between -1 and 1 that is added to the brightness
+	 * @param hsb
+	 *            an array of at least three elements for the HSB values or null. Callers that
+	 *            convert many pixels reuse one array
+	 * @return the packed ARGB value of the shifted color
+	 */
+	public static int shiftBrightness(final int argb, final float delta, final float[] hsb)
+	{
+		float[] values = Color.RGBtoHSB((argb >> 16) & 0xFF, (argb >> 8) & 0xFF, argb & 0xFF, hsb);
+		float brightness = Math.min(1f, Math.max(0f, values[2] + delta));
+		return (argb & 0xFF000000)
+			| (Color.HSBtoRGB(values[0], values[1], brightness) & 0x00FFFFFF);
+	}
+
+	/**
+	 * Tints the given packed ARGB value with the given hue and saturation. The brightness and the
+	 * alpha channel of the pixel are kept and the tinted color is mixed with the original color by
+	 * the given amount
+	 *
+	 * @param argb
+	 *            the packed ARGB value
+	 * @param hue
+	 *            the HSB hue of the tint
+	 * @param saturation
+	 *            the HSB saturation of the tint
+	 * @param amount
+	 *            the amount between 0 for the unchanged color and 1 for the full tint
+	 * @param hsb
+	 *            an array of at least three elements for the HSB values or null. Callers that
+	 *            convert many pixels reuse one array
+	 * @return the packed ARGB value of the tinted color
+	 */
+	public static int tint(final int argb, final float hue, final float saturation,
+		final float amount, final float[] hsb)
+	{
+		int red = (argb >> 16) & 0xFF;
+		int green = (argb >> 8) & 0xFF;
+		int blue = argb & 0xFF;
+		float[] values = Color.RGBtoHSB(red, green, blue, hsb);
+		int tinted = Color.HSBtoRGB(hue, saturation, values[2]);
+		red += Math.round((((tinted >> 16) & 0xFF) - red) * amount);
+		green += Math.round((((tinted >> 8) & 0xFF) - green) * amount);
+		blue += Math.round(((tinted & 0xFF) - blue) * amount);
+		return (argb & 0xFF000000) | (red << 16) | (green << 8) | blue;
+	}
+
 }
@@ -0,0 +1,180 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.icon;
+
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import javax.swing.Icon;
+
+import io.github.astrapi69.icon.model.IconLayer;
+import io.github.astrapi69.img.BlendMode;
+import io.github.astrapi69.img.ImageCompositor;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+
+/**
+ * The class {@link CompositeIcon} is an icon that composites layers over a base icon, for instance
+ * badges, status markers or selection highlights. The layers are flattened with the
+ * {@link ImageCompositor} on the first paint into one image of the type
+ * {@link BufferedImage#TYPE_INT_ARGB_PRE}, that is cached and painted with a single draw call until
+ * the icon is invalidated
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CompositeIcon implements Icon
+{
+
+	/** The base icon that defines the size of this icon */
+	Icon base;
+
+	/** The layers over the base icon from the bottom to the top */
+	List<IconLayer> layers;
+
+	/** The cached flattened image or null if it is not computed yet */
+	@Getter(AccessLevel.NONE)
+	@NonFinal
+	volatile BufferedImage image;
+
+	/**
+	 * Instantiates a new {@link CompositeIcon} object
+	 *
+	 * @param base
+	 *            the base icon that defines the size of this icon
+	 * @param layers
+	 *            the layers over the base icon from the bottom to the top
+	 */
+	public CompositeIcon(@NonNull final Icon base, @NonNull final List<IconLayer> layers)
+	{
+		if (base.getIconWidth() <= 0 || base.getIconHeight() <= 0)
+		{
+			throw new IllegalArgumentException("The base icon has no size");
+		}
+		this.base = base;
+		this.layers = List.copyOf(layers);
+	}
+
+	/**
+	 * Instantiates a new {@link CompositeIcon} object
+	 *
+	 * @param base
+	 *            the base icon that defines the size of this icon
+	 * @param layers
+	 *            the layers over the base icon from the bottom to the top
+	 */
+	public CompositeIcon(@NonNull final Icon base, final IconLayer... layers)
+	{
+		this(base, List.of(layers));
+	}
+
+	/**
+	 * Factory method for create a new {@link CompositeIcon} object with the given badge in the
+	 * bottom right corner of the given base icon
+	 *
+	 * @param base
+	 *            the base icon
+	 * @param badge
+	 *            the badge icon
+	 * @return the new {@link CompositeIcon} object
+	 */
+	public static CompositeIcon newBadgedIcon(@NonNull final Icon base, @NonNull final Icon badge)
+	{
+		return new CompositeIcon(base,
+			IconLayer.builder().icon(badge).x(base.getIconWidth() - badge.getIconWidth())
+				.y(base.getIconHeight() - badge.getIconHeight()).build());
+	}
+
+	/**
+	 * Gets the flattened image of the base icon and all layers. The image is computed on the first
+	 * call and cached until this icon is invalidated
+	 *
+	 * @return the flattened image of the type {@link BufferedImage#TYPE_INT_ARGB_PRE}
+	 */
+	public BufferedImage getImage()
+	{
+		BufferedImage flattened = image;
+		if (flattened == null)
+		{
+			synchronized (this)
+			{
+				flattened = image;
+				if (flattened == null)
+				{
+					flattened = flatten();
+					image = flattened;
+				}
+			}
+		}
+		return flattened;
+	}
+
+	/**
+	 * Removes the cached flattened image, so the next paint flattens the layers again. This is only
+	 * needed if the base icon or an icon of a layer has changed
+	 */
+	public void invalidate()
+	{
+		image = null;
+	}
+
+	@Override
+	public void paintIcon(final Component component, final Graphics graphics, final int x,
+		final int y)
+	{
+		graphics.drawImage(getImage(), x, y, null);
+	}
+
+	@Override
+	public int getIconWidth()
+	{
+		return base.getIconWidth();
+	}
+
+	@Override
+	public int getIconHeight()
+	{
+		return base.getIconHeight();
+	}
+
+	private BufferedImage flatten()
+	{
+		final BufferedImage target = new BufferedImage(getIconWidth(), getIconHeight(),
+			BufferedImage.TYPE_INT_ARGB_PRE);
+		ImageCompositor.composite(BlendMode.SRC, IconExtensions.toBufferedImage(base), target, 0,
+			0);
+		for (final IconLayer layer : layers)
+		{
+			ImageCompositor.composite(layer.getMode(),
+				IconExtensions.toBufferedImage(layer.getIcon()), target, layer.getX(), layer.getY(),
+				layer.getOpacity());
+		}
+		return target;
+	}
+}
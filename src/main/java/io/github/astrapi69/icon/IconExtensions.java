@@ -25,10 +25,8 @@
 package io.github.astrapi69.icon;
 
 import java.awt.Graphics2D;
-import java.awt.GraphicsConfiguration;
-import java.awt.GraphicsDevice;
-import java.awt.GraphicsEnvironment;
 import java.awt.Image;
+import java.awt.Transparency;
 import java.awt.Window;
 import java.awt.image.BufferedImage;
 import java.io.File;
@@ -39,6 +37,7 @@ import javax.imageio.ImageIO;
 import javax.swing.Icon;
 import javax.swing.ImageIcon;
 
+import io.github.astrapi69.img.ImageConverter;
 import io.github.astrapi69.img.ImageExtensions;
 import io.github.astrapi69.lang.ClassExtensions;
 
@@ -97,7 +96,9 @@ public class IconExtensions
 	}
 
 	/**
-	 * Converts the given {@link Icon} object to a {@link BufferedImage} object
+	 * Converts the given {@link Icon} object to a {@link BufferedImage} object. Icons that are not
+	 * an {@link ImageIcon} are painted into a translucent image created by the
+	 * {@link ImageConverter}, that works also in a headless environment
 	 *
 	 * @param icon
 	 *            the icon to convert
@@ -108,13 +109,10 @@ public class IconExtensions
 		if (icon instanceof ImageIcon)
 		{
 			Image image = ((ImageIcon)icon).getImage();
-			return ImageExtensions.toBufferedImage(image);
+			return ImageConverter.toBufferedImage(image);
 		}
-		GraphicsEnvironment graphicsEnvironment = GraphicsEnvironment.getLocalGraphicsEnvironment();
-		GraphicsDevice graphicsDevice = graphicsEnvironment.getDefaultScreenDevice();
-		GraphicsConfiguration graphicsConfiguration = graphicsDevice.getDefaultConfiguration();
-		BufferedImage bufferedImage = graphicsConfiguration
-			.createCompatibleImage(icon.getIconWidth(), icon.getIconHeight());
+		BufferedImage bufferedImage = ImageConverter.createCompatibleImage(icon.getIconWidth(),
+			icon.getIconHeight(), Transparency.TRANSLUCENT);
 		Graphics2D graphics2D = bufferedImage.createGraphics();
 		icon.paintIcon(null, graphics2D, 0, 0);
 		graphics2D.dispose();
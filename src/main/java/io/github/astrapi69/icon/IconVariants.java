@@ -0,0 +1,172 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.icon;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+
+import io.github.astrapi69.color.ColorExtensions;
+import io.github.astrapi69.icon.model.IconVariant;
+import io.github.astrapi69.img.PixelView;
+import io.github.astrapi69.img.kernel.PixelKernel;
+
+/**
+ * The class {@link IconVariants} derives grayscale, disabled, tinted and brightness shifted icons
+ * from a source icon. Every variant is computed in a single pass over the rows of the raster and
+ * cached by the source icon and the variant. The source icons are held weakly, so the derived icons
+ * are released together with their source
+ */
+public class IconVariants
+{
+
+	/** The derived icons by the source icon and the variant */
+	private static final Map<Icon, Map<IconVariant, ImageIcon>> CACHE = Collections
+		.synchronizedMap(new WeakHashMap<>());
+
+	/**
+	 * Derives the given variant from the given icon. The first call computes the variant and every
+	 * further call with the same icon and an equal variant returns the cached icon
+	 *
+	 * @param icon
+	 *            the source icon
+	 * @param variant
+	 *            the variant to derive
+	 * @return the derived {@link ImageIcon} object
+	 */
+	public static ImageIcon derive(final Icon icon, final IconVariant variant)
+	{
+		Objects.requireNonNull(icon, "icon");
+		Objects.requireNonNull(variant, "variant");
+		Map<IconVariant, ImageIcon> variants = CACHE.computeIfAbsent(icon,
+			key -> new ConcurrentHashMap<>());
+		return variants.computeIfAbsent(variant, key -> newIcon(icon, key));
+	}
+
+	/**
+	 * Applies the given variant to the given image. The result is not cached
+	 *
+	 * @param image
+	 *            the source image
+	 * @param variant
+	 *            the variant to apply
+	 * @return the new {@link BufferedImage} object of the type {@link BufferedImage#TYPE_INT_ARGB}
+	 */
+	public static BufferedImage apply(final BufferedImage image, final IconVariant variant)
+	{
+		Objects.requireNonNull(image, "image");
+		Objects.requireNonNull(variant, "variant");
+		int width = image.getWidth();
+		int height = image.getHeight();
+		BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		PixelView source = PixelView.of(image);
+		PixelView destination = PixelView.of(target);
+		float[] tint = tintOf(variant);
+		float[] hsb = new float[3];
+		int[] row = new int[width];
+		for (int y = 0; y < height; y++)
+		{
+			source.getRow(y, row, 0);
+			if (variant.getType() == IconVariantType.GRAYSCALE)
+			{
+				PixelKernel.getDefault().grayscale(row, 0, row, 0, width);
+			}
+			else
+			{
+				for (int x = 0; x < width; x++)
+				{
+					row[x] = apply(row[x], variant, tint, hsb);
+				}
+			}
+			destination.setRow(y, row, 0);
+		}
+		return target;
+	}
+
+	/**
+	 * Removes all derived icons from the cache
+	 */
+	public static void clearCache()
+	{
+		CACHE.clear();
+	}
+
+	/**
+	 * Gets the count of source icons in the cache
+	 *
+	 * @return the count of source icons in the cache
+	 */
+	static int getCacheSize()
+	{
+		return CACHE.size();
+	}
+
+	private static ImageIcon newIcon(final Icon icon, final IconVariant variant)
+	{
+		ImageIcon derived = new ImageIcon(apply(IconExtensions.toBufferedImage(icon), variant));
+		if (icon instanceof ImageIcon)
+		{
+			derived.setDescription(((ImageIcon)icon).getDescription());
+		}
+		return derived;
+	}
+
+	private static float[] tintOf(final IconVariant variant)
+	{
+		Color color = variant.getColor();
+		if (color == null)
+		{
+			return null;
+		}
+		return Color.RGBtoHSB(color.getRed(), color.getGreen(), color.getBlue(), null);
+	}
+
+	private static int apply(final int argb, final IconVariant variant, final float[] tint,
+		final float[] hsb)
+	{
+		switch (variant.getType())
+		{
+			case GRAYSCALE :
+				return ColorExtensions.toGray(argb);
+			case DISABLED :
+				return ColorExtensions.lighten(ColorExtensions.toGray(argb), variant.getAmount());
+			case TINTED :
+				return tint == null
+					? argb
+					: ColorExtensions.tint(argb, tint[0], tint[1], variant.getAmount(), hsb);
+			case BRIGHTNESS :
+				return ColorExtensions.shiftBrightness(argb, variant.getAmount(), hsb);
+			default :
+				return argb;
+		}
+	}
+}
@@ -24,7 +24,6 @@
  */
 package io.github.astrapi69.icon;
 
-import java.awt.Image;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.net.URL;
@@ -32,6 +31,7 @@ import java.net.URL;
 import javax.imageio.ImageIO;
 import javax.swing.ImageIcon;
 
+import io.github.astrapi69.img.ImageResampler;
 import io.github.astrapi69.lang.ClassExtensions;
 import io.github.astrapi69.throwable.RuntimeExceptionDecorator;
 
@@ -195,8 +195,7 @@ public class ImageIconFactory
 		{
 			final BufferedImage bufferedImage = RuntimeExceptionDecorator
 				.decorate(() -> ImageIO.read(ClassExtensions.getResourceAsStream(imagePath)));
-			return new ImageIcon(
-				bufferedImage.getScaledInstance(newWidth, newHeight, Image.SCALE_DEFAULT));
+			return new ImageIcon(ImageResampler.resize(bufferedImage, newWidth, newHeight));
 		}
 		return description == null
 			? new ImageIcon(imagePath)
@@ -256,4 +255,19 @@ public class ImageIconFactory
 	{
 		return newImageIcon(relativeImagePath, true, description);
 	}
+
+	/**
+	 * Factory method for create a new {@link ImageIcon} for HiDPI displays from the given relative
+	 * image path and its scaled resources like 'icons/save@2x.png'. Missing scale variants are
+	 * computed on demand and memoized by the {@link MultiResolutionImageFactory}
+	 *
+	 * @param relativeImagePath
+	 *            the relative image path of the image with the scale factor 1
+	 * @return the new {@link ImageIcon}
+	 */
+	public static ImageIcon newMultiResolutionImageIcon(String relativeImagePath)
+	{
+		return RuntimeExceptionDecorator
+			.decorate(() -> MultiResolutionImageFactory.newImageIcon(relativeImagePath));
+	}
 }
@@ -24,24 +24,183 @@
  */
 package io.github.astrapi69.icon;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import javax.swing.ImageIcon;
 
+import io.github.astrapi69.icon.cache.IconCache;
+import io.github.astrapi69.icon.model.IconCacheOptions;
+import io.github.astrapi69.icon.model.PreloadOptions;
+
 /**
  * The {@link ImageIconPreloader} class is responsible for preloading and caching tray icons This
  * ensures that icons are ready to be displayed as soon as the system tray is initialized, reducing
- * delays during application startup
+ * delays during application startup. The icons are held in a bounded {@link IconCache}, that can be
+ * configured with {@link #configureCache(IconCacheOptions)}. Every icon is loaded only once at a
+ * time, concurrent requests for an icon that is still loading join the running load. The icons are
+ * loaded asynchronously on a dedicated executor, that is configured with
+ * {@link #configureExecutor(PreloadOptions)}. Icons that are preloaded with a
+ * {@link PreloadPriority} are queued in a {@link PreloadScheduler} and loaded from the highest
+ * priority to the lowest
  */
 public class ImageIconPreloader
 {
 
 	/**
-	 * A concurrent map to cache preloaded icons with their paths as keys
+	 * A bounded cache of the preloaded icons with their paths as keys
+	 */
+	private static volatile IconCache iconCache = new IconCache();
+
+	/**
+	 * The running loads with the paths of the icons as keys
+	 */
+	private static final ConcurrentMap<String, Load> loads = new ConcurrentHashMap<>();
+
+	/**
+	 * The executor that loads the icons asynchronously
+	 */
+	private static volatile Executor executor = newExecutor(PreloadOptions.DEFAULT);
+
+	/**
+	 * The flag if the executor was created by this class and has to be shut down if it is replaced
+	 */
+	private static boolean ownsExecutor = true;
+
+	/**
+	 * The scheduler that preloads icons in the order of their priority
+	 */
+	private static final PreloadScheduler scheduler = new PreloadScheduler();
+
+	/**
+	 * Replaces the icon cache with a new and empty cache with the given options
+	 *
+	 * @param options
+	 *            the options of the new cache
+	 */
+	public static void configureCache(IconCacheOptions options)
+	{
+		iconCache = new IconCache(Objects.requireNonNull(options, "options"));
+	}
+
+	/**
+	 * Gets the icon cache
+	 *
+	 * @return the icon cache
+	 */
+	public static IconCache getIconCache()
+	{
+		return iconCache;
+	}
+
+	/**
+	 * Replaces the executor that loads the icons asynchronously with a new executor with the given
+	 * options. A replaced executor that was created by this class finishes its queued loads and is
+	 * shut down
+	 *
+	 * @param options
+	 *            the options of the new executor
 	 */
-	private static final ConcurrentMap<String, ImageIcon> iconCache = new ConcurrentHashMap<>();
+	public static synchronized void configureExecutor(PreloadOptions options)
+	{
+		replaceExecutor(newExecutor(Objects.requireNonNull(options, "options")), true);
+	}
+
+	/**
+	 * Replaces the executor that loads the icons asynchronously with the given executor. The
+	 * lifecycle of the given executor stays with the caller
+	 *
+	 * @param executor
+	 *            the new executor
+	 */
+	public static synchronized void configureExecutor(Executor executor)
+	{
+		replaceExecutor(Objects.requireNonNull(executor, "executor"), false);
+	}
+
+	/**
+	 * Gets the executor that loads the icons asynchronously
+	 *
+	 * @return the executor
+	 */
+	public static Executor getExecutor()
+	{
+		return executor;
+	}
+
+	/**
+	 * Factory method for create a new executor from the given options
+	 *
+	 * @param options
+	 *            the options of the executor
+	 * @return the new executor
+	 */
+	static Executor newExecutor(PreloadOptions options)
+	{
+		int parallelism = options.getParallelism();
+		if (parallelism < 1)
+		{
+			throw new IllegalArgumentException(
+				"Given parallelism must be greater than zero: " + parallelism);
+		}
+		switch (options.getExecutorType())
+		{
+			case VIRTUAL_THREADS :
+				ThreadFactory virtualThreads = Thread.ofVirtual().name("icon-preloader-", 0)
+					.factory();
+				Semaphore permits = new Semaphore(parallelism);
+				return task -> virtualThreads.newThread(() -> {
+					permits.acquireUninterruptibly();
+					try
+					{
+						task.run();
+					}
+					finally
+					{
+						permits.release();
+					}
+				}).start();
+			case BOUNDED_PLATFORM_POOL :
+				ThreadPoolExecutor pool = new ThreadPoolExecutor(parallelism, parallelism, 30,
+					TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+					Thread.ofPlatform().daemon().name("icon-preloader-", 0).factory());
+				pool.allowCoreThreadTimeOut(true);
+				return pool;
+			default :
+				return ForkJoinPool.commonPool();
+		}
+	}
+
+	private static void replaceExecutor(Executor newExecutor, boolean owned)
+	{
+		Executor previous = executor;
+		executor = newExecutor;
+		if (ownsExecutor && previous instanceof ExecutorService executorService
+			&& previous != ForkJoinPool.commonPool())
+		{
+			executorService.shutdown();
+		}
+		ownsExecutor = owned;
+	}
 
 	/**
 	 * Preloads a single icon asynchronously and adds it to the icon cache
@@ -51,9 +210,7 @@ public class ImageIconPreloader
 	 */
 	public static void preloadIcon(String iconPath)
 	{
-		CompletableFuture.runAsync(() -> {
-			loadIcon(iconPath);
-		});
+		request(iconPath, executor);
 	}
 
 	/**
@@ -64,13 +221,13 @@ public class ImageIconPreloader
 	 */
 	public static void loadIcon(String iconPath)
 	{
-		ImageIcon imageIcon = ImageIconFactory.newImageIcon(iconPath);
-		iconCache.put(iconPath, imageIcon);
+		await(load(iconPath, () -> ImageIconFactory.newImageIcon(iconPath), Runnable::run));
 	}
 
 
 	/**
-	 * Loads a single icon and adds it to the icon cache
+	 * Loads a single icon and adds it to the icon cache. If this call joins a running load the
+	 * given description is set on the loaded icon if it has no description yet
 	 *
 	 * @param iconPath
 	 *            the path to the icon to be loaded
@@ -79,12 +236,14 @@ public class ImageIconPreloader
 	 */
 	public static void loadIcon(String iconPath, String description)
 	{
-		ImageIcon imageIcon = ImageIconFactory.newImageIcon(iconPath, description);
-		iconCache.put(iconPath, imageIcon);
+		describe(await(load(iconPath, () -> ImageIconFactory.newImageIcon(iconPath, description),
+			Runnable::run)), description);
 	}
 
 	/**
-	 * Preloads a single icon asynchronously and adds it to the icon cache
+	 * Preloads a single icon asynchronously and adds it to the icon cache. If the icon is already
+	 * cached or loading the given description is set on the icon if it has no description yet,
+	 * otherwise the first description wins
 	 *
 	 * @param iconPath
 	 *            the path to the icon to be preloaded
@@ -93,9 +252,14 @@ public class ImageIconPreloader
 	 */
 	public static void preloadIcon(String iconPath, String description)
 	{
-		CompletableFuture.runAsync(() -> {
-			loadIcon(iconPath, description);
-		});
+		ImageIcon imageIcon = iconCache.get(iconPath);
+		if (imageIcon != null)
+		{
+			describe(imageIcon, description);
+			return;
+		}
+		load(iconPath, () -> ImageIconFactory.newImageIcon(iconPath, description), executor)
+			.thenAccept(loaded -> describe(loaded, description));
 	}
 
 	/**
@@ -111,19 +275,113 @@ public class ImageIconPreloader
 	}
 
 	/**
-	 * Preloads multiple icons asynchronously and adds them to the icon cache
+	 * Retrieves the icon of the given path from the cache or loads it asynchronously if it is not
+	 * cached. If the icon is already loading the returned future completes with the running load, a
+	 * load that is queued by a {@link PreloadScheduler} is promoted to
+	 * {@link PreloadPriority#VISIBLE_NOW}
 	 *
-	 * @param iconPaths
-	 *            the paths to the icons to be preloaded
+	 * @param iconPath
+	 *            the path to the icon to be retrieved
+	 * @return a future that completes with the {@link ImageIcon} or exceptionally if the icon could
+	 *         not be loaded
 	 */
-	public static void preloadIcons(String... iconPaths)
+	public static CompletableFuture<ImageIcon> getIconAsync(String iconPath)
 	{
-		for (String iconPath : iconPaths)
+		Load load = request(iconPath, executor);
+		load.expedite();
+		return load.copy();
+	}
+
+	/**
+	 * Retrieves the icon of the given path from the cache or waits at most the given timeout for
+	 * the icon to be loaded. The load is started if it is not running yet and promoted to
+	 * {@link PreloadPriority#VISIBLE_NOW} if it is queued by a {@link PreloadScheduler}
+	 *
+	 * @param iconPath
+	 *            the path to the icon to be retrieved
+	 * @param timeout
+	 *            the maximum time to wait
+	 * @return the {@link ImageIcon} or null if the icon could not be loaded within the given
+	 *         timeout
+	 */
+	public static ImageIcon getIcon(String iconPath, Duration timeout)
+	{
+		ImageIcon imageIcon = iconCache.get(iconPath);
+		if (imageIcon != null)
+		{
+			return imageIcon;
+		}
+		try
+		{
+			return getIconAsync(iconPath).get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			return null;
+		}
+		catch (ExecutionException | TimeoutException e)
 		{
-			preloadIcon(iconPath);
+			return null;
 		}
 	}
 
+	/**
+	 * Preloads multiple icons asynchronously and adds them to the icon cache. The returned
+	 * {@link PreloadBatch} tracks the progress of the loads and can wait for or cancel them
+	 *
+	 * @param iconPaths
+	 *            the paths to the icons to be preloaded
+	 * @return the batch of the loads in the order of the given paths without duplicates
+	 */
+	public static PreloadBatch preloadIcons(String... iconPaths)
+	{
+		Executor current = executor;
+		return newBatch(iconPaths, iconPath -> request(iconPath, current));
+	}
+
+	/**
+	 * Preloads a single icon asynchronously with the given priority through the
+	 * {@link PreloadScheduler} and adds it to the icon cache
+	 *
+	 * @param iconPath
+	 *            the path to the icon to be preloaded
+	 * @param priority
+	 *            the priority of the icon
+	 * @return a future that completes with the {@link ImageIcon} or exceptionally if the icon could
+	 *         not be loaded or the load was cancelled
+	 */
+	public static CompletableFuture<ImageIcon> preloadIcon(String iconPath,
+		PreloadPriority priority)
+	{
+		return scheduler.schedule(iconPath, priority);
+	}
+
+	/**
+	 * Preloads multiple icons asynchronously with the given priority through the
+	 * {@link PreloadScheduler} and adds them to the icon cache
+	 *
+	 * @param priority
+	 *            the priority of the icons
+	 * @param iconPaths
+	 *            the paths to the icons to be preloaded
+	 * @return the batch of the loads in the order of the given paths without duplicates
+	 */
+	public static PreloadBatch preloadIcons(PreloadPriority priority, String... iconPaths)
+	{
+		return newBatch(iconPaths, iconPath -> scheduler.request(iconPath, priority));
+	}
+
+	/**
+	 * Gets the scheduler that preloads icons in the order of their priority
+	 *
+	 * @return the scheduler
+	 */
+	public static PreloadScheduler getScheduler()
+	{
+		return scheduler;
+	}
+
 	/**
 	 * Loads multiple icons and adds them to the icon cache
 	 *
@@ -137,4 +395,251 @@ public class ImageIconPreloader
 			loadIcon(iconPath);
 		}
 	}
+
+	private static PreloadBatch newBatch(String[] iconPaths, Function<String, Load> requester)
+	{
+		Map<String, Load> batch = new LinkedHashMap<>();
+		for (String iconPath : iconPaths)
+		{
+			if (!batch.containsKey(iconPath))
+			{
+				batch.put(iconPath, requester.apply(iconPath));
+			}
+		}
+		return new PreloadBatch(batch);
+	}
+
+	/**
+	 * Retrieves the icon of the given path from the cache or starts a load on the given executor or
+	 * joins the running load. The caller holds a demand for the returned load
+	 *
+	 * @param iconPath
+	 *            the path to the icon
+	 * @param executor
+	 *            the executor that runs a new load
+	 * @return the load of the icon, that is already completed if the icon is cached
+	 */
+	static Load request(String iconPath, Executor executor)
+	{
+		ImageIcon imageIcon = iconCache.get(iconPath);
+		if (imageIcon != null)
+		{
+			Load load = new Load();
+			load.complete(imageIcon);
+			return load;
+		}
+		return load(iconPath, () -> ImageIconFactory.newImageIcon(iconPath), executor);
+	}
+
+	/**
+	 * Starts a load of the icon of the given path on the given executor or joins the running load
+	 * of the same path. The caller holds a demand for the returned load
+	 *
+	 * @param iconPath
+	 *            the path to the icon to be loaded
+	 * @param loader
+	 *            the supplier that loads the icon
+	 * @param executor
+	 *            the executor that runs the loader
+	 * @return the load that completes after the icon is added to the icon cache
+	 */
+	static Load load(String iconPath, Supplier<ImageIcon> loader, Executor executor)
+	{
+		Load future = new Load();
+		Load running;
+		while ((running = loads.putIfAbsent(iconPath, future)) != null)
+		{
+			if (running.retain())
+			{
+				return running;
+			}
+			loads.remove(iconPath, running);
+		}
+		try
+		{
+			executor.execute(() -> {
+				if (abandon(iconPath, future))
+				{
+					return;
+				}
+				try
+				{
+					ImageIcon imageIcon = loader.get();
+					iconCache.put(iconPath, imageIcon);
+					loads.remove(iconPath, future);
+					future.complete(imageIcon);
+				}
+				catch (RuntimeException | Error e)
+				{
+					loads.remove(iconPath, future);
+					future.completeExceptionally(e);
+				}
+			});
+		}
+		catch (RuntimeException e)
+		{
+			loads.remove(iconPath, future);
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	/**
+	 * Abandons and cancels the given load of the icon of the given path if no request waits for it
+	 *
+	 * @param iconPath
+	 *            the path to the icon
+	 * @param load
+	 *            the load to abandon
+	 * @return true if the load was abandoned otherwise false
+	 */
+	static boolean abandon(String iconPath, Load load)
+	{
+		if (load.abandon())
+		{
+			discard(iconPath, load);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Removes and cancels the given abandoned load of the icon of the given path. The callers that
+	 * wait for the load are notified on the calling thread, so this must not be called while a lock
+	 * is held
+	 *
+	 * @param iconPath
+	 *            the path to the icon
+	 * @param load
+	 *            the abandoned load
+	 */
+	static void discard(String iconPath, Load load)
+	{
+		loads.remove(iconPath, load);
+		load.cancel(false);
+	}
+
+	/**
+	 * Completes the given load of the icon of the given path exceptionally with the given error
+	 * because it could not be started
+	 *
+	 * @param iconPath
+	 *            the path to the icon
+	 * @param load
+	 *            the load that failed
+	 * @param error
+	 *            the error that prevented the load
+	 */
+	static void fail(String iconPath, Load load, Throwable error)
+	{
+		loads.remove(iconPath, load);
+		load.completeExceptionally(error);
+	}
+
+	private static void describe(ImageIcon imageIcon, String description)
+	{
+		if (description != null && imageIcon.getDescription() == null)
+		{
+			imageIcon.setDescription(description);
+		}
+	}
+
+	private static ImageIcon await(Load load)
+	{
+		load.expedite();
+		try
+		{
+			return load.join();
+		}
+		catch (CompletionException e)
+		{
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException runtimeException)
+			{
+				throw runtimeException;
+			}
+			if (cause instanceof Error error)
+			{
+				throw error;
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * The class {@link Load} is the shared future of a running load of an icon, that counts the
+	 * requests that still wait for it. A load whose requests are all released before it starts is
+	 * abandoned and cancelled
+	 */
+	static final class Load extends CompletableFuture<ImageIcon>
+	{
+
+		/** The count of requests that wait for this load or -1 if this load is abandoned */
+		private final AtomicInteger demand = new AtomicInteger(1);
+
+		/** The action that promotes this load if it is queued by a {@link PreloadScheduler} */
+		private volatile Runnable expediter;
+
+		/**
+		 * Adds a request to this load
+		 *
+		 * @return true if the request was added or false if this load is abandoned
+		 */
+		boolean retain()
+		{
+			int current;
+			do
+			{
+				current = demand.get();
+				if (current < 0)
+				{
+					return false;
+				}
+			}
+			while (!demand.compareAndSet(current, current + 1));
+			return true;
+		}
+
+		/**
+		 * Removes a request from this load
+		 */
+		void release()
+		{
+			demand.updateAndGet(current -> current > 0 ? current - 1 : current);
+		}
+
+		/**
+		 * Sets the action that moves this load to the front of the queue it waits in
+		 *
+		 * @param expediter
+		 *            the action that promotes this load
+		 */
+		void setExpediter(Runnable expediter)
+		{
+			this.expediter = expediter;
+		}
+
+		/**
+		 * Moves this load to the front of the queue it waits in, if any, because a caller needs the
+		 * icon now
+		 */
+		void expedite()
+		{
+			Runnable current = expediter;
+			if (current != null)
+			{
+				current.run();
+			}
+		}
+
+		/**
+		 * Abandons this load if no request waits for it
+		 *
+		 * @return true if this load was abandoned otherwise false
+		 */
+		boolean abandon()
+		{
+			return demand.compareAndSet(0, -1);
+		}
+	}
 }
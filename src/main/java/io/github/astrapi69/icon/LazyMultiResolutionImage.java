@@ -0,0 +1,198 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.icon;
+
+import java.awt.Image;
+import java.awt.image.AbstractMultiResolutionImage;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.github.astrapi69.img.ImageResampler;
+import io.github.astrapi69.img.ResampleFilter;
+
+/**
+ * The class {@link LazyMultiResolutionImage} is a multi-resolution image with a logical size and a
+ * set of given source variants. Resolution variants for sizes that are not given are computed on
+ * demand with the {@link ImageResampler} from the smallest source variant that is at least as large
+ * as the requested size. Variants of scale factors in steps of 0.25 up to {@link #MAX_CACHED_SCALE}
+ * are memoized, so every such variant is computed only once and then drawn 1:1 on HiDPI displays.
+ * Variants of all other sizes, for instance of zoom animations, are computed on every request and
+ * not kept
+ */
+public class LazyMultiResolutionImage extends AbstractMultiResolutionImage
+{
+
+	/** The count of cached scale factors per unit scale, that is steps of 0.25 */
+	public static final int SCALE_STEPS = 4;
+
+	/** The largest scale factor whose variant is cached */
+	public static final double MAX_CACHED_SCALE = 8;
+
+	/** The logical width */
+	private final int width;
+
+	/** The logical height */
+	private final int height;
+
+	/** The filter for the computed variants */
+	private final ResampleFilter filter;
+
+	/** The given source variants by their width */
+	private final NavigableMap<Integer, BufferedImage> sources = new TreeMap<>();
+
+	/** The computed variants by their scale factor in {@link #SCALE_STEPS} */
+	private final Map<Integer, BufferedImage> variants = new ConcurrentHashMap<>();
+
+	/**
+	 * Instantiates a new {@link LazyMultiResolutionImage} object
+	 *
+	 * @param width
+	 *            the logical width
+	 * @param height
+	 *            the logical height
+	 * @param filter
+	 *            the filter for the computed variants
+	 * @param sources
+	 *            the source variants in any size
+	 */
+	public LazyMultiResolutionImage(final int width, final int height, final ResampleFilter filter,
+		final List<BufferedImage> sources)
+	{
+		if (width <= 0 || height <= 0)
+		{
+			throw new IllegalArgumentException(
+				"Given logical size must be positive: " + width + "x" + height);
+		}
+		if (sources.isEmpty())
+		{
+			throw new IllegalArgumentException("Given sources must not be empty");
+		}
+		this.width = width;
+		this.height = height;
+		this.filter = filter;
+		for (final BufferedImage source : sources)
+		{
+			this.sources.put(source.getWidth(), source);
+		}
+	}
+
+	private static int scale(final int size, final int step)
+	{
+		return Math.max(1, (int)Math.round((double)size * step / SCALE_STEPS));
+	}
+
+	@Override
+	public int getWidth(final ImageObserver observer)
+	{
+		return width;
+	}
+
+	@Override
+	public int getHeight(final ImageObserver observer)
+	{
+		return height;
+	}
+
+	@Override
+	protected Image getBaseImage()
+	{
+		return getResolutionVariant(width, height);
+	}
+
+	/**
+	 * Gets the resolution variant for the given destination size. A source variant of that size is
+	 * returned as it is, the variant of a cached scale factor is computed and memoized on the first
+	 * request and all other variants are computed on every request
+	 *
+	 * @param destImageWidth
+	 *            the width of the destination image in pixels
+	 * @param destImageHeight
+	 *            the height of the destination image in pixels
+	 * @return the resolution variant with the rounded destination size
+	 */
+	@Override
+	public BufferedImage getResolutionVariant(final double destImageWidth,
+		final double destImageHeight)
+	{
+		if (destImageWidth <= 0 || destImageHeight <= 0 || Double.isNaN(destImageWidth)
+			|| Double.isNaN(destImageHeight))
+		{
+			throw new IllegalArgumentException(
+				"Given size must be positive: " + destImageWidth + "x" + destImageHeight);
+		}
+		final int variantWidth = Math.max(1, (int)Math.round(destImageWidth));
+		final int variantHeight = Math.max(1, (int)Math.round(destImageHeight));
+		final BufferedImage source = sources.get(variantWidth);
+		if (source != null && source.getHeight() == variantHeight)
+		{
+			return source;
+		}
+		final int step = (int)Math.round(destImageWidth / width * SCALE_STEPS);
+		if (step < 1 || MAX_CACHED_SCALE * SCALE_STEPS < step || variantWidth != scale(width, step)
+			|| variantHeight != scale(height, step))
+		{
+			return compute(variantWidth, variantHeight);
+		}
+		final BufferedImage cached = variants.get(step);
+		if (cached != null)
+		{
+			return cached;
+		}
+		final BufferedImage computed = compute(variantWidth, variantHeight);
+		final BufferedImage previous = variants.putIfAbsent(step, computed);
+		return previous != null ? previous : computed;
+	}
+
+	/**
+	 * Gets the source variants and all cached variants that are computed so far ordered by their
+	 * width
+	 *
+	 * @return the resolution variants
+	 */
+	@Override
+	public List<Image> getResolutionVariants()
+	{
+		final List<Image> list = new ArrayList<>(sources.values());
+		list.addAll(variants.values());
+		list.sort(Comparator.comparingInt(image -> image.getWidth(null)));
+		return list;
+	}
+
+	private BufferedImage compute(final int variantWidth, final int variantHeight)
+	{
+		final Map.Entry<Integer, BufferedImage> larger = sources.ceilingEntry(variantWidth);
+		final BufferedImage source = larger != null
+			? larger.getValue()
+			: sources.lastEntry().getValue();
+		return ImageResampler.resize(source, variantWidth, variantHeight, filter);
+	}
+}
@@ -0,0 +1,179 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.icon;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.MultiResolutionImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.ImageIcon;
+
+import io.github.astrapi69.img.ImageExtensions;
+import io.github.astrapi69.img.ResampleFilter;
+import io.github.astrapi69.lang.ClassExtensions;
+
+/**
+ * The factory class {@link MultiResolutionImageFactory} provides factory methods for create
+ * {@link MultiResolutionImage} objects for HiDPI displays. The resolution variants are computed on
+ * demand with a {@link ResampleFilter#LANCZOS3} filter and memoized by the
+ * {@link LazyMultiResolutionImage}
+ */
+public class MultiResolutionImageFactory
+{
+
+	/** The scale factors of the resources that are looked up with the suffix '@&lt;scale&gt;x' */
+	public static final double[] RESOURCE_SCALES = { 1.25, 1.5, 2, 3, 4 };
+
+	/** The filter for the computed resolution variants */
+	public static final ResampleFilter DEFAULT_FILTER = ResampleFilter.LANCZOS3;
+
+	/**
+	 * Factory method for create a new {@link LazyMultiResolutionImage} object with the given
+	 * logical size from the given source image, that should have at least the size of the largest
+	 * expected scale factor
+	 *
+	 * @param source
+	 *            the source image
+	 * @param width
+	 *            the logical width
+	 * @param height
+	 *            the logical height
+	 * @return the new {@link LazyMultiResolutionImage} object
+	 */
+	public static LazyMultiResolutionImage newMultiResolutionImage(final BufferedImage source,
+		final int width, final int height)
+	{
+		return new LazyMultiResolutionImage(width, height, DEFAULT_FILTER, List.of(source));
+	}
+
+	/**
+	 * Factory method for create a new {@link LazyMultiResolutionImage} object from the given
+	 * resource and its scaled resources. The given resource is the variant for the scale factor 1
+	 * and defines the logical size. For every scale factor of {@link #RESOURCE_SCALES} a resource
+	 * with the suffix '@&lt;scale&gt;x' before the file extension is used if it exists, for
+	 * instance 'icons/save@2x.png' for 'icons/save.png'
+	 *
+	 * @param resourceName
+	 *            the name of the resource with the scale factor 1
+	 * @return the new {@link LazyMultiResolutionImage} object
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or that the resource with the scale
+	 *             factor 1 does not exist
+	 */
+	public static LazyMultiResolutionImage newMultiResolutionImage(final String resourceName)
+		throws IOException
+	{
+		final BufferedImage base = readResource(resourceName);
+		if (base == null)
+		{
+			throw new IOException("Resource not found: " + resourceName);
+		}
+		final List<BufferedImage> sources = new ArrayList<>();
+		sources.add(base);
+		for (final double scale : RESOURCE_SCALES)
+		{
+			final BufferedImage variant = readResource(toScaledResourceName(resourceName, scale));
+			if (variant != null)
+			{
+				sources.add(variant);
+			}
+		}
+		return new LazyMultiResolutionImage(base.getWidth(), base.getHeight(), DEFAULT_FILTER,
+			sources);
+	}
+
+	/**
+	 * Factory method for create a new {@link ImageIcon} object with a
+	 * {@link LazyMultiResolutionImage} from the given resource and its scaled resources
+	 *
+	 * @param resourceName
+	 *            the name of the resource with the scale factor 1
+	 * @return the new {@link ImageIcon} object
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or that the resource with the scale
+	 *             factor 1 does not exist
+	 * @see #newMultiResolutionImage(String)
+	 */
+	public static ImageIcon newImageIcon(final String resourceName) throws IOException
+	{
+		return new ImageIcon(newMultiResolutionImage(resourceName));
+	}
+
+	/**
+	 * Factory method for create a new {@link ImageIcon} object with a
+	 * {@link LazyMultiResolutionImage} with the given logical size from the given source image
+	 *
+	 * @param source
+	 *            the source image
+	 * @param width
+	 *            the logical width
+	 * @param height
+	 *            the logical height
+	 * @return the new {@link ImageIcon} object
+	 */
+	public static ImageIcon newImageIcon(final BufferedImage source, final int width,
+		final int height)
+	{
+		return new ImageIcon(newMultiResolutionImage(source, width, height));
+	}
+
+	/**
+	 * Gets the name of the resource for the given scale factor, for instance 'icons/save@2x.png'
+	 * for 'icons/save.png' and the scale factor 2
+	 *
+	 * @param resourceName
+	 *            the name of the resource with the scale factor 1
+	 * @param scale
+	 *            the scale factor
+	 * @return the name of the scaled resource
+	 */
+	static String toScaledResourceName(final String resourceName, final double scale)
+	{
+		final String suffix = "@"
+			+ (scale == Math.rint(scale) ? String.valueOf((long)scale) : String.valueOf(scale))
+			+ "x";
+		final int slash = resourceName.lastIndexOf('/');
+		final int dot = resourceName.lastIndexOf('.');
+		return dot > slash
+			? resourceName.substring(0, dot) + suffix + resourceName.substring(dot)
+			: resourceName + suffix;
+	}
+
+	private static BufferedImage readResource(final String resourceName) throws IOException
+	{
+		final InputStream input = ClassExtensions.getResourceAsStream(resourceName);
+		if (input == null)
+		{
+			return null;
+		}
+		try (input)
+		{
+			return ImageExtensions.read(input, null, 1);
+		}
+	}
+}
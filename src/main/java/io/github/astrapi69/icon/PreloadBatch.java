@@ -0,0 +1,394 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.icon;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+
+import javax.swing.ImageIcon;
+
+import lombok.extern.java.Log;
+
+/**
+ * The class {@link PreloadBatch} tracks the loads of the icons that were started with
+ * {@link ImageIconPreloader#preloadIcons(String...)}. It counts the loaded and failed icons,
+ * collects the failures, notifies callbacks for every icon and offers futures that complete when
+ * all icons or a part of them are done. A batch can be cancelled, loads that have not started yet
+ * are then skipped unless another request waits for the same icon
+ */
+@Log
+public final class PreloadBatch
+{
+
+	/** The loads with the paths of the icons as keys */
+	private final Map<String, ImageIconPreloader.Load> loads;
+
+	/** The requests of this batch, that are copies of the loads */
+	private final Map<String, CompletableFuture<ImageIcon>> requests = new LinkedHashMap<>();
+
+	/** The futures of this batch that complete after the counters are updated */
+	private final Map<String, CompletableFuture<ImageIcon>> futures;
+
+	/** The lock that orders the results and the registration of the callbacks */
+	private final Object callbackLock = new Object();
+
+	/** The loaded icons with their paths as keys, guarded by the callback lock */
+	private final Map<String, ImageIcon> loadedIcons = new LinkedHashMap<>();
+
+	/** The errors of the failed icons with their paths as keys, guarded by the callback lock */
+	private final Map<String, Throwable> failedIcons = new LinkedHashMap<>();
+
+	/** The callbacks for loaded icons, guarded by the callback lock */
+	private final List<BiConsumer<String, ImageIcon>> loadedCallbacks = new ArrayList<>();
+
+	/** The callbacks for failed icons, guarded by the callback lock */
+	private final List<BiConsumer<String, Throwable>> failedCallbacks = new ArrayList<>();
+
+	/** The count of the loaded icons */
+	private final AtomicInteger loadedCount = new AtomicInteger();
+
+	/** The count of the done icons, that are loaded, failed or cancelled */
+	private final AtomicInteger doneCount = new AtomicInteger();
+
+	/** The future that completes when all icons are done */
+	private final CompletableFuture<Map<String, ImageIcon>> completion;
+
+	/** The flag if this batch is cancelled */
+	private volatile boolean cancelled;
+
+	/**
+	 * Instantiates a new {@link PreloadBatch} from the given loads, this batch holds a request for
+	 * every load
+	 *
+	 * @param loads
+	 *            the loads with the paths of the icons as keys
+	 */
+	PreloadBatch(final Map<String, ImageIconPreloader.Load> loads)
+	{
+		this.loads = loads;
+		final Map<String, CompletableFuture<ImageIcon>> futures = new LinkedHashMap<>();
+		loads.forEach((iconPath, load) -> {
+			final CompletableFuture<ImageIcon> request = load.copy();
+			requests.put(iconPath, request);
+			futures.put(iconPath,
+				request.whenComplete((imageIcon, error) -> count(iconPath, imageIcon, error)));
+		});
+		this.futures = Collections.unmodifiableMap(futures);
+		this.completion = collect(futures.keySet());
+	}
+
+	private static Throwable unwrap(final Throwable error)
+	{
+		return error instanceof CompletionException && error.getCause() != null
+			? error.getCause()
+			: error;
+	}
+
+	/**
+	 * Gets the paths of the icons of this batch
+	 *
+	 * @return the paths of the icons in the order of the batch
+	 */
+	public Set<String> getIconPaths()
+	{
+		return futures.keySet();
+	}
+
+	/**
+	 * Gets the future of the icon of the given path
+	 *
+	 * @param iconPath
+	 *            the path to the icon
+	 * @return the future that completes with the icon after the counters of this batch are updated
+	 */
+	public CompletableFuture<ImageIcon> getFuture(final String iconPath)
+	{
+		final CompletableFuture<ImageIcon> future = futures.get(iconPath);
+		if (future == null)
+		{
+			throw new IllegalArgumentException("Given icon path is not in this batch: " + iconPath);
+		}
+		return future;
+	}
+
+	/**
+	 * Gets the future that completes when all icons of this batch are done. The future completes
+	 * with the loaded icons even if some icons failed, the failures are returned by
+	 * {@link #getFailures()}. If this batch is cancelled the future completes exceptionally with a
+	 * {@link CancellationException}. When the future completes the counters are up to date and the
+	 * callbacks that were registered before the icons were done have been called
+	 *
+	 * @return the future with the loaded icons with the paths of the icons as keys
+	 */
+	public CompletableFuture<Map<String, ImageIcon>> getCompletion()
+	{
+		return completion;
+	}
+
+	/**
+	 * Gets a future that completes when the icons of the given paths are done, for instance the
+	 * icons that a window needs before it can be shown
+	 *
+	 * @param iconPaths
+	 *            the paths to the icons
+	 * @return the future with the loaded icons with the paths of the icons as keys
+	 */
+	public CompletableFuture<Map<String, ImageIcon>> getCompletion(final String... iconPaths)
+	{
+		final List<String> paths = Arrays.asList(iconPaths);
+		paths.forEach(this::getFuture);
+		return collect(paths);
+	}
+
+	/**
+	 * Registers a callback that is called with the path and the icon for every icon that is loaded.
+	 * The callback is called once per icon on the loading thread before the futures of the icon
+	 * complete or immediately on the current thread for icons that are already loaded
+	 *
+	 * @param callback
+	 *            the callback
+	 * @return this batch
+	 */
+	public PreloadBatch onIconLoaded(final BiConsumer<String, ImageIcon> callback)
+	{
+		final Map<String, ImageIcon> done;
+		synchronized (callbackLock)
+		{
+			loadedCallbacks.add(callback);
+			done = new LinkedHashMap<>(loadedIcons);
+		}
+		done.forEach((iconPath, imageIcon) -> notify(callback, iconPath, imageIcon));
+		return this;
+	}
+
+	/**
+	 * Registers a callback that is called with the path and the error for every icon that could not
+	 * be loaded. Cancelled icons are not reported as failed. The callback is called once per icon
+	 * on the loading thread before the futures of the icon complete or immediately on the current
+	 * thread for icons that already failed
+	 *
+	 * @param callback
+	 *            the callback
+	 * @return this batch
+	 */
+	public PreloadBatch onIconFailed(final BiConsumer<String, Throwable> callback)
+	{
+		final Map<String, Throwable> done;
+		synchronized (callbackLock)
+		{
+			failedCallbacks.add(callback);
+			done = new LinkedHashMap<>(failedIcons);
+		}
+		done.forEach((iconPath, error) -> notify(callback, iconPath, error));
+		return this;
+	}
+
+	/**
+	 * Gets the count of the icons of this batch
+	 *
+	 * @return the count of the icons
+	 */
+	public int getTotalCount()
+	{
+		return futures.size();
+	}
+
+	/**
+	 * Gets the count of the loaded icons
+	 *
+	 * @return the count of the loaded icons
+	 */
+	public int getLoadedCount()
+	{
+		return loadedCount.get();
+	}
+
+	/**
+	 * Gets the count of the icons that could not be loaded
+	 *
+	 * @return the count of the failed icons
+	 */
+	public int getFailedCount()
+	{
+		synchronized (callbackLock)
+		{
+			return failedIcons.size();
+		}
+	}
+
+	/**
+	 * Gets the count of the icons that are done, that are loaded, failed or cancelled
+	 *
+	 * @return the count of the done icons
+	 */
+	public int getDoneCount()
+	{
+		return doneCount.get();
+	}
+
+	/**
+	 * Gets the progress of this batch
+	 *
+	 * @return the progress between 0 and 1
+	 */
+	public float getProgress()
+	{
+		return futures.isEmpty() ? 1f : (float)doneCount.get() / futures.size();
+	}
+
+	/**
+	 * Gets the errors of the icons that could not be loaded
+	 *
+	 * @return a copy of the errors with the paths of the icons as keys
+	 */
+	public Map<String, Throwable> getFailures()
+	{
+		synchronized (callbackLock)
+		{
+			return Map.copyOf(failedIcons);
+		}
+	}
+
+	/**
+	 * Checks if all icons of this batch are done
+	 *
+	 * @return true if all icons are done otherwise false
+	 */
+	public boolean isDone()
+	{
+		return doneCount.get() == futures.size();
+	}
+
+	/**
+	 * Checks if this batch is cancelled
+	 *
+	 * @return true if this batch is cancelled otherwise false
+	 */
+	public boolean isCancelled()
+	{
+		return cancelled;
+	}
+
+	/**
+	 * Cancels the icons of this batch that are not done yet. Their loads are skipped if they have
+	 * not started yet and no other request waits for them, icons that are already loading are still
+	 * added to the icon cache
+	 *
+	 * @return true if at least one icon was cancelled otherwise false
+	 */
+	public boolean cancel()
+	{
+		cancelled = true;
+		boolean result = false;
+		for (final Map.Entry<String, CompletableFuture<ImageIcon>> entry : requests.entrySet())
+		{
+			if (entry.getValue().cancel(false))
+			{
+				loads.get(entry.getKey()).release();
+				result = true;
+			}
+		}
+		return result;
+	}
+
+	private void count(final String iconPath, final ImageIcon imageIcon, final Throwable error)
+	{
+		final List<BiConsumer<String, ImageIcon>> loadedTargets;
+		final List<BiConsumer<String, Throwable>> failedTargets;
+		final Throwable cause = error == null ? null : unwrap(error);
+		synchronized (callbackLock)
+		{
+			if (cause == null)
+			{
+				loadedIcons.put(iconPath, imageIcon);
+				loadedCount.incrementAndGet();
+				loadedTargets = List.copyOf(loadedCallbacks);
+				failedTargets = List.of();
+			}
+			else if (cause instanceof CancellationException)
+			{
+				loadedTargets = List.of();
+				failedTargets = List.of();
+			}
+			else
+			{
+				failedIcons.put(iconPath, cause);
+				loadedTargets = List.of();
+				failedTargets = List.copyOf(failedCallbacks);
+			}
+			doneCount.incrementAndGet();
+		}
+		loadedTargets.forEach(callback -> notify(callback, iconPath, imageIcon));
+		failedTargets.forEach(callback -> notify(callback, iconPath, cause));
+	}
+
+	private static <T> void notify(final BiConsumer<String, T> callback, final String iconPath,
+		final T value)
+	{
+		try
+		{
+			callback.accept(iconPath, value);
+		}
+		catch (RuntimeException e)
+		{
+			log.log(Level.WARNING, "Preload callback for " + iconPath + " failed.", e);
+		}
+	}
+
+	private CompletableFuture<Map<String, ImageIcon>> collect(final Collection<String> iconPaths)
+	{
+		final CompletableFuture<?>[] parts = iconPaths.stream()
+			.map(iconPath -> futures.get(iconPath).handle((imageIcon, error) -> null))
+			.toArray(CompletableFuture[]::new);
+		return CompletableFuture.allOf(parts).thenApply(ignored -> {
+			if (cancelled)
+			{
+				throw new CancellationException("The preload batch is cancelled");
+			}
+			final Map<String, ImageIcon> icons = new LinkedHashMap<>();
+			for (final String iconPath : iconPaths)
+			{
+				final CompletableFuture<ImageIcon> future = futures.get(iconPath);
+				if (!future.isCompletedExceptionally())
+				{
+					icons.put(iconPath, future.join());
+				}
+			}
+			return icons;
+		});
+	}
+}
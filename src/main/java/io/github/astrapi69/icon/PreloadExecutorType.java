@@ -0,0 +1,51 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.icon;
+
+/**
+ * The enum {@link PreloadExecutorType} defines the executors that the {@link ImageIconPreloader}
+ * can load icons on
+ */
+public enum PreloadExecutorType
+{
+
+	/**
+	 * Starts a new virtual thread for every icon, the count of icons that are loaded at the same
+	 * time is limited by the parallelism. Blocking resource reads do not occupy a platform thread
+	 */
+	VIRTUAL_THREADS,
+
+	/**
+	 * Loads the icons on a dedicated pool of daemon platform threads with the parallelism as the
+	 * fixed count of threads
+	 */
+	BOUNDED_PLATFORM_POOL,
+
+	/**
+	 * Loads the icons on the common {@link java.util.concurrent.ForkJoinPool}, that is shared with
+	 * parallel streams and other asynchronous tasks of the application
+	 */
+	COMMON_POOL
+}
@@ -0,0 +1,478 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.icon;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.swing.ImageIcon;
+
+/**
+ * The class {@link PreloadScheduler} preloads icons in the order of their {@link PreloadPriority}.
+ * The queued icons are drained by a bounded count of workers that run on the executor of the
+ * {@link ImageIconPreloader} and always take the icon with the highest priority first, icons with
+ * the same priority are loaded in the order they were scheduled. A queued icon can be promoted to a
+ * higher priority and cancelled, for instance when the view that needs it is closed. The loads are
+ * shared with the {@link ImageIconPreloader}, so an icon that is already loading or cached is not
+ * queued again
+ */
+public class PreloadScheduler
+{
+
+	/** The maximum count of workers that drain the queues at the same time */
+	private final int maxWorkers;
+
+	/** The lock that guards the queues and the count of workers */
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/** The queued entries of every priority in the order they were scheduled */
+	private final Map<PreloadPriority, LinkedHashMap<String, Entry>> queues = new EnumMap<>(
+		PreloadPriority.class);
+
+	/** The queued entries with the paths of the icons as keys */
+	private final Map<String, Entry> entries = new HashMap<>();
+
+	/** The count of running workers */
+	private int workers;
+
+	/** The count of workers that were reserved in the locked section and are not started yet */
+	private int pendingWorkers;
+
+	/**
+	 * Instantiates a new {@link PreloadScheduler} with a worker for every available processor
+	 */
+	public PreloadScheduler()
+	{
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Instantiates a new {@link PreloadScheduler} with the given maximum count of workers
+	 *
+	 * @param maxWorkers
+	 *            the maximum count of workers that drain the queues at the same time
+	 */
+	public PreloadScheduler(final int maxWorkers)
+	{
+		if (maxWorkers < 1)
+		{
+			throw new IllegalArgumentException(
+				"Given maxWorkers must be greater than zero: " + maxWorkers);
+		}
+		this.maxWorkers = maxWorkers;
+		for (final PreloadPriority priority : PreloadPriority.values())
+		{
+			queues.put(priority, new LinkedHashMap<>());
+		}
+	}
+
+	/**
+	 * Schedules the icon of the given path with the given priority. If the icon is already queued
+	 * it is promoted to the given priority if that is higher
+	 *
+	 * @param iconPath
+	 *            the path to the icon
+	 * @param priority
+	 *            the priority of the icon
+	 * @return a future that completes with the {@link ImageIcon} or exceptionally if the icon could
+	 *         not be loaded or the load was cancelled
+	 */
+	public CompletableFuture<ImageIcon> schedule(final String iconPath,
+		final PreloadPriority priority)
+	{
+		return request(iconPath, priority, true).copy();
+	}
+
+	/**
+	 * Promotes the queued icon of the given path to the given priority
+	 *
+	 * @param iconPath
+	 *            the path to the icon
+	 * @param priority
+	 *            the new priority
+	 * @return true if the icon was promoted or false if it is not queued or its priority is not
+	 *         lower than the given priority
+	 */
+	public boolean promote(final String iconPath, final PreloadPriority priority)
+	{
+		Objects.requireNonNull(priority, "priority");
+		lock.lock();
+		try
+		{
+			final Entry entry = entries.get(iconPath);
+			if (entry == null || priority.compareTo(entry.priority) >= 0)
+			{
+				return false;
+			}
+			queues.get(entry.priority).remove(iconPath);
+			entry.priority = priority;
+			queues.get(priority).put(iconPath, entry);
+			return true;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Cancels a request of the queued icon of the given path that was made with
+	 * {@link #schedule(String, PreloadPriority)}. The icon is removed from the queue and its load
+	 * is cancelled if no other request waits for it. A cancel without such a request is ignored, so
+	 * the loads of batches and other callers are not abandoned
+	 *
+	 * @param iconPath
+	 *            the path to the icon
+	 * @return true if the icon was removed from the queue otherwise false
+	 */
+	public boolean cancel(final String iconPath)
+	{
+		final ImageIconPreloader.Load abandoned;
+		lock.lock();
+		try
+		{
+			final Entry entry = entries.get(iconPath);
+			if (entry == null || entry.demands == 0)
+			{
+				return false;
+			}
+			entry.demands--;
+			entry.load.release();
+			if (!entry.load.abandon())
+			{
+				return false;
+			}
+			entries.remove(iconPath);
+			queues.get(entry.priority).remove(iconPath);
+			abandoned = entry.load;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+		ImageIconPreloader.discard(iconPath, abandoned);
+		return true;
+	}
+
+	/**
+	 * Cancels a request of every queued icon of the given paths
+	 *
+	 * @param iconPaths
+	 *            the paths to the icons
+	 * @return the count of the icons that were removed from the queue
+	 */
+	public int cancel(final String... iconPaths)
+	{
+		int count = 0;
+		for (final String iconPath : iconPaths)
+		{
+			if (cancel(iconPath))
+			{
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the priority of the queued icon of the given path
+	 *
+	 * @param iconPath
+	 *            the path to the icon
+	 * @return the priority or null if the icon is not queued
+	 */
+	public PreloadPriority getPriority(final String iconPath)
+	{
+		lock.lock();
+		try
+		{
+			final Entry entry = entries.get(iconPath);
+			return entry == null ? null : entry.priority;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Gets the count of the queued icons with the given priority
+	 *
+	 * @param priority
+	 *            the priority
+	 * @return the count of the queued icons
+	 */
+	public int getQueuedCount(final PreloadPriority priority)
+	{
+		lock.lock();
+		try
+		{
+			return queues.get(priority).size();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Gets the count of all queued icons
+	 *
+	 * @return the count of the queued icons
+	 */
+	public int getQueuedCount()
+	{
+		lock.lock();
+		try
+		{
+			return entries.size();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Schedules the icon of the given path with the given priority, the caller holds a demand for
+	 * the returned load
+	 *
+	 * @param iconPath
+	 *            the path to the icon
+	 * @param priority
+	 *            the priority of the icon
+	 * @return the load of the icon
+	 */
+	ImageIconPreloader.Load request(final String iconPath, final PreloadPriority priority)
+	{
+		return request(iconPath, priority, false);
+	}
+
+	private ImageIconPreloader.Load request(final String iconPath, final PreloadPriority priority,
+		final boolean cancelable)
+	{
+		Objects.requireNonNull(priority, "priority");
+		final ImageIconPreloader.Load load;
+		final int starting;
+		lock.lock();
+		try
+		{
+			load = join(iconPath, priority);
+			final Entry entry = entries.get(iconPath);
+			if (cancelable && entry != null && entry.load == load)
+			{
+				entry.demands++;
+			}
+			starting = pendingWorkers;
+			pendingWorkers = 0;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+		start(starting);
+		return load;
+	}
+
+	private ImageIconPreloader.Load join(final String iconPath, final PreloadPriority priority)
+	{
+		final Entry queued = entries.get(iconPath);
+		if (queued != null && queued.load.retain())
+		{
+			promote(iconPath, priority);
+			return queued.load;
+		}
+		final ImageIconPreloader.Load load = ImageIconPreloader.request(iconPath,
+			task -> enqueue(iconPath, priority, task));
+		final Entry entry = entries.get(iconPath);
+		if (entry != null && entry.load == null)
+		{
+			entry.load = load;
+			load.setExpediter(() -> expedite(iconPath, load));
+		}
+		return load;
+	}
+
+	/**
+	 * Promotes the given load of the icon of the given path to {@link PreloadPriority#VISIBLE_NOW}
+	 * if it is still queued, this is called when a caller blocks or waits on the load
+	 *
+	 * @param iconPath
+	 *            the path to the icon
+	 * @param load
+	 *            the joined load
+	 */
+	private void expedite(final String iconPath, final ImageIconPreloader.Load load)
+	{
+		lock.lock();
+		try
+		{
+			final Entry entry = entries.get(iconPath);
+			if (entry != null && entry.load == load)
+			{
+				promote(iconPath, PreloadPriority.VISIBLE_NOW);
+			}
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	private void enqueue(final String iconPath, final PreloadPriority priority, final Runnable task)
+	{
+		final Entry entry = new Entry(priority, task);
+		entries.put(iconPath, entry);
+		queues.get(priority).put(iconPath, entry);
+		if (workers < maxWorkers)
+		{
+			workers++;
+			pendingWorkers++;
+		}
+	}
+
+	/**
+	 * Starts the given count of workers, this is called without holding the lock so that a direct
+	 * executor does not load the icons inside the locked section
+	 *
+	 * @param count
+	 *            the count of workers to start
+	 */
+	private void start(final int count)
+	{
+		for (int i = 0; i < count; i++)
+		{
+			try
+			{
+				ImageIconPreloader.getExecutor().execute(this::drain);
+			}
+			catch (RuntimeException e)
+			{
+				reject(e);
+			}
+		}
+	}
+
+	/**
+	 * Gives up a worker that the executor rejected. If no other worker is running the queued loads
+	 * are completed exceptionally with the given error because nothing would drain them
+	 *
+	 * @param error
+	 *            the error of the executor
+	 */
+	private void reject(final RuntimeException error)
+	{
+		final Map<String, Entry> rejected = new LinkedHashMap<>();
+		lock.lock();
+		try
+		{
+			workers--;
+			if (workers == 0)
+			{
+				for (final LinkedHashMap<String, Entry> queue : queues.values())
+				{
+					rejected.putAll(queue);
+					queue.clear();
+				}
+				entries.clear();
+			}
+		}
+		finally
+		{
+			lock.unlock();
+		}
+		rejected.forEach((iconPath, entry) -> ImageIconPreloader.fail(iconPath, entry.load, error));
+	}
+
+	private void drain()
+	{
+		while (true)
+		{
+			final Runnable task;
+			lock.lock();
+			try
+			{
+				task = poll();
+				if (task == null)
+				{
+					workers--;
+					return;
+				}
+			}
+			finally
+			{
+				lock.unlock();
+			}
+			task.run();
+		}
+	}
+
+	private Runnable poll()
+	{
+		for (final LinkedHashMap<String, Entry> queue : queues.values())
+		{
+			final Iterator<Map.Entry<String, Entry>> iterator = queue.entrySet().iterator();
+			if (iterator.hasNext())
+			{
+				final Map.Entry<String, Entry> first = iterator.next();
+				iterator.remove();
+				entries.remove(first.getKey());
+				return first.getValue().task;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * The class {@link Entry} is a queued load of an icon
+	 */
+	private static final class Entry
+	{
+
+		/** The task that loads the icon */
+		final Runnable task;
+
+		/** The current priority */
+		PreloadPriority priority;
+
+		/** The shared load */
+		ImageIconPreloader.Load load;
+
+		/** The count of the demands of the scheduled requests that can be cancelled */
+		int demands;
+
+		Entry(final PreloadPriority priority, final Runnable task)
+		{
+			this.priority = priority;
+			this.task = task;
+		}
+	}
+}
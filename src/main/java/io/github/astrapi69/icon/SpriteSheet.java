@@ -0,0 +1,269 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.icon;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.ImageIcon;
+
+import io.github.astrapi69.img.ImageExtensions;
+import io.github.astrapi69.img.model.ImageAtlas;
+import io.github.astrapi69.lang.ClassExtensions;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * The class {@link SpriteSheet} decodes a sprite sheet once and slices it into many icons. The
+ * images of the icons are views created with {@link BufferedImage#getSubimage(int, int, int, int)}
+ * that share the data buffer of the sheet, so the icons of a sheet need no additional pixel memory.
+ * The icons can be sliced by cells of a fixed size or by the names of an index as created by the
+ * {@link io.github.astrapi69.img.ImageAtlasBuilder}
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SpriteSheet
+{
+
+	/** The decoded image of the sprite sheet */
+	BufferedImage image;
+
+	/** The bounds of the named sprites in the sheet */
+	Map<String, Rectangle> index;
+
+	/**
+	 * Instantiates a new {@link SpriteSheet} object without an index
+	 *
+	 * @param image
+	 *            the image of the sprite sheet
+	 */
+	public SpriteSheet(final @NonNull BufferedImage image)
+	{
+		this(image, Collections.emptyMap());
+	}
+
+	/**
+	 * Instantiates a new {@link SpriteSheet} object
+	 *
+	 * @param image
+	 *            the image of the sprite sheet
+	 * @param index
+	 *            the bounds of the named sprites in the sheet
+	 */
+	public SpriteSheet(final @NonNull BufferedImage image,
+		final @NonNull Map<String, Rectangle> index)
+	{
+		this.image = image;
+		this.index = Collections.unmodifiableMap(new LinkedHashMap<>(index));
+	}
+
+	/**
+	 * Instantiates a new {@link SpriteSheet} object from the given {@link ImageAtlas} object
+	 *
+	 * @param atlas
+	 *            the image atlas
+	 */
+	public SpriteSheet(final @NonNull ImageAtlas atlas)
+	{
+		this(atlas.getImage(), atlas.getIndex());
+	}
+
+	/**
+	 * Factory method for create a new {@link SpriteSheet} object from the given resource without an
+	 * index
+	 *
+	 * @param resourceName
+	 *            the name of the resource from the classpath
+	 * @return the new {@link SpriteSheet} object
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or that no reader can decode the
+	 *             resource
+	 */
+	public static SpriteSheet load(final String resourceName) throws IOException
+	{
+		return load(resourceName, Collections.emptyMap());
+	}
+
+	/**
+	 * Factory method for create a new {@link SpriteSheet} object from the given resource with the
+	 * given index
+	 *
+	 * @param resourceName
+	 *            the name of the resource from the classpath
+	 * @param index
+	 *            the bounds of the named sprites in the sheet
+	 * @return the new {@link SpriteSheet} object
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or that no reader can decode the
+	 *             resource
+	 */
+	public static SpriteSheet load(final String resourceName, final Map<String, Rectangle> index)
+		throws IOException
+	{
+		try (InputStream input = ClassExtensions.getResourceAsStream(resourceName))
+		{
+			if (input == null)
+			{
+				throw new IOException("Resource not found: " + resourceName);
+			}
+			final BufferedImage image = ImageExtensions.read(input, null, 1);
+			if (image == null)
+			{
+				throw new IOException("No image reader found for resource: " + resourceName);
+			}
+			return new SpriteSheet(image, index);
+		}
+	}
+
+	/**
+	 * Gets the view of the given bounds in the sprite sheet
+	 *
+	 * @param bounds
+	 *            the bounds of the sprite
+	 * @return the view that shares the data buffer of the sheet
+	 */
+	public BufferedImage getSubimage(final @NonNull Rectangle bounds)
+	{
+		return image.getSubimage(bounds.x, bounds.y, bounds.width, bounds.height);
+	}
+
+	/**
+	 * Gets the view of the sprite with the given name from the index
+	 *
+	 * @param name
+	 *            the name of the sprite
+	 * @return the view that shares the data buffer of the sheet
+	 */
+	public BufferedImage getSubimage(final String name)
+	{
+		final Rectangle bounds = index.get(name);
+		if (bounds == null)
+		{
+			throw new IllegalArgumentException("Given name is not in the index: " + name);
+		}
+		return getSubimage(bounds);
+	}
+
+	/**
+	 * Gets the view of the cell in the given column and row of a sheet with cells of the given size
+	 *
+	 * @param column
+	 *            the column of the cell
+	 * @param row
+	 *            the row of the cell
+	 * @param cellWidth
+	 *            the width of the cells
+	 * @param cellHeight
+	 *            the height of the cells
+	 * @return the view that shares the data buffer of the sheet
+	 */
+	public BufferedImage getSubimage(final int column, final int row, final int cellWidth,
+		final int cellHeight)
+	{
+		return image.getSubimage(column * cellWidth, row * cellHeight, cellWidth, cellHeight);
+	}
+
+	/**
+	 * Gets the icon of the sprite with the given name from the index
+	 *
+	 * @param name
+	 *            the name of the sprite that is also the description of the icon
+	 * @return the new {@link ImageIcon} object
+	 */
+	public ImageIcon getIcon(final String name)
+	{
+		return new ImageIcon(getSubimage(name), name);
+	}
+
+	/**
+	 * Gets the icon of the cell in the given column and row of a sheet with cells of the given size
+	 *
+	 * @param column
+	 *            the column of the cell
+	 * @param row
+	 *            the row of the cell
+	 * @param cellWidth
+	 *            the width of the cells
+	 * @param cellHeight
+	 *            the height of the cells
+	 * @return the new {@link ImageIcon} object
+	 */
+	public ImageIcon getIcon(final int column, final int row, final int cellWidth,
+		final int cellHeight)
+	{
+		return new ImageIcon(getSubimage(column, row, cellWidth, cellHeight));
+	}
+
+	/**
+	 * Gets the icons of all named sprites of the index
+	 *
+	 * @return the icons by their names in the order of the index
+	 */
+	public Map<String, ImageIcon> getIcons()
+	{
+		final Map<String, ImageIcon> icons = new LinkedHashMap<>();
+		index.keySet().forEach(name -> icons.put(name, getIcon(name)));
+		return icons;
+	}
+
+	/**
+	 * Gets the icons of all complete cells of a sheet with cells of the given size row by row.
+	 * Remaining pixels at the right and bottom border that do not fill a whole cell are ignored
+	 *
+	 * @param cellWidth
+	 *            the width of the cells
+	 * @param cellHeight
+	 *            the height of the cells
+	 * @return the icons of the cells row by row
+	 */
+	public List<ImageIcon> getIcons(final int cellWidth, final int cellHeight)
+	{
+		if (cellWidth <= 0 || cellHeight <= 0)
+		{
+			throw new IllegalArgumentException(
+				"Given cell size must be positive: " + cellWidth + "x" + cellHeight);
+		}
+		final int columns = image.getWidth() / cellWidth;
+		final int rows = image.getHeight() / cellHeight;
+		final List<ImageIcon> icons = new ArrayList<>(columns * rows);
+		for (int row = 0; row < rows; row++)
+		{
+			for (int column = 0; column < columns; column++)
+			{
+				icons.add(getIcon(column, row, cellWidth, cellHeight));
+			}
+		}
+		return icons;
+	}
+}
@@ -0,0 +1,153 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.icon.cache;
+
+/**
+ * The class {@link AccessOrderDeque} is a doubly linked queue of {@link CacheNode} objects in
+ * access order that sums up the weights of its nodes. The least recently used node is the first
+ */
+final class AccessOrderDeque
+{
+
+	/** The least recently used node */
+	private CacheNode first;
+
+	/** The most recently used node */
+	private CacheNode last;
+
+	/** The sum of the weights */
+	private long weight;
+
+	/**
+	 * Gets the least recently used node
+	 *
+	 * @return the least recently used node or null if this queue is empty
+	 */
+	CacheNode peekFirst()
+	{
+		return first;
+	}
+
+	/**
+	 * Gets the sum of the weights of all nodes
+	 *
+	 * @return the weight
+	 */
+	long getWeight()
+	{
+		return weight;
+	}
+
+	/**
+	 * Checks if this queue is empty
+	 *
+	 * @return true if this queue is empty otherwise false
+	 */
+	boolean isEmpty()
+	{
+		return first == null;
+	}
+
+	/**
+	 * Adds the given node as the most recently used node
+	 *
+	 * @param node
+	 *            the node to add
+	 */
+	void addLast(final CacheNode node)
+	{
+		node.previous = last;
+		node.next = null;
+		if (last == null)
+		{
+			first = node;
+		}
+		else
+		{
+			last.next = node;
+		}
+		last = node;
+		weight += node.weight;
+	}
+
+	/**
+	 * Removes the given node
+	 *
+	 * @param node
+	 *            the node to remove
+	 */
+	void remove(final CacheNode node)
+	{
+		if (node.previous == null)
+		{
+			first = node.next;
+		}
+		else
+		{
+			node.previous.next = node.next;
+		}
+		if (node.next == null)
+		{
+			last = node.previous;
+		}
+		else
+		{
+			node.next.previous = node.previous;
+		}
+		node.previous = null;
+		node.next = null;
+		weight -= node.weight;
+	}
+
+	/**
+	 * Moves the given node to the end of this queue
+	 *
+	 * @param node
+	 *            the node to move
+	 */
+	void moveToBack(final CacheNode node)
+	{
+		if (node != last)
+		{
+			remove(node);
+			addLast(node);
+		}
+	}
+
+	/**
+	 * Removes the least recently used node
+	 *
+	 * @return the removed node or null if this queue is empty
+	 */
+	CacheNode pollFirst()
+	{
+		final CacheNode node = first;
+		if (node != null)
+		{
+			remove(node);
+		}
+		return node;
+	}
+}
@@ -0,0 +1,122 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.icon.cache;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+
+import javax.swing.ImageIcon;
+
+/**
+ * The class {@link CacheNode} is an entry of an {@link IconCache}. The links to the neighbours and
+ * the queue are only accessed while the eviction lock of the cache is held, the access time is
+ * written by the lock-free read path
+ */
+final class CacheNode
+{
+
+	/** The queue of the nodes of the LRU policy and the window of the Window TinyLFU policy */
+	static final int WINDOW = 0;
+
+	/** The probation queue of the main area of the Window TinyLFU policy */
+	static final int PROBATION = 1;
+
+	/** The protected queue of the main area of the Window TinyLFU policy */
+	static final int PROTECTED = 2;
+
+	/** The key */
+	final String key;
+
+	/** The weight in bytes */
+	final long weight;
+
+	/** The icon or the {@link SoftValue} of the icon */
+	private final Object value;
+
+	/** The time of the last access in nanoseconds */
+	volatile long accessTime;
+
+	/** The queue that holds this node */
+	int queue;
+
+	/** The flag if this node is still in the cache */
+	boolean alive = true;
+
+	/** The previous node in the queue */
+	CacheNode previous;
+
+	/** The next node in the queue */
+	CacheNode next;
+
+	/**
+	 * Instantiates a new {@link CacheNode} object
+	 *
+	 * @param key
+	 *            the key
+	 * @param icon
+	 *            the icon
+	 * @param weight
+	 *            the weight in bytes
+	 * @param accessTime
+	 *            the time of the creation in nanoseconds
+	 * @param referenceQueue
+	 *            the queue for the soft reference of the icon or null for a strong reference
+	 */
+	CacheNode(final String key, final ImageIcon icon, final long weight, final long accessTime,
+		final ReferenceQueue<ImageIcon> referenceQueue)
+	{
+		this.key = key;
+		this.weight = weight;
+		this.accessTime = accessTime;
+		this.value = referenceQueue == null ? icon : new SoftValue(icon, referenceQueue, this);
+	}
+
+	/**
+	 * Gets the icon
+	 *
+	 * @return the icon or null if the soft reference of the icon was cleared
+	 */
+	ImageIcon getValue()
+	{
+		return value instanceof SoftValue ? ((SoftValue)value).get() : (ImageIcon)value;
+	}
+
+	/**
+	 * The class {@link SoftValue} is the soft reference of an icon that knows its node, so the node
+	 * can be removed as soon as the reference is cleared
+	 */
+	static final class SoftValue extends SoftReference<ImageIcon>
+	{
+
+		/** The node of the icon */
+		final CacheNode node;
+
+		SoftValue(final ImageIcon icon, final ReferenceQueue<ImageIcon> queue, final CacheNode node)
+		{
+			super(icon, queue);
+			this.node = node;
+		}
+	}
+}
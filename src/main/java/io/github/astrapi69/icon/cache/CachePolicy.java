@@ -0,0 +1,137 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.icon.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * The class {@link CachePolicy} is the base of the eviction policies of an {@link IconCache}. All
+ * methods are only called while the eviction lock of the cache is held
+ */
+abstract class CachePolicy
+{
+
+	/**
+	 * Factory method for create the policy for the given {@link EvictionPolicy}
+	 *
+	 * @param evictionPolicy
+	 *            the eviction policy
+	 * @param maximumWeight
+	 *            the maximum weight of the cache
+	 * @return the new {@link CachePolicy} object
+	 */
+	static CachePolicy of(final EvictionPolicy evictionPolicy, final long maximumWeight)
+	{
+		switch (evictionPolicy)
+		{
+			case LRU :
+				return new LruPolicy();
+			default :
+				return new WindowTinyLfuPolicy(maximumWeight);
+		}
+	}
+
+	/**
+	 * Gets the queues of this policy, every queue is in access order
+	 *
+	 * @return the queues
+	 */
+	abstract AccessOrderDeque[] getQueues();
+
+	/**
+	 * Adds the given new node
+	 *
+	 * @param node
+	 *            the new node
+	 */
+	abstract void add(CacheNode node);
+
+	/**
+	 * Records an access of the given node
+	 *
+	 * @param node
+	 *            the accessed node
+	 */
+	abstract void access(CacheNode node);
+
+	/**
+	 * Evicts nodes with the given remover until the weight does not exceed the given maximum
+	 *
+	 * @param maximumWeight
+	 *            the maximum weight
+	 * @param remover
+	 *            the remover that removes a node from the cache and this policy
+	 */
+	abstract void evict(long maximumWeight, Consumer<CacheNode> remover);
+
+	/**
+	 * Removes the given node
+	 *
+	 * @param node
+	 *            the node to remove
+	 */
+	void remove(final CacheNode node)
+	{
+		getQueues()[node.queue].remove(node);
+	}
+
+	/**
+	 * Gets the sum of the weights of all nodes
+	 *
+	 * @return the weight
+	 */
+	long getWeight()
+	{
+		long weight = 0;
+		for (final AccessOrderDeque queue : getQueues())
+		{
+			weight += queue.getWeight();
+		}
+		return weight;
+	}
+
+	/**
+	 * Removes the nodes that were not accessed for the given duration with the given remover
+	 *
+	 * @param now
+	 *            the current time in nanoseconds
+	 * @param expireAfterAccess
+	 *            the duration in nanoseconds after the last access
+	 * @param remover
+	 *            the remover that removes a node from the cache and this policy
+	 */
+	void expire(final long now, final long expireAfterAccess, final Consumer<CacheNode> remover)
+	{
+		for (final AccessOrderDeque queue : getQueues())
+		{
+			CacheNode node = queue.peekFirst();
+			while (node != null && now - node.accessTime >= expireAfterAccess)
+			{
+				remover.accept(node);
+				node = queue.peekFirst();
+			}
+		}
+	}
+}
@@ -0,0 +1,149 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.icon.cache;
+
+/**
+ * The class {@link FrequencySketch} estimates the access frequencies of keys with a count-min
+ * sketch of 4 bit counters, four counters of every key are incremented and the minimum of them is
+ * the estimate. After ten times as many increments as the sketch has counter groups all counters
+ * are halved, so the estimates age and older popularity fades
+ */
+final class FrequencySketch
+{
+
+	/** The seeds of the four hash functions */
+	private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L,
+			0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+
+	/** The mask that keeps the lower three bits of every counter while halving */
+	private static final long HALF_MASK = 0x7777777777777777L;
+
+	/** The maximum capacity */
+	private static final int MAXIMUM_CAPACITY = 1 << 24;
+
+	/** Every long holds sixteen 4 bit counters */
+	private long[] table = new long[16];
+
+	/** The count of increments after that the counters are halved */
+	private int sampleSize = 160;
+
+	/** The count of increments since the last halving */
+	private int size;
+
+	private static int spread(final int hashCode)
+	{
+		int hash = ((hashCode >>> 16) ^ hashCode) * 0x45d9f3b;
+		hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+		return (hash >>> 16) ^ hash;
+	}
+
+	/**
+	 * Ensures that the sketch has enough counters for the given count of keys
+	 *
+	 * @param maximumSize
+	 *            the count of keys
+	 */
+	void ensureCapacity(final long maximumSize)
+	{
+		final int capacity = (int)Math.min(MAXIMUM_CAPACITY, maximumSize);
+		if (capacity <= table.length)
+		{
+			return;
+		}
+		table = new long[Integer.highestOneBit(capacity - 1) << 1];
+		sampleSize = 10 * table.length;
+		size = 0;
+	}
+
+	/**
+	 * Gets the estimated frequency of the given key
+	 *
+	 * @param key
+	 *            the key
+	 * @return the estimated frequency between 0 and 15
+	 */
+	int frequency(final Object key)
+	{
+		final int hash = spread(key.hashCode());
+		final int start = (hash & 3) << 2;
+		int frequency = 15;
+		for (int i = 0; i < 4; i++)
+		{
+			final int index = indexOf(hash, i);
+			final int count = (int)((table[index] >>> ((start + i) << 2)) & 0xFL);
+			frequency = Math.min(frequency, count);
+		}
+		return frequency;
+	}
+
+	/**
+	 * Increments the estimated frequency of the given key if it is not already at the maximum
+	 *
+	 * @param key
+	 *            the key
+	 */
+	void increment(final Object key)
+	{
+		final int hash = spread(key.hashCode());
+		final int start = (hash & 3) << 2;
+		boolean added = false;
+		for (int i = 0; i < 4; i++)
+		{
+			added |= incrementAt(indexOf(hash, i), start + i);
+		}
+		if (added && ++size == sampleSize)
+		{
+			reset();
+		}
+	}
+
+	private boolean incrementAt(final int index, final int counter)
+	{
+		final int offset = counter << 2;
+		final long mask = 0xFL << offset;
+		if ((table[index] & mask) != mask)
+		{
+			table[index] += 1L << offset;
+			return true;
+		}
+		return false;
+	}
+
+	private int indexOf(final int hash, final int depth)
+	{
+		long value = (hash + SEEDS[depth]) * SEEDS[depth];
+		value += value >>> 32;
+		return (int)value & (table.length - 1);
+	}
+
+	private void reset()
+	{
+		for (int i = 0; i < table.length; i++)
+		{
+			table[i] = (table[i] >>> 1) & HALF_MASK;
+		}
+		size = size >>> 1;
+	}
+}
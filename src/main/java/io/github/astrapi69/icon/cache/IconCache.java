@@ -0,0 +1,350 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.icon.cache;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import javax.swing.ImageIcon;
+
+import io.github.astrapi69.icon.model.IconCacheOptions;
+import lombok.Getter;
+
+/**
+ * The class {@link IconCache} is a bounded cache of {@link ImageIcon} objects by key that weighs
+ * every icon by the bytes of its decoded pixels. If the sum of the weights exceeds the maximum
+ * weight, icons are evicted with the configured {@link EvictionPolicy}. Icons can optionally be
+ * held by soft references and expire after a duration without access. <br>
+ * <br>
+ * The read path is lock-free: a read looks the icon up in a {@link ConcurrentHashMap} and records
+ * the access in a striped {@link ReadBuffer}. Writes, evictions and the replay of the recorded
+ * accesses into the policy happen while a single eviction lock is held. A read only tries to get
+ * that lock if its stripe of the read buffer is full
+ */
+public class IconCache
+{
+
+	/** The nodes by key */
+	private final ConcurrentHashMap<String, CacheNode> data = new ConcurrentHashMap<>();
+
+	/** The lock for writes and for the policy */
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	/** The recorded accesses of the read path */
+	private final ReadBuffer readBuffer = new ReadBuffer();
+
+	/** The eviction policy */
+	private final CachePolicy policy;
+
+	/** The queue of the cleared soft references or null for strong values */
+	private final ReferenceQueue<ImageIcon> referenceQueue;
+
+	/** The duration after the last access in nanoseconds or 0 if icons never expire */
+	private final long expireAfterAccess;
+
+	/** The source of the time in nanoseconds */
+	private final LongSupplier ticker;
+
+	/** The options of this cache */
+	@Getter
+	private final IconCacheOptions options;
+
+	/**
+	 * Instantiates a new {@link IconCache} object with the default options
+	 */
+	public IconCache()
+	{
+		this(IconCacheOptions.DEFAULT);
+	}
+
+	/**
+	 * Instantiates a new {@link IconCache} object with the given options
+	 *
+	 * @param options
+	 *            the options
+	 */
+	public IconCache(final IconCacheOptions options)
+	{
+		this(options, System::nanoTime);
+	}
+
+	/**
+	 * Instantiates a new {@link IconCache} object with the given options and the given ticker
+	 *
+	 * @param options
+	 *            the options
+	 * @param ticker
+	 *            the source of the time in nanoseconds
+	 */
+	IconCache(final IconCacheOptions options, final LongSupplier ticker)
+	{
+		Objects.requireNonNull(options, "options");
+		if (options.getMaximumWeight() < 0)
+		{
+			throw new IllegalArgumentException("The maximum weight must not be negative");
+		}
+		this.options = options;
+		this.ticker = ticker;
+		this.policy = CachePolicy.of(options.getEvictionPolicy(), options.getMaximumWeight());
+		this.referenceQueue = options.isSoftValues() ? new ReferenceQueue<>() : null;
+		this.expireAfterAccess = options.getExpireAfterAccess() == null
+			? 0
+			: Math.max(1, options.getExpireAfterAccess().toNanos());
+	}
+
+	/**
+	 * Computes the weight of the given icon, that is the count of bytes of its decoded pixels
+	 *
+	 * @param icon
+	 *            the icon
+	 * @return the weight in bytes
+	 */
+	public static long weigh(final ImageIcon icon)
+	{
+		return (long)Math.max(1, icon.getIconWidth()) * Math.max(1, icon.getIconHeight()) * 4;
+	}
+
+	/**
+	 * Gets the icon of the given key without locking
+	 *
+	 * @param key
+	 *            the key
+	 * @return the icon or null if the cache holds no icon for the given key
+	 */
+	public ImageIcon get(final String key)
+	{
+		final CacheNode node = data.get(key);
+		if (node == null)
+		{
+			return null;
+		}
+		final ImageIcon icon = node.getValue();
+		final long now = expireAfterAccess == 0 ? 0 : ticker.getAsLong();
+		if (icon == null || isExpired(node, now))
+		{
+			return null;
+		}
+		if (expireAfterAccess != 0)
+		{
+			node.accessTime = now;
+		}
+		if (!readBuffer.offer(node))
+		{
+			tryCleanUp();
+		}
+		return icon;
+	}
+
+	/**
+	 * Puts the given icon with the given key into the cache and evicts icons if the maximum weight
+	 * is exceeded. An icon that weighs more than the maximum weight is evicted immediately
+	 *
+	 * @param key
+	 *            the key
+	 * @param icon
+	 *            the icon
+	 */
+	public void put(final String key, final ImageIcon icon)
+	{
+		Objects.requireNonNull(key, "key");
+		Objects.requireNonNull(icon, "icon");
+		final long now = ticker.getAsLong();
+		final CacheNode node = new CacheNode(key, icon, weigh(icon), now, referenceQueue);
+		evictionLock.lock();
+		try
+		{
+			drainReadBuffer();
+			final CacheNode replaced = data.put(key, node);
+			if (replaced != null)
+			{
+				unlink(replaced);
+			}
+			policy.add(node);
+			maintain(now);
+		}
+		finally
+		{
+			evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * Removes the icon of the given key
+	 *
+	 * @param key
+	 *            the key
+	 */
+	public void invalidate(final String key)
+	{
+		evictionLock.lock();
+		try
+		{
+			final CacheNode node = data.get(key);
+			if (node != null)
+			{
+				remove(node);
+			}
+		}
+		finally
+		{
+			evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * Removes all icons
+	 */
+	public void invalidateAll()
+	{
+		evictionLock.lock();
+		try
+		{
+			readBuffer.drain(node -> {
+			});
+			for (final CacheNode node : data.values())
+			{
+				remove(node);
+			}
+		}
+		finally
+		{
+			evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * Gets the count of icons in the cache, that may include expired icons and icons with a cleared
+	 * soft reference until the next clean up
+	 *
+	 * @return the count of icons
+	 */
+	public int size()
+	{
+		return data.size();
+	}
+
+	/**
+	 * Gets the sum of the weights of all icons in the cache
+	 *
+	 * @return the weight in bytes
+	 */
+	public long getWeight()
+	{
+		evictionLock.lock();
+		try
+		{
+			return policy.getWeight();
+		}
+		finally
+		{
+			evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * Replays the recorded accesses, removes expired icons and icons with a cleared soft reference
+	 * and evicts icons if the maximum weight is exceeded
+	 */
+	public void cleanUp()
+	{
+		evictionLock.lock();
+		try
+		{
+			maintain(ticker.getAsLong());
+		}
+		finally
+		{
+			evictionLock.unlock();
+		}
+	}
+
+	private boolean isExpired(final CacheNode node, final long now)
+	{
+		return expireAfterAccess != 0 && now - node.accessTime >= expireAfterAccess;
+	}
+
+	private void tryCleanUp()
+	{
+		if (evictionLock.tryLock())
+		{
+			try
+			{
+				maintain(ticker.getAsLong());
+			}
+			finally
+			{
+				evictionLock.unlock();
+			}
+		}
+	}
+
+	private void drainReadBuffer()
+	{
+		readBuffer.drain(node -> {
+			if (node.alive)
+			{
+				policy.access(node);
+			}
+		});
+	}
+
+	private void maintain(final long now)
+	{
+		drainReadBuffer();
+		if (referenceQueue != null)
+		{
+			Reference<? extends ImageIcon> reference;
+			while ((reference = referenceQueue.poll()) != null)
+			{
+				final CacheNode node = ((CacheNode.SoftValue)reference).node;
+				if (node.alive)
+				{
+					remove(node);
+				}
+			}
+		}
+		if (expireAfterAccess != 0)
+		{
+			policy.expire(now, expireAfterAccess, this::remove);
+		}
+		policy.evict(options.getMaximumWeight(), this::remove);
+	}
+
+	private void remove(final CacheNode node)
+	{
+		data.remove(node.key, node);
+		unlink(node);
+	}
+
+	private void unlink(final CacheNode node)
+	{
+		node.alive = false;
+		policy.remove(node);
+	}
+}
@@ -0,0 +1,134 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.icon.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * The class {@link ReadBuffer} records the accesses of the lock-free read path of an
+ * {@link IconCache} in striped ring buffers, that are drained while the eviction lock is held.
+ * Every thread writes to the stripe of its id, a full stripe or a lost race drops the access. The
+ * policy only needs an approximate access order, so dropped accesses are harmless
+ */
+final class ReadBuffer
+{
+
+	/** The count of accesses of one stripe */
+	static final int STRIPE_SIZE = 16;
+
+	/** The stripes */
+	private final Stripe[] stripes;
+
+	/**
+	 * Instantiates a new {@link ReadBuffer} object with a stripe for every available processor
+	 */
+	ReadBuffer()
+	{
+		final int processors = Runtime.getRuntime().availableProcessors();
+		stripes = new Stripe[Integer.highestOneBit(Math.max(1, processors - 1)) << 1];
+		for (int i = 0; i < stripes.length; i++)
+		{
+			stripes[i] = new Stripe();
+		}
+	}
+
+	/**
+	 * Records an access of the given node
+	 *
+	 * @param node
+	 *            the accessed node
+	 * @return false if the stripe of the current thread is full otherwise true
+	 */
+	boolean offer(final CacheNode node)
+	{
+		final int probe = (int)Thread.currentThread().threadId() * 0x9E3779B9;
+		return stripes[(probe >>> 16) & (stripes.length - 1)].offer(node);
+	}
+
+	/**
+	 * Drains all recorded accesses into the given consumer. This method may only be called while
+	 * the eviction lock is held
+	 *
+	 * @param consumer
+	 *            the consumer of the accessed nodes
+	 */
+	void drain(final Consumer<CacheNode> consumer)
+	{
+		for (final Stripe stripe : stripes)
+		{
+			stripe.drain(consumer);
+		}
+	}
+
+	/**
+	 * The class {@link Stripe} is a bounded ring buffer with many writers and a single reader
+	 */
+	static final class Stripe
+	{
+
+		/** The recorded nodes */
+		final AtomicReferenceArray<CacheNode> buffer = new AtomicReferenceArray<>(STRIPE_SIZE);
+
+		/** The count of written accesses */
+		final AtomicLong writeCounter = new AtomicLong();
+
+		/** The count of drained accesses, only written by the reader */
+		volatile long readCounter;
+
+		boolean offer(final CacheNode node)
+		{
+			final long tail = writeCounter.get();
+			if (tail - readCounter >= STRIPE_SIZE)
+			{
+				return false;
+			}
+			if (writeCounter.compareAndSet(tail, tail + 1))
+			{
+				buffer.lazySet((int)(tail & (STRIPE_SIZE - 1)), node);
+			}
+			return true;
+		}
+
+		void drain(final Consumer<CacheNode> consumer)
+		{
+			long head = readCounter;
+			final long tail = writeCounter.get();
+			for (; head < tail; head++)
+			{
+				final int index = (int)(head & (STRIPE_SIZE - 1));
+				final CacheNode node = buffer.get(index);
+				if (node == null)
+				{
+					break;
+				}
+				buffer.lazySet(index, null);
+				consumer.accept(node);
+			}
+			readCounter = head;
+		}
+	}
+}
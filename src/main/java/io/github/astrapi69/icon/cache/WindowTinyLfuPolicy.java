@@ -0,0 +1,152 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.icon.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * The class {@link WindowTinyLfuPolicy} evicts with Window TinyLFU. New nodes enter an LRU window
+ * of one percent of the maximum weight. Nodes that leave the window become candidates for the main
+ * area, that is a segmented LRU with a probation and a protected queue of eighty percent of the
+ * main area. A candidate is only admitted if the {@link FrequencySketch} estimates that it is used
+ * more frequently than the least recently used node of the probation queue, otherwise the candidate
+ * is evicted
+ */
+final class WindowTinyLfuPolicy extends CachePolicy
+{
+
+	/** The window, probation and protected queues */
+	private final AccessOrderDeque[] queues = { new AccessOrderDeque(), new AccessOrderDeque(),
+			new AccessOrderDeque() };
+
+	/** The estimated access frequencies of the keys */
+	private final FrequencySketch sketch = new FrequencySketch();
+
+	/** The maximum weight of the window */
+	private final long maximumWindowWeight;
+
+	/** The maximum weight of the protected queue */
+	private final long maximumProtectedWeight;
+
+	/** The count of nodes */
+	private long size;
+
+	/**
+	 * Instantiates a new {@link WindowTinyLfuPolicy} object
+	 *
+	 * @param maximumWeight
+	 *            the maximum weight of the cache
+	 */
+	WindowTinyLfuPolicy(final long maximumWeight)
+	{
+		this.maximumWindowWeight = Math.max(1, maximumWeight / 100);
+		this.maximumProtectedWeight = (maximumWeight - maximumWindowWeight) * 80 / 100;
+	}
+
+	@Override
+	AccessOrderDeque[] getQueues()
+	{
+		return queues;
+	}
+
+	@Override
+	void add(final CacheNode node)
+	{
+		sketch.ensureCapacity(++size);
+		sketch.increment(node.key);
+		node.queue = CacheNode.WINDOW;
+		queues[CacheNode.WINDOW].addLast(node);
+	}
+
+	@Override
+	void access(final CacheNode node)
+	{
+		sketch.increment(node.key);
+		if (node.queue == CacheNode.PROBATION)
+		{
+			queues[CacheNode.PROBATION].remove(node);
+			node.queue = CacheNode.PROTECTED;
+			queues[CacheNode.PROTECTED].addLast(node);
+			while (queues[CacheNode.PROTECTED].getWeight() > maximumProtectedWeight)
+			{
+				final CacheNode demoted = queues[CacheNode.PROTECTED].pollFirst();
+				demoted.queue = CacheNode.PROBATION;
+				queues[CacheNode.PROBATION].addLast(demoted);
+			}
+			return;
+		}
+		queues[node.queue].moveToBack(node);
+	}
+
+	@Override
+	void remove(final CacheNode node)
+	{
+		super.remove(node);
+		size--;
+	}
+
+	@Override
+	void evict(final long maximumWeight, final Consumer<CacheNode> remover)
+	{
+		CacheNode candidate = null;
+		while (queues[CacheNode.WINDOW].getWeight() > maximumWindowWeight)
+		{
+			final CacheNode node = queues[CacheNode.WINDOW].pollFirst();
+			node.queue = CacheNode.PROBATION;
+			queues[CacheNode.PROBATION].addLast(node);
+			if (candidate == null)
+			{
+				candidate = node;
+			}
+		}
+		while (getWeight() > maximumWeight)
+		{
+			CacheNode victim = queues[CacheNode.PROBATION].peekFirst();
+			if (victim == null)
+			{
+				victim = queues[CacheNode.PROTECTED].peekFirst();
+			}
+			if (victim == null)
+			{
+				victim = queues[CacheNode.WINDOW].peekFirst();
+			}
+			if (candidate == null || candidate == victim || candidate.queue != CacheNode.PROBATION)
+			{
+				candidate = candidate == victim ? victim.next : null;
+				remover.accept(victim);
+			}
+			else if (sketch.frequency(candidate.key) > sketch.frequency(victim.key))
+			{
+				remover.accept(victim);
+			}
+			else
+			{
+				final CacheNode next = candidate.next;
+				remover.accept(candidate);
+				candidate = next;
+			}
+		}
+	}
+}
@@ -0,0 +1,4 @@
+/**
+ * This is the package for the bounded and weight-aware icon cache and its eviction policies
+ */
+package io.github.astrapi69.icon.cache;
@@ -0,0 +1,63 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.icon.model;
+
+import java.time.Duration;
+
+import io.github.astrapi69.icon.cache.EvictionPolicy;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * The class {@link IconCacheOptions} is the data model for the options of an icon cache. The weight
+ * of an icon is the count of bytes of its decoded pixels, that is width * height * 4
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class IconCacheOptions
+{
+	/** The options with a maximum weight of 64 MB, Window TinyLFU and strong values */
+	public static final IconCacheOptions DEFAULT = IconCacheOptions.builder().build();
+
+	/** the maximum sum of the weights of all icons in bytes */
+	@Builder.Default
+	long maximumWeight = 64L * 1024 * 1024;
+	/** the policy that selects the icons to evict */
+	@Builder.Default
+	EvictionPolicy evictionPolicy = EvictionPolicy.WINDOW_TINY_LFU;
+	/** the flag if the icons are held by soft references, that the garbage collector may clear */
+	boolean softValues;
+	/** the duration after the last access that an icon expires or null if icons never expire */
+	Duration expireAfterAccess;
+}
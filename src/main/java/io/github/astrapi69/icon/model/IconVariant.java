@@ -0,0 +1,98 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.icon.model;
+
+import java.awt.Color;
+
+import io.github.astrapi69.icon.IconVariantType;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * The class {@link IconVariant} is the data model for a variant that is derived from a source icon.
+ * Equal variants of the same source icon share one cached icon
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class IconVariant
+{
+	/** The gray variant */
+	public static final IconVariant GRAYSCALE = IconVariant.builder()
+		.type(IconVariantType.GRAYSCALE).build();
+
+	/** The disabled variant, gray and lightened halfway towards white */
+	public static final IconVariant DISABLED = IconVariant.builder().type(IconVariantType.DISABLED)
+		.amount(0.5f).build();
+
+	/** The rollover variant with a slightly increased brightness */
+	public static final IconVariant ROLLOVER = brightness(0.15f);
+
+	/** The pressed variant with a slightly decreased brightness */
+	public static final IconVariant PRESSED = brightness(-0.15f);
+
+	/** the type of the transformation */
+	@Builder.Default
+	IconVariantType type = IconVariantType.GRAYSCALE;
+	/** the color of the tint or null for the other types */
+	Color color;
+	/** the amount of the tint, the brightness delta or how far a disabled icon is lightened */
+	float amount;
+
+	/**
+	 * Factory method for create a new tinted {@link IconVariant} object
+	 *
+	 * @param color
+	 *            the color of the tint
+	 * @param amount
+	 *            the amount between 0 for the unchanged color and 1 for the full tint
+	 * @return the new {@link IconVariant} object
+	 */
+	public static IconVariant tinted(final Color color, final float amount)
+	{
+		return IconVariant.builder().type(IconVariantType.TINTED).color(color).amount(amount)
+			.build();
+	}
+
+	/**
+	 * Factory method for create a new {@link IconVariant} object that shifts the brightness
+	 *
+	 * @param delta
+	 *            the delta between -1 and 1 that is added to the HSB brightness
+	 * @return the new {@link IconVariant} object
+	 */
+	public static IconVariant brightness(final float delta)
+	{
+		return IconVariant.builder().type(IconVariantType.BRIGHTNESS).amount(delta).build();
+	}
+}
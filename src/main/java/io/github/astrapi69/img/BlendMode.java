@@ -0,0 +1,89 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+/**
+ * The enum {@link BlendMode} defines how the {@link ImageCompositor} combines a source pixel with a
+ * destination pixel. The Porter-Duff modes correspond to the rules of
+ * {@link java.awt.AlphaComposite}, the separable blend modes follow the W3C compositing
+ * specification and composite the blended color with source over
+ */
+public enum BlendMode
+{
+
+	/** Porter-Duff clear, both color and alpha are cleared */
+	CLEAR,
+
+	/** Porter-Duff source, the source replaces the destination */
+	SRC,
+
+	/** Porter-Duff destination, the destination is left untouched */
+	DST,
+
+	/** Porter-Duff source over, the source is composited over the destination */
+	SRC_OVER,
+
+	/** Porter-Duff destination over, the destination is composited over the source */
+	DST_OVER,
+
+	/** Porter-Duff source in, the part of the source inside the destination */
+	SRC_IN,
+
+	/** Porter-Duff destination in, the part of the destination inside the source */
+	DST_IN,
+
+	/** Porter-Duff source out, the part of the source outside the destination */
+	SRC_OUT,
+
+	/** Porter-Duff destination out, the part of the destination outside the source */
+	DST_OUT,
+
+	/** Porter-Duff source atop, the part of the source inside the destination over it */
+	SRC_ATOP,
+
+	/** Porter-Duff destination atop, the part of the destination inside the source over it */
+	DST_ATOP,
+
+	/** Porter-Duff xor, the parts of source and destination outside of each other */
+	XOR,
+
+	/** The product of the colors, the result is always at least as dark as both colors */
+	MULTIPLY,
+
+	/** The inverted product of the inverted colors, the inverse of multiply */
+	SCREEN,
+
+	/** Multiply or screen depending on the destination color, keeps highlights and shadows */
+	OVERLAY,
+
+	/** The darker of both colors */
+	DARKEN,
+
+	/** The lighter of both colors */
+	LIGHTEN,
+
+	/** The sum of both colors and alphas clamped to the maximum */
+	ADD
+}
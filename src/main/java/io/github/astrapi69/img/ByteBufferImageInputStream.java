@@ -0,0 +1,115 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageInputStreamImpl;
+
+/**
+ * The class {@link ByteBufferImageInputStream} is an {@link ImageInputStream} that reads directly
+ * from the remaining bytes of a {@link ByteBuffer}. If the buffer is a
+ * {@link java.nio.MappedByteBuffer} the image data is read straight from the page cache without any
+ * intermediate copy on the heap
+ */
+public class ByteBufferImageInputStream extends ImageInputStreamImpl
+{
+
+	/** The buffer with the image data */
+	private final ByteBuffer buffer;
+
+	/** The index of the first byte of the image data in the buffer */
+	private final int base;
+
+	/** The count of bytes of the image data */
+	private final int length;
+
+	/**
+	 * Instantiates a new {@link ByteBufferImageInputStream} over the remaining bytes of the given
+	 * buffer. The position and the limit of the given buffer are not changed
+	 *
+	 * @param buffer
+	 *            the buffer with the image data
+	 */
+	public ByteBufferImageInputStream(final ByteBuffer buffer)
+	{
+		this.buffer = buffer.duplicate();
+		this.base = buffer.position();
+		this.length = buffer.remaining();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int read() throws IOException
+	{
+		checkClosed();
+		bitOffset = 0;
+		if (streamPos >= length)
+		{
+			return -1;
+		}
+		return buffer.get(base + (int)streamPos++) & 0xff;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int read(final byte[] b, final int off, final int len) throws IOException
+	{
+		checkClosed();
+		if (off < 0 || len < 0 || off + len > b.length || off + len < 0)
+		{
+			throw new IndexOutOfBoundsException(
+				"off < 0 || len < 0 || off + len > b.length || off + len < 0");
+		}
+		bitOffset = 0;
+		if (len == 0)
+		{
+			return 0;
+		}
+		if (streamPos >= length)
+		{
+			return -1;
+		}
+		final int count = (int)Math.min(len, length - streamPos);
+		buffer.get(base + (int)streamPos, b, off, count);
+		streamPos += count;
+		return count;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long length()
+	{
+		return length;
+	}
+}
@@ -0,0 +1,285 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.ImageOutputStreamImpl;
+
+/**
+ * The class {@link ByteBufferImageOutputStream} is a seekable {@link ImageOutputStream} that writes
+ * into a growable heap {@link ByteBuffer}. Image writers encode directly into the buffer without
+ * the memory or file cache that ImageIO puts in front of an {@link OutputStream}. A pooled instance
+ * per thread can be obtained with {@link ByteBufferImageOutputStream#pooled()}, so repeated encodes
+ * on the same thread reuse the same buffer
+ */
+public class ByteBufferImageOutputStream extends ImageOutputStreamImpl
+{
+
+	/** The default initial capacity of the buffer */
+	public static final int DEFAULT_CAPACITY = 8192;
+
+	/**
+	 * The maximum capacity that a pooled buffer keeps between two usages, larger buffers are
+	 * released by {@link #recycle()} or when the pooled instance is requested again
+	 */
+	public static final int MAX_POOLED_CAPACITY = 16 * 1024 * 1024;
+
+	/** The maximum capacity of a buffer */
+	private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+	/** The pooled instances per thread */
+	private static final ThreadLocal<ByteBufferImageOutputStream> POOL = ThreadLocal
+		.withInitial(ByteBufferImageOutputStream::new);
+
+	/** The buffer that holds the written bytes */
+	private ByteBuffer buffer;
+
+	/** The count of written bytes */
+	private int length;
+
+	/** The flag that indicates if this stream is closed */
+	private boolean closed;
+
+	/**
+	 * Instantiates a new {@link ByteBufferImageOutputStream} with the default capacity
+	 */
+	public ByteBufferImageOutputStream()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Instantiates a new {@link ByteBufferImageOutputStream} with the given initial capacity
+	 *
+	 * @param initialCapacity
+	 *            the initial capacity of the buffer
+	 */
+	public ByteBufferImageOutputStream(final int initialCapacity)
+	{
+		this.buffer = ByteBuffer.allocate(initialCapacity);
+	}
+
+	/**
+	 * Gets the cleared pooled {@link ByteBufferImageOutputStream} object of the current thread. The
+	 * content of the pooled instance is only valid until the next call of this method on the same
+	 * thread
+	 *
+	 * @return the pooled {@link ByteBufferImageOutputStream} object of the current thread
+	 */
+	public static ByteBufferImageOutputStream pooled()
+	{
+		ByteBufferImageOutputStream stream = POOL.get();
+		if (stream.closed || MAX_POOLED_CAPACITY < stream.buffer.capacity())
+		{
+			stream = new ByteBufferImageOutputStream();
+			POOL.set(stream);
+		}
+		stream.clear();
+		return stream;
+	}
+
+	/**
+	 * Releases this stream from the pool of the current thread if its buffer grew larger than
+	 * {@link #MAX_POOLED_CAPACITY}, so a long lived thread does not keep the buffer of a large
+	 * encode until its next encode. The callers that copied the written bytes out call this after
+	 * the usage, the content of this stream is still valid afterwards
+	 */
+	public void recycle()
+	{
+		if (MAX_POOLED_CAPACITY < buffer.capacity() && POOL.get() == this)
+		{
+			POOL.remove();
+		}
+	}
+
+	/**
+	 * Clears this stream so it can be reused for the next image
+	 */
+	public void clear()
+	{
+		streamPos = 0;
+		flushedPos = 0;
+		bitOffset = 0;
+		length = 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(final int b) throws IOException
+	{
+		checkClosed();
+		flushBits();
+		ensureCapacity(streamPos + 1);
+		buffer.put((int)streamPos++, (byte)b);
+		length = (int)Math.max(length, streamPos);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(final byte[] b, final int off, final int len) throws IOException
+	{
+		checkClosed();
+		flushBits();
+		ensureCapacity(streamPos + len);
+		buffer.put((int)streamPos, b, off, len);
+		streamPos += len;
+		length = (int)Math.max(length, streamPos);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int read() throws IOException
+	{
+		checkClosed();
+		bitOffset = 0;
+		if (streamPos >= length)
+		{
+			return -1;
+		}
+		return buffer.get((int)streamPos++) & 0xff;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int read(final byte[] b, final int off, final int len) throws IOException
+	{
+		checkClosed();
+		bitOffset = 0;
+		if (len == 0)
+		{
+			return 0;
+		}
+		if (streamPos >= length)
+		{
+			return -1;
+		}
+		final int count = (int)Math.min(len, length - streamPos);
+		buffer.get((int)streamPos, b, off, count);
+		streamPos += count;
+		return count;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long length()
+	{
+		return length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		super.close();
+		closed = true;
+	}
+
+	/**
+	 * Gets a read only view of the written bytes without copying them
+	 *
+	 * @return the read only {@link ByteBuffer} object with the written bytes
+	 */
+	public ByteBuffer toByteBuffer()
+	{
+		return buffer.asReadOnlyBuffer().position(0).limit(length).slice();
+	}
+
+	/**
+	 * Copies the written bytes into a new byte array with the exact length
+	 *
+	 * @return the new byte array
+	 */
+	public byte[] toByteArray()
+	{
+		return Arrays.copyOf(buffer.array(), length);
+	}
+
+	/**
+	 * Writes the written bytes to the given {@link OutputStream} object
+	 *
+	 * @param output
+	 *            the output stream
+	 * @return the count of the written bytes
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public long writeTo(final OutputStream output) throws IOException
+	{
+		output.write(buffer.array(), 0, length);
+		return length;
+	}
+
+	/**
+	 * Writes the written bytes to the given {@link WritableByteChannel} object
+	 *
+	 * @param channel
+	 *            the channel
+	 * @return the count of the written bytes
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public long writeTo(final WritableByteChannel channel) throws IOException
+	{
+		final ByteBuffer content = toByteBuffer();
+		while (content.hasRemaining())
+		{
+			channel.write(content);
+		}
+		return length;
+	}
+
+	private void ensureCapacity(final long minCapacity) throws IOException
+	{
+		if (minCapacity <= buffer.capacity())
+		{
+			return;
+		}
+		if (MAX_CAPACITY < minCapacity)
+		{
+			throw new IOException("Required capacity exceeds the maximum buffer size");
+		}
+		final int newCapacity = (int)Math.min(MAX_CAPACITY,
+			Math.max(minCapacity, buffer.capacity() * 2L));
+		buffer = ByteBuffer.wrap(Arrays.copyOf(buffer.array(), newCapacity));
+	}
+}
@@ -0,0 +1,281 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.awt.image.MultiPixelPackedSampleModel;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import io.github.astrapi69.img.model.AtlasOptions;
+import io.github.astrapi69.img.model.ImageAtlas;
+
+/**
+ * The class {@link ImageAtlasBuilder} packs many images into one atlas image, also known as sprite
+ * sheet. The size of the atlas is computed from the images and the {@link AtlasLayout}, the pixels
+ * are copied row by row on the rasters and the images are copied in parallel. The returned
+ * {@link ImageAtlas} contains the bounds of every image, so the images can be sliced out again
+ */
+public class ImageAtlasBuilder
+{
+
+	/**
+	 * Builds an atlas from the given images with the {@link AtlasOptions#DEFAULT} options
+	 *
+	 * @param images
+	 *            the images by their names, the iteration order is the order of the layout
+	 * @return the new {@link ImageAtlas} object
+	 */
+	public static ImageAtlas build(final Map<String, BufferedImage> images)
+	{
+		return build(images, AtlasOptions.DEFAULT);
+	}
+
+	/**
+	 * Builds an atlas from the given images with the given options on the common
+	 * {@link ForkJoinPool}
+	 *
+	 * @param images
+	 *            the images by their names, the iteration order is the order of the layout
+	 * @param options
+	 *            the atlas options
+	 * @return the new {@link ImageAtlas} object
+	 */
+	public static ImageAtlas build(final Map<String, BufferedImage> images,
+		final AtlasOptions options)
+	{
+		return build(images, options, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Builds an atlas from the given images with the given options on the given
+	 * {@link ForkJoinPool}
+	 *
+	 * @param images
+	 *            the images by their names, the iteration order is the order of the layout
+	 * @param options
+	 *            the atlas options
+	 * @param pool
+	 *            the pool that copies the images
+	 * @return the new {@link ImageAtlas} object
+	 */
+	public static ImageAtlas build(final Map<String, BufferedImage> images,
+		final AtlasOptions options, final ForkJoinPool pool)
+	{
+		if (images.isEmpty())
+		{
+			throw new IllegalArgumentException("Given images must not be empty");
+		}
+		final String[] names = images.keySet().toArray(new String[0]);
+		final BufferedImage[] tiles = images.values().toArray(new BufferedImage[0]);
+		final Rectangle[] bounds = layout(tiles, options);
+		final Rectangle union = new Rectangle();
+		for (final Rectangle rectangle : bounds)
+		{
+			union.add(rectangle);
+		}
+		final BufferedImage atlas = new BufferedImage(union.width, union.height,
+			options.getImageType());
+		copy(atlas, tiles, bounds, pool);
+		final Map<String, Rectangle> index = new LinkedHashMap<>();
+		for (int i = 0; i < names.length; i++)
+		{
+			index.put(names[i], bounds[i]);
+		}
+		return ImageAtlas.builder().image(atlas).index(Collections.unmodifiableMap(index)).build();
+	}
+
+	/**
+	 * Computes the bounds of the given images in the atlas with the given options
+	 *
+	 * @param images
+	 *            the images
+	 * @param options
+	 *            the atlas options
+	 * @return the bounds of the images in the same order as the given images
+	 */
+	static Rectangle[] layout(final BufferedImage[] images, final AtlasOptions options)
+	{
+		final int padding = Math.max(0, options.getPadding());
+		final Rectangle[] bounds = new Rectangle[images.length];
+		int maxWidth = 0;
+		int maxHeight = 0;
+		long area = 0;
+		for (int i = 0; i < images.length; i++)
+		{
+			bounds[i] = new Rectangle(images[i].getWidth(), images[i].getHeight());
+			maxWidth = Math.max(maxWidth, bounds[i].width);
+			maxHeight = Math.max(maxHeight, bounds[i].height);
+			area += (long)(bounds[i].width + padding) * (bounds[i].height + padding);
+		}
+		switch (options.getLayout())
+		{
+			case ROW :
+				for (int i = 1; i < bounds.length; i++)
+				{
+					bounds[i].x = bounds[i - 1].x + bounds[i - 1].width + padding;
+				}
+				break;
+			case COLUMN :
+				for (int i = 1; i < bounds.length; i++)
+				{
+					bounds[i].y = bounds[i - 1].y + bounds[i - 1].height + padding;
+				}
+				break;
+			case GRID :
+				final int columns = 0 < options.getColumns()
+					? options.getColumns()
+					: (int)Math.ceil(Math.sqrt(bounds.length));
+				for (int i = 0; i < bounds.length; i++)
+				{
+					bounds[i].x = i % columns * (maxWidth + padding);
+					bounds[i].y = i / columns * (maxHeight + padding);
+				}
+				break;
+			default :
+				final int shelfWidth = Math.max(maxWidth,
+					0 < options.getMaxWidth()
+						? options.getMaxWidth()
+						: (int)Math.ceil(Math.sqrt(area)));
+				final Integer[] order = new Integer[bounds.length];
+				Arrays.setAll(order, i -> i);
+				Arrays.sort(order, Comparator.comparingInt(i -> -bounds[i].height));
+				int x = 0;
+				int y = 0;
+				int shelfHeight = 0;
+				for (final int i : order)
+				{
+					if (0 < x && shelfWidth < x + bounds[i].width)
+					{
+						y += shelfHeight + padding;
+						x = 0;
+						shelfHeight = 0;
+					}
+					bounds[i].setLocation(x, y);
+					x += bounds[i].width + padding;
+					shelfHeight = Math.max(shelfHeight, bounds[i].height);
+				}
+		}
+		return bounds;
+	}
+
+	/**
+	 * Copies the given images to the locations of the given bounds in the given target image.
+	 * Images with more pixels than the target are clipped. If the image types match the rows are
+	 * copied with {@link System#arraycopy(Object, int, Object, int, int)} on packed int rasters or
+	 * as data elements on other rasters, otherwise the pixels are converted with the
+	 * {@link PixelView} of the images. Targets that pack several pixels into a byte are copied
+	 * sequentially because tiles at unaligned offsets share the bytes of their edges
+	 *
+	 * @param target
+	 *            the target image
+	 * @param images
+	 *            the images to copy
+	 * @param bounds
+	 *            the bounds of the images in the target image
+	 * @param pool
+	 *            the pool that copies the images in parallel
+	 */
+	static void copy(final BufferedImage target, final BufferedImage[] images,
+		final Rectangle[] bounds, final ForkJoinPool pool)
+	{
+		final ImageResampler.RowRangeOperation operation = (from, to) -> {
+			for (int i = from; i < to; i++)
+			{
+				copy(images[i], target, bounds[i].x, bounds[i].y);
+			}
+		};
+		long pixels = 0;
+		for (final BufferedImage image : images)
+		{
+			pixels += (long)image.getWidth() * image.getHeight();
+		}
+		if (images.length < 2 || pixels <= ImageResampler.PARALLEL_THRESHOLD
+			|| target.getSampleModel() instanceof MultiPixelPackedSampleModel)
+		{
+			operation.apply(0, images.length);
+		}
+		else
+		{
+			pool.invoke(new ImageResampler.RowRangeAction(0, images.length, 1, operation));
+		}
+	}
+
+	private static void copy(final BufferedImage source, final BufferedImage target, final int x,
+		final int y)
+	{
+		final int width = Math.min(source.getWidth(), target.getWidth() - x);
+		final int height = Math.min(source.getHeight(), target.getHeight() - y);
+		if (width <= 0 || height <= 0 || x < 0 || y < 0)
+		{
+			return;
+		}
+		final PixelView sourceView = PixelView.of(source);
+		final PixelView targetView = PixelView.of(target);
+		if (source.getType() == target.getType() && source.getType() != BufferedImage.TYPE_CUSTOM
+			&& !(source.getColorModel() instanceof IndexColorModel))
+		{
+			if (sourceView.getIntData() != null && targetView.getIntData() != null)
+			{
+				final int[] src = sourceView.getIntData();
+				final int[] dst = targetView.getIntData();
+				final int srcScan = sourceView.getScanlineStride();
+				final int dstScan = targetView.getScanlineStride();
+				final int srcOffset = sourceView.getOffset();
+				final int dstOffset = targetView.getOffset() + y * dstScan + x;
+				for (int row = 0; row < height; row++)
+				{
+					System.arraycopy(src, srcOffset + row * srcScan, dst, dstOffset + row * dstScan,
+						width);
+				}
+			}
+			else
+			{
+				target.getRaster().setDataElements(x, y,
+					source.getRaster().createChild(0, 0, width, height, 0, 0, null));
+			}
+			return;
+		}
+		final boolean flatten = source.getColorModel().hasAlpha()
+			&& !target.getColorModel().hasAlpha();
+		final PixelView region = PixelView.of(target.getSubimage(x, y, width, height));
+		final int[] row = new int[source.getWidth()];
+		for (int i = 0; i < height; i++)
+		{
+			sourceView.getRow(i, row, 0);
+			if (flatten)
+			{
+				ImageConverter.flattenOnBlack(row);
+			}
+			region.setRow(i, row, 0);
+		}
+	}
+}
@@ -0,0 +1,274 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import io.github.astrapi69.img.model.DecodeResult;
+
+/**
+ * The class {@link ImageBatchDecoder} decodes many image sources in parallel on a configurable
+ * {@link Executor}. The count of sources that are decoded at the same time is bounded, so the
+ * sources are only pulled from the given {@link Iterator} or {@link Stream} as fast as the decoders
+ * can process them. Every source gets a {@link DecodeResult} that holds either the image or the
+ * error
+ */
+public class ImageBatchDecoder
+{
+
+	/** The default count of sources that are decoded at the same time */
+	public static final int DEFAULT_MAX_IN_FLIGHT = Runtime.getRuntime().availableProcessors() * 2;
+
+	/** The executor that decodes the sources */
+	private final Executor executor;
+
+	/** The maximum count of sources that are decoded at the same time */
+	private final int maxInFlight;
+
+	/**
+	 * Instantiates a new {@link ImageBatchDecoder} that decodes on the common {@link ForkJoinPool}
+	 * with the {@link ImageBatchDecoder#DEFAULT_MAX_IN_FLIGHT}
+	 */
+	public ImageBatchDecoder()
+	{
+		this(ForkJoinPool.commonPool(), DEFAULT_MAX_IN_FLIGHT);
+	}
+
+	/**
+	 * Instantiates a new {@link ImageBatchDecoder} with the given executor and the given maximum
+	 * count of sources that are decoded at the same time. For blocking sources an executor from
+	 * {@link java.util.concurrent.Executors#newVirtualThreadPerTaskExecutor()} is a good choice,
+	 * the window is then the only limit of the concurrency
+	 *
+	 * @param executor
+	 *            the executor that decodes the sources
+	 * @param maxInFlight
+	 *            the maximum count of sources that are decoded at the same time
+	 */
+	public ImageBatchDecoder(final Executor executor, final int maxInFlight)
+	{
+		if (maxInFlight < 1)
+		{
+			throw new IllegalArgumentException(
+				"Given maxInFlight must be greater than zero: " + maxInFlight);
+		}
+		this.executor = executor;
+		this.maxInFlight = maxInFlight;
+	}
+
+	/**
+	 * Decodes all byte arrays of the given {@link Stream} object and returns the results in the
+	 * order of the stream
+	 *
+	 * @param sources
+	 *            the byte arrays to decode
+	 * @return the list with the {@link DecodeResult} objects in the order of the sources
+	 * @throws InterruptedException
+	 *             if the current thread was interrupted while waiting for the decoders
+	 */
+	public List<DecodeResult> decodeAll(final Stream<byte[]> sources) throws InterruptedException
+	{
+		return decodeAll(sources, ImageExtensions::read);
+	}
+
+	/**
+	 * Decodes all sources of the given {@link Stream} object with the given decoder and returns the
+	 * results in the order of the stream
+	 *
+	 * @param <T>
+	 *            the generic type of the sources
+	 * @param sources
+	 *            the sources to decode
+	 * @param decoder
+	 *            the decoder for a single source
+	 * @return the list with the {@link DecodeResult} objects in the order of the sources
+	 * @throws InterruptedException
+	 *             if the current thread was interrupted while waiting for the decoders
+	 */
+	public <T> List<DecodeResult> decodeAll(final Stream<T> sources, final Decoder<T> decoder)
+		throws InterruptedException
+	{
+		final Queue<DecodeResult> results = new ConcurrentLinkedQueue<>();
+		try (Stream<T> stream = sources)
+		{
+			decode(stream.iterator(), decoder, results::add);
+		}
+		final List<DecodeResult> sorted = new ArrayList<>(results);
+		sorted.sort(Comparator.comparingLong(DecodeResult::getIndex));
+		return sorted;
+	}
+
+	/**
+	 * Decodes all byte arrays of the given {@link Iterator} object and passes every result to the
+	 * given consumer. This method returns after all results are passed to the consumer
+	 *
+	 * @param sources
+	 *            the byte arrays to decode
+	 * @param consumer
+	 *            the consumer for the results, it is called concurrently from the executor threads
+	 * @throws InterruptedException
+	 *             if the current thread was interrupted while waiting for the decoders
+	 */
+	public void decode(final Iterator<byte[]> sources, final Consumer<DecodeResult> consumer)
+		throws InterruptedException
+	{
+		decode(sources, ImageExtensions::read, consumer);
+	}
+
+	/**
+	 * Decodes all sources of the given {@link Iterator} object with the given decoder and passes
+	 * every result to the given consumer. The next source is only pulled from the iterator if less
+	 * than the maximum count of sources are in flight. This method returns after all results are
+	 * passed to the consumer. If it exits early because of an interrupt or an exception of the
+	 * iterator or the executor, the sources that have not started yet are skipped and this method
+	 * waits for the running decoders, so the consumer is never called after this method returned
+	 *
+	 * @param <T>
+	 *            the generic type of the sources
+	 * @param sources
+	 *            the sources to decode
+	 * @param decoder
+	 *            the decoder for a single source
+	 * @param consumer
+	 *            the consumer for the results, it is called concurrently from the executor threads
+	 * @throws InterruptedException
+	 *             if the current thread was interrupted while waiting for the decoders
+	 */
+	public <T> void decode(final Iterator<T> sources, final Decoder<T> decoder,
+		final Consumer<DecodeResult> consumer) throws InterruptedException
+	{
+		final Semaphore permits = new Semaphore(maxInFlight);
+		final AtomicBoolean open = new AtomicBoolean(true);
+		boolean completed = false;
+		try
+		{
+			long index = 0;
+			while (sources.hasNext())
+			{
+				final T source = sources.next();
+				final long current = index++;
+				permits.acquire();
+				boolean submitted = false;
+				try
+				{
+					executor.execute(() -> {
+						try
+						{
+							if (open.get())
+							{
+								consumer.accept(decode(current, source, decoder));
+							}
+						}
+						finally
+						{
+							permits.release();
+						}
+					});
+					submitted = true;
+				}
+				catch (RejectedExecutionException e)
+				{
+					consumer.accept(DecodeResult.builder().index(current).error(e).build());
+				}
+				finally
+				{
+					if (!submitted)
+					{
+						permits.release();
+					}
+				}
+			}
+			permits.acquire(maxInFlight);
+			permits.release(maxInFlight);
+			completed = true;
+		}
+		finally
+		{
+			if (!completed)
+			{
+				open.set(false);
+				permits.acquireUninterruptibly(maxInFlight);
+				permits.release(maxInFlight);
+			}
+		}
+	}
+
+	private static <T> DecodeResult decode(final long index, final T source,
+		final Decoder<T> decoder)
+	{
+		final DecodeResult.DecodeResultBuilder builder = DecodeResult.builder().index(index);
+		try
+		{
+			final BufferedImage image = decoder.decode(source);
+			if (image == null)
+			{
+				return builder.error(new IOException("No image reader found for source " + index))
+					.build();
+			}
+			return builder.image(image).build();
+		}
+		catch (Throwable e)
+		{
+			return builder.error(e).build();
+		}
+	}
+
+	/**
+	 * The functional interface {@link Decoder} decodes a single source to a {@link BufferedImage}
+	 * object
+	 *
+	 * @param <T>
+	 *            the generic type of the source
+	 */
+	@FunctionalInterface
+	public interface Decoder<T>
+	{
+
+		/**
+		 * Decodes the given source
+		 *
+		 * @param source
+		 *            the source to decode
+		 * @return the decoded image or null if no reader can decode the source
+		 * @throws IOException
+		 *             Signals that an I/O exception has occurred.
+		 */
+		BufferedImage decode(T source) throws IOException;
+	}
+}
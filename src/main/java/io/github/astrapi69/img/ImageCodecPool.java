@@ -0,0 +1,343 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriter;
+import javax.imageio.spi.ImageReaderSpi;
+import javax.imageio.spi.ImageWriterSpi;
+import javax.imageio.stream.FileCacheImageInputStream;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+
+/**
+ * The class {@link ImageCodecPool} keeps a pool of {@link ImageReader} and {@link ImageWriter}
+ * objects per image format. The service providers are looked up in the
+ * {@link javax.imageio.spi.IIORegistry} only once per format name and released readers and writers
+ * are reset and reused by the next caller. It also decides whether streams are cached in memory or
+ * on disk instead of relying on the global {@link ImageIO#getUseCache()} flag
+ */
+public class ImageCodecPool
+{
+
+	/** The maximum count of idle readers or writers that are kept per service provider */
+	public static final int MAX_IDLE_PER_FORMAT = Math.max(2,
+		Runtime.getRuntime().availableProcessors());
+
+	/** The flag that indicates if streams should be cached in temporary files */
+	private static volatile boolean useDiskCache;
+
+	/** The reader service providers by their lower case format name */
+	private static final ConcurrentMap<String, ImageReaderSpi> readerSpis = new ConcurrentHashMap<>();
+
+	/** The writer service providers by their lower case format name */
+	private static final ConcurrentMap<String, ImageWriterSpi> writerSpis = new ConcurrentHashMap<>();
+
+	/** The idle readers by their service provider */
+	private static final ConcurrentMap<ImageReaderSpi, IdleQueue<ImageReader>> idleReaders = new ConcurrentHashMap<>();
+
+	/** The idle writers by their service provider */
+	private static final ConcurrentMap<ImageWriterSpi, IdleQueue<ImageWriter>> idleWriters = new ConcurrentHashMap<>();
+
+	/**
+	 * Checks if streams are cached in temporary files
+	 *
+	 * @return true if streams are cached in temporary files otherwise false
+	 */
+	public static boolean isUseDiskCache()
+	{
+		return useDiskCache;
+	}
+
+	/**
+	 * Sets the flag that decides if streams that are created with
+	 * {@link ImageCodecPool#newImageInputStream(InputStream)} are cached in temporary files or in
+	 * memory. The default is false, so no temporary files are written during stream decodes
+	 *
+	 * @param useDiskCache
+	 *            true if streams should be cached in temporary files otherwise false
+	 */
+	public static void setUseDiskCache(final boolean useDiskCache)
+	{
+		ImageCodecPool.useDiskCache = useDiskCache;
+	}
+
+	/**
+	 * Factory method for create a new {@link ImageInputStream} object from the given
+	 * {@link InputStream} object with the configured cache policy
+	 *
+	 * @param input
+	 *            the input stream
+	 * @return the new {@link ImageInputStream} object
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static ImageInputStream newImageInputStream(final InputStream input) throws IOException
+	{
+		if (useDiskCache)
+		{
+			return new FileCacheImageInputStream(input, ImageIO.getCacheDirectory());
+		}
+		return new MemoryCacheImageInputStream(input);
+	}
+
+	/**
+	 * Borrows an {@link ImageReader} object for the given format name. The reader has to be given
+	 * back with {@link ImageCodecPool#release(ImageReader)}
+	 *
+	 * @param formatName
+	 *            the format name
+	 * @return the {@link ImageReader} object or null if no reader for the given format name exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static ImageReader borrowReader(final String formatName) throws IOException
+	{
+		final String key = formatName.toLowerCase(Locale.ROOT);
+		final ImageReaderSpi spi = readerSpis.get(key);
+		if (spi == null)
+		{
+			final Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName(formatName);
+			if (!readers.hasNext())
+			{
+				return null;
+			}
+			final ImageReader reader = readers.next();
+			register(reader.getOriginatingProvider());
+			return reader;
+		}
+		return borrowReader(spi);
+	}
+
+	/**
+	 * Borrows an {@link ImageReader} object that can decode the given {@link ImageInputStream}
+	 * object. The format is detected from the magic bytes with {@link ImageFormat} first, then the
+	 * service providers that are already known to this pool are asked and the registry is only
+	 * searched if none of them can decode the stream. The reader has to be given back with
+	 * {@link ImageCodecPool#release(ImageReader)}
+	 *
+	 * @param imageInputStream
+	 *            the image input stream
+	 * @return the {@link ImageReader} object or null if no reader can decode the stream
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static ImageReader borrowReader(final ImageInputStream imageInputStream)
+		throws IOException
+	{
+		final ImageFormat format = ImageFormat.detect(imageInputStream);
+		if (format != null)
+		{
+			final ImageReader reader = borrowReader(format.getFormatName());
+			if (reader != null)
+			{
+				return reader;
+			}
+		}
+		for (ImageReaderSpi spi : idleReaders.keySet())
+		{
+			if (spi.canDecodeInput(imageInputStream))
+			{
+				return borrowReader(spi);
+			}
+		}
+		final Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInputStream);
+		if (!readers.hasNext())
+		{
+			return null;
+		}
+		final ImageReader reader = readers.next();
+		register(reader.getOriginatingProvider());
+		return reader;
+	}
+
+	/**
+	 * Gives the given {@link ImageReader} object back to this pool. The reader is reset and kept
+	 * for the next caller or disposed if enough idle readers of its format are already pooled
+	 *
+	 * @param reader
+	 *            the reader to give back
+	 */
+	public static void release(final ImageReader reader)
+	{
+		if (reader == null)
+		{
+			return;
+		}
+		reader.reset();
+		final ImageReaderSpi spi = reader.getOriginatingProvider();
+		if (spi == null
+			|| !idleReaders.computeIfAbsent(spi, key -> new IdleQueue<>()).offer(reader))
+		{
+			reader.dispose();
+		}
+	}
+
+	/**
+	 * Borrows an {@link ImageWriter} object for the given format name. The writer has to be given
+	 * back with {@link ImageCodecPool#release(ImageWriter)}
+	 *
+	 * @param formatName
+	 *            the format name
+	 * @return the {@link ImageWriter} object or null if no writer for the given format name exists
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static ImageWriter borrowWriter(final String formatName) throws IOException
+	{
+		final String key = formatName.toLowerCase(Locale.ROOT);
+		final ImageWriterSpi spi = writerSpis.get(key);
+		if (spi == null)
+		{
+			final Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(formatName);
+			if (!writers.hasNext())
+			{
+				return null;
+			}
+			final ImageWriter writer = writers.next();
+			register(writer.getOriginatingProvider());
+			return writer;
+		}
+		final ImageWriter writer = idleWriters.computeIfAbsent(spi, k -> new IdleQueue<>()).poll();
+		return writer != null ? writer : spi.createWriterInstance();
+	}
+
+	/**
+	 * Gives the given {@link ImageWriter} object back to this pool. The writer is reset and kept
+	 * for the next caller or disposed if enough idle writers of its format are already pooled
+	 *
+	 * @param writer
+	 *            the writer to give back
+	 */
+	public static void release(final ImageWriter writer)
+	{
+		if (writer == null)
+		{
+			return;
+		}
+		writer.reset();
+		final ImageWriterSpi spi = writer.getOriginatingProvider();
+		if (spi == null
+			|| !idleWriters.computeIfAbsent(spi, key -> new IdleQueue<>()).offer(writer))
+		{
+			writer.dispose();
+		}
+	}
+
+	/**
+	 * Disposes all idle readers and writers of this pool
+	 */
+	public static void clear()
+	{
+		idleReaders.values().forEach(queue -> queue.drain(ImageReader::dispose));
+		idleWriters.values().forEach(queue -> queue.drain(ImageWriter::dispose));
+	}
+
+	private static void register(final ImageReaderSpi spi)
+	{
+		if (spi != null)
+		{
+			idleReaders.computeIfAbsent(spi, key -> new IdleQueue<>());
+			for (String name : spi.getFormatNames())
+			{
+				readerSpis.putIfAbsent(name.toLowerCase(Locale.ROOT), spi);
+			}
+		}
+	}
+
+	private static void register(final ImageWriterSpi spi)
+	{
+		if (spi != null)
+		{
+			idleWriters.computeIfAbsent(spi, key -> new IdleQueue<>());
+			for (String name : spi.getFormatNames())
+			{
+				writerSpis.putIfAbsent(name.toLowerCase(Locale.ROOT), spi);
+			}
+		}
+	}
+
+	private static ImageReader borrowReader(final ImageReaderSpi spi) throws IOException
+	{
+		final ImageReader reader = idleReaders.computeIfAbsent(spi, key -> new IdleQueue<>())
+			.poll();
+		return reader != null ? reader : spi.createReaderInstance();
+	}
+
+	/**
+	 * The class {@link IdleQueue} is a lock free queue of idle codec objects that is bounded by
+	 * {@link ImageCodecPool#MAX_IDLE_PER_FORMAT}
+	 *
+	 * @param <T>
+	 *            the type of the pooled codec objects
+	 */
+	static final class IdleQueue<T>
+	{
+		private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger size = new AtomicInteger();
+
+		T poll()
+		{
+			final T element = queue.poll();
+			if (element != null)
+			{
+				size.decrementAndGet();
+			}
+			return element;
+		}
+
+		boolean offer(final T element)
+		{
+			if (MAX_IDLE_PER_FORMAT <= size.getAndIncrement())
+			{
+				size.decrementAndGet();
+				return false;
+			}
+			queue.offer(element);
+			return true;
+		}
+
+		void drain(final Consumer<T> action)
+		{
+			T element;
+			while ((element = poll()) != null)
+			{
+				action.accept(element);
+			}
+		}
+	}
+}
@@ -0,0 +1,309 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import java.awt.image.BufferedImage;
+
+import io.github.astrapi69.img.kernel.PixelKernel;
+
+/**
+ * The class {@link ImageCompositor} composites pixels with a {@link BlendMode} directly between
+ * packed premultiplied ARGB rasters, without any {@link java.awt.Graphics2D} object and without
+ * allocations. Rows of source over with full opacity are blended by the {@link PixelKernel}. The
+ * methods for {@link BufferedImage} objects composite in place on images of the type
+ * {@link BufferedImage#TYPE_INT_ARGB_PRE} and convert the rows of all other images with the
+ * {@link PixelView}
+ */
+public class ImageCompositor
+{
+
+	/**
+	 * Composites the given premultiplied source pixel with the given premultiplied destination
+	 * pixel
+	 *
+	 * @param mode
+	 *            the blend mode
+	 * @param src
+	 *            the packed premultiplied ARGB value of the source
+	 * @param dst
+	 *            the packed premultiplied ARGB value of the destination
+	 * @return the packed premultiplied ARGB value of the result
+	 */
+	public static int composite(final BlendMode mode, final int src, final int dst)
+	{
+		final int sa = src >>> 24;
+		final int da = dst >>> 24;
+		switch (mode)
+		{
+			case CLEAR :
+				return 0;
+			case SRC :
+				return src;
+			case DST :
+				return dst;
+			case SRC_OVER :
+				return porterDuff(src, dst, 255, 255 - sa);
+			case DST_OVER :
+				return porterDuff(src, dst, 255 - da, 255);
+			case SRC_IN :
+				return porterDuff(src, dst, da, 0);
+			case DST_IN :
+				return porterDuff(src, dst, 0, sa);
+			case SRC_OUT :
+				return porterDuff(src, dst, 255 - da, 0);
+			case DST_OUT :
+				return porterDuff(src, dst, 0, 255 - sa);
+			case SRC_ATOP :
+				return porterDuff(src, dst, da, 255 - sa);
+			case DST_ATOP :
+				return porterDuff(src, dst, 255 - da, sa);
+			case XOR :
+				return porterDuff(src, dst, 255 - da, 255 - sa);
+			case ADD :
+				return blend(mode, src, dst, sa, da, Math.min(255, sa + da));
+			default :
+				return blend(mode, src, dst, sa, da, sa + da - div255(sa * da));
+		}
+	}
+
+	/**
+	 * Composites a rectangle of the given premultiplied source raster with the given opacity onto
+	 * the given premultiplied destination raster
+	 *
+	 * @param mode
+	 *            the blend mode
+	 * @param src
+	 *            the packed premultiplied ARGB pixels of the source
+	 * @param srcOffset
+	 *            the index of the first source pixel
+	 * @param srcScan
+	 *            the distance between two source rows
+	 * @param dst
+	 *            the packed premultiplied ARGB pixels of the destination, that are composited in
+	 *            place
+	 * @param dstOffset
+	 *            the index of the first destination pixel
+	 * @param dstScan
+	 *            the distance between two destination rows
+	 * @param width
+	 *            the width of the rectangle
+	 * @param height
+	 *            the height of the rectangle
+	 * @param opacity
+	 *            the opacity between 0 and 1 that the source is faded with
+	 */
+	public static void composite(final BlendMode mode, final int[] src, final int srcOffset,
+		final int srcScan, final int[] dst, final int dstOffset, final int dstScan, final int width,
+		final int height, final float opacity)
+	{
+		final int alpha = Math.round(Math.min(1f, Math.max(0f, opacity)) * 255f);
+		if (mode == BlendMode.SRC_OVER && alpha == 255)
+		{
+			final PixelKernel kernel = PixelKernel.getDefault();
+			for (int y = 0; y < height; y++)
+			{
+				kernel.blend(src, srcOffset + y * srcScan, dst, dstOffset + y * dstScan, width);
+			}
+			return;
+		}
+		for (int y = 0; y < height; y++)
+		{
+			final int s = srcOffset + y * srcScan;
+			final int d = dstOffset + y * dstScan;
+			for (int x = 0; x < width; x++)
+			{
+				dst[d + x] = composite(mode, fade(src[s + x], alpha), dst[d + x]);
+			}
+		}
+	}
+
+	/**
+	 * Composites the given source image with full opacity onto the given destination image at the
+	 * given position
+	 *
+	 * @param mode
+	 *            the blend mode
+	 * @param src
+	 *            the source image
+	 * @param dst
+	 *            the destination image that is composited in place
+	 * @param x
+	 *            the x coordinate of the source in the destination
+	 * @param y
+	 *            the y coordinate of the source in the destination
+	 */
+	public static void composite(final BlendMode mode, final BufferedImage src,
+		final BufferedImage dst, final int x, final int y)
+	{
+		composite(mode, src, dst, x, y, 1f);
+	}
+
+	/**
+	 * Composites the given source image with the given opacity onto the given destination image at
+	 * the given position. Only the part of the source inside the destination is composited
+	 *
+	 * @param mode
+	 *            the blend mode
+	 * @param src
+	 *            the source image
+	 * @param dst
+	 *            the destination image that is composited in place
+	 * @param x
+	 *            the x coordinate of the source in the destination
+	 * @param y
+	 *            the y coordinate of the source in the destination
+	 * @param opacity
+	 *            the opacity between 0 and 1 that the source is faded with
+	 */
+	public static void composite(final BlendMode mode, final BufferedImage src,
+		final BufferedImage dst, final int x, final int y, final float opacity)
+	{
+		final int left = Math.max(0, x);
+		final int top = Math.max(0, y);
+		final int right = Math.min(dst.getWidth(), x + src.getWidth());
+		final int bottom = Math.min(dst.getHeight(), y + src.getHeight());
+		if (right <= left || bottom <= top)
+		{
+			return;
+		}
+		final int width = right - left;
+		final PixelView source = PixelView.of(src);
+		final PixelView target = PixelView.of(dst);
+		if (source.isPackedArgbPre() && target.isPackedArgbPre())
+		{
+			composite(mode, source.getIntData(),
+				source.getOffset() + (top - y) * source.getScanlineStride() + left - x,
+				source.getScanlineStride(), target.getIntData(),
+				target.getOffset() + top * target.getScanlineStride() + left,
+				target.getScanlineStride(), width, bottom - top, opacity);
+			return;
+		}
+		final PixelKernel kernel = PixelKernel.getDefault();
+		final int[] srcRow = source.isPackedArgbPre() ? null : new int[src.getWidth()];
+		final int[] dstRow = target.isPackedArgbPre() ? null : new int[dst.getWidth()];
+		for (int row = top; row < bottom; row++)
+		{
+			int[] srcData = source.getIntData();
+			int srcIndex = source.getOffset() + (row - y) * source.getScanlineStride() + left - x;
+			if (srcRow != null)
+			{
+				source.getRow(row - y, srcRow, 0);
+				srcData = srcRow;
+				srcIndex = left - x;
+				kernel.premultiply(srcRow, srcIndex, srcRow, srcIndex, width);
+			}
+			if (dstRow == null)
+			{
+				composite(mode, srcData, srcIndex, 0, target.getIntData(),
+					target.getOffset() + row * target.getScanlineStride() + left, 0, width, 1,
+					opacity);
+				continue;
+			}
+			target.getRow(row, dstRow, 0);
+			kernel.premultiply(dstRow, left, dstRow, left, width);
+			composite(mode, srcData, srcIndex, 0, dstRow, left, 0, width, 1, opacity);
+			kernel.unpremultiply(dstRow, left, dstRow, left, width);
+			target.setRow(row, dstRow, 0);
+		}
+	}
+
+	/**
+	 * Divides the given value by 255 and rounds to the nearest integer
+	 *
+	 * @param value
+	 *            the value between 0 and 255 * 255
+	 * @return the rounded quotient
+	 */
+	static int div255(final int value)
+	{
+		final int rounded = value + 128;
+		return (rounded + (rounded >> 8)) >> 8;
+	}
+
+	/**
+	 * Multiplies all four channels of the given premultiplied pixel with the given alpha
+	 *
+	 * @param argb
+	 *            the packed premultiplied ARGB value
+	 * @param alpha
+	 *            the alpha between 0 and 255
+	 * @return the faded packed premultiplied ARGB value
+	 */
+	static int fade(final int argb, final int alpha)
+	{
+		if (alpha == 255)
+		{
+			return argb;
+		}
+		final int rb = (argb & 0x00FF00FF) * alpha + 0x00800080;
+		final int ag = ((argb >>> 8) & 0x00FF00FF) * alpha + 0x00800080;
+		return ((ag + ((ag >>> 8) & 0x00FF00FF)) & 0xFF00FF00)
+			| (((rb + ((rb >>> 8) & 0x00FF00FF)) >>> 8) & 0x00FF00FF);
+	}
+
+	private static int porterDuff(final int src, final int dst, final int fs, final int fd)
+	{
+		final int a = div255((src >>> 24) * fs + (dst >>> 24) * fd);
+		final int r = div255(((src >> 16) & 0xFF) * fs + ((dst >> 16) & 0xFF) * fd);
+		final int g = div255(((src >> 8) & 0xFF) * fs + ((dst >> 8) & 0xFF) * fd);
+		final int b = div255((src & 0xFF) * fs + (dst & 0xFF) * fd);
+		return Math.min(255, a) << 24 | Math.min(a, r) << 16 | Math.min(a, g) << 8 | Math.min(a, b);
+	}
+
+	private static int blend(final BlendMode mode, final int src, final int dst, final int sa,
+		final int da, final int a)
+	{
+		final int r = channel(mode, (src >> 16) & 0xFF, (dst >> 16) & 0xFF, sa, da);
+		final int g = channel(mode, (src >> 8) & 0xFF, (dst >> 8) & 0xFF, sa, da);
+		final int b = channel(mode, src & 0xFF, dst & 0xFF, sa, da);
+		return a << 24 | clamp(r, a) << 16 | clamp(g, a) << 8 | clamp(b, a);
+	}
+
+	private static int clamp(final int channel, final int alpha)
+	{
+		return Math.min(alpha, Math.max(0, channel));
+	}
+
+	private static int channel(final BlendMode mode, final int s, final int d, final int sa,
+		final int da)
+	{
+		switch (mode)
+		{
+			case MULTIPLY :
+				return div255(s * (255 - da) + d * (255 - sa) + s * d);
+			case SCREEN :
+				return s + d - div255(s * d);
+			case OVERLAY :
+				return div255(s * (255 - da) + d * (255 - sa)
+					+ (2 * d <= da ? 2 * s * d : sa * da - 2 * (da - d) * (sa - s)));
+			case DARKEN :
+				return s + d - div255(Math.max(s * da, d * sa));
+			case LIGHTEN :
+				return s + d - div255(Math.min(s * da, d * sa));
+			default :
+				return Math.min(255, s + d);
+		}
+	}
+}
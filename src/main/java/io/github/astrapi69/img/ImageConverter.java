@@ -0,0 +1,285 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import java.awt.AWTError;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.HeadlessException;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.awt.image.VolatileImage;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The class {@link ImageConverter} converts images to {@link BufferedImage} objects and between the
+ * types of {@link BufferedImage} objects. The {@link GraphicsConfiguration} of the default screen
+ * is looked up only once and cached, in a headless environment compatible images are plain
+ * {@link BufferedImage#TYPE_INT_ARGB_PRE} or {@link BufferedImage#TYPE_INT_RGB} images. Conversions
+ * between image types are done with row loops on the {@link PixelView} of the images, drawing with
+ * a {@link Graphics2D} object is only the fallback for indexed and binary target images
+ */
+public class ImageConverter
+{
+
+	/** The cached graphics configuration or null in a headless environment */
+	private static volatile GraphicsConfiguration graphicsConfiguration;
+
+	/** The flag if the graphics configuration was already looked up */
+	private static volatile boolean resolved;
+
+	/**
+	 * Gets the cached {@link GraphicsConfiguration} of the default screen device
+	 *
+	 * @return the graphics configuration or null in a headless environment
+	 */
+	public static GraphicsConfiguration getGraphicsConfiguration()
+	{
+		if (!resolved)
+		{
+			synchronized (ImageConverter.class)
+			{
+				if (!resolved)
+				{
+					graphicsConfiguration = lookupGraphicsConfiguration();
+					resolved = true;
+				}
+			}
+		}
+		return graphicsConfiguration;
+	}
+
+	/**
+	 * Clears the cached {@link GraphicsConfiguration}, so the next call looks it up again. This is
+	 * only needed if the default screen device has changed
+	 */
+	public static void clearGraphicsConfiguration()
+	{
+		synchronized (ImageConverter.class)
+		{
+			graphicsConfiguration = null;
+			resolved = false;
+		}
+	}
+
+	/**
+	 * Creates a new image that is compatible with the default screen device. In a headless
+	 * environment the new image is of the type {@link BufferedImage#TYPE_INT_RGB} for opaque and
+	 * {@link BufferedImage#TYPE_INT_ARGB_PRE} for all other transparencies
+	 *
+	 * @param width
+	 *            the width
+	 * @param height
+	 *            the height
+	 * @param transparency
+	 *            the transparency, one of {@link Transparency#OPAQUE}, {@link Transparency#BITMASK}
+	 *            or {@link Transparency#TRANSLUCENT}
+	 * @return the new {@link BufferedImage} object
+	 */
+	public static BufferedImage createCompatibleImage(final int width, final int height,
+		final int transparency)
+	{
+		final GraphicsConfiguration configuration = getGraphicsConfiguration();
+		if (configuration != null)
+		{
+			return configuration.createCompatibleImage(width, height, transparency);
+		}
+		return new BufferedImage(width, height,
+			transparency == Transparency.OPAQUE
+				? BufferedImage.TYPE_INT_RGB
+				: BufferedImage.TYPE_INT_ARGB_PRE);
+	}
+
+	/**
+	 * Converts the given {@link Image} object to a {@link BufferedImage} object. A
+	 * {@link BufferedImage} is returned as it is, a {@link VolatileImage} is converted with its
+	 * snapshot and all other images are drawn into a new translucent compatible image
+	 *
+	 * @param image
+	 *            the image to convert
+	 * @return the {@link BufferedImage} object
+	 */
+	public static BufferedImage toBufferedImage(final Image image)
+	{
+		if (image instanceof BufferedImage)
+		{
+			return (BufferedImage)image;
+		}
+		if (image instanceof VolatileImage)
+		{
+			return ((VolatileImage)image).getSnapshot();
+		}
+		final BufferedImage bufferedImage = createCompatibleImage(image.getWidth(null),
+			image.getHeight(null), Transparency.TRANSLUCENT);
+		final Graphics2D graphics2D = bufferedImage.createGraphics();
+		try
+		{
+			graphics2D.drawImage(image, 0, 0, null);
+		}
+		finally
+		{
+			graphics2D.dispose();
+		}
+		return bufferedImage;
+	}
+
+	/**
+	 * Converts the given image to one of the fast types {@link BufferedImage#TYPE_INT_ARGB},
+	 * {@link BufferedImage#TYPE_INT_ARGB_PRE} or {@link BufferedImage#TYPE_INT_RGB}
+	 *
+	 * @param image
+	 *            the image to convert
+	 * @return the given image if it has already a fast type otherwise the converted image of the
+	 *         type {@link BufferedImage#TYPE_INT_ARGB} or {@link BufferedImage#TYPE_INT_RGB} for
+	 *         images without alpha
+	 */
+	public static BufferedImage toCanonical(final BufferedImage image)
+	{
+		switch (image.getType())
+		{
+			case BufferedImage.TYPE_INT_ARGB :
+			case BufferedImage.TYPE_INT_ARGB_PRE :
+			case BufferedImage.TYPE_INT_RGB :
+				return image;
+			default :
+				return convert(image,
+					image.getColorModel().hasAlpha()
+						? BufferedImage.TYPE_INT_ARGB
+						: BufferedImage.TYPE_INT_RGB);
+		}
+	}
+
+	/**
+	 * Converts the given image to the given image type on the common {@link ForkJoinPool}
+	 *
+	 * @param image
+	 *            the image to convert
+	 * @param imageType
+	 *            the type of the converted image
+	 * @return the given image if it has already the given type otherwise the converted image
+	 */
+	public static BufferedImage convert(final BufferedImage image, final int imageType)
+	{
+		return convert(image, imageType, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Converts the given image to the given image type on the given {@link ForkJoinPool}. Images
+	 * with alpha are composed over black if the given type has no alpha, like an image that is
+	 * drawn into a new opaque image
+	 *
+	 * @param image
+	 *            the image to convert
+	 * @param imageType
+	 *            the type of the converted image
+	 * @param pool
+	 *            the pool that converts the rows
+	 * @return the given image if it has already the given type otherwise the converted image
+	 */
+	public static BufferedImage convert(final BufferedImage image, final int imageType,
+		final ForkJoinPool pool)
+	{
+		if (image.getType() == imageType)
+		{
+			return image;
+		}
+		final int width = image.getWidth();
+		final int height = image.getHeight();
+		final BufferedImage target = new BufferedImage(width, height, imageType);
+		if (target.getColorModel() instanceof IndexColorModel)
+		{
+			final Graphics2D graphics2D = target.createGraphics();
+			try
+			{
+				graphics2D.drawImage(image, 0, 0, null);
+			}
+			finally
+			{
+				graphics2D.dispose();
+			}
+			return target;
+		}
+		final PixelView source = PixelView.of(image);
+		final PixelView destination = PixelView.of(target);
+		final boolean flatten = image.getColorModel().hasAlpha()
+			&& !target.getColorModel().hasAlpha();
+		ImageResampler.invoke(pool, height, width, (from, to) -> {
+			final int[] row = new int[width];
+			for (int y = from; y < to; y++)
+			{
+				source.getRow(y, row, 0);
+				if (flatten)
+				{
+					flattenOnBlack(row);
+				}
+				destination.setRow(y, row, 0);
+			}
+		});
+		return target;
+	}
+
+	/**
+	 * Composes the given ARGB pixels over an opaque black background like a fresh opaque image that
+	 * is drawn with {@link java.awt.AlphaComposite#SrcOver}
+	 *
+	 * @param row
+	 *            the ARGB pixels
+	 */
+	static void flattenOnBlack(final int[] row)
+	{
+		for (int i = 0; i < row.length; i++)
+		{
+			final int argb = row[i];
+			final int alpha = argb >>> 24;
+			if (alpha != 0xff)
+			{
+				final int r = ((argb >> 16) & 0xff) * alpha / 255;
+				final int g = ((argb >> 8) & 0xff) * alpha / 255;
+				final int b = (argb & 0xff) * alpha / 255;
+				row[i] = 0xff000000 | r << 16 | g << 8 | b;
+			}
+		}
+	}
+
+	private static GraphicsConfiguration lookupGraphicsConfiguration()
+	{
+		if (GraphicsEnvironment.isHeadless())
+		{
+			return null;
+		}
+		try
+		{
+			return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+				.getDefaultConfiguration();
+		}
+		catch (HeadlessException | AWTError e)
+		{
+			return null;
+		}
+	}
+}
@@ -24,24 +24,46 @@
  */
 package io.github.astrapi69.img;
 
-import java.awt.Graphics2D;
-import java.awt.GraphicsConfiguration;
-import java.awt.GraphicsDevice;
-import java.awt.GraphicsEnvironment;
 import java.awt.Image;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.awt.image.DataBufferInt;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.logging.Level;
 
-import javax.imageio.ImageIO;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
 import javax.swing.Icon;
 import javax.swing.ImageIcon;
 
+import io.github.astrapi69.img.model.AtlasOptions;
+import io.github.astrapi69.img.model.WriteOptions;
 import lombok.extern.java.Log;
 
 /**
@@ -97,7 +119,9 @@ public class ImageExtensions
 	}
 
 	/**
-	 * Generates a random {@link BufferedImage} object with the given parameters.
+	 * Generates a random {@link BufferedImage} object with the given parameters. The pixels are
+	 * uniformly distributed ARGB values of a random seed generated with the
+	 * {@link RandomImageGenerator}
 	 *
 	 * @param width
 	 *            the width
@@ -111,20 +135,39 @@ public class ImageExtensions
 	public static BufferedImage randomBufferedImage(final int width, final int height,
 		final int imageType)
 	{
-		final BufferedImage img = new BufferedImage(width, height, imageType);
-		for (int y = 0; y < height; y++)
-		{
-			for (int x = 0; x < width; x++)
-			{
-				img.setRGB(x, y, (int)(Math.random() * 256));
-			}
-		}
-		return img;
+		return randomBufferedImage(width, height, imageType,
+			ThreadLocalRandom.current().nextLong());
+	}
+
+	/**
+	 * Generates a random {@link BufferedImage} object with the given parameters. The pixels are
+	 * uniformly distributed ARGB values generated with the {@link RandomImageGenerator}, so the
+	 * same seed always generates the same image
+	 *
+	 * @param width
+	 *            the width
+	 * @param height
+	 *            the height
+	 * @param imageType
+	 *            the type of the image
+	 * @param seed
+	 *            the seed of the generated pixels
+	 *
+	 * @return The generated {@link BufferedImage}.
+	 */
+	public static BufferedImage randomBufferedImage(final int width, final int height,
+		final int imageType, final long seed)
+	{
+		return RandomImageGenerator.generate(width, height, imageType, NoiseMode.UNIFORM_ARGB,
+			seed);
 	}
 
 	/**
 	 * Concatenate the given list of BufferedImage objects to one image and returns the concatenated
-	 * BufferedImage object.
+	 * BufferedImage object. The pixels are copied on the rasters with the
+	 * {@link ImageAtlasBuilder}, images that exceed the given size are clipped. For an atlas with a
+	 * computed size and an index of the image bounds use
+	 * {@link ImageAtlasBuilder#build(java.util.Map, AtlasOptions)}
 	 *
 	 * @param imgCollection
 	 *            the BufferedImage collection
@@ -143,24 +186,18 @@ public class ImageExtensions
 		final Direction concatenationDirection)
 	{
 		final BufferedImage img = new BufferedImage(width, height, imageType);
-		int x = 0;
-		int y = 0;
-		for (final BufferedImage bi : imgCollection)
+		if (imgCollection.isEmpty())
 		{
-			final boolean imageDrawn = img.createGraphics().drawImage(bi, x, y, null);
-			if (!imageDrawn)
-			{
-				throw new RuntimeException("BufferedImage could not be drawn:" + bi.toString());
-			}
-			if (concatenationDirection.equals(Direction.vertical))
-			{
-				y += bi.getHeight();
-			}
-			else
-			{
-				x += bi.getWidth();
-			}
+			return img;
 		}
+		final BufferedImage[] images = imgCollection.toArray(new BufferedImage[0]);
+		final Rectangle[] bounds = ImageAtlasBuilder.layout(images,
+			AtlasOptions.builder()
+				.layout(concatenationDirection.equals(Direction.vertical)
+					? AtlasLayout.COLUMN
+					: AtlasLayout.ROW)
+				.build());
+		ImageAtlasBuilder.copy(img, images, bounds, ForkJoinPool.commonPool());
 		return img;
 	}
 
@@ -175,7 +212,63 @@ public class ImageExtensions
 	 */
 	public static BufferedImage read(final byte[] byteArray) throws IOException
 	{
-		return ImageIO.read(new ByteArrayInputStream(byteArray));
+		return read(ByteBuffer.wrap(byteArray));
+	}
+
+	/**
+	 * Gets the buffered image from the given file {@link Path} object. The file is mapped into
+	 * memory with {@link FileChannel#map(FileChannel.MapMode, long, long)} and decoded straight
+	 * from the mapped buffer, so the image data is not copied on the heap before decoding
+	 *
+	 * @param path
+	 *            the path of the image file
+	 * @return the buffered image or null if no registered reader can decode the file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static BufferedImage read(final Path path) throws IOException
+	{
+		return read(map(path));
+	}
+
+	/**
+	 * Gets the buffered image from the remaining bytes of the given {@link ByteBuffer} object. The
+	 * position and the limit of the given buffer are not changed
+	 *
+	 * @param buffer
+	 *            the buffer with the image data
+	 * @return the buffered image or null if no registered reader can decode the buffer
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static BufferedImage read(final ByteBuffer buffer) throws IOException
+	{
+		try (ImageInputStream imageInputStream = new ByteBufferImageInputStream(buffer))
+		{
+			return read(imageInputStream, null, 1);
+		}
+	}
+
+	/**
+	 * Maps the whole content of the given file {@link Path} object read only into memory
+	 *
+	 * @param path
+	 *            the path of the file
+	 * @return the mapped buffer
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	static MappedByteBuffer map(final Path path) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			final long size = channel.size();
+			if (size > Integer.MAX_VALUE)
+			{
+				throw new IOException("Given file is too large to be mapped: " + path);
+			}
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}
 	}
 
 	/**
@@ -211,7 +304,7 @@ public class ImageExtensions
 		BufferedImage img = null;
 		try
 		{
-			img = ImageIO.read(input);
+			img = read(input, null, 1);
 		}
 		catch (IOException e)
 		{
@@ -220,6 +313,230 @@ public class ImageExtensions
 		return img;
 	}
 
+	/**
+	 * Gets the buffered image from the given byte array. Only the given source region is decoded
+	 * and only every n-th pixel in both directions is read, so a subsampling of two needs about a
+	 * quarter of the memory and time of a full decode
+	 *
+	 * @param byteArray
+	 *            the byte array
+	 * @param sourceRegion
+	 *            the region of the image to decode or null for the whole image
+	 * @param subsampling
+	 *            the subsampling factor in both directions, 1 for every pixel
+	 * @return the buffered image or null if no registered reader can decode the byte array
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static BufferedImage read(final byte[] byteArray, final Rectangle sourceRegion,
+		final int subsampling) throws IOException
+	{
+		if (subsampling < 1)
+		{
+			throw new IllegalArgumentException(
+				"Given subsampling must be greater than zero: " + subsampling);
+		}
+		try (ImageInputStream imageInputStream = new ByteBufferImageInputStream(
+			ByteBuffer.wrap(byteArray)))
+		{
+			return read(imageInputStream, sourceRegion, subsampling);
+		}
+	}
+
+	/**
+	 * Gets the buffered image from the given {@link InputStream} object. Only the given source
+	 * region is decoded and only every n-th pixel in both directions is read, so a subsampling of
+	 * two needs about a quarter of the memory and time of a full decode
+	 *
+	 * @param input
+	 *            the input
+	 * @param sourceRegion
+	 *            the region of the image to decode or null for the whole image
+	 * @param subsampling
+	 *            the subsampling factor in both directions, 1 for every pixel
+	 * @return the buffered image or null if no registered reader can decode the input
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static BufferedImage read(final InputStream input, final Rectangle sourceRegion,
+		final int subsampling) throws IOException
+	{
+		if (subsampling < 1)
+		{
+			throw new IllegalArgumentException(
+				"Given subsampling must be greater than zero: " + subsampling);
+		}
+		try (ImageInputStream imageInputStream = ImageCodecPool.newImageInputStream(input))
+		{
+			return read(imageInputStream, sourceRegion, subsampling);
+		}
+	}
+
+	/**
+	 * Gets the buffered image from the given byte array quietly. Only the given source region is
+	 * decoded and only every n-th pixel in both directions is read
+	 *
+	 * @param byteArray
+	 *            the byte array
+	 * @param sourceRegion
+	 *            the region of the image to decode or null for the whole image
+	 * @param subsampling
+	 *            the subsampling factor in both directions, 1 for every pixel
+	 * @return the buffered image or null if the read process failed.
+	 */
+	public static BufferedImage readQuietly(final byte[] byteArray, final Rectangle sourceRegion,
+		final int subsampling)
+	{
+		BufferedImage img = null;
+		try
+		{
+			img = read(byteArray, sourceRegion, subsampling);
+		}
+		catch (IOException | IllegalArgumentException e)
+		{
+			log.log(Level.SEVERE, "Reading image failed.", e);
+		}
+		return img;
+	}
+
+	/**
+	 * Gets the buffered image from the given {@link InputStream} object quietly. Only the given
+	 * source region is decoded and only every n-th pixel in both directions is read
+	 *
+	 * @param input
+	 *            the input
+	 * @param sourceRegion
+	 *            the region of the image to decode or null for the whole image
+	 * @param subsampling
+	 *            the subsampling factor in both directions, 1 for every pixel
+	 * @return the buffered image or null if the read process failed.
+	 */
+	public static BufferedImage readQuietly(final InputStream input, final Rectangle sourceRegion,
+		final int subsampling)
+	{
+		BufferedImage img = null;
+		try
+		{
+			img = read(input, sourceRegion, subsampling);
+		}
+		catch (IOException | IllegalArgumentException e)
+		{
+			log.log(Level.SEVERE, "Reading image failed.", e);
+		}
+		return img;
+	}
+
+	/**
+	 * Decodes the first image of the given {@link ImageInputStream} object with the first reader
+	 * that can decode it and passes the given source region and subsampling factor to the reader.
+	 * Images in the QOI format are decoded with the {@link QoiCodec}
+	 *
+	 * @param imageInputStream
+	 *            the image input stream
+	 * @param sourceRegion
+	 *            the region of the image to decode or null for the whole image
+	 * @param subsampling
+	 *            the subsampling factor in both directions
+	 * @return the buffered image or null if no registered reader can decode the stream
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	static BufferedImage read(final ImageInputStream imageInputStream, final Rectangle sourceRegion,
+		final int subsampling) throws IOException
+	{
+		if (imageInputStream == null)
+		{
+			return null;
+		}
+		if (ImageFormat.detect(imageInputStream) == ImageFormat.QOI)
+		{
+			return subsample(QoiCodec.decode(imageInputStream), sourceRegion, subsampling);
+		}
+		final ImageReader reader = ImageCodecPool.borrowReader(imageInputStream);
+		if (reader == null)
+		{
+			return null;
+		}
+		try
+		{
+			reader.setInput(imageInputStream, true, true);
+			final ImageReadParam param = reader.getDefaultReadParam();
+			if (sourceRegion != null)
+			{
+				final Rectangle bounds = new Rectangle(0, 0, reader.getWidth(0),
+					reader.getHeight(0));
+				final Rectangle region = bounds.intersection(sourceRegion);
+				if (region.isEmpty())
+				{
+					throw new IllegalArgumentException("Given source region " + sourceRegion
+						+ " is outside of the image bounds " + bounds);
+				}
+				param.setSourceRegion(region);
+			}
+			if (subsampling > 1)
+			{
+				param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+			}
+			return reader.read(0, param);
+		}
+		finally
+		{
+			ImageCodecPool.release(reader);
+		}
+	}
+
+	/**
+	 * Copies the given source region of the given decoded image with the given subsampling factor
+	 * into a new image of the same type. This applies the read parameters to images of formats that
+	 * are decoded without an {@link ImageReader}
+	 *
+	 * @param image
+	 *            the decoded image with an int raster
+	 * @param sourceRegion
+	 *            the region of the image to copy or null for the whole image
+	 * @param subsampling
+	 *            the subsampling factor in both directions
+	 * @return the given image if the whole image is requested otherwise the new image
+	 */
+	private static BufferedImage subsample(final BufferedImage image, final Rectangle sourceRegion,
+		final int subsampling)
+	{
+		final Rectangle bounds = new Rectangle(0, 0, image.getWidth(), image.getHeight());
+		final Rectangle region = sourceRegion != null ? bounds.intersection(sourceRegion) : bounds;
+		if (region.isEmpty())
+		{
+			throw new IllegalArgumentException("Given source region " + sourceRegion
+				+ " is outside of the image bounds " + bounds);
+		}
+		final int step = Math.max(1, subsampling);
+		if (region.equals(bounds) && step == 1)
+		{
+			return image;
+		}
+		final int width = (region.width + step - 1) / step;
+		final int height = (region.height + step - 1) / step;
+		final BufferedImage result = new BufferedImage(width, height, image.getType());
+		final int[] src = ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
+		final int[] dst = ((DataBufferInt)result.getRaster().getDataBuffer()).getData();
+		for (int y = 0; y < height; y++)
+		{
+			final int srcRow = (region.y + y * step) * bounds.width + region.x;
+			final int dstRow = y * width;
+			if (step == 1)
+			{
+				System.arraycopy(src, srcRow, dst, dstRow, width);
+			}
+			else
+			{
+				for (int x = 0; x < width; x++)
+				{
+					dst[dstRow + x] = src[srcRow + x * step];
+				}
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Converts the given BufferedImage to a byte array.
 	 *
@@ -239,14 +556,350 @@ public class ImageExtensions
 	public static byte[] toByteArray(final BufferedImage bi, final String formatName)
 		throws IOException
 	{
-		try (ByteArrayOutputStream baos = new ByteArrayOutputStream())
+		return toByteArray(bi, formatName, null);
+	}
+
+	/**
+	 * Converts the given BufferedImage to a byte array with the given encoder options.
+	 *
+	 * @param bi
+	 *            the bi
+	 * @param formatName
+	 *            the format name examples 'png' or 'jpg' description: Standard BMP Image Writer
+	 *            format names: [bmp, BMP] description: Standard JPEG Image Writer format names:
+	 *            [JPEG, jpeg, JPG, jpg] description: Standard WBMP Image Writer format names:
+	 *            [wbmp, WBMP] description: Standard PNG image writer format names: [png, PNG]
+	 *            description: Standard GIF image writer format names: [gif, GIF] description:
+	 *            Standard TIFF image writer format names: [tif, TIF, tiff, TIFF]
+	 * @param options
+	 *            the encoder options, for instance {@link WriteOptions#FASTEST}
+	 * @return the byte[]
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static byte[] toByteArray(final BufferedImage bi, final String formatName,
+		final WriteOptions options) throws IOException
+	{
+		final ByteBufferImageOutputStream stream = ByteBufferImageOutputStream.pooled();
+		try
+		{
+			encode(bi, formatName, stream, options);
+			return stream.toByteArray();
+		}
+		finally
+		{
+			stream.recycle();
+		}
+	}
+
+	/**
+	 * Encodes the given {@link BufferedImage} object in the given format into a pooled buffer of
+	 * the current thread and returns a read only view of the encoded bytes without copying them.
+	 * The content of the returned buffer is only valid until the next encode on the same thread
+	 *
+	 * @param bi
+	 *            the buffered image
+	 * @param formatName
+	 *            the format name examples 'png' or 'jpg' description: Standard BMP Image Writer
+	 *            format names: [bmp, BMP] description: Standard JPEG Image Writer format names:
+	 *            [JPEG, jpeg, JPG, jpg] description: Standard WBMP Image Writer format names:
+	 *            [wbmp, WBMP] description: Standard PNG image writer format names: [png, PNG]
+	 *            description: Standard GIF image writer format names: [gif, GIF] description:
+	 *            Standard TIFF image writer format names: [tif, TIF, tiff, TIFF]
+	 * @return the read only {@link ByteBuffer} object with the encoded bytes
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or that no writer for the given format
+	 *             name was found.
+	 */
+	public static ByteBuffer toByteBuffer(final BufferedImage bi, final String formatName)
+		throws IOException
+	{
+		return encode(bi, formatName, null).toByteBuffer();
+	}
+
+	/**
+	 * Encodes the given {@link BufferedImage} object in the given format with the given encoder
+	 * options into a pooled buffer of the current thread and returns a read only view of the
+	 * encoded bytes without copying them. The content of the returned buffer is only valid until
+	 * the next encode on the same thread
+	 *
+	 * @param bi
+	 *            the buffered image
+	 * @param formatName
+	 *            the format name examples 'png' or 'jpg' description: Standard BMP Image Writer
+	 *            format names: [bmp, BMP] description: Standard JPEG Image Writer format names:
+	 *            [JPEG, jpeg, JPG, jpg] description: Standard WBMP Image Writer format names:
+	 *            [wbmp, WBMP] description: Standard PNG image writer format names: [png, PNG]
+	 *            description: Standard GIF image writer format names: [gif, GIF] description:
+	 *            Standard TIFF image writer format names: [tif, TIF, tiff, TIFF]
+	 * @param options
+	 *            the encoder options, for instance {@link WriteOptions#FASTEST}
+	 * @return the read only {@link ByteBuffer} object with the encoded bytes
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or that no writer for the given format
+	 *             name was found.
+	 */
+	public static ByteBuffer toByteBuffer(final BufferedImage bi, final String formatName,
+		final WriteOptions options) throws IOException
+	{
+		return encode(bi, formatName, options).toByteBuffer();
+	}
+
+	/**
+	 * Encodes the given {@link BufferedImage} object in the given format and writes the encoded
+	 * bytes to the given {@link OutputStream} object. The given output stream is not closed
+	 *
+	 * @param bi
+	 *            the buffered image
+	 * @param formatName
+	 *            the format name examples 'png' or 'jpg' description: Standard BMP Image Writer
+	 *            format names: [bmp, BMP] description: Standard JPEG Image Writer format names:
+	 *            [JPEG, jpeg, JPG, jpg] description: Standard WBMP Image Writer format names:
+	 *            [wbmp, WBMP] description: Standard PNG image writer format names: [png, PNG]
+	 *            description: Standard GIF image writer format names: [gif, GIF] description:
+	 *            Standard TIFF image writer format names: [tif, TIF, tiff, TIFF]
+	 * @param output
+	 *            the output stream
+	 * @return the count of the encoded bytes
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or that no writer for the given format
+	 *             name was found.
+	 */
+	public static long write(final BufferedImage bi, final String formatName,
+		final OutputStream output) throws IOException
+	{
+		final ByteBufferImageOutputStream stream = encode(bi, formatName, null);
+		try
+		{
+			return stream.writeTo(output);
+		}
+		finally
 		{
-			ImageIO.write(bi, formatName, baos);
-			baos.flush();
-			return baos.toByteArray();
+			stream.recycle();
 		}
 	}
 
+	/**
+	 * Encodes the given {@link BufferedImage} object in the given format with the given encoder
+	 * options and writes the encoded bytes to the given {@link OutputStream} object. The given
+	 * output stream is not closed
+	 *
+	 * @param bi
+	 *            the buffered image
+	 * @param formatName
+	 *            the format name examples 'png' or 'jpg' description: Standard BMP Image Writer
+	 *            format names: [bmp, BMP] description: Standard JPEG Image Writer format names:
+	 *            [JPEG, jpeg, JPG, jpg] description: Standard WBMP Image Writer format names:
+	 *            [wbmp, WBMP] description: Standard PNG image writer format names: [png, PNG]
+	 *            description: Standard GIF image writer format names: [gif, GIF] description:
+	 *            Standard TIFF image writer format names: [tif, TIF, tiff, TIFF]
+	 * @param output
+	 *            the output stream
+	 * @param options
+	 *            the encoder options, for instance {@link WriteOptions#FASTEST}
+	 * @return the count of the encoded bytes
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or that no writer for the given format
+	 *             name was found.
+	 */
+	public static long write(final BufferedImage bi, final String formatName,
+		final OutputStream output, final WriteOptions options) throws IOException
+	{
+		final ByteBufferImageOutputStream stream = encode(bi, formatName, options);
+		try
+		{
+			return stream.writeTo(output);
+		}
+		finally
+		{
+			stream.recycle();
+		}
+	}
+
+	/**
+	 * Encodes the given {@link BufferedImage} object in the given format and writes the encoded
+	 * bytes to the given {@link WritableByteChannel} object. The given channel is not closed
+	 *
+	 * @param bi
+	 *            the buffered image
+	 * @param formatName
+	 *            the format name examples 'png' or 'jpg' description: Standard BMP Image Writer
+	 *            format names: [bmp, BMP] description: Standard JPEG Image Writer format names:
+	 *            [JPEG, jpeg, JPG, jpg] description: Standard WBMP Image Writer format names:
+	 *            [wbmp, WBMP] description: Standard PNG image writer format names: [png, PNG]
+	 *            description: Standard GIF image writer format names: [gif, GIF] description:
+	 *            Standard TIFF image writer format names: [tif, TIF, tiff, TIFF]
+	 * @param channel
+	 *            the channel
+	 * @return the count of the encoded bytes
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or that no writer for the given format
+	 *             name was found.
+	 */
+	public static long write(final BufferedImage bi, final String formatName,
+		final WritableByteChannel channel) throws IOException
+	{
+		final ByteBufferImageOutputStream stream = encode(bi, formatName, null);
+		try
+		{
+			return stream.writeTo(channel);
+		}
+		finally
+		{
+			stream.recycle();
+		}
+	}
+
+	/**
+	 * Encodes the given {@link BufferedImage} object in the given format with the given encoder
+	 * options into the pooled {@link ByteBufferImageOutputStream} object of the current thread
+	 *
+	 * @param bi
+	 *            the buffered image
+	 * @param formatName
+	 *            the format name
+	 * @param options
+	 *            the encoder options or null for the defaults of the writer
+	 * @return the pooled {@link ByteBufferImageOutputStream} object with the encoded bytes
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or that no writer for the given format
+	 *             name was found.
+	 */
+	static ByteBufferImageOutputStream encode(final BufferedImage bi, final String formatName,
+		final WriteOptions options) throws IOException
+	{
+		final ByteBufferImageOutputStream stream = ByteBufferImageOutputStream.pooled();
+		try
+		{
+			if (!encode(bi, formatName, stream, options))
+			{
+				throw new IOException("No image writer found for format name: " + formatName);
+			}
+			return stream;
+		}
+		catch (IOException | RuntimeException | Error e)
+		{
+			stream.recycle();
+			throw e;
+		}
+	}
+
+	/**
+	 * Encodes the given {@link BufferedImage} object in the given format into the given
+	 * {@link ImageOutputStream} object with a pooled {@link ImageWriter} object and the given
+	 * encoder options
+	 *
+	 * @param bi
+	 *            the buffered image
+	 * @param formatName
+	 *            the format name
+	 * @param output
+	 *            the image output stream
+	 * @param options
+	 *            the encoder options or null for the defaults of the writer
+	 * @return true if a writer for the given format name could encode the image otherwise false
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	static boolean encode(final BufferedImage bi, final String formatName,
+		final ImageOutputStream output, final WriteOptions options) throws IOException
+	{
+		if (QoiCodec.isQoi(formatName))
+		{
+			QoiCodec.encode(bi, output);
+			output.flush();
+			return true;
+		}
+		final ImageWriter writer = ImageCodecPool.borrowWriter(formatName);
+		if (writer == null)
+		{
+			return false;
+		}
+		try
+		{
+			if (writer.getOriginatingProvider() != null
+				&& !writer.getOriginatingProvider().canEncodeImage(bi))
+			{
+				return false;
+			}
+			writer.setOutput(output);
+			writer.write(null, new IIOImage(bi, null, null),
+				options != null ? toImageWriteParam(writer, formatName, options) : null);
+			output.flush();
+			return true;
+		}
+		finally
+		{
+			ImageCodecPool.release(writer);
+		}
+	}
+
+	/**
+	 * Maps the given {@link WriteOptions} object to a new {@link ImageWriteParam} object of the
+	 * given {@link ImageWriter} object. Options that the writer does not support are ignored
+	 *
+	 * @param writer
+	 *            the image writer
+	 * @param formatName
+	 *            the format name
+	 * @param options
+	 *            the encoder options
+	 * @return the new {@link ImageWriteParam} object
+	 */
+	static ImageWriteParam toImageWriteParam(final ImageWriter writer, final String formatName,
+		final WriteOptions options)
+	{
+		final ImageWriteParam param = writer.getDefaultWriteParam();
+		if (param.canWriteCompressed())
+		{
+			Float quality = options.getCompressionQuality();
+			if (options.getDeflateLevel() != null && "png".equalsIgnoreCase(formatName))
+			{
+				final int level = Math.max(0, Math.min(9, options.getDeflateLevel()));
+				// the PNG writer maps the quality linear to the deflate level
+				quality = 1.0f - level / 9.0f;
+			}
+			Integer mode = options.getCompressionMode();
+			if (mode == null && (quality != null || options.getCompressionType() != null))
+			{
+				mode = ImageWriteParam.MODE_EXPLICIT;
+			}
+			if (mode != null)
+			{
+				param.setCompressionMode(mode);
+			}
+			if (mode != null && mode == ImageWriteParam.MODE_EXPLICIT)
+			{
+				final String[] compressionTypes = param.getCompressionTypes();
+				if (options.getCompressionType() != null)
+				{
+					param.setCompressionType(options.getCompressionType());
+				}
+				else if (param.getCompressionType() == null && compressionTypes != null
+					&& compressionTypes.length > 0)
+				{
+					param.setCompressionType(compressionTypes[0]);
+				}
+				if (quality != null)
+				{
+					param.setCompressionQuality(Math.max(0.0f, Math.min(1.0f, quality)));
+				}
+			}
+		}
+		if (options.getProgressive() != null && param.canWriteProgressive())
+		{
+			param.setProgressiveMode(options.getProgressive()
+				? ImageWriteParam.MODE_DEFAULT
+				: ImageWriteParam.MODE_DISABLED);
+		}
+		if (0 < options.getTileWidth() && 0 < options.getTileHeight() && param.canWriteTiles())
+		{
+			param.setTilingMode(ImageWriteParam.MODE_EXPLICIT);
+			param.setTiling(options.getTileWidth(), options.getTileHeight(), 0, 0);
+		}
+		return param;
+	}
+
 	/**
 	 * Unweave a secret message from the given {@link BufferedImage}. To weave a secret message to a
 	 * {@link BufferedImage} object use the corresponding method
@@ -260,7 +913,8 @@ public class ImageExtensions
 	{
 		final int width = bufferedImage.getWidth();
 		final int height = bufferedImage.getHeight();
-		final int messageLength = bufferedImage.getRGB(0, 0) & 0xff;
+		final PixelView pixelView = PixelView.of(bufferedImage);
+		final int messageLength = pixelView.getArgb(0, 0) & 0xff;
 		final StringBuilder sb = new StringBuilder();
 		for (int row = 0, j = 0, i = 1; row < height; row++)
 		{
@@ -269,7 +923,7 @@ public class ImageExtensions
 
 				if (i % 11 == 0)
 				{
-					final int result = bufferedImage.getRGB(column, row);
+					final int result = pixelView.getArgb(column, row);
 
 					int charAtPosition = (result >> 16 & 0x7) << 5;
 
@@ -287,7 +941,8 @@ public class ImageExtensions
 	/**
 	 * Weave the given secret message into the given {@link BufferedImage}. Preconditions for the
 	 * secret message the length must not be greater the 255 and the given image should be not too
-	 * small size, that means 'message.length() * 11 &gt; width * height' <br>
+	 * small size, that means 'message.length() * 11 &gt; width * height'. For larger payloads use
+	 * {@link ImageSteganography#embed(BufferedImage, java.io.InputStream, int)} <br>
 	 * <br>
 	 * To unweave the secret message use the corresponding
 	 * {@link ImageExtensions#unweaveFrom(BufferedImage)}
@@ -302,6 +957,7 @@ public class ImageExtensions
 	{
 		final int width = bufferedImage.getWidth();
 		final int height = bufferedImage.getHeight();
+		final PixelView pixelView = PixelView.of(bufferedImage);
 
 		if (message.length() > 255)
 		{
@@ -315,10 +971,10 @@ public class ImageExtensions
 
 		final byte[] messageBytes = message.getBytes();
 
-		int messageLengthDecode = bufferedImage.getRGB(0, 0) >> 8 << 8;
+		int messageLengthDecode = pixelView.getArgb(0, 0) >> 8 << 8;
 
 		messageLengthDecode |= message.length();
-		bufferedImage.setRGB(0, 0, messageLengthDecode);
+		pixelView.setArgb(0, 0, messageLengthDecode);
 
 		for (int i = 1, messagePosition = 0, row = 0, j = 0; row < height; row++)
 		{
@@ -328,7 +984,7 @@ public class ImageExtensions
 				if (i % 11 == 0)
 				{
 
-					int rgb = bufferedImage.getRGB(column, row);
+					int rgb = pixelView.getArgb(column, row);
 
 					final int a = rgb >> 24 & 0xff;
 
@@ -348,7 +1004,7 @@ public class ImageExtensions
 
 					rgb = rgb | b;
 
-					bufferedImage.setRGB(column, row, rgb);
+					pixelView.setArgb(column, row, rgb);
 					messagePosition++;
 					j++;
 				}
@@ -379,34 +1035,319 @@ public class ImageExtensions
 	public static File write(final BufferedImage bufferedImage, final String formatName,
 		final File outputfile) throws IOException
 	{
-		ImageIO.write(bufferedImage, formatName, outputfile);
+		return write(bufferedImage, formatName, outputfile, null);
+	}
+
+	/**
+	 * Convenience method to write the given {@link BufferedImage} object to the given {@link File}
+	 * object with the given encoder options.
+	 *
+	 * @param bufferedImage
+	 *            the {@link BufferedImage} object to be written.
+	 * @param formatName
+	 *            the format name examples 'png' or 'jpg' description: Standard BMP Image Writer
+	 *            format names: [bmp, BMP] description: Standard JPEG Image Writer format names:
+	 *            [JPEG, jpeg, JPG, jpg] description: Standard WBMP Image Writer format names:
+	 *            [wbmp, WBMP] description: Standard PNG image writer format names: [png, PNG]
+	 *            description: Standard GIF image writer format names: [gif, GIF] description:
+	 *            Standard TIFF image writer format names: [tif, TIF, tiff, TIFF]
+	 * @param outputfile
+	 *            the output file
+	 * @param options
+	 *            the encoder options, for instance {@link WriteOptions#FASTEST}
+	 * @return the file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static File write(final BufferedImage bufferedImage, final String formatName,
+		final File outputfile, final WriteOptions options) throws IOException
+	{
+		final ByteBufferImageOutputStream stream = ByteBufferImageOutputStream.pooled();
+		try
+		{
+			if (encode(bufferedImage, formatName, stream, options))
+			{
+				try (OutputStream output = Files.newOutputStream(outputfile.toPath()))
+				{
+					stream.writeTo(output);
+				}
+			}
+		}
+		finally
+		{
+			stream.recycle();
+		}
 		return outputfile;
 	}
 
 	/**
-	 * Converts the given {@link Image} object to a {@link BufferedImage} object
+	 * Reads the image file of the given {@link Path} object asynchronously. The file content is
+	 * read with an {@link AsynchronousFileChannel} and decoded on the common {@link ForkJoinPool},
+	 * so the calling thread is never blocked
 	 *
-	 * @param image
-	 *            the image to convert
-	 * @return the {@link BufferedImage} object
+	 * @param path
+	 *            the path of the image file
+	 * @return the {@link CompletableFuture} object that completes with the buffered image or with
+	 *         null if no registered reader can decode the file
 	 */
-	public static BufferedImage toBufferedImage(Image image)
+	public static CompletableFuture<BufferedImage> readAsync(final Path path)
+	{
+		return readAsync(path, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Reads the image file of the given {@link Path} object asynchronously. The file content is
+	 * read with an {@link AsynchronousFileChannel} and decoded on the given {@link Executor}, so
+	 * the calling thread is never blocked
+	 *
+	 * @param path
+	 *            the path of the image file
+	 * @param executor
+	 *            the executor that decodes the image
+	 * @return the {@link CompletableFuture} object that completes with the buffered image or with
+	 *         null if no registered reader can decode the file
+	 */
+	public static CompletableFuture<BufferedImage> readAsync(final Path path,
+		final Executor executor)
 	{
-		if (image instanceof BufferedImage)
+		final AsynchronousFileChannel channel;
+		final ByteBuffer buffer;
+		try
 		{
-			return (BufferedImage)image;
+			channel = AsynchronousFileChannel.open(path, StandardOpenOption.READ);
+			final long size = channel.size();
+			if (size > Integer.MAX_VALUE)
+			{
+				closeQuietly(channel);
+				throw new IOException("Given file is too large to be read: " + path);
+			}
+			buffer = ByteBuffer.allocate((int)size);
+		}
+		catch (IOException e)
+		{
+			return CompletableFuture.failedFuture(e);
 		}
+		return readFully(channel, buffer).whenComplete((result, error) -> closeQuietly(channel))
+			.thenApplyAsync(content -> {
+				try
+				{
+					return read(content);
+				}
+				catch (IOException e)
+				{
+					throw new CompletionException(e);
+				}
+			}, executor);
+	}
 
-		GraphicsEnvironment graphicsEnvironment = GraphicsEnvironment.getLocalGraphicsEnvironment();
-		GraphicsDevice graphicsDevice = graphicsEnvironment.getDefaultScreenDevice();
-		GraphicsConfiguration graphicsConfiguration = graphicsDevice.getDefaultConfiguration();
+	/**
+	 * Writes the given {@link BufferedImage} object asynchronously to the file of the given
+	 * {@link Path} object. The image is encoded on the common {@link ForkJoinPool} and written with
+	 * an {@link AsynchronousFileChannel} to a temporary file in the same directory that is then
+	 * moved to the given path, so the target file is never seen half written
+	 *
+	 * @param bufferedImage
+	 *            the {@link BufferedImage} object to be written.
+	 * @param formatName
+	 *            the format name examples 'png' or 'jpg' description: Standard BMP Image Writer
+	 *            format names: [bmp, BMP] description: Standard JPEG Image Writer format names:
+	 *            [JPEG, jpeg, JPG, jpg] description: Standard WBMP Image Writer format names:
+	 *            [wbmp, WBMP] description: Standard PNG image writer format names: [png, PNG]
+	 *            description: Standard GIF image writer format names: [gif, GIF] description:
+	 *            Standard TIFF image writer format names: [tif, TIF, tiff, TIFF]
+	 * @param path
+	 *            the path of the target file
+	 * @return the {@link CompletableFuture} object that completes with the path of the target file
+	 */
+	public static CompletableFuture<Path> writeAsync(final BufferedImage bufferedImage,
+		final String formatName, final Path path)
+	{
+		return writeAsync(bufferedImage, formatName, path, ForkJoinPool.commonPool());
+	}
 
-		BufferedImage bufferedImage = graphicsConfiguration.createCompatibleImage(
-			image.getWidth(null), image.getHeight(null), BufferedImage.TYPE_INT_ARGB);
+	/**
+	 * Writes the given {@link BufferedImage} object asynchronously to the file of the given
+	 * {@link Path} object. The image is encoded on the given {@link Executor} and written with an
+	 * {@link AsynchronousFileChannel} to a temporary file in the same directory that is then moved
+	 * to the given path, so the target file is never seen half written
+	 *
+	 * @param bufferedImage
+	 *            the {@link BufferedImage} object to be written.
+	 * @param formatName
+	 *            the format name examples 'png' or 'jpg' description: Standard BMP Image Writer
+	 *            format names: [bmp, BMP] description: Standard JPEG Image Writer format names:
+	 *            [JPEG, jpeg, JPG, jpg] description: Standard WBMP Image Writer format names:
+	 *            [wbmp, WBMP] description: Standard PNG image writer format names: [png, PNG]
+	 *            description: Standard GIF image writer format names: [gif, GIF] description:
+	 *            Standard TIFF image writer format names: [tif, TIF, tiff, TIFF]
+	 * @param path
+	 *            the path of the target file
+	 * @param executor
+	 *            the executor that encodes the image
+	 * @return the {@link CompletableFuture} object that completes with the path of the target file
+	 */
+	public static CompletableFuture<Path> writeAsync(final BufferedImage bufferedImage,
+		final String formatName, final Path path, final Executor executor)
+	{
+		final Path target = path.toAbsolutePath();
+		return CompletableFuture.supplyAsync(() -> {
+			try
+			{
+				return ByteBuffer.wrap(encode(bufferedImage, formatName, null).toByteArray());
+			}
+			catch (IOException e)
+			{
+				throw new CompletionException(e);
+			}
+		}, executor).thenCompose(content -> {
+			final Path temporary;
+			final AsynchronousFileChannel channel;
+			try
+			{
+				temporary = target
+					.resolveSibling("." + target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+				channel = AsynchronousFileChannel.open(temporary, StandardOpenOption.CREATE_NEW,
+					StandardOpenOption.WRITE);
+			}
+			catch (IOException e)
+			{
+				return CompletableFuture.failedFuture(e);
+			}
+			return writeFully(channel, content).whenComplete((result, error) -> {
+				closeQuietly(channel);
+				if (error != null)
+				{
+					deleteQuietly(temporary);
+				}
+			}).thenApply(result -> {
+				try
+				{
+					return move(temporary, target);
+				}
+				catch (IOException e)
+				{
+					deleteQuietly(temporary);
+					throw new CompletionException(e);
+				}
+			});
+		});
+	}
 
-		Graphics2D graphics2D = bufferedImage.createGraphics();
-		graphics2D.drawImage(image, 0, 0, null);
-		graphics2D.dispose();
-		return bufferedImage;
+	private static CompletableFuture<ByteBuffer> readFully(final AsynchronousFileChannel channel,
+		final ByteBuffer buffer)
+	{
+		final CompletableFuture<ByteBuffer> future = new CompletableFuture<>();
+		if (!buffer.hasRemaining())
+		{
+			future.complete(buffer.flip());
+			return future;
+		}
+		channel.read(buffer, buffer.position(), future,
+			new CompletionHandler<Integer, CompletableFuture<ByteBuffer>>()
+			{
+				@Override
+				public void completed(final Integer count,
+					final CompletableFuture<ByteBuffer> attachment)
+				{
+					if (count < 0 || !buffer.hasRemaining())
+					{
+						attachment.complete(buffer.flip());
+						return;
+					}
+					channel.read(buffer, buffer.position(), attachment, this);
+				}
+
+				@Override
+				public void failed(final Throwable error,
+					final CompletableFuture<ByteBuffer> attachment)
+				{
+					attachment.completeExceptionally(error);
+				}
+			});
+		return future;
+	}
+
+	private static CompletableFuture<Integer> writeFully(final AsynchronousFileChannel channel,
+		final ByteBuffer buffer)
+	{
+		final CompletableFuture<Integer> future = new CompletableFuture<>();
+		if (!buffer.hasRemaining())
+		{
+			future.complete(0);
+			return future;
+		}
+		channel.write(buffer, buffer.position(), future,
+			new CompletionHandler<Integer, CompletableFuture<Integer>>()
+			{
+				@Override
+				public void completed(final Integer count,
+					final CompletableFuture<Integer> attachment)
+				{
+					if (!buffer.hasRemaining())
+					{
+						attachment.complete(buffer.position());
+						return;
+					}
+					channel.write(buffer, buffer.position(), attachment, this);
+				}
+
+				@Override
+				public void failed(final Throwable error,
+					final CompletableFuture<Integer> attachment)
+				{
+					attachment.completeExceptionally(error);
+				}
+			});
+		return future;
+	}
+
+	private static Path move(final Path source, final Path target) throws IOException
+	{
+		try
+		{
+			return Files.move(source, target, StandardCopyOption.ATOMIC_MOVE,
+				StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (AtomicMoveNotSupportedException e)
+		{
+			return Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private static void closeQuietly(final AsynchronousFileChannel channel)
+	{
+		try
+		{
+			channel.close();
+		}
+		catch (IOException e)
+		{
+			log.log(Level.WARNING, "Closing file channel failed.", e);
+		}
+	}
+
+	private static void deleteQuietly(final Path path)
+	{
+		try
+		{
+			Files.deleteIfExists(path);
+		}
+		catch (IOException e)
+		{
+			log.log(Level.WARNING, "Deleting temporary file failed.", e);
+		}
+	}
+
+	/**
+	 * Converts the given {@link Image} object to a {@link BufferedImage} object with the
+	 * {@link ImageConverter}, that works also in a headless environment
+	 *
+	 * @param image
+	 *            the image to convert
+	 * @return the {@link BufferedImage} object
+	 */
+	public static BufferedImage toBufferedImage(Image image)
+	{
+		return ImageConverter.toBufferedImage(image);
 	}
 }
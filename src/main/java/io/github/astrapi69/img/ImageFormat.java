@@ -0,0 +1,149 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * The enum {@link ImageFormat} defines the image formats that can be detected from the magic bytes
+ * at the beginning of the image data
+ */
+public enum ImageFormat
+{
+
+	/** The PNG format */
+	PNG("png", new int[] { 0x89, 'P', 'N', 'G', 0x0d, 0x0a, 0x1a, 0x0a }),
+
+	/** The JPEG format */
+	JPEG("jpeg", new int[] { 0xff, 0xd8, 0xff }),
+
+	/** The GIF format */
+	GIF("gif", new int[] { 'G', 'I', 'F', '8' }),
+
+	/** The BMP format */
+	BMP("bmp", new int[] { 'B', 'M' }),
+
+	/** The TIFF format in little endian byte order */
+	TIFF_LITTLE_ENDIAN("tiff", new int[] { 'I', 'I', 0x2a, 0x00 }),
+
+	/** The TIFF format in big endian byte order */
+	TIFF_BIG_ENDIAN("tiff", new int[] { 'M', 'M', 0x00, 0x2a }),
+
+	/** The QOI format that is decoded by {@link QoiCodec} */
+	QOI(QoiCodec.FORMAT_NAME, new int[] { 'q', 'o', 'i', 'f' });
+
+	/** The maximum count of bytes that is needed to detect a format */
+	public static final int MAX_MAGIC_LENGTH = 8;
+
+	/** The format name that is used for the lookup of readers and writers */
+	private final String formatName;
+
+	/** The magic bytes at the beginning of the image data */
+	private final int[] magic;
+
+	ImageFormat(final String formatName, final int[] magic)
+	{
+		this.formatName = formatName;
+		this.magic = magic;
+	}
+
+	/**
+	 * Gets the format name that is used for the lookup of readers and writers
+	 *
+	 * @return the format name
+	 */
+	public String getFormatName()
+	{
+		return formatName;
+	}
+
+	/**
+	 * Detects the image format from the magic bytes at the beginning of the given byte array
+	 *
+	 * @param header
+	 *            the first bytes of the image data
+	 * @return the detected {@link ImageFormat} or null if the format is unknown
+	 */
+	public static ImageFormat detect(final byte[] header)
+	{
+		return detect(header, header.length);
+	}
+
+	/**
+	 * Detects the image format from the magic bytes at the beginning of the given
+	 * {@link ImageInputStream} object. The position of the stream is not changed
+	 *
+	 * @param imageInputStream
+	 *            the image input stream
+	 * @return the detected {@link ImageFormat} or null if the format is unknown
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static ImageFormat detect(final ImageInputStream imageInputStream) throws IOException
+	{
+		final byte[] header = new byte[MAX_MAGIC_LENGTH];
+		imageInputStream.mark();
+		try
+		{
+			int length = 0;
+			int read;
+			while (length < header.length
+				&& (read = imageInputStream.read(header, length, header.length - length)) > 0)
+			{
+				length += read;
+			}
+			return detect(header, length);
+		}
+		finally
+		{
+			imageInputStream.reset();
+		}
+	}
+
+	private static ImageFormat detect(final byte[] header, final int length)
+	{
+		return Arrays.stream(values()).filter(format -> format.matches(header, length)).findFirst()
+			.orElse(null);
+	}
+
+	private boolean matches(final byte[] header, final int length)
+	{
+		if (length < magic.length)
+		{
+			return false;
+		}
+		for (int i = 0; i < magic.length; i++)
+		{
+			if ((header[i] & 0xff) != magic[i])
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,178 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Locale;
+
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.stream.ImageInputStream;
+
+import io.github.astrapi69.img.model.ImageInfo;
+
+/**
+ * The class {@link ImageProbe} reads the header information of images like the dimensions, the
+ * format and the color type without decoding the pixels
+ */
+public class ImageProbe
+{
+
+	/**
+	 * Reads the header information of the image in the given byte array
+	 *
+	 * @param byteArray
+	 *            the byte array
+	 * @return the {@link ImageInfo} object or null if no registered reader can decode the byte
+	 *         array
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static ImageInfo probe(final byte[] byteArray) throws IOException
+	{
+		return probe(ByteBuffer.wrap(byteArray));
+	}
+
+	/**
+	 * Reads the header information of the image in the remaining bytes of the given
+	 * {@link ByteBuffer} object. The position and the limit of the given buffer are not changed
+	 *
+	 * @param buffer
+	 *            the buffer with the image data
+	 * @return the {@link ImageInfo} object or null if no registered reader can decode the buffer
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static ImageInfo probe(final ByteBuffer buffer) throws IOException
+	{
+		try (ImageInputStream imageInputStream = new ByteBufferImageInputStream(buffer))
+		{
+			return probe(imageInputStream);
+		}
+	}
+
+	/**
+	 * Reads the header information of the image in the given {@link InputStream} object. Only the
+	 * header is consumed from the given input stream and it is not closed
+	 *
+	 * @param input
+	 *            the input stream
+	 * @return the {@link ImageInfo} object or null if no registered reader can decode the input
+	 *         stream
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static ImageInfo probe(final InputStream input) throws IOException
+	{
+		try (ImageInputStream imageInputStream = ImageCodecPool.newImageInputStream(input))
+		{
+			return probe(imageInputStream);
+		}
+	}
+
+	/**
+	 * Reads the header information of the image in the file of the given {@link Path} object. The
+	 * file is mapped into memory, so only the pages of the header are actually read
+	 *
+	 * @param path
+	 *            the path of the image file
+	 * @return the {@link ImageInfo} object or null if no registered reader can decode the file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static ImageInfo probe(final Path path) throws IOException
+	{
+		return probe(ImageExtensions.map(path));
+	}
+
+	/**
+	 * Reads the header information of the image in the given {@link ImageInputStream} object
+	 *
+	 * @param imageInputStream
+	 *            the image input stream
+	 * @return the {@link ImageInfo} object or null if no registered reader can decode the stream
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static ImageInfo probe(final ImageInputStream imageInputStream) throws IOException
+	{
+		final ImageFormat format = ImageFormat.detect(imageInputStream);
+		if (format == ImageFormat.QOI)
+		{
+			final int[] header = QoiCodec.readHeader(imageInputStream);
+			final boolean alpha = header[2] == 4;
+			return ImageInfo.builder().formatName(format.getFormatName()).width(header[0])
+				.height(header[1])
+				.imageType(alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB)
+				.numComponents(header[2]).bitsPerPixel(alpha ? 32 : 24).alpha(alpha).frameCount(1)
+				.build();
+		}
+		final ImageReader reader = ImageCodecPool.borrowReader(imageInputStream);
+		if (reader == null)
+		{
+			return null;
+		}
+		try
+		{
+			reader.setInput(imageInputStream, false, true);
+			final ImageInfo.ImageInfoBuilder builder = ImageInfo.builder()
+				.formatName(format != null
+					? format.getFormatName()
+					: reader.getFormatName().toLowerCase(Locale.ROOT))
+				.width(reader.getWidth(0)).height(reader.getHeight(0))
+				.frameCount(reader.getNumImages(false)).imageType(BufferedImage.TYPE_CUSTOM);
+			final ImageTypeSpecifier imageType = getImageType(reader);
+			if (imageType != null)
+			{
+				final ColorModel colorModel = imageType.getColorModel();
+				builder.imageType(imageType.getBufferedImageType())
+					.numComponents(colorModel.getNumComponents())
+					.bitsPerPixel(colorModel.getPixelSize()).alpha(colorModel.hasAlpha());
+			}
+			return builder.build();
+		}
+		finally
+		{
+			ImageCodecPool.release(reader);
+		}
+	}
+
+	private static ImageTypeSpecifier getImageType(final ImageReader reader) throws IOException
+	{
+		final ImageTypeSpecifier rawImageType = reader.getRawImageType(0);
+		if (rawImageType != null)
+		{
+			return rawImageType;
+		}
+		final Iterator<ImageTypeSpecifier> imageTypes = reader.getImageTypes(0);
+		return imageTypes.hasNext() ? imageTypes.next() : null;
+	}
+}
@@ -0,0 +1,393 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The class {@link ImageResampler} scales images with separable reconstruction filters directly on
+ * packed ARGB <code>int[]</code> rasters. Both filter passes are split in row ranges that are
+ * processed in a {@link ForkJoinPool}, so the result is always a fully computed
+ * {@link BufferedImage} of type {@link BufferedImage#TYPE_INT_ARGB}
+ */
+public class ImageResampler
+{
+
+	/** The default filter that is used if no filter is given */
+	public static final ResampleFilter DEFAULT_FILTER = ResampleFilter.BICUBIC;
+
+	/** The count of pixels from which a row range is not split any further */
+	static final int PARALLEL_THRESHOLD = 16384;
+
+	/**
+	 * Resizes the given {@link BufferedImage} object to the given size with the
+	 * {@link ImageResampler#DEFAULT_FILTER}. If one of the new width or height is negative the
+	 * value is computed so the aspect ratio of the source image is kept
+	 *
+	 * @param source
+	 *            the source image
+	 * @param newWidth
+	 *            the new width
+	 * @param newHeight
+	 *            the new height
+	 * @return the new resized {@link BufferedImage} object
+	 */
+	public static BufferedImage resize(final BufferedImage source, final int newWidth,
+		final int newHeight)
+	{
+		return resize(source, newWidth, newHeight, DEFAULT_FILTER);
+	}
+
+	/**
+	 * Resizes the given {@link BufferedImage} object to the given size with the given filter. If
+	 * one of the new width or height is negative the value is computed so the aspect ratio of the
+	 * source image is kept
+	 *
+	 * @param source
+	 *            the source image
+	 * @param newWidth
+	 *            the new width
+	 * @param newHeight
+	 *            the new height
+	 * @param filter
+	 *            the filter to use
+	 * @return the new resized {@link BufferedImage} object
+	 */
+	public static BufferedImage resize(final BufferedImage source, final int newWidth,
+		final int newHeight, final ResampleFilter filter)
+	{
+		return resize(source, newWidth, newHeight, filter, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Resizes the given {@link BufferedImage} object to the given size with the given filter in the
+	 * given {@link ForkJoinPool}. If one of the new width or height is negative the value is
+	 * computed so the aspect ratio of the source image is kept
+	 *
+	 * @param source
+	 *            the source image
+	 * @param newWidth
+	 *            the new width
+	 * @param newHeight
+	 *            the new height
+	 * @param filter
+	 *            the filter to use
+	 * @param pool
+	 *            the pool that processes the row ranges
+	 * @return the new resized {@link BufferedImage} object
+	 */
+	public static BufferedImage resize(final BufferedImage source, final int newWidth,
+		final int newHeight, final ResampleFilter filter, final ForkJoinPool pool)
+	{
+		final int srcWidth = source.getWidth();
+		final int srcHeight = source.getHeight();
+		int dstWidth = newWidth;
+		int dstHeight = newHeight;
+		if (dstWidth < 0 && dstHeight < 0)
+		{
+			throw new IllegalArgumentException("Width and height must not be both negative");
+		}
+		if (dstWidth < 0)
+		{
+			dstWidth = Math.max(1, (int)Math.round((double)srcWidth * dstHeight / srcHeight));
+		}
+		if (dstHeight < 0)
+		{
+			dstHeight = Math.max(1, (int)Math.round((double)srcHeight * dstWidth / srcWidth));
+		}
+		if (dstWidth == 0 || dstHeight == 0)
+		{
+			throw new IllegalArgumentException("Width (" + dstWidth + ") and height (" + dstHeight
+				+ ") must be greater than zero");
+		}
+		final BufferedImage target = new BufferedImage(dstWidth, dstHeight,
+			BufferedImage.TYPE_INT_ARGB);
+		final int[] dst = ((DataBufferInt)target.getRaster().getDataBuffer()).getData();
+
+		final PixelView view = PixelView.of(source);
+		final int[] src = view.isPackedArgb() ? view.getIntData() : view.toArgbArray();
+		final int srcOffset = view.isPackedArgb() ? view.getOffset() : 0;
+		final int srcScan = view.isPackedArgb() ? view.getScanlineStride() : srcWidth;
+		resize(src, srcOffset, srcScan, srcWidth, srcHeight, dst, 0, dstWidth, dstWidth, dstHeight,
+			filter, pool);
+		return target;
+	}
+
+	/**
+	 * Resizes the packed non-premultiplied ARGB pixels of the given source array into the given
+	 * destination array. The alpha channel is premultiplied during filtering so transparent pixels
+	 * do not bleed their color into the neighbor pixels
+	 *
+	 * @param src
+	 *            the source pixels
+	 * @param srcOffset
+	 *            the index of the first source pixel
+	 * @param srcScan
+	 *            the scanline stride of the source pixels
+	 * @param srcWidth
+	 *            the source width
+	 * @param srcHeight
+	 *            the source height
+	 * @param dst
+	 *            the destination pixels
+	 * @param dstOffset
+	 *            the index of the first destination pixel
+	 * @param dstScan
+	 *            the scanline stride of the destination pixels
+	 * @param dstWidth
+	 *            the destination width
+	 * @param dstHeight
+	 *            the destination height
+	 * @param filter
+	 *            the filter to use
+	 * @param pool
+	 *            the pool that processes the row ranges
+	 */
+	public static void resize(final int[] src, final int srcOffset, final int srcScan,
+		final int srcWidth, final int srcHeight, final int[] dst, final int dstOffset,
+		final int dstScan, final int dstWidth, final int dstHeight, final ResampleFilter filter,
+		final ForkJoinPool pool)
+	{
+		if (srcWidth == dstWidth && srcHeight == dstHeight)
+		{
+			for (int y = 0; y < srcHeight; y++)
+			{
+				System.arraycopy(src, srcOffset + y * srcScan, dst, dstOffset + y * dstScan,
+					srcWidth);
+			}
+			return;
+		}
+		final Contributions horizontal = new Contributions(srcWidth, dstWidth, filter);
+		final Contributions vertical = new Contributions(srcHeight, dstHeight, filter);
+		// intermediate premultiplied a, r, g, b samples with the destination width
+		final float[] tmp = new float[dstWidth * srcHeight * 4];
+
+		invoke(pool, srcHeight, dstWidth, (from, to) -> {
+			final float[] row = new float[srcWidth * 4];
+			for (int y = from; y < to; y++)
+			{
+				premultiplyRow(src, srcOffset + y * srcScan, srcWidth, row);
+				int t = y * dstWidth * 4;
+				for (int x = 0; x < dstWidth; x++, t += 4)
+				{
+					final int start = horizontal.start[x];
+					final int count = horizontal.count[x];
+					int w = x * horizontal.stride;
+					int s = start * 4;
+					float a = 0f, r = 0f, g = 0f, b = 0f;
+					for (int k = 0; k < count; k++, w++, s += 4)
+					{
+						final float weight = horizontal.weights[w];
+						a += row[s] * weight;
+						r += row[s + 1] * weight;
+						g += row[s + 2] * weight;
+						b += row[s + 3] * weight;
+					}
+					tmp[t] = a;
+					tmp[t + 1] = r;
+					tmp[t + 2] = g;
+					tmp[t + 3] = b;
+				}
+			}
+		});
+
+		invoke(pool, dstHeight, dstWidth, (from, to) -> {
+			final int tmpScan = dstWidth * 4;
+			for (int y = from; y < to; y++)
+			{
+				final int start = vertical.start[y];
+				final int count = vertical.count[y];
+				final int weightOffset = y * vertical.stride;
+				int d = dstOffset + y * dstScan;
+				for (int x = 0; x < dstWidth; x++, d++)
+				{
+					int s = start * tmpScan + x * 4;
+					float a = 0f, r = 0f, g = 0f, b = 0f;
+					for (int k = 0; k < count; k++, s += tmpScan)
+					{
+						final float weight = vertical.weights[weightOffset + k];
+						a += tmp[s] * weight;
+						r += tmp[s + 1] * weight;
+						g += tmp[s + 2] * weight;
+						b += tmp[s + 3] * weight;
+					}
+					dst[d] = unpremultiply(a, r, g, b);
+				}
+			}
+		});
+	}
+
+	private static void premultiplyRow(final int[] src, final int offset, final int width,
+		final float[] row)
+	{
+		for (int x = 0, i = offset, r = 0; x < width; x++, i++, r += 4)
+		{
+			final int argb = src[i];
+			final float alpha = (argb >>> 24) / 255f;
+			row[r] = argb >>> 24;
+			row[r + 1] = ((argb >> 16) & 0xff) * alpha;
+			row[r + 2] = ((argb >> 8) & 0xff) * alpha;
+			row[r + 3] = (argb & 0xff) * alpha;
+		}
+	}
+
+	private static int unpremultiply(final float a, final float r, final float g, final float b)
+	{
+		final int alpha = clamp(a);
+		if (alpha == 0)
+		{
+			return 0;
+		}
+		final float factor = 255f / a;
+		return alpha << 24 | clamp(r * factor) << 16 | clamp(g * factor) << 8 | clamp(b * factor);
+	}
+
+	private static int clamp(final float value)
+	{
+		final int rounded = Math.round(value);
+		return rounded < 0 ? 0 : Math.min(rounded, 255);
+	}
+
+	/**
+	 * Applies the given operation to all rows, split into row ranges on the given pool if the count
+	 * of pixels exceeds the {@link #PARALLEL_THRESHOLD}
+	 *
+	 * @param pool
+	 *            the pool that processes the row ranges
+	 * @param rows
+	 *            the count of rows
+	 * @param rowWidth
+	 *            the count of pixels in a row
+	 * @param operation
+	 *            the operation for a range of rows
+	 */
+	static void invoke(final ForkJoinPool pool, final int rows, final int rowWidth,
+		final RowRangeOperation operation)
+	{
+		final RowRangeAction action = new RowRangeAction(0, rows,
+			Math.max(1, PARALLEL_THRESHOLD / Math.max(1, rowWidth)), operation);
+		if ((long)rows * rowWidth <= PARALLEL_THRESHOLD)
+		{
+			action.compute();
+		}
+		else
+		{
+			pool.invoke(action);
+		}
+	}
+
+	/**
+	 * The functional interface {@link RowRangeOperation} processes a range of rows
+	 */
+	interface RowRangeOperation
+	{
+		void apply(int fromRow, int toRow);
+	}
+
+	/**
+	 * The class {@link RowRangeAction} splits a range of rows until the range is small enough to be
+	 * processed directly
+	 */
+	static final class RowRangeAction extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final int from;
+		private final int to;
+		private final int minRows;
+		private final transient RowRangeOperation operation;
+
+		RowRangeAction(int from, int to, int minRows, RowRangeOperation operation)
+		{
+			this.from = from;
+			this.to = to;
+			this.minRows = minRows;
+			this.operation = operation;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if (to - from <= minRows)
+			{
+				operation.apply(from, to);
+				return;
+			}
+			final int middle = (from + to) >>> 1;
+			invokeAll(new RowRangeAction(from, middle, minRows, operation),
+				new RowRangeAction(middle, to, minRows, operation));
+		}
+	}
+
+	/**
+	 * The class {@link Contributions} holds the precomputed and normalized filter weights for every
+	 * target sample of one axis
+	 */
+	static final class Contributions
+	{
+		final int[] start;
+		final int[] count;
+		final float[] weights;
+		final int stride;
+
+		Contributions(int srcSize, int dstSize, ResampleFilter filter)
+		{
+			final double scale = (double)dstSize / srcSize;
+			final double filterScale = Math.max(1.0, 1.0 / scale);
+			final double support = filter.getSupport() * filterScale;
+			this.stride = (int)Math.ceil(support * 2.0) + 2;
+			this.start = new int[dstSize];
+			this.count = new int[dstSize];
+			this.weights = new float[dstSize * stride];
+			for (int i = 0; i < dstSize; i++)
+			{
+				final double center = (i + 0.5) / scale;
+				final int left = Math.max(0, (int)Math.floor(center - support));
+				final int right = Math.min(srcSize - 1, (int)Math.ceil(center + support));
+				double sum = 0.0;
+				int n = 0;
+				final int offset = i * stride;
+				for (int j = left; j <= right && n < stride; j++, n++)
+				{
+					final double weight = filter.weight((j + 0.5 - center) / filterScale);
+					weights[offset + n] = (float)weight;
+					sum += weight;
+				}
+				if (sum != 0.0)
+				{
+					for (int k = 0; k < n; k++)
+					{
+						weights[offset + k] = (float)(weights[offset + k] / sum);
+					}
+				}
+				start[i] = left;
+				count[i] = n;
+			}
+		}
+	}
+}
@@ -0,0 +1,407 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.IndexColorModel;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+
+import javax.imageio.IIOException;
+
+/**
+ * The class {@link ImageSteganography} hides an arbitrary byte payload in the low bits of the red,
+ * green and blue channels of an image. A header with the density, the length and a CRC32 checksum
+ * of the payload is stored with one bit per channel in the first pixels, the payload follows with
+ * the configured count of bits per channel. The payload is split into independent pixel ranges that
+ * start at byte boundaries of the payload, so the ranges are woven and unwoven in parallel directly
+ * on the raster. The alpha channel is never changed. Only sRGB images with 8 bits per component and
+ * without a color palette can keep the low bits, premultiplied images are woven on their raw
+ * samples without conversion. Compared to {@link ImageExtensions#weaveInto(BufferedImage, String)}
+ * the payload is only limited by the size of the image
+ */
+public class ImageSteganography
+{
+
+	/** The default count of bits per channel */
+	public static final int DEFAULT_BITS_PER_CHANNEL = 2;
+
+	/** The marker at the beginning of the header */
+	static final int MAGIC = 0x5a;
+
+	/** The size of the header in bytes: marker, density, length and checksum */
+	static final int HEADER_SIZE = 10;
+
+	/** The maximum length of a payload that is read from a stream */
+	static final int MAX_PAYLOAD_LENGTH = Integer.MAX_VALUE - 8;
+
+	/** The count of pixels that hold the header with one bit per channel */
+	static final int HEADER_PIXELS = (HEADER_SIZE * 8 + 2) / 3;
+
+	/**
+	 * Gets the count of payload bytes that fit into the given image with the given density
+	 *
+	 * @param image
+	 *            the image
+	 * @param bitsPerChannel
+	 *            the count of bits per channel between 1 and 8
+	 * @return the capacity in bytes
+	 */
+	public static long capacity(final BufferedImage image, final int bitsPerChannel)
+	{
+		checkBitsPerChannel(bitsPerChannel);
+		final long pixels = (long)image.getWidth() * image.getHeight() - HEADER_PIXELS;
+		return Math.max(0, pixels * 3 * bitsPerChannel / 8);
+	}
+
+	/**
+	 * Embeds the remaining bytes of the given {@link InputStream} object into the given image with
+	 * the {@link #DEFAULT_BITS_PER_CHANNEL}
+	 *
+	 * @param image
+	 *            the image that is changed
+	 * @param payload
+	 *            the input stream with the payload
+	 * @return the given image
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static BufferedImage embed(final BufferedImage image, final InputStream payload)
+		throws IOException
+	{
+		return embed(image, payload, DEFAULT_BITS_PER_CHANNEL);
+	}
+
+	/**
+	 * Embeds the remaining bytes of the given {@link InputStream} object into the given image with
+	 * the given density on the common {@link ForkJoinPool}
+	 *
+	 * @param image
+	 *            the image that is changed
+	 * @param payload
+	 *            the input stream with the payload
+	 * @param bitsPerChannel
+	 *            the count of bits per channel between 1 and 8
+	 * @return the given image
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static BufferedImage embed(final BufferedImage image, final InputStream payload,
+		final int bitsPerChannel) throws IOException
+	{
+		checkImage(image);
+		final long capacity = capacity(image, bitsPerChannel);
+		final byte[] bytes = payload.readNBytes((int)Math.min(capacity + 1, MAX_PAYLOAD_LENGTH));
+		return embed(image, bytes, bitsPerChannel, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Embeds the given payload into the given image with the given density on the given
+	 * {@link ForkJoinPool}
+	 *
+	 * @param image
+	 *            the image that is changed
+	 * @param payload
+	 *            the payload
+	 * @param bitsPerChannel
+	 *            the count of bits per channel between 1 and 8
+	 * @param pool
+	 *            the pool that weaves the pixel ranges
+	 * @return the given image
+	 */
+	public static BufferedImage embed(final BufferedImage image, final byte[] payload,
+		final int bitsPerChannel, final ForkJoinPool pool)
+	{
+		checkImage(image);
+		final long capacity = capacity(image, bitsPerChannel);
+		if (capacity < payload.length)
+		{
+			throw new IllegalArgumentException("Given payload of " + payload.length
+				+ " bytes exceeds the capacity of " + capacity + " bytes");
+		}
+		final CRC32 crc = new CRC32();
+		crc.update(payload);
+		final byte[] header = new byte[HEADER_SIZE];
+		header[0] = (byte)MAGIC;
+		header[1] = (byte)bitsPerChannel;
+		putInt(header, 2, payload.length);
+		putInt(header, 6, (int)crc.getValue());
+		final Pixels pixels = Pixels.of(image);
+		weave(pixels, header, 0, HEADER_PIXELS, 1, 0);
+		final int payloadPixels = (int)((payload.length * 8L + 3 * bitsPerChannel - 1)
+			/ (3 * bitsPerChannel));
+		forEachBlock(pool, payloadPixels,
+			(from, to) -> weave(pixels, payload, from, to, bitsPerChannel, HEADER_PIXELS));
+		pixels.flush();
+		return image;
+	}
+
+	/**
+	 * Extracts the payload of the given image on the common {@link ForkJoinPool}
+	 *
+	 * @param image
+	 *            the image with the embedded payload
+	 * @return the input stream with the payload
+	 * @throws IOException
+	 *             Signals that the image contains no payload or that the checksum does not match
+	 */
+	public static InputStream extract(final BufferedImage image) throws IOException
+	{
+		return extract(image, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Extracts the payload of the given image on the given {@link ForkJoinPool}
+	 *
+	 * @param image
+	 *            the image with the embedded payload
+	 * @param pool
+	 *            the pool that unweaves the pixel ranges
+	 * @return the input stream with the payload
+	 * @throws IOException
+	 *             Signals that the image contains no payload or that the checksum does not match
+	 */
+	public static InputStream extract(final BufferedImage image, final ForkJoinPool pool)
+		throws IOException
+	{
+		checkImage(image);
+		final Pixels pixels = Pixels.of(image);
+		if ((long)image.getWidth() * image.getHeight() < HEADER_PIXELS)
+		{
+			throw new IIOException("Given image is too small for a payload");
+		}
+		final byte[] header = new byte[HEADER_SIZE];
+		unweave(pixels, header, 0, HEADER_PIXELS, 1, 0);
+		final int bitsPerChannel = header[1];
+		final int length = getInt(header, 2);
+		if ((header[0] & 0xff) != MAGIC || bitsPerChannel < 1 || 8 < bitsPerChannel || length < 0
+			|| capacity(image, bitsPerChannel) < length)
+		{
+			throw new IIOException("Given image contains no payload");
+		}
+		final byte[] payload = new byte[length];
+		final int payloadPixels = (int)((length * 8L + 3 * bitsPerChannel - 1)
+			/ (3 * bitsPerChannel));
+		forEachBlock(pool, payloadPixels,
+			(from, to) -> unweave(pixels, payload, from, to, bitsPerChannel, HEADER_PIXELS));
+		final CRC32 crc = new CRC32();
+		crc.update(payload);
+		if ((int)crc.getValue() != getInt(header, 6))
+		{
+			throw new IIOException("Checksum of the payload does not match");
+		}
+		return new ByteArrayInputStream(payload);
+	}
+
+	/**
+	 * Applies the given operation to ranges of the given count of pixels. Every range starts at a
+	 * multiple of 8 pixels, which is always a byte boundary of the payload
+	 */
+	private static void forEachBlock(final ForkJoinPool pool, final int pixels,
+		final ImageResampler.RowRangeOperation operation)
+	{
+		final int blocks = (pixels + 7) / 8;
+		ImageResampler.invoke(pool, blocks, 8,
+			(from, to) -> operation.apply(from * 8, Math.min(pixels, to * 8)));
+	}
+
+	private static void weave(final Pixels pixels, final byte[] source, final int from,
+		final int to, final int bits, final int firstPixel)
+	{
+		final int keep = ~((1 << bits) - 1) & 0xff;
+		int position = (int)((long)from * 3 * bits / 8);
+		long buffer = 0;
+		int buffered = 0;
+		for (int p = from; p < to; p++)
+		{
+			while (buffered < 3 * bits)
+			{
+				buffer = buffer << 8 | (position < source.length ? source[position] & 0xff : 0);
+				position++;
+				buffered += 8;
+			}
+			buffered -= 3 * bits;
+			final int value = (int)(buffer >>> buffered);
+			final int index = pixels.index(firstPixel + p);
+			final int argb = pixels.data[index];
+			final int r = (argb >> 16) & keep | (value >>> 2 * bits) & ~keep & 0xff;
+			final int g = (argb >> 8) & keep | (value >>> bits) & ~keep & 0xff;
+			final int b = argb & keep | value & ~keep & 0xff;
+			pixels.data[index] = argb & 0xff000000 | r << 16 | g << 8 | b;
+		}
+	}
+
+	private static void unweave(final Pixels pixels, final byte[] target, final int from,
+		final int to, final int bits, final int firstPixel)
+	{
+		final int mask = (1 << bits) - 1;
+		int position = (int)((long)from * 3 * bits / 8);
+		long buffer = 0;
+		int buffered = 0;
+		for (int p = from; p < to; p++)
+		{
+			final int argb = pixels.data[pixels.index(firstPixel + p)];
+			buffer = buffer << 3 * bits | ((argb >> 16) & mask) << 2 * bits
+				| ((argb >> 8) & mask) << bits | argb & mask;
+			buffered += 3 * bits;
+			while (8 <= buffered && position < target.length)
+			{
+				buffered -= 8;
+				target[position++] = (byte)(buffer >>> buffered);
+			}
+		}
+	}
+
+	/**
+	 * Checks if the given image can keep the low bits of its color channels
+	 *
+	 * @param image
+	 *            the image to check
+	 * @throws IllegalArgumentException
+	 *             if the image has a color palette, is not an sRGB image or has components with
+	 *             other than 8 bits
+	 */
+	static void checkImage(final BufferedImage image)
+	{
+		final ColorModel colorModel = image.getColorModel();
+		boolean supported = !(colorModel instanceof IndexColorModel)
+			&& colorModel.getColorSpace().isCS_sRGB() && colorModel.getNumColorComponents() == 3;
+		for (int i = 0; supported && i < colorModel.getNumComponents(); i++)
+		{
+			supported = colorModel.getComponentSize(i) == 8;
+		}
+		if (!supported)
+		{
+			throw new IllegalArgumentException("Given image of type " + image.getType()
+				+ " cannot keep the low bits of its color channels");
+		}
+	}
+
+	private static void checkBitsPerChannel(final int bitsPerChannel)
+	{
+		if (bitsPerChannel < 1 || 8 < bitsPerChannel)
+		{
+			throw new IllegalArgumentException(
+				"Given bits per channel must be between 1 and 8: " + bitsPerChannel);
+		}
+	}
+
+	private static void putInt(final byte[] bytes, final int position, final int value)
+	{
+		bytes[position] = (byte)(value >>> 24);
+		bytes[position + 1] = (byte)(value >>> 16);
+		bytes[position + 2] = (byte)(value >>> 8);
+		bytes[position + 3] = (byte)value;
+	}
+
+	private static int getInt(final byte[] bytes, final int position)
+	{
+		return (bytes[position] & 0xff) << 24 | (bytes[position + 1] & 0xff) << 16
+			| (bytes[position + 2] & 0xff) << 8 | bytes[position + 3] & 0xff;
+	}
+
+	/**
+	 * The class {@link Pixels} gives access to the ARGB pixels of an image by the pixel number.
+	 * Packed int images are accessed directly, the raw samples of other premultiplied images and
+	 * the pixels of all other images are copied from their raster or their {@link PixelView} and
+	 * written back with {@link #flush()}
+	 */
+	static final class Pixels
+	{
+		final PixelView view;
+		final WritableRaster raster;
+		final int[] data;
+		final int offset;
+		final int scan;
+		final int width;
+		final boolean copy;
+
+		private Pixels(final PixelView view, final WritableRaster raster, final int[] data,
+			final int offset, final int scan, final boolean copy)
+		{
+			this.view = view;
+			this.raster = raster;
+			this.data = data;
+			this.offset = offset;
+			this.scan = scan;
+			this.width = view.getWidth();
+			this.copy = copy;
+		}
+
+		static Pixels of(final BufferedImage image)
+		{
+			final PixelView view = PixelView.of(image);
+			if (view.isPackedRgb() || view.isPackedArgbPre())
+			{
+				return new Pixels(view, null, view.getIntData(), view.getOffset(),
+					view.getScanlineStride(), false);
+			}
+			if (image.isAlphaPremultiplied())
+			{
+				final WritableRaster raster = image.getRaster();
+				final int[] samples = raster.getPixels(0, 0, raster.getWidth(), raster.getHeight(),
+					(int[])null);
+				final int[] data = new int[samples.length / 4];
+				for (int i = 0, j = 0; i < data.length; i++, j += 4)
+				{
+					data[i] = samples[j + 3] << 24 | samples[j] << 16 | samples[j + 1] << 8
+						| samples[j + 2];
+				}
+				return new Pixels(view, raster, data, 0, view.getWidth(), true);
+			}
+			return new Pixels(view, null, view.toArgbArray(), 0, view.getWidth(), true);
+		}
+
+		int index(final int pixel)
+		{
+			return offset + pixel / width * scan + pixel % width;
+		}
+
+		void flush()
+		{
+			if (raster != null)
+			{
+				final int[] samples = new int[data.length * 4];
+				for (int i = 0, j = 0; i < data.length; i++, j += 4)
+				{
+					samples[j] = (data[i] >> 16) & 0xff;
+					samples[j + 1] = (data[i] >> 8) & 0xff;
+					samples[j + 2] = data[i] & 0xff;
+					samples[j + 3] = data[i] >>> 24;
+				}
+				raster.setPixels(0, 0, raster.getWidth(), raster.getHeight(), samples);
+			}
+			else if (copy)
+			{
+				view.setArgbArray(data);
+			}
+		}
+	}
+}
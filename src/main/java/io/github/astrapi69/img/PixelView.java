@@ -0,0 +1,812 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.PixelInterleavedSampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+
+import io.github.astrapi69.img.kernel.PixelKernel;
+
+/**
+ * The class {@link PixelView} gives fast access to the pixels of a {@link BufferedImage} as packed
+ * non-premultiplied ARGB values. The common image types {@link BufferedImage#TYPE_INT_ARGB},
+ * {@link BufferedImage#TYPE_INT_ARGB_PRE}, {@link BufferedImage#TYPE_INT_RGB},
+ * {@link BufferedImage#TYPE_3BYTE_BGR} and {@link BufferedImage#TYPE_4BYTE_ABGR} are accessed
+ * directly on their backing arrays, all other images fall back to
+ * {@link BufferedImage#getRGB(int, int)} and {@link BufferedImage#setRGB(int, int, int)}. The
+ * backing array, the offset of the first pixel and the scanline stride are exposed for loops that
+ * work on the raster directly
+ */
+public abstract class PixelView
+{
+
+	/** The image of this view */
+	final BufferedImage image;
+
+	/** The width of the image */
+	final int width;
+
+	/** The height of the image */
+	final int height;
+
+	PixelView(final BufferedImage image)
+	{
+		this.image = image;
+		this.width = image.getWidth();
+		this.height = image.getHeight();
+	}
+
+	/**
+	 * Factory method for create the fastest {@link PixelView} for the given image
+	 *
+	 * @param image
+	 *            the image
+	 * @return the new {@link PixelView} object
+	 */
+	public static PixelView of(final BufferedImage image)
+	{
+		final WritableRaster raster = image.getRaster();
+		switch (image.getType())
+		{
+			case BufferedImage.TYPE_INT_ARGB :
+				if (isPackedInt(raster))
+				{
+					return new IntArgb(image);
+				}
+				break;
+			case BufferedImage.TYPE_INT_ARGB_PRE :
+				if (isPackedInt(raster))
+				{
+					return new IntArgbPre(image);
+				}
+				break;
+			case BufferedImage.TYPE_INT_RGB :
+				if (isPackedInt(raster))
+				{
+					return new IntRgb(image);
+				}
+				break;
+			case BufferedImage.TYPE_3BYTE_BGR :
+				if (isInterleavedByte(raster, 2, 1, 0))
+				{
+					return new ThreeByteBgr(image);
+				}
+				break;
+			case BufferedImage.TYPE_4BYTE_ABGR :
+				if (isInterleavedByte(raster, 3, 2, 1, 0))
+				{
+					return new FourByteAbgr(image);
+				}
+				break;
+			default :
+				break;
+		}
+		return new Generic(image);
+	}
+
+	/**
+	 * Gets the alpha channel of the given packed ARGB value
+	 *
+	 * @param argb
+	 *            the packed ARGB value
+	 * @return the alpha channel between 0 and 255
+	 */
+	public static int alpha(final int argb)
+	{
+		return argb >>> 24;
+	}
+
+	/**
+	 * Gets the red channel of the given packed ARGB value
+	 *
+	 * @param argb
+	 *            the packed ARGB value
+	 * @return the red channel between 0 and 255
+	 */
+	public static int red(final int argb)
+	{
+		return (argb >> 16) & 0xff;
+	}
+
+	/**
+	 * Gets the green channel of the given packed ARGB value
+	 *
+	 * @param argb
+	 *            the packed ARGB value
+	 * @return the green channel between 0 and 255
+	 */
+	public static int green(final int argb)
+	{
+		return (argb >> 8) & 0xff;
+	}
+
+	/**
+	 * Gets the blue channel of the given packed ARGB value
+	 *
+	 * @param argb
+	 *            the packed ARGB value
+	 * @return the blue channel between 0 and 255
+	 */
+	public static int blue(final int argb)
+	{
+		return argb & 0xff;
+	}
+
+	/**
+	 * Packs the given channels to an ARGB value. Only the lowest 8 bits of every channel are used
+	 *
+	 * @param alpha
+	 *            the alpha channel
+	 * @param red
+	 *            the red channel
+	 * @param green
+	 *            the green channel
+	 * @param blue
+	 *            the blue channel
+	 * @return the packed ARGB value
+	 */
+	public static int argb(final int alpha, final int red, final int green, final int blue)
+	{
+		return (alpha & 0xff) << 24 | (red & 0xff) << 16 | (green & 0xff) << 8 | blue & 0xff;
+	}
+
+	/**
+	 * Premultiplies the color channels of the given packed ARGB value with its alpha channel
+	 *
+	 * @param argb
+	 *            the packed non-premultiplied ARGB value
+	 * @return the packed premultiplied ARGB value
+	 */
+	public static int premultiply(final int argb)
+	{
+		final int alpha = argb >>> 24;
+		if (alpha == 0xff)
+		{
+			return argb;
+		}
+		final int r = (((argb >> 16) & 0xff) * alpha + 127) / 255;
+		final int g = (((argb >> 8) & 0xff) * alpha + 127) / 255;
+		final int b = ((argb & 0xff) * alpha + 127) / 255;
+		return alpha << 24 | r << 16 | g << 8 | b;
+	}
+
+	/**
+	 * Divides the color channels of the given packed premultiplied ARGB value by its alpha channel
+	 *
+	 * @param argb
+	 *            the packed premultiplied ARGB value
+	 * @return the packed non-premultiplied ARGB value
+	 */
+	public static int unpremultiply(final int argb)
+	{
+		final int alpha = argb >>> 24;
+		if (alpha == 0xff)
+		{
+			return argb;
+		}
+		if (alpha == 0)
+		{
+			return 0;
+		}
+		final int r = Math.min(255, (((argb >> 16) & 0xff) * 255 + alpha / 2) / alpha);
+		final int g = Math.min(255, (((argb >> 8) & 0xff) * 255 + alpha / 2) / alpha);
+		final int b = Math.min(255, ((argb & 0xff) * 255 + alpha / 2) / alpha);
+		return alpha << 24 | r << 16 | g << 8 | b;
+	}
+
+	/**
+	 * Gets the image of this view
+	 *
+	 * @return the image
+	 */
+	public BufferedImage getImage()
+	{
+		return image;
+	}
+
+	/**
+	 * Gets the width of the image
+	 *
+	 * @return the width
+	 */
+	public int getWidth()
+	{
+		return width;
+	}
+
+	/**
+	 * Gets the height of the image
+	 *
+	 * @return the height
+	 */
+	public int getHeight()
+	{
+		return height;
+	}
+
+	/**
+	 * Checks if the backing int array holds packed non-premultiplied ARGB values that can be read
+	 * and written without conversion
+	 *
+	 * @return true if the backing array holds packed ARGB values otherwise false
+	 */
+	public boolean isPackedArgb()
+	{
+		return false;
+	}
+
+	/**
+	 * Checks if the backing int array holds packed premultiplied ARGB values
+	 *
+	 * @return true if the backing array holds packed premultiplied ARGB values otherwise false
+	 */
+	public boolean isPackedArgbPre()
+	{
+		return false;
+	}
+
+	/**
+	 * Checks if the backing int array holds packed non-premultiplied RGB values in the lower 24
+	 * bits that can be read and written without conversion. The upper 8 bits are the alpha channel
+	 * if {@link #isPackedArgb()} is true and are ignored otherwise
+	 *
+	 * @return true if the backing array holds packed RGB values otherwise false
+	 */
+	public boolean isPackedRgb()
+	{
+		return false;
+	}
+
+	/**
+	 * Gets the backing int array of the image
+	 *
+	 * @return the backing int array or null if the image is not backed by a packed int array
+	 */
+	public int[] getIntData()
+	{
+		return null;
+	}
+
+	/**
+	 * Gets the backing byte array of the image
+	 *
+	 * @return the backing byte array or null if the image is not backed by an interleaved byte
+	 *         array
+	 */
+	public byte[] getByteData()
+	{
+		return null;
+	}
+
+	/**
+	 * Gets the index of the first element of the pixel at 0, 0 in the backing array
+	 *
+	 * @return the offset or -1 if the image has no directly accessible backing array
+	 */
+	public int getOffset()
+	{
+		return -1;
+	}
+
+	/**
+	 * Gets the distance between two rows in elements of the backing array
+	 *
+	 * @return the scanline stride or -1 if the image has no directly accessible backing array
+	 */
+	public int getScanlineStride()
+	{
+		return -1;
+	}
+
+	/**
+	 * Gets the distance between two pixels of a row in elements of the backing array
+	 *
+	 * @return the pixel stride or -1 if the image has no directly accessible backing array
+	 */
+	public int getPixelStride()
+	{
+		return -1;
+	}
+
+	/**
+	 * Gets the packed ARGB value of the pixel at the given coordinates
+	 *
+	 * @param x
+	 *            the x coordinate
+	 * @param y
+	 *            the y coordinate
+	 * @return the packed ARGB value
+	 */
+	public abstract int getArgb(int x, int y);
+
+	/**
+	 * Sets the packed ARGB value of the pixel at the given coordinates. Images without an alpha
+	 * channel ignore the alpha value
+	 *
+	 * @param x
+	 *            the x coordinate
+	 * @param y
+	 *            the y coordinate
+	 * @param argb
+	 *            the packed ARGB value
+	 */
+	public abstract void setArgb(int x, int y, int argb);
+
+	/**
+	 * Copies the packed ARGB values of the given row into the given array
+	 *
+	 * @param y
+	 *            the row
+	 * @param argb
+	 *            the target array
+	 * @param offset
+	 *            the index in the target array of the first pixel
+	 */
+	public void getRow(final int y, final int[] argb, final int offset)
+	{
+		for (int x = 0; x < width; x++)
+		{
+			argb[offset + x] = getArgb(x, y);
+		}
+	}
+
+	/**
+	 * Sets the given row to the packed ARGB values of the given array
+	 *
+	 * @param y
+	 *            the row
+	 * @param argb
+	 *            the source array
+	 * @param offset
+	 *            the index in the source array of the first pixel
+	 */
+	public void setRow(final int y, final int[] argb, final int offset)
+	{
+		for (int x = 0; x < width; x++)
+		{
+			setArgb(x, y, argb[offset + x]);
+		}
+	}
+
+	/**
+	 * Copies the packed ARGB values of all pixels row by row into a new array
+	 *
+	 * @return the new array with the packed ARGB values
+	 */
+	public int[] toArgbArray()
+	{
+		final int[] argb = new int[width * height];
+		for (int y = 0; y < height; y++)
+		{
+			getRow(y, argb, y * width);
+		}
+		return argb;
+	}
+
+	/**
+	 * Sets all pixels row by row to the packed ARGB values of the given array
+	 *
+	 * @param argb
+	 *            the packed ARGB values with the width of the image as scanline stride
+	 */
+	public void setArgbArray(final int[] argb)
+	{
+		for (int y = 0; y < height; y++)
+		{
+			setRow(y, argb, y * width);
+		}
+	}
+
+	private static boolean isPackedInt(final WritableRaster raster)
+	{
+		return raster.getDataBuffer() instanceof DataBufferInt
+			&& raster.getSampleModel() instanceof SinglePixelPackedSampleModel;
+	}
+
+	private static boolean isInterleavedByte(final WritableRaster raster, final int... bandOffsets)
+	{
+		return raster.getDataBuffer() instanceof DataBufferByte
+			&& raster.getSampleModel() instanceof PixelInterleavedSampleModel
+			&& ((PixelInterleavedSampleModel)raster.getSampleModel())
+				.getPixelStride() == bandOffsets.length
+			&& Arrays.equals(bandOffsets,
+				((PixelInterleavedSampleModel)raster.getSampleModel()).getBandOffsets());
+	}
+
+	/**
+	 * The class {@link IntView} is the base of the views on packed int rasters
+	 */
+	abstract static class IntView extends PixelView
+	{
+		final int[] data;
+		final int offset;
+		final int scan;
+
+		IntView(final BufferedImage image)
+		{
+			super(image);
+			final WritableRaster raster = image.getRaster();
+			this.data = ((DataBufferInt)raster.getDataBuffer()).getData();
+			this.scan = ((SinglePixelPackedSampleModel)raster.getSampleModel()).getScanlineStride();
+			this.offset = raster.getDataBuffer().getOffset()
+				- raster.getSampleModelTranslateY() * scan - raster.getSampleModelTranslateX();
+		}
+
+		@Override
+		public int[] getIntData()
+		{
+			return data;
+		}
+
+		@Override
+		public int getOffset()
+		{
+			return offset;
+		}
+
+		@Override
+		public int getScanlineStride()
+		{
+			return scan;
+		}
+
+		@Override
+		public int getPixelStride()
+		{
+			return 1;
+		}
+	}
+
+	/**
+	 * The class {@link IntArgb} is the view on images of the type
+	 * {@link BufferedImage#TYPE_INT_ARGB}
+	 */
+	static final class IntArgb extends IntView
+	{
+		IntArgb(final BufferedImage image)
+		{
+			super(image);
+		}
+
+		@Override
+		public boolean isPackedArgb()
+		{
+			return true;
+		}
+
+		@Override
+		public boolean isPackedRgb()
+		{
+			return true;
+		}
+
+		@Override
+		public int getArgb(final int x, final int y)
+		{
+			return data[offset + y * scan + x];
+		}
+
+		@Override
+		public void setArgb(final int x, final int y, final int argb)
+		{
+			data[offset + y * scan + x] = argb;
+		}
+
+		@Override
+		public void getRow(final int y, final int[] argb, final int index)
+		{
+			System.arraycopy(data, offset + y * scan, argb, index, width);
+		}
+
+		@Override
+		public void setRow(final int y, final int[] argb, final int index)
+		{
+			System.arraycopy(argb, index, data, offset + y * scan, width);
+		}
+	}
+
+	/**
+	 * The class {@link IntArgbPre} is the view on images of the type
+	 * {@link BufferedImage#TYPE_INT_ARGB_PRE}, whole rows are converted by the {@link PixelKernel}
+	 */
+	static final class IntArgbPre extends IntView
+	{
+		IntArgbPre(final BufferedImage image)
+		{
+			super(image);
+		}
+
+		@Override
+		public boolean isPackedArgbPre()
+		{
+			return true;
+		}
+
+		@Override
+		public int getArgb(final int x, final int y)
+		{
+			return unpremultiply(data[offset + y * scan + x]);
+		}
+
+		@Override
+		public void setArgb(final int x, final int y, final int argb)
+		{
+			data[offset + y * scan + x] = premultiply(argb);
+		}
+
+		@Override
+		public void getRow(final int y, final int[] argb, final int index)
+		{
+			PixelKernel.getDefault().unpremultiply(data, offset + y * scan, argb, index, width);
+		}
+
+		@Override
+		public void setRow(final int y, final int[] argb, final int index)
+		{
+			PixelKernel.getDefault().premultiply(argb, index, data, offset + y * scan, width);
+		}
+	}
+
+	/**
+	 * The class {@link IntRgb} is the view on images of the type {@link BufferedImage#TYPE_INT_RGB}
+	 */
+	static final class IntRgb extends IntView
+	{
+		IntRgb(final BufferedImage image)
+		{
+			super(image);
+		}
+
+		@Override
+		public boolean isPackedRgb()
+		{
+			return true;
+		}
+
+		@Override
+		public int getArgb(final int x, final int y)
+		{
+			return 0xff000000 | data[offset + y * scan + x];
+		}
+
+		@Override
+		public void setArgb(final int x, final int y, final int argb)
+		{
+			data[offset + y * scan + x] = argb & 0xffffff;
+		}
+
+		@Override
+		public void getRow(final int y, final int[] argb, final int index)
+		{
+			for (int x = 0, i = offset + y * scan; x < width; x++, i++)
+			{
+				argb[index + x] = 0xff000000 | data[i];
+			}
+		}
+
+		@Override
+		public void setRow(final int y, final int[] argb, final int index)
+		{
+			for (int x = 0, i = offset + y * scan; x < width; x++, i++)
+			{
+				data[i] = argb[index + x] & 0xffffff;
+			}
+		}
+	}
+
+	/**
+	 * The class {@link ByteView} is the base of the views on interleaved byte rasters
+	 */
+	abstract static class ByteView extends PixelView
+	{
+		final byte[] data;
+		final int offset;
+		final int scan;
+		final int pixelStride;
+
+		ByteView(final BufferedImage image)
+		{
+			super(image);
+			final WritableRaster raster = image.getRaster();
+			final PixelInterleavedSampleModel sampleModel = (PixelInterleavedSampleModel)raster
+				.getSampleModel();
+			this.data = ((DataBufferByte)raster.getDataBuffer()).getData();
+			this.scan = sampleModel.getScanlineStride();
+			this.pixelStride = sampleModel.getPixelStride();
+			this.offset = raster.getDataBuffer().getOffset()
+				- raster.getSampleModelTranslateY() * scan
+				- raster.getSampleModelTranslateX() * pixelStride;
+		}
+
+		@Override
+		public byte[] getByteData()
+		{
+			return data;
+		}
+
+		@Override
+		public int getOffset()
+		{
+			return offset;
+		}
+
+		@Override
+		public int getScanlineStride()
+		{
+			return scan;
+		}
+
+		@Override
+		public int getPixelStride()
+		{
+			return pixelStride;
+		}
+	}
+
+	/**
+	 * The class {@link ThreeByteBgr} is the view on images of the type
+	 * {@link BufferedImage#TYPE_3BYTE_BGR}
+	 */
+	static final class ThreeByteBgr extends ByteView
+	{
+		ThreeByteBgr(final BufferedImage image)
+		{
+			super(image);
+		}
+
+		@Override
+		public int getArgb(final int x, final int y)
+		{
+			final int i = offset + y * scan + x * 3;
+			return 0xff000000 | (data[i + 2] & 0xff) << 16 | (data[i + 1] & 0xff) << 8
+				| data[i] & 0xff;
+		}
+
+		@Override
+		public void setArgb(final int x, final int y, final int argb)
+		{
+			final int i = offset + y * scan + x * 3;
+			data[i] = (byte)argb;
+			data[i + 1] = (byte)(argb >> 8);
+			data[i + 2] = (byte)(argb >> 16);
+		}
+
+		@Override
+		public void getRow(final int y, final int[] argb, final int index)
+		{
+			for (int x = 0, i = offset + y * scan; x < width; x++, i += 3)
+			{
+				argb[index + x] = 0xff000000 | (data[i + 2] & 0xff) << 16
+					| (data[i + 1] & 0xff) << 8 | data[i] & 0xff;
+			}
+		}
+
+		@Override
+		public void setRow(final int y, final int[] argb, final int index)
+		{
+			for (int x = 0, i = offset + y * scan; x < width; x++, i += 3)
+			{
+				final int value = argb[index + x];
+				data[i] = (byte)value;
+				data[i + 1] = (byte)(value >> 8);
+				data[i + 2] = (byte)(value >> 16);
+			}
+		}
+	}
+
+	/**
+	 * The class {@link FourByteAbgr} is the view on images of the type
+	 * {@link BufferedImage#TYPE_4BYTE_ABGR}
+	 */
+	static final class FourByteAbgr extends ByteView
+	{
+		FourByteAbgr(final BufferedImage image)
+		{
+			super(image);
+		}
+
+		@Override
+		public int getArgb(final int x, final int y)
+		{
+			final int i = offset + y * scan + x * 4;
+			return (data[i] & 0xff) << 24 | (data[i + 3] & 0xff) << 16 | (data[i + 2] & 0xff) << 8
+				| data[i + 1] & 0xff;
+		}
+
+		@Override
+		public void setArgb(final int x, final int y, final int argb)
+		{
+			final int i = offset + y * scan + x * 4;
+			data[i] = (byte)(argb >>> 24);
+			data[i + 1] = (byte)argb;
+			data[i + 2] = (byte)(argb >> 8);
+			data[i + 3] = (byte)(argb >> 16);
+		}
+
+		@Override
+		public void getRow(final int y, final int[] argb, final int index)
+		{
+			for (int x = 0, i = offset + y * scan; x < width; x++, i += 4)
+			{
+				argb[index + x] = (data[i] & 0xff) << 24 | (data[i + 3] & 0xff) << 16
+					| (data[i + 2] & 0xff) << 8 | data[i + 1] & 0xff;
+			}
+		}
+
+		@Override
+		public void setRow(final int y, final int[] argb, final int index)
+		{
+			for (int x = 0, i = offset + y * scan; x < width; x++, i += 4)
+			{
+				final int value = argb[index + x];
+				data[i] = (byte)(value >>> 24);
+				data[i + 1] = (byte)value;
+				data[i + 2] = (byte)(value >> 8);
+				data[i + 3] = (byte)(value >> 16);
+			}
+		}
+	}
+
+	/**
+	 * The class {@link Generic} is the view on all other images that converts the pixels with the
+	 * color model of the image
+	 */
+	static final class Generic extends PixelView
+	{
+		Generic(final BufferedImage image)
+		{
+			super(image);
+		}
+
+		@Override
+		public int getArgb(final int x, final int y)
+		{
+			return image.getRGB(x, y);
+		}
+
+		@Override
+		public void setArgb(final int x, final int y, final int argb)
+		{
+			image.setRGB(x, y, argb);
+		}
+
+		@Override
+		public void getRow(final int y, final int[] argb, final int offset)
+		{
+			image.getRGB(0, y, width, 1, argb, offset, width);
+		}
+
+		@Override
+		public void setRow(final int y, final int[] argb, final int offset)
+		{
+			image.setRGB(0, y, width, 1, argb, offset, width);
+		}
+	}
+}
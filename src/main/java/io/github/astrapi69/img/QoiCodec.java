@@ -0,0 +1,394 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.EOFException;
+import java.io.IOException;
+
+import javax.imageio.IIOException;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * The class {@link QoiCodec} encodes and decodes images in the lossless QOI format ("Quite OK
+ * Image", see <a href="https://qoiformat.org">qoiformat.org</a>). The codec works directly on
+ * packed ARGB <code>int[]</code> rasters and is many times faster than PNG, which makes it a good
+ * choice for caches that are only read by this library. It is selected by the format name
+ * {@link QoiCodec#FORMAT_NAME} in {@link ImageExtensions}
+ */
+public class QoiCodec
+{
+
+	/** The format name of the QOI format */
+	public static final String FORMAT_NAME = "qoi";
+
+	/** The magic bytes 'qoif' at the beginning of every QOI image */
+	static final int MAGIC = 'q' << 24 | 'o' << 16 | 'i' << 8 | 'f';
+
+	/** The size of the header in bytes */
+	static final int HEADER_SIZE = 14;
+
+	/** The maximum count of pixels that the specification allows */
+	static final long MAX_PIXELS = 400_000_000L;
+
+	private static final int OP_INDEX = 0x00;
+	private static final int OP_DIFF = 0x40;
+	private static final int OP_LUMA = 0x80;
+	private static final int OP_RUN = 0xc0;
+	private static final int OP_RGB = 0xfe;
+	private static final int OP_RGBA = 0xff;
+	private static final int MASK_2 = 0xc0;
+	private static final byte[] END_MARKER = { 0, 0, 0, 0, 0, 0, 0, 1 };
+	private static final int CHUNK_SIZE = 65536;
+
+	/**
+	 * Checks if the given format name is the format name of the QOI format
+	 *
+	 * @param formatName
+	 *            the format name
+	 * @return true if the given format name is the format name of the QOI format otherwise false
+	 */
+	public static boolean isQoi(final String formatName)
+	{
+		return FORMAT_NAME.equalsIgnoreCase(formatName);
+	}
+
+	/**
+	 * Encodes the given {@link BufferedImage} object in the QOI format into the given
+	 * {@link ImageOutputStream} object. Images with an alpha channel are encoded with four
+	 * channels, all other images with three channels
+	 *
+	 * @param image
+	 *            the image to encode
+	 * @param output
+	 *            the image output stream
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static void encode(final BufferedImage image, final ImageOutputStream output)
+		throws IOException
+	{
+		final int width = image.getWidth();
+		final int height = image.getHeight();
+		final int channels = image.getColorModel().hasAlpha() ? 4 : 3;
+		final PixelView view = PixelView.of(image);
+		if (view.isPackedRgb())
+		{
+			encode(view.getIntData(), view.getOffset(), view.getScanlineStride(), width, height,
+				channels, output);
+		}
+		else
+		{
+			encode(view.toArgbArray(), 0, width, width, height, channels, output);
+		}
+	}
+
+	/**
+	 * Encodes the given packed ARGB pixels in the QOI format into the given
+	 * {@link ImageOutputStream} object
+	 *
+	 * @param pixels
+	 *            the packed ARGB pixels
+	 * @param offset
+	 *            the index of the first pixel
+	 * @param scan
+	 *            the scanline stride of the pixels
+	 * @param width
+	 *            the width of the image
+	 * @param height
+	 *            the height of the image
+	 * @param channels
+	 *            3 for RGB or 4 for RGBA, with three channels the alpha of the pixels is ignored
+	 * @param output
+	 *            the image output stream
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static void encode(final int[] pixels, final int offset, final int scan, final int width,
+		final int height, final int channels, final ImageOutputStream output) throws IOException
+	{
+		if (channels != 3 && channels != 4)
+		{
+			throw new IllegalArgumentException("Given channels must be 3 or 4: " + channels);
+		}
+		if (width <= 0 || height <= 0 || MAX_PIXELS < (long)width * height)
+		{
+			throw new IllegalArgumentException(
+				"Given size " + width + "x" + height + " is not supported by the QOI format");
+		}
+		final int alphaMask = channels == 4 ? 0 : 0xff000000;
+		final byte[] chunk = new byte[CHUNK_SIZE];
+		final int[] index = new int[64];
+		int p = 0;
+		chunk[p++] = 'q';
+		chunk[p++] = 'o';
+		chunk[p++] = 'i';
+		chunk[p++] = 'f';
+		p = putInt(chunk, p, width);
+		p = putInt(chunk, p, height);
+		chunk[p++] = (byte)channels;
+		chunk[p++] = 0;
+
+		int previous = 0xff000000;
+		int run = 0;
+		for (int y = 0; y < height; y++)
+		{
+			final int rowOffset = offset + y * scan;
+			final boolean lastRow = y == height - 1;
+			for (int x = 0; x < width; x++)
+			{
+				if (CHUNK_SIZE - 8 < p)
+				{
+					output.write(chunk, 0, p);
+					p = 0;
+				}
+				final int pixel = pixels[rowOffset + x] | alphaMask;
+				if (pixel == previous)
+				{
+					run++;
+					if (run == 62 || lastRow && x == width - 1)
+					{
+						chunk[p++] = (byte)(OP_RUN | run - 1);
+						run = 0;
+					}
+					continue;
+				}
+				if (run > 0)
+				{
+					chunk[p++] = (byte)(OP_RUN | run - 1);
+					run = 0;
+				}
+				final int hash = hash(pixel);
+				if (index[hash] == pixel)
+				{
+					chunk[p++] = (byte)(OP_INDEX | hash);
+				}
+				else
+				{
+					index[hash] = pixel;
+					if ((pixel ^ previous) >>> 24 == 0)
+					{
+						final int vr = (byte)((pixel >> 16) - (previous >> 16));
+						final int vg = (byte)((pixel >> 8) - (previous >> 8));
+						final int vb = (byte)(pixel - previous);
+						final int vgr = vr - vg;
+						final int vgb = vb - vg;
+						if (-3 < vr && vr < 2 && -3 < vg && vg < 2 && -3 < vb && vb < 2)
+						{
+							chunk[p++] = (byte)(OP_DIFF | (vr + 2) << 4 | (vg + 2) << 2 | vb + 2);
+						}
+						else if (-9 < vgr && vgr < 8 && -33 < vg && vg < 32 && -9 < vgb && vgb < 8)
+						{
+							chunk[p++] = (byte)(OP_LUMA | vg + 32);
+							chunk[p++] = (byte)((vgr + 8) << 4 | vgb + 8);
+						}
+						else
+						{
+							chunk[p++] = (byte)OP_RGB;
+							chunk[p++] = (byte)(pixel >> 16);
+							chunk[p++] = (byte)(pixel >> 8);
+							chunk[p++] = (byte)pixel;
+						}
+					}
+					else
+					{
+						chunk[p++] = (byte)OP_RGBA;
+						chunk[p++] = (byte)(pixel >> 16);
+						chunk[p++] = (byte)(pixel >> 8);
+						chunk[p++] = (byte)pixel;
+						chunk[p++] = (byte)(pixel >>> 24);
+					}
+				}
+				previous = pixel;
+			}
+		}
+		output.write(chunk, 0, p);
+		output.write(END_MARKER);
+	}
+
+	/**
+	 * Decodes the QOI image at the current position of the given {@link ImageInputStream} object.
+	 * Images with four channels are decoded to {@link BufferedImage#TYPE_INT_ARGB}, images with
+	 * three channels to {@link BufferedImage#TYPE_INT_RGB}
+	 *
+	 * @param input
+	 *            the image input stream
+	 * @return the decoded {@link BufferedImage} object
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or that the data is not a valid QOI
+	 *             image
+	 */
+	public static BufferedImage decode(final ImageInputStream input) throws IOException
+	{
+		final ChunkReader reader = new ChunkReader(input);
+		final int[] header = readHeader(reader);
+		final int width = header[0];
+		final int height = header[1];
+		final BufferedImage image = new BufferedImage(width, height,
+			header[2] == 4 ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+		final int[] pixels = ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
+		final int[] index = new int[64];
+		int pixel = 0xff000000;
+		int run = 0;
+		for (int i = 0; i < pixels.length; i++)
+		{
+			if (run > 0)
+			{
+				run--;
+			}
+			else
+			{
+				final int b1 = reader.next();
+				if (b1 == OP_RGB)
+				{
+					pixel = pixel & 0xff000000 | reader.next() << 16 | reader.next() << 8
+						| reader.next();
+				}
+				else if (b1 == OP_RGBA)
+				{
+					final int rgb = reader.next() << 16 | reader.next() << 8 | reader.next();
+					pixel = reader.next() << 24 | rgb;
+				}
+				else if ((b1 & MASK_2) == OP_INDEX)
+				{
+					pixel = index[b1];
+				}
+				else if ((b1 & MASK_2) == OP_DIFF)
+				{
+					final int r = (pixel >> 16) + ((b1 >> 4) & 0x03) - 2;
+					final int g = (pixel >> 8) + ((b1 >> 2) & 0x03) - 2;
+					final int b = pixel + (b1 & 0x03) - 2;
+					pixel = pixel & 0xff000000 | (r & 0xff) << 16 | (g & 0xff) << 8 | b & 0xff;
+				}
+				else if ((b1 & MASK_2) == OP_LUMA)
+				{
+					final int b2 = reader.next();
+					final int vg = (b1 & 0x3f) - 32;
+					final int r = (pixel >> 16) + vg - 8 + ((b2 >> 4) & 0x0f);
+					final int g = (pixel >> 8) + vg;
+					final int b = pixel + vg - 8 + (b2 & 0x0f);
+					pixel = pixel & 0xff000000 | (r & 0xff) << 16 | (g & 0xff) << 8 | b & 0xff;
+				}
+				else
+				{
+					run = b1 & 0x3f;
+				}
+				index[hash(pixel)] = pixel;
+			}
+			pixels[i] = pixel;
+		}
+		return image;
+	}
+
+	/**
+	 * Reads the header of the QOI image at the current position of the given
+	 * {@link ImageInputStream} object
+	 *
+	 * @param input
+	 *            the image input stream
+	 * @return an array with the width, the height and the count of channels
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or that the data is not a valid QOI
+	 *             header
+	 */
+	public static int[] readHeader(final ImageInputStream input) throws IOException
+	{
+		return readHeader(new ChunkReader(input));
+	}
+
+	private static int[] readHeader(final ChunkReader reader) throws IOException
+	{
+		final int magic = reader.nextInt();
+		final int width = reader.nextInt();
+		final int height = reader.nextInt();
+		final int channels = reader.next();
+		reader.next();
+		if (magic != MAGIC)
+		{
+			throw new IIOException("Given data is not a QOI image");
+		}
+		if (width <= 0 || height <= 0 || MAX_PIXELS < (long)width * height
+			|| channels != 3 && channels != 4)
+		{
+			throw new IIOException("Given QOI header is invalid: " + Integer.toUnsignedString(width)
+				+ "x" + Integer.toUnsignedString(height) + ", " + channels + " channels");
+		}
+		return new int[] { width, height, channels };
+	}
+
+	private static int hash(final int pixel)
+	{
+		return (((pixel >> 16) & 0xff) * 3 + ((pixel >> 8) & 0xff) * 5 + (pixel & 0xff) * 7
+			+ (pixel >>> 24) * 11) & 63;
+	}
+
+	private static int putInt(final byte[] bytes, final int position, final int value)
+	{
+		bytes[position] = (byte)(value >>> 24);
+		bytes[position + 1] = (byte)(value >>> 16);
+		bytes[position + 2] = (byte)(value >>> 8);
+		bytes[position + 3] = (byte)value;
+		return position + 4;
+	}
+
+	/**
+	 * The class {@link ChunkReader} reads the bytes of an {@link ImageInputStream} in chunks, so
+	 * the decoder does not call the stream for every single byte
+	 */
+	static final class ChunkReader
+	{
+		private final ImageInputStream input;
+		private final byte[] chunk = new byte[CHUNK_SIZE];
+		private int position;
+		private int limit;
+
+		ChunkReader(final ImageInputStream input)
+		{
+			this.input = input;
+		}
+
+		int next() throws IOException
+		{
+			if (position == limit)
+			{
+				limit = input.read(chunk, 0, chunk.length);
+				position = 0;
+				if (limit <= 0)
+				{
+					limit = 0;
+					throw new EOFException("Unexpected end of QOI data");
+				}
+			}
+			return chunk[position++] & 0xff;
+		}
+
+		int nextInt() throws IOException
+		{
+			return next() << 24 | next() << 16 | next() << 8 | next();
+		}
+	}
+}
@@ -0,0 +1,224 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import java.awt.image.BufferedImage;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The class {@link RandomImageGenerator} fills images with random pixels of a {@link NoiseMode}.
+ * Every row is generated by its own {@link SplittableRandom} that is seeded from a mix of the given
+ * seed and the row index, so adjacent seeds generate unrelated images and the rows are filled in
+ * parallel and the output for a seed is the same at any count of threads. The rows are written
+ * directly into packed int rasters or through the {@link PixelView} of the image
+ */
+public class RandomImageGenerator
+{
+
+	/** The odd constant that spreads the row indices over the seeds of the rows */
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	/**
+	 * Generates a new image with random pixels of the given noise mode on the common
+	 * {@link ForkJoinPool}
+	 *
+	 * @param width
+	 *            the width
+	 * @param height
+	 *            the height
+	 * @param imageType
+	 *            the type of the image
+	 * @param mode
+	 *            the noise mode
+	 * @param seed
+	 *            the seed of the generated pixels
+	 * @return the generated {@link BufferedImage}
+	 */
+	public static BufferedImage generate(final int width, final int height, final int imageType,
+		final NoiseMode mode, final long seed)
+	{
+		return generate(width, height, imageType, mode, seed, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Generates a new image with random pixels of the given noise mode on the given
+	 * {@link ForkJoinPool}
+	 *
+	 * @param width
+	 *            the width
+	 * @param height
+	 *            the height
+	 * @param imageType
+	 *            the type of the image
+	 * @param mode
+	 *            the noise mode
+	 * @param seed
+	 *            the seed of the generated pixels
+	 * @param pool
+	 *            the pool that fills the rows
+	 * @return the generated {@link BufferedImage}
+	 */
+	public static BufferedImage generate(final int width, final int height, final int imageType,
+		final NoiseMode mode, final long seed, final ForkJoinPool pool)
+	{
+		final BufferedImage image = new BufferedImage(width, height, imageType);
+		fill(image, mode, seed, pool);
+		return image;
+	}
+
+	/**
+	 * Fills the given image with random pixels of the given noise mode on the common
+	 * {@link ForkJoinPool}
+	 *
+	 * @param image
+	 *            the image to fill
+	 * @param mode
+	 *            the noise mode
+	 * @param seed
+	 *            the seed of the generated pixels
+	 */
+	public static void fill(final BufferedImage image, final NoiseMode mode, final long seed)
+	{
+		fill(image, mode, seed, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Fills the given image with random pixels of the given noise mode on the given
+	 * {@link ForkJoinPool}
+	 *
+	 * @param image
+	 *            the image to fill
+	 * @param mode
+	 *            the noise mode
+	 * @param seed
+	 *            the seed of the generated pixels
+	 * @param pool
+	 *            the pool that fills the rows
+	 */
+	public static void fill(final BufferedImage image, final NoiseMode mode, final long seed,
+		final ForkJoinPool pool)
+	{
+		final int width = image.getWidth();
+		final int height = image.getHeight();
+		final int[] corners = mode == NoiseMode.GRADIENT ? corners(seed) : null;
+		final PixelView view = PixelView.of(image);
+		if (view.isPackedRgb())
+		{
+			final int[] data = view.getIntData();
+			final int offset = view.getOffset();
+			final int scan = view.getScanlineStride();
+			ImageResampler.invoke(pool, height, width, (from, to) -> {
+				for (int y = from; y < to; y++)
+				{
+					generateRow(mode, seed, corners, y, width, height, data, offset + y * scan);
+				}
+			});
+		}
+		else
+		{
+			ImageResampler.invoke(pool, height, width, (from, to) -> {
+				final int[] row = new int[width];
+				for (int y = from; y < to; y++)
+				{
+					generateRow(mode, seed, corners, y, width, height, row, 0);
+					view.setRow(y, row, 0);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Generates the ARGB pixels of the given row. The pixels only depend on the seed and the row
+	 * index
+	 */
+	private static void generateRow(final NoiseMode mode, final long seed, final int[] corners,
+		final int y, final int width, final int height, final int[] pixels, final int offset)
+	{
+		switch (mode)
+		{
+			case GRAYSCALE : {
+				final SplittableRandom random = rowRandom(seed, y);
+				for (int x = 0; x < width; x++)
+				{
+					pixels[offset + x] = 0xff000000 | random.nextInt(256) * 0x010101;
+				}
+				break;
+			}
+			case GRADIENT : {
+				final float fy = height < 2 ? 0f : y / (float)(height - 1);
+				final int left = lerp(corners[0], corners[2], fy);
+				final int right = lerp(corners[1], corners[3], fy);
+				for (int x = 0; x < width; x++)
+				{
+					pixels[offset + x] = lerp(left, right, width < 2 ? 0f : x / (float)(width - 1));
+				}
+				break;
+			}
+			default : {
+				final SplittableRandom random = rowRandom(seed, y);
+				for (int x = 0; x < width; x++)
+				{
+					pixels[offset + x] = random.nextInt();
+				}
+			}
+		}
+	}
+
+	private static SplittableRandom rowRandom(final long seed, final int y)
+	{
+		return new SplittableRandom(mix64(mix64(seed) + (y + 1L) * GOLDEN_GAMMA));
+	}
+
+	private static long mix64(final long value)
+	{
+		long z = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	private static int[] corners(final long seed)
+	{
+		final SplittableRandom random = new SplittableRandom(seed);
+		final int[] corners = new int[4];
+		for (int i = 0; i < corners.length; i++)
+		{
+			corners[i] = 0xff000000 | random.nextInt(0x1000000);
+		}
+		return corners;
+	}
+
+	private static int lerp(final int from, final int to, final float fraction)
+	{
+		int result = 0;
+		for (int shift = 0; shift < 32; shift += 8)
+		{
+			final int a = (from >>> shift) & 0xff;
+			final int b = (to >>> shift) & 0xff;
+			result |= Math.round(a + (b - a) * fraction) << shift;
+		}
+		return result;
+	}
+}
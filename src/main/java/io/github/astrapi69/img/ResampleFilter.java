@@ -0,0 +1,109 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+/**
+ * The enum {@link ResampleFilter} defines the reconstruction kernels that can be used by the
+ * {@link ImageResampler} for scaling images. Every filter is separable, so it is applied once in
+ * horizontal and once in vertical direction
+ */
+public enum ResampleFilter
+{
+
+	/** The bilinear (triangle) filter with a support radius of one pixel */
+	BILINEAR(1.0) {
+		@Override
+		public double weight(double x)
+		{
+			x = Math.abs(x);
+			return x < 1.0 ? 1.0 - x : 0.0;
+		}
+	},
+
+	/** The bicubic filter (Keys cubic convolution with a = -0.5) with a support radius of two */
+	BICUBIC(2.0) {
+		@Override
+		public double weight(double x)
+		{
+			final double a = -0.5;
+			x = Math.abs(x);
+			if (x < 1.0)
+			{
+				return ((a + 2.0) * x - (a + 3.0)) * x * x + 1.0;
+			}
+			if (x < 2.0)
+			{
+				return ((a * x - 5.0 * a) * x + 8.0 * a) * x - 4.0 * a;
+			}
+			return 0.0;
+		}
+	},
+
+	/** The Lanczos filter with three lobes, gives the sharpest results especially on downscale */
+	LANCZOS3(3.0) {
+		@Override
+		public double weight(double x)
+		{
+			x = Math.abs(x);
+			if (x < 1.0e-8)
+			{
+				return 1.0;
+			}
+			if (x < 3.0)
+			{
+				final double piX = Math.PI * x;
+				return 3.0 * Math.sin(piX) * Math.sin(piX / 3.0) / (piX * piX);
+			}
+			return 0.0;
+		}
+	};
+
+	/** The support radius of the filter in source pixels */
+	private final double support;
+
+	ResampleFilter(double support)
+	{
+		this.support = support;
+	}
+
+	/**
+	 * Gets the support radius of this filter in source pixels
+	 *
+	 * @return the support radius
+	 */
+	public double getSupport()
+	{
+		return support;
+	}
+
+	/**
+	 * Computes the weight of this filter for the given distance from the sample center
+	 *
+	 * @param x
+	 *            the distance from the sample center
+	 * @return the weight for the given distance
+	 */
+	public abstract double weight(double x);
+}
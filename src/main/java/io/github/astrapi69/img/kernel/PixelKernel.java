@@ -0,0 +1,230 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img.kernel;
+
+import java.awt.Color;
+
+/**
+ * The class {@link PixelKernel} provides bulk operations over packed ARGB rasters. Every operation
+ * reads <code>length</code> pixels from the source array at the source offset and writes them to
+ * the destination array at the destination offset, source and destination may be the same range.
+ * <br>
+ * <br>
+ * The default kernel is selected once at runtime: if the module <code>jdk.incubator.vector</code>
+ * is resolved, for instance with the JVM option <code>--add-modules jdk.incubator.vector</code>,
+ * and the platform supports vectors of at least four int lanes, the kernel on the Vector API is
+ * used, otherwise the scalar kernel. The system property {@value #SCALAR_PROPERTY} forces the
+ * scalar kernel. Both kernels compute exactly the same results
+ */
+public abstract class PixelKernel
+{
+
+	/** The name of the system property that forces the scalar kernel if set to true */
+	public static final String SCALAR_PROPERTY = "io.github.astrapi69.img.kernel.scalar";
+
+	/** The name of the incubator module of the Vector API */
+	static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+	/** The scalar kernel */
+	private static final PixelKernel SCALAR = new ScalarPixelKernel();
+
+	/** The kernel that is selected at runtime */
+	private static final PixelKernel DEFAULT = select();
+
+	/**
+	 * Gets the kernel that is selected at runtime
+	 *
+	 * @return the default kernel
+	 */
+	public static PixelKernel getDefault()
+	{
+		return DEFAULT;
+	}
+
+	/**
+	 * Gets the scalar kernel that works on every platform
+	 *
+	 * @return the scalar kernel
+	 */
+	public static PixelKernel scalar()
+	{
+		return SCALAR;
+	}
+
+	private static PixelKernel select()
+	{
+		if (Boolean.getBoolean(SCALAR_PROPERTY)
+			|| ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty())
+		{
+			return SCALAR;
+		}
+		try
+		{
+			return VectorPixelKernel.isSupported() ? new VectorPixelKernel() : SCALAR;
+		}
+		catch (LinkageError e)
+		{
+			return SCALAR;
+		}
+	}
+
+	/**
+	 * Computes the fixed point factors of a tint with the hue and saturation of the given color.
+	 * The first factor weights the original channel and the other factors weight the maximum
+	 * channel of a pixel for the red, green and blue channel, so that a tinted channel is
+	 * <code>(channel * factors[0] + max * factors[c] + 32768) &gt;&gt;&gt; 16</code>
+	 *
+	 * @param rgb
+	 *            the packed RGB value of the tint color
+	 * @param amount
+	 *            the amount between 0 for the unchanged color and 1 for the full tint
+	 * @return the factors in 16 bit fixed point
+	 */
+	static int[] tintFactors(final int rgb, final float amount)
+	{
+		float weight = Math.min(1f, Math.max(0f, amount));
+		float[] hsb = Color.RGBtoHSB((rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF, null);
+		int full = Color.HSBtoRGB(hsb[0], hsb[1], 1f);
+		float scale = weight * 65536f / 255f;
+		return new int[] { Math.round((1f - weight) * 65536f),
+				Math.round(((full >> 16) & 0xFF) * scale), Math.round(((full >> 8) & 0xFF) * scale),
+				Math.round((full & 0xFF) * scale) };
+	}
+
+	/**
+	 * Checks if this kernel runs on the Vector API
+	 *
+	 * @return true if this kernel runs on the Vector API otherwise false
+	 */
+	public abstract boolean isVectorized();
+
+	/**
+	 * Premultiplies the color channels of non-premultiplied ARGB pixels with their alpha channel
+	 *
+	 * @param src
+	 *            the source pixels
+	 * @param srcOffset
+	 *            the index of the first source pixel
+	 * @param dst
+	 *            the destination pixels
+	 * @param dstOffset
+	 *            the index of the first destination pixel
+	 * @param length
+	 *            the count of pixels
+	 */
+	public abstract void premultiply(int[] src, int srcOffset, int[] dst, int dstOffset,
+		int length);
+
+	/**
+	 * Divides the color channels of premultiplied ARGB pixels by their alpha channel
+	 *
+	 * @param src
+	 *            the source pixels
+	 * @param srcOffset
+	 *            the index of the first source pixel
+	 * @param dst
+	 *            the destination pixels
+	 * @param dstOffset
+	 *            the index of the first destination pixel
+	 * @param length
+	 *            the count of pixels
+	 */
+	public abstract void unpremultiply(int[] src, int srcOffset, int[] dst, int dstOffset,
+		int length);
+
+	/**
+	 * Blends premultiplied ARGB source pixels over premultiplied ARGB destination pixels with the
+	 * Porter-Duff rule source over
+	 *
+	 * @param src
+	 *            the source pixels
+	 * @param srcOffset
+	 *            the index of the first source pixel
+	 * @param dst
+	 *            the destination pixels that are blended in place
+	 * @param dstOffset
+	 *            the index of the first destination pixel
+	 * @param length
+	 *            the count of pixels
+	 */
+	public abstract void blend(int[] src, int srcOffset, int[] dst, int dstOffset, int length);
+
+	/**
+	 * Converts ARGB pixels to gray with the luma weights of ITU-R BT.601 and keeps the alpha
+	 * channel
+	 *
+	 * @param src
+	 *            the source pixels
+	 * @param srcOffset
+	 *            the index of the first source pixel
+	 * @param dst
+	 *            the destination pixels
+	 * @param dstOffset
+	 *            the index of the first destination pixel
+	 * @param length
+	 *            the count of pixels
+	 */
+	public abstract void grayscale(int[] src, int srcOffset, int[] dst, int dstOffset, int length);
+
+	/**
+	 * Swaps the red and the blue channel, that converts ARGB pixels to ABGR pixels and back
+	 *
+	 * @param src
+	 *            the source pixels
+	 * @param srcOffset
+	 *            the index of the first source pixel
+	 * @param dst
+	 *            the destination pixels
+	 * @param dstOffset
+	 *            the index of the first destination pixel
+	 * @param length
+	 *            the count of pixels
+	 */
+	public abstract void swapRedBlue(int[] src, int srcOffset, int[] dst, int dstOffset,
+		int length);
+
+	/**
+	 * Tints ARGB pixels with the hue and saturation of the given color. The HSB brightness and the
+	 * alpha channel of every pixel are kept and the tinted color is mixed with the original color
+	 * by the given amount
+	 *
+	 * @param src
+	 *            the source pixels
+	 * @param srcOffset
+	 *            the index of the first source pixel
+	 * @param dst
+	 *            the destination pixels
+	 * @param dstOffset
+	 *            the index of the first destination pixel
+	 * @param length
+	 *            the count of pixels
+	 * @param rgb
+	 *            the packed RGB value of the tint color
+	 * @param amount
+	 *            the amount between 0 for the unchanged color and 1 for the full tint
+	 */
+	public abstract void tint(int[] src, int srcOffset, int[] dst, int dstOffset, int length,
+		int rgb, float amount);
+}
@@ -0,0 +1,162 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img.kernel;
+
+/**
+ * The class {@link ScalarPixelKernel} is the {@link PixelKernel} that processes one pixel after
+ * another. It is the fallback if the Vector API is not available and processes the tails of the
+ * {@link VectorPixelKernel}
+ */
+class ScalarPixelKernel extends PixelKernel
+{
+
+	/**
+	 * Divides the given value by 255 and rounds to the nearest integer
+	 *
+	 * @param value
+	 *            the value between 0 and 255 * 255
+	 * @return the rounded quotient
+	 */
+	static int div255(final int value)
+	{
+		return ((value + 127) * 0x8081) >>> 23;
+	}
+
+	/**
+	 * Divides the two 16 bit values in the lower and upper half of the given value by 255 and
+	 * rounds to the nearest integers, that is exactly the same as {@link #div255(int)} for both
+	 * halves
+	 *
+	 * @param pairs
+	 *            the two values between 0 and 255 * 255 in the lower and upper 16 bits
+	 * @return the two rounded quotients in the lower and upper 16 bits
+	 */
+	static int div255Pairs(final int pairs)
+	{
+		final int rounded = pairs + 0x00800080;
+		return ((rounded + ((rounded >>> 8) & 0x00FF00FF)) >>> 8) & 0x00FF00FF;
+	}
+
+	@Override
+	public boolean isVectorized()
+	{
+		return false;
+	}
+
+	@Override
+	public void premultiply(final int[] src, final int srcOffset, final int[] dst,
+		final int dstOffset, final int length)
+	{
+		for (int i = 0; i < length; i++)
+		{
+			final int argb = src[srcOffset + i];
+			final int a = argb >>> 24;
+			final int r = div255(((argb >> 16) & 0xFF) * a);
+			final int g = div255(((argb >> 8) & 0xFF) * a);
+			final int b = div255((argb & 0xFF) * a);
+			dst[dstOffset + i] = a << 24 | r << 16 | g << 8 | b;
+		}
+	}
+
+	@Override
+	public void unpremultiply(final int[] src, final int srcOffset, final int[] dst,
+		final int dstOffset, final int length)
+	{
+		for (int i = 0; i < length; i++)
+		{
+			final int argb = src[srcOffset + i];
+			final int a = argb >>> 24;
+			if (a == 0)
+			{
+				dst[dstOffset + i] = 0;
+				continue;
+			}
+			final int half = a >> 1;
+			final int r = Math.min(255, (((argb >> 16) & 0xFF) * 255 + half) / a);
+			final int g = Math.min(255, (((argb >> 8) & 0xFF) * 255 + half) / a);
+			final int b = Math.min(255, ((argb & 0xFF) * 255 + half) / a);
+			dst[dstOffset + i] = a << 24 | r << 16 | g << 8 | b;
+		}
+	}
+
+	@Override
+	public void blend(final int[] src, final int srcOffset, final int[] dst, final int dstOffset,
+		final int length)
+	{
+		for (int i = 0; i < length; i++)
+		{
+			final int s = src[srcOffset + i];
+			final int d = dst[dstOffset + i];
+			final int inverse = 255 - (s >>> 24);
+			final int rb = div255Pairs((d & 0x00FF00FF) * inverse);
+			final int ag = div255Pairs(((d >>> 8) & 0x00FF00FF) * inverse);
+			dst[dstOffset + i] = s + (ag << 8 | rb);
+		}
+	}
+
+	@Override
+	public void grayscale(final int[] src, final int srcOffset, final int[] dst,
+		final int dstOffset, final int length)
+	{
+		for (int i = 0; i < length; i++)
+		{
+			final int argb = src[srcOffset + i];
+			final int gray = (((argb >> 16) & 0xFF) * 77 + ((argb >> 8) & 0xFF) * 150
+				+ (argb & 0xFF) * 29 + 128) >> 8;
+			dst[dstOffset + i] = (argb & 0xFF000000) | gray << 16 | gray << 8 | gray;
+		}
+	}
+
+	@Override
+	public void swapRedBlue(final int[] src, final int srcOffset, final int[] dst,
+		final int dstOffset, final int length)
+	{
+		for (int i = 0; i < length; i++)
+		{
+			final int argb = src[srcOffset + i];
+			dst[dstOffset + i] = (argb & 0xFF00FF00) | ((argb >> 16) & 0xFF) | (argb & 0xFF) << 16;
+		}
+	}
+
+	@Override
+	public void tint(final int[] src, final int srcOffset, final int[] dst, final int dstOffset,
+		final int length, final int rgb, final float amount)
+	{
+		final int[] factors = tintFactors(rgb, amount);
+		final int keep = factors[0];
+		for (int i = 0; i < length; i++)
+		{
+			final int argb = src[srcOffset + i];
+			final int r = (argb >> 16) & 0xFF;
+			final int g = (argb >> 8) & 0xFF;
+			final int b = argb & 0xFF;
+			final int max = Math.max(r, Math.max(g, b));
+			final int tr = (r * keep + max * factors[1] + 32768) >>> 16;
+			final int tg = (g * keep + max * factors[2] + 32768) >>> 16;
+			final int tb = (b * keep + max * factors[3] + 32768) >>> 16;
+			dst[dstOffset + i] = (argb & 0xFF000000) | tr << 16 | tg << 8 | tb;
+		}
+	}
+}
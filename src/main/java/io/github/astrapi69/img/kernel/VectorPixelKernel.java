@@ -0,0 +1,213 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img.kernel;
+
+import static jdk.incubator.vector.VectorOperators.F2I;
+import static jdk.incubator.vector.VectorOperators.I2F;
+import static jdk.incubator.vector.VectorOperators.LSHL;
+import static jdk.incubator.vector.VectorOperators.LSHR;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The class {@link VectorPixelKernel} is the {@link PixelKernel} on the incubator Vector API. It
+ * processes as many pixels as the preferred int species has lanes at once, the remaining pixels are
+ * processed by the {@link ScalarPixelKernel}. This class may only be loaded if the module
+ * <code>jdk.incubator.vector</code> is resolved
+ */
+final class VectorPixelKernel extends ScalarPixelKernel
+{
+
+	/** The preferred int species of the platform */
+	private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+
+	/** The float species with the same shape as the int species */
+	private static final VectorSpecies<Float> FLOATS = VectorSpecies.of(float.class,
+		INTS.vectorShape());
+
+	/**
+	 * Checks if the platform supports vectors with at least four int lanes
+	 *
+	 * @return true if the platform supports vectors with at least four int lanes otherwise false
+	 */
+	static boolean isSupported()
+	{
+		return INTS.length() >= 4 && FLOATS.length() == INTS.length();
+	}
+
+	private static IntVector div255(final IntVector value)
+	{
+		return value.add(127).mul(0x8081).lanewise(LSHR, 23);
+	}
+
+	private static IntVector div255Pairs(final IntVector pairs)
+	{
+		final IntVector rounded = pairs.add(0x00800080);
+		return rounded.add(rounded.lanewise(LSHR, 8).and(0x00FF00FF)).lanewise(LSHR, 8)
+			.and(0x00FF00FF);
+	}
+
+	private static IntVector pack(final IntVector a, final IntVector r, final IntVector g,
+		final IntVector b)
+	{
+		return a.lanewise(LSHL, 24).or(r.lanewise(LSHL, 16)).or(g.lanewise(LSHL, 8)).or(b);
+	}
+
+	private static IntVector divide(final IntVector channel, final IntVector half,
+		final FloatVector alpha)
+	{
+		final FloatVector numerator = (FloatVector)channel.mul(255).add(half).convert(I2F, 0);
+		return ((IntVector)numerator.div(alpha).convert(F2I, 0)).min(255);
+	}
+
+	private static IntVector mix(final IntVector channel, final int keep, final IntVector max,
+		final int factor)
+	{
+		return channel.mul(keep).add(max.mul(factor)).add(32768).lanewise(LSHR, 16);
+	}
+
+	@Override
+	public boolean isVectorized()
+	{
+		return true;
+	}
+
+	@Override
+	public void premultiply(final int[] src, final int srcOffset, final int[] dst,
+		final int dstOffset, final int length)
+	{
+		final int bound = INTS.loopBound(length);
+		int i = 0;
+		for (; i < bound; i += INTS.length())
+		{
+			final IntVector argb = IntVector.fromArray(INTS, src, srcOffset + i);
+			final IntVector a = argb.lanewise(LSHR, 24);
+			final IntVector r = div255(argb.lanewise(LSHR, 16).and(0xFF).mul(a));
+			final IntVector g = div255(argb.lanewise(LSHR, 8).and(0xFF).mul(a));
+			final IntVector b = div255(argb.and(0xFF).mul(a));
+			pack(a, r, g, b).intoArray(dst, dstOffset + i);
+		}
+		super.premultiply(src, srcOffset + i, dst, dstOffset + i, length - i);
+	}
+
+	@Override
+	public void unpremultiply(final int[] src, final int srcOffset, final int[] dst,
+		final int dstOffset, final int length)
+	{
+		final int bound = INTS.loopBound(length);
+		int i = 0;
+		for (; i < bound; i += INTS.length())
+		{
+			final IntVector argb = IntVector.fromArray(INTS, src, srcOffset + i);
+			final IntVector a = argb.lanewise(LSHR, 24);
+			final IntVector half = a.lanewise(LSHR, 1);
+			final FloatVector alpha = (FloatVector)a.convert(I2F, 0);
+			final IntVector r = divide(argb.lanewise(LSHR, 16).and(0xFF), half, alpha);
+			final IntVector g = divide(argb.lanewise(LSHR, 8).and(0xFF), half, alpha);
+			final IntVector b = divide(argb.and(0xFF), half, alpha);
+			pack(a, r, g, b).blend(0, a.eq(0)).intoArray(dst, dstOffset + i);
+		}
+		super.unpremultiply(src, srcOffset + i, dst, dstOffset + i, length - i);
+	}
+
+	@Override
+	public void blend(final int[] src, final int srcOffset, final int[] dst, final int dstOffset,
+		final int length)
+	{
+		final int bound = INTS.loopBound(length);
+		int i = 0;
+		for (; i < bound; i += INTS.length())
+		{
+			final IntVector s = IntVector.fromArray(INTS, src, srcOffset + i);
+			final IntVector d = IntVector.fromArray(INTS, dst, dstOffset + i);
+			final IntVector inverse = s.lanewise(LSHR, 24).neg().add(255);
+			final IntVector rb = div255Pairs(d.and(0x00FF00FF).mul(inverse));
+			final IntVector ag = div255Pairs(d.lanewise(LSHR, 8).and(0x00FF00FF).mul(inverse));
+			s.add(ag.lanewise(LSHL, 8).or(rb)).intoArray(dst, dstOffset + i);
+		}
+		super.blend(src, srcOffset + i, dst, dstOffset + i, length - i);
+	}
+
+	@Override
+	public void grayscale(final int[] src, final int srcOffset, final int[] dst,
+		final int dstOffset, final int length)
+	{
+		final int bound = INTS.loopBound(length);
+		int i = 0;
+		for (; i < bound; i += INTS.length())
+		{
+			final IntVector argb = IntVector.fromArray(INTS, src, srcOffset + i);
+			final IntVector gray = argb.lanewise(LSHR, 16).and(0xFF).mul(77)
+				.add(argb.lanewise(LSHR, 8).and(0xFF).mul(150)).add(argb.and(0xFF).mul(29)).add(128)
+				.lanewise(LSHR, 8);
+			argb.and(0xFF000000).or(gray.lanewise(LSHL, 16)).or(gray.lanewise(LSHL, 8)).or(gray)
+				.intoArray(dst, dstOffset + i);
+		}
+		super.grayscale(src, srcOffset + i, dst, dstOffset + i, length - i);
+	}
+
+	@Override
+	public void swapRedBlue(final int[] src, final int srcOffset, final int[] dst,
+		final int dstOffset, final int length)
+	{
+		final int bound = INTS.loopBound(length);
+		int i = 0;
+		for (; i < bound; i += INTS.length())
+		{
+			final IntVector argb = IntVector.fromArray(INTS, src, srcOffset + i);
+			argb.and(0xFF00FF00).or(argb.lanewise(LSHR, 16).and(0xFF))
+				.or(argb.and(0xFF).lanewise(LSHL, 16)).intoArray(dst, dstOffset + i);
+		}
+		super.swapRedBlue(src, srcOffset + i, dst, dstOffset + i, length - i);
+	}
+
+	@Override
+	public void tint(final int[] src, final int srcOffset, final int[] dst, final int dstOffset,
+		final int length, final int rgb, final float amount)
+	{
+		final int[] factors = tintFactors(rgb, amount);
+		final int keep = factors[0];
+		final int redFactor = factors[1];
+		final int greenFactor = factors[2];
+		final int blueFactor = factors[3];
+		final int bound = INTS.loopBound(length);
+		int i = 0;
+		for (; i < bound; i += INTS.length())
+		{
+			final IntVector argb = IntVector.fromArray(INTS, src, srcOffset + i);
+			final IntVector r = argb.lanewise(LSHR, 16).and(0xFF);
+			final IntVector g = argb.lanewise(LSHR, 8).and(0xFF);
+			final IntVector b = argb.and(0xFF);
+			final IntVector max = r.max(g).max(b);
+			final IntVector tr = mix(r, keep, max, redFactor);
+			final IntVector tg = mix(g, keep, max, greenFactor);
+			final IntVector tb = mix(b, keep, max, blueFactor);
+			pack(argb.lanewise(LSHR, 24), tr, tg, tb).intoArray(dst, dstOffset + i);
+		}
+		super.tint(src, srcOffset + i, dst, dstOffset + i, length - i, rgb, amount);
+	}
+}
@@ -0,0 +1,5 @@
+/**
+ * This is the package for the bulk pixel kernels over packed ARGB rasters with an implementation on
+ * the incubator Vector API and a scalar fallback
+ */
+package io.github.astrapi69.img.kernel;
@@ -0,0 +1,65 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img.model;
+
+import java.awt.image.BufferedImage;
+
+import io.github.astrapi69.img.AtlasLayout;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * The class {@link AtlasOptions} is the data model for the options of an image atlas. Every value
+ * that is not set is computed from the images of the atlas
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AtlasOptions
+{
+	/** The options with the shelf layout, no padding and an ARGB image */
+	public static final AtlasOptions DEFAULT = AtlasOptions.builder().build();
+
+	/** the layout of the images */
+	@Builder.Default
+	AtlasLayout layout = AtlasLayout.SHELF;
+	/** the space in pixels between two images */
+	int padding;
+	/** the count of columns of the grid layout or 0 for a square grid */
+	int columns;
+	/** the maximum width of the shelf layout or 0 for a roughly square atlas */
+	int maxWidth;
+	/** the type of the atlas image, for instance {@link BufferedImage#TYPE_INT_ARGB} */
+	@Builder.Default
+	int imageType = BufferedImage.TYPE_INT_ARGB;
+}
@@ -0,0 +1,87 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img.model;
+
+import javax.imageio.ImageWriteParam;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * The class {@link WriteOptions} is the data model for the encoder options that are mapped to an
+ * {@link ImageWriteParam} object. Every option that is not set keeps the default of the image
+ * writer, options that the writer of a format does not support are ignored
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class WriteOptions
+{
+	/** The options with the defaults of the image writers */
+	public static final WriteOptions DEFAULT = WriteOptions.builder().build();
+
+	/** The options for the fastest encode, for instance PNG with deflate level 1 */
+	public static final WriteOptions FASTEST = WriteOptions.builder().deflateLevel(1)
+		.compressionQuality(0.75f).progressive(false).build();
+
+	/**
+	 * The options for the smallest output, for instance PNG with deflate level 9. Interlacing is
+	 * disabled, because Adam7 interlaced PNG images are larger than non-interlaced ones
+	 */
+	public static final WriteOptions SMALLEST = WriteOptions.builder().deflateLevel(9)
+		.compressionQuality(0.5f).progressive(false).build();
+
+	/**
+	 * the compression mode, one of {@link ImageWriteParam#MODE_DISABLED},
+	 * {@link ImageWriteParam#MODE_DEFAULT}, {@link ImageWriteParam#MODE_EXPLICIT} or
+	 * {@link ImageWriteParam#MODE_COPY_FROM_METADATA}. If not set and a quality or deflate level is
+	 * given the mode is {@link ImageWriteParam#MODE_EXPLICIT}
+	 */
+	Integer compressionMode;
+	/** the compression type, for instance 'LZW' for TIFF */
+	String compressionType;
+	/**
+	 * the compression quality between 0.0 for the highest compression and 1.0 for the best quality
+	 */
+	Float compressionQuality;
+	/**
+	 * the deflate level of PNG images between 0 for no compression and 9 for the best compression
+	 */
+	Integer deflateLevel;
+	/** the flag for progressive JPEG or interlaced PNG and GIF images */
+	Boolean progressive;
+	/** the width of the tiles or 0 for an untiled image */
+	int tileWidth;
+	/** the height of the tiles or 0 for an untiled image */
+	int tileHeight;
+}
@@ -0,0 +1,4 @@
+/**
+ * This package provides bean classes that hold information about images
+ */
+package io.github.astrapi69.img.model;
@@ -134,4 +134,20 @@ public class IconButtonFactory
 			.actionCommand(actionCommand).build().toJButton();
 	}
 
+	/**
+	 * Factory method for create a <code>JButton</code> with the given <code>Icon</code> and the
+	 * rollover, pressed, disabled and selected icons derived from it
+	 *
+	 * @param icon
+	 *            the icon for the button
+	 * @param toolTipText
+	 *            the tooltip text for the button
+	 * @return the new {@link JButton} object with the given <code>Icon</code> and its variants
+	 */
+	public static JButton newDerivedIconButton(Icon icon, String toolTipText)
+	{
+		return JButtonInfo.builder().icon(icon).toolTipText(toolTipText).deriveIcons(true).build()
+			.toJButton();
+	}
+
 }
@@ -30,13 +30,17 @@ import javax.swing.Action;
 import javax.swing.Icon;
 import javax.swing.JButton;
 
+import io.github.astrapi69.icon.IconVariants;
+import io.github.astrapi69.icon.model.IconVariant;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.experimental.FieldDefaults;
 import lombok.experimental.SuperBuilder;
 
 /**
- * The class {@link JButtonInfo} is the data model for the creation of {@link JButton} objects
+ * The class {@link JButtonInfo} is the data model for the creation of {@link JButton} objects. If
+ * the flag <code>deriveIcons</code> is set, all icon slots that are not set are filled with the
+ * cached variants of the icon from {@link IconVariants}
  */
 @Data
 @SuperBuilder
@@ -52,6 +56,11 @@ public class JButtonInfo
 	boolean selected;
 	Action action;
 	String actionCommand;
+	Icon rolloverIcon;
+	Icon pressedIcon;
+	Icon disabledIcon;
+	Icon selectedIcon;
+	boolean deriveIcons;
 
 	public JButton toJButton()
 	{
@@ -79,6 +88,26 @@ public class JButtonInfo
 		{
 			button.setIcon(icon);
 		}
+		Icon rollover = deriveIfAbsent(rolloverIcon, IconVariant.ROLLOVER);
+		if (rollover != null)
+		{
+			button.setRolloverIcon(rollover);
+		}
+		Icon pressed = deriveIfAbsent(pressedIcon, IconVariant.PRESSED);
+		if (pressed != null)
+		{
+			button.setPressedIcon(pressed);
+		}
+		Icon disabled = deriveIfAbsent(disabledIcon, IconVariant.DISABLED);
+		if (disabled != null)
+		{
+			button.setDisabledIcon(disabled);
+		}
+		Icon selectedSlot = deriveIfAbsent(selectedIcon, IconVariant.PRESSED);
+		if (selectedSlot != null)
+		{
+			button.setSelectedIcon(selectedSlot);
+		}
 		if (toolTipText != null)
 		{
 			button.setToolTipText(toolTipText);
@@ -96,4 +125,13 @@ public class JButtonInfo
 			button.setName(name);
 		}
 	}
+
+	private Icon deriveIfAbsent(Icon slotIcon, IconVariant variant)
+	{
+		if (slotIcon != null || !deriveIcons || icon == null)
+		{
+			return slotIcon;
+		}
+		return IconVariants.derive(icon, variant);
+	}
 }
@@ -21,6 +21,7 @@
 module icon.img.extensions
 {
 	requires static lombok;
+	requires static jdk.incubator.vector;
 	requires java.desktop;
 	requires java.logging;
 	requires io.github.astrapisixtynine.jobj.core;
@@ -29,8 +30,11 @@ module icon.img.extensions
 	exports io.github.astrapi69.color;
 	exports io.github.astrapi69.color.model;
 	exports io.github.astrapi69.icon;
+	exports io.github.astrapi69.icon.cache;
 	exports io.github.astrapi69.icon.model;
 	exports io.github.astrapi69.img;
+	exports io.github.astrapi69.img.kernel;
+	exports io.github.astrapi69.img.model;
 	exports io.github.astrapi69.swing.button;
 	exports io.github.astrapi69.swing.button.builder;
 }
\ No newline at end of file
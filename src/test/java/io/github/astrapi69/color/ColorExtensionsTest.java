@@ -216,6 +216,46 @@ class ColorExtensionsTest
 		assertEquals(expected, actual);
 	}
 
+	/**
+	 * Test method for {@link ColorExtensions#toGray(int)} and
+	 * {@link ColorExtensions#lighten(int, float)}
+	 */
+	@Test
+	void testToGrayAndLighten()
+	{
+		assertEquals(0x80FFFFFF, ColorExtensions.toGray(0x80FFFFFF));
+		assertEquals(0xFF4D4D4D, ColorExtensions.toGray(0xFFFF0000));
+		assertEquals(0x40959595, ColorExtensions.toGray(0x4000FF00));
+		assertEquals(0xFF808080, ColorExtensions.lighten(0xFF000000, 0.5f));
+		assertEquals(0x10FFFFFF, ColorExtensions.lighten(0x10123456, 1f));
+		assertEquals(0x10123456, ColorExtensions.lighten(0x10123456, 0f));
+	}
+
+	/**
+	 * Test method for {@link ColorExtensions#shiftBrightness(int, float, float[])}
+	 */
+	@Test
+	void testShiftBrightness()
+	{
+		final float[] hsb = new float[3];
+		assertEquals(0x80FF0000, ColorExtensions.shiftBrightness(0x80800000, 0.5f, hsb));
+		assertEquals(0x80000000, ColorExtensions.shiftBrightness(0x80800000, -1f, hsb));
+		assertEquals(0xFF808080, ColorExtensions.shiftBrightness(0xFF808080, 0f, null));
+	}
+
+	/**
+	 * Test method for {@link ColorExtensions#tint(int, float, float, float, float[])}
+	 */
+	@Test
+	void testTint()
+	{
+		final float[] hsb = new float[3];
+		assertEquals(0xC0FF0000, ColorExtensions.tint(0xC0FFFFFF, 0f, 1f, 1f, hsb));
+		assertEquals(0xC0FF8080, ColorExtensions.tint(0xC0FFFFFF, 0f, 1f, 0.5f, hsb));
+		assertEquals(0xC0FFFFFF, ColorExtensions.tint(0xC0FFFFFF, 0f, 1f, 0f, hsb));
+		assertEquals(0xFF000000, ColorExtensions.tint(0xFF000000, 0.5f, 1f, 1f, hsb));
+	}
+
 	/**
 	 * Test method for {@link ColorExtensions} with {@link BeanTester}
 	 */
@@ -0,0 +1,112 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.icon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import javax.swing.ImageIcon;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.icon.model.IconLayer;
+import io.github.astrapi69.img.BlendMode;
+
+/**
+ * The unit test class for the class {@link CompositeIcon}
+ */
+class CompositeIconTest
+{
+
+	private static ImageIcon newFilledIcon(final int width, final int height, final int argb)
+	{
+		final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		final int[] pixels = new int[width * height];
+		Arrays.fill(pixels, argb);
+		image.setRGB(0, 0, width, height, pixels, 0, width);
+		return new ImageIcon(image);
+	}
+
+	/**
+	 * Test for method {@link CompositeIcon#newBadgedIcon(javax.swing.Icon, javax.swing.Icon)}
+	 */
+	@Test
+	void testNewBadgedIcon()
+	{
+		final CompositeIcon icon = CompositeIcon.newBadgedIcon(newFilledIcon(16, 16, 0xFFFF0000),
+			newFilledIcon(6, 5, 0xFF0000FF));
+		assertEquals(16, icon.getIconWidth());
+		assertEquals(16, icon.getIconHeight());
+		final BufferedImage image = icon.getImage();
+		assertEquals(BufferedImage.TYPE_INT_ARGB_PRE, image.getType());
+		assertEquals(0xFFFF0000, image.getRGB(9, 10));
+		assertEquals(0xFFFF0000, image.getRGB(10, 10));
+		assertEquals(0xFF0000FF, image.getRGB(10, 11));
+		assertEquals(0xFF0000FF, image.getRGB(15, 15));
+	}
+
+	/**
+	 * Test for method {@link CompositeIcon#getImage()} with layers and the cache of the flattened
+	 * image
+	 */
+	@Test
+	void testGetImage()
+	{
+		final ImageIcon base = newFilledIcon(8, 8, 0xFF808080);
+		final CompositeIcon icon = new CompositeIcon(base,
+			IconLayer.builder().icon(newFilledIcon(4, 4, 0xFF808080)).mode(BlendMode.MULTIPLY)
+				.build(),
+			IconLayer.builder().icon(newFilledIcon(4, 4, 0xFFFFFFFF)).x(4).y(4).opacity(0.5f)
+				.build());
+		final BufferedImage image = icon.getImage();
+		assertEquals(0xFF404040, image.getRGB(0, 0));
+		assertEquals(0xFF808080, image.getRGB(5, 0));
+		assertEquals(0xFFC0C0C0, image.getRGB(7, 7));
+		assertSame(image, icon.getImage());
+
+		final BufferedImage painted = new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB);
+		final Graphics2D graphics = painted.createGraphics();
+		icon.paintIcon(null, graphics, 2, 2);
+		graphics.dispose();
+		assertEquals(0, painted.getRGB(1, 1));
+		assertEquals(0xFF404040, painted.getRGB(2, 2));
+		assertEquals(0xFFC0C0C0, painted.getRGB(9, 9));
+
+		((BufferedImage)base.getImage()).setRGB(0, 0, 0xFF000000);
+		assertSame(image, icon.getImage());
+		icon.invalidate();
+		assertNotSame(image, icon.getImage());
+		assertEquals(0xFF000000, icon.getImage().getRGB(0, 0));
+
+		assertThrows(IllegalArgumentException.class,
+			() -> new CompositeIcon(new ImageIcon(), IconLayer.builder().build()));
+	}
+}
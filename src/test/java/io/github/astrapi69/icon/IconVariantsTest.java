@@ -0,0 +1,114 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.icon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+
+import javax.swing.ImageIcon;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.color.ColorExtensions;
+import io.github.astrapi69.icon.model.IconVariant;
+
+/**
+ * The unit test class for the class {@link IconVariants}
+ */
+class IconVariantsTest
+{
+
+	/**
+	 * Test for method {@link IconVariants#apply(BufferedImage, IconVariant)}
+	 */
+	@Test
+	void testApply()
+	{
+		final BufferedImage image = new BufferedImage(3, 2, BufferedImage.TYPE_3BYTE_BGR);
+		image.setRGB(0, 0, 0xFFFF0000);
+		image.setRGB(1, 0, 0xFF00FF00);
+		image.setRGB(2, 1, 0xFF202040);
+
+		final BufferedImage gray = IconVariants.apply(image, IconVariant.GRAYSCALE);
+		assertEquals(BufferedImage.TYPE_INT_ARGB, gray.getType());
+		assertEquals(3, gray.getWidth());
+		assertEquals(2, gray.getHeight());
+		final float[] hsb = new float[3];
+		final float[] red = Color.RGBtoHSB(255, 0, 0, null);
+		for (int y = 0; y < 2; y++)
+		{
+			for (int x = 0; x < 3; x++)
+			{
+				final int argb = image.getRGB(x, y);
+				assertEquals(ColorExtensions.toGray(argb), gray.getRGB(x, y));
+				assertEquals(ColorExtensions.lighten(ColorExtensions.toGray(argb), 0.5f),
+					IconVariants.apply(image, IconVariant.DISABLED).getRGB(x, y));
+				assertEquals(ColorExtensions.shiftBrightness(argb, 0.15f, hsb),
+					IconVariants.apply(image, IconVariant.ROLLOVER).getRGB(x, y));
+				assertEquals(ColorExtensions.tint(argb, red[0], red[1], 0.4f, hsb),
+					IconVariants.apply(image, IconVariant.tinted(Color.RED, 0.4f)).getRGB(x, y));
+			}
+		}
+		assertEquals(0xFF4D4D4D, gray.getRGB(0, 0));
+		assertEquals(0xFFA6A6A6, IconVariants.apply(image, IconVariant.DISABLED).getRGB(0, 0));
+	}
+
+	/**
+	 * Test for method {@link IconVariants#derive(javax.swing.Icon, IconVariant)}
+	 */
+	@Test
+	void testDerive()
+	{
+		final ImageIcon icon = ImageIconFactory.newImageIcon("img/xmas/bell.png");
+		icon.setDescription("bell");
+		final ImageIcon disabled = IconVariants.derive(icon, IconVariant.DISABLED);
+		assertEquals(icon.getIconWidth(), disabled.getIconWidth());
+		assertEquals(icon.getIconHeight(), disabled.getIconHeight());
+		assertEquals("bell", disabled.getDescription());
+		assertSame(disabled, IconVariants.derive(icon, IconVariant.DISABLED));
+		assertSame(disabled,
+			IconVariants.derive(icon, IconVariant.DISABLED.toBuilder().amount(0.5f).build()));
+		assertNotSame(disabled, IconVariants.derive(icon, IconVariant.GRAYSCALE));
+		assertNotSame(IconVariants.derive(icon, IconVariant.tinted(Color.BLUE, 0.5f)),
+			IconVariants.derive(icon, IconVariant.tinted(Color.BLUE, 0.25f)));
+
+		final BufferedImage source = IconExtensions.toBufferedImage(icon);
+		final BufferedImage derived = (BufferedImage)disabled.getImage();
+		assertEquals(ColorExtensions.lighten(ColorExtensions.toGray(source.getRGB(380, 400)), 0.5f),
+			derived.getRGB(380, 400));
+
+		assertThrows(NullPointerException.class,
+			() -> IconVariants.derive(null, IconVariant.GRAYSCALE));
+		IconVariants.clearCache();
+		assertEquals(0, IconVariants.getCacheSize());
+		assertNotSame(disabled, IconVariants.derive(icon, IconVariant.DISABLED));
+		assertEquals(1, IconVariants.getCacheSize());
+	}
+}
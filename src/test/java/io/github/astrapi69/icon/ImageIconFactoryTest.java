@@ -24,7 +24,9 @@
  */
 package io.github.astrapi69.icon;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.awt.image.BufferedImage;
 import java.io.File;
@@ -167,6 +169,9 @@ class ImageIconFactoryTest
 		newHeight = 100;
 		actual = ImageIconFactory.newImageIcon(relativeImagePath, newWidth, newHeight);
 		assertNotNull(actual);
+		assertEquals(newWidth, actual.getIconWidth());
+		assertEquals(newHeight, actual.getIconHeight());
+		assertTrue(actual.getImage() instanceof BufferedImage);
 	}
 
 
@@ -231,4 +236,15 @@ class ImageIconFactoryTest
 		beanTester.testBean(ImageIconFactory.class);
 	}
 
+
+	/**
+	 * Test for method {@link ImageIconFactory#newMultiResolutionImageIcon(String)}
+	 */
+	@Test
+	public void testNewMultiResolutionImageIcon()
+	{
+		ImageIcon actual = ImageIconFactory.newMultiResolutionImageIcon("img/xmas/bell.png");
+		assertEquals(765, actual.getIconWidth());
+		assertTrue(actual.getImage() instanceof LazyMultiResolutionImage);
+	}
 }
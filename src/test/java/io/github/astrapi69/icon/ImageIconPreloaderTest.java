@@ -26,12 +26,28 @@ package io.github.astrapi69.icon;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import javax.swing.ImageIcon;
 
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import io.github.astrapi69.icon.model.IconCacheOptions;
+import io.github.astrapi69.icon.model.PreloadOptions;
+
 class ImageIconPreloaderTest
 {
 
@@ -96,4 +112,176 @@ class ImageIconPreloaderTest
 		ImageIconPreloader.loadIcon(iconPath);
 		assertNotNull(ImageIconPreloader.getIcon(iconPath));
 	}
+
+	/**
+	 * Tests the configureCache method with a cache that is too small for the bell icon
+	 */
+	@Test
+	void testConfigureCache()
+	{
+		try
+		{
+			ImageIconPreloader
+				.configureCache(IconCacheOptions.builder().maximumWeight(1024 * 1024).build());
+			ImageIconPreloader.loadIcon("img/xmas/bell.png");
+			ImageIconPreloader.loadIcon("img/xmas/key.png");
+			assertNull(ImageIconPreloader.getIcon("img/xmas/bell.png"));
+			assertNotNull(ImageIconPreloader.getIcon("img/xmas/key.png"));
+			assertTrue(ImageIconPreloader.getIconCache().getWeight() <= 1024 * 1024);
+		}
+		finally
+		{
+			ImageIconPreloader.configureCache(IconCacheOptions.DEFAULT);
+		}
+	}
+
+	/**
+	 * Tests the getIconAsync method with concurrent requests that join the same load
+	 */
+	@Test
+	void testGetIconAsync()
+	{
+		String iconPath = "img/xmas/greendices.png";
+		ImageIconPreloader.getIconCache().invalidate(iconPath);
+		CompletableFuture<ImageIcon> first = ImageIconPreloader.getIconAsync(iconPath);
+		CompletableFuture<ImageIcon> second = ImageIconPreloader.getIconAsync(iconPath);
+		ImageIconPreloader.preloadIcon(iconPath);
+		ImageIcon imageIcon = first.join();
+		assertNotNull(imageIcon);
+		assertSame(imageIcon, second.join());
+		assertSame(imageIcon, ImageIconPreloader.getIcon(iconPath));
+		assertSame(imageIcon, ImageIconPreloader.getIconAsync(iconPath).join());
+
+		CompletableFuture<ImageIcon> missing = ImageIconPreloader
+			.getIconAsync("non/existent/icon.png");
+		assertThrows(CompletionException.class, missing::join);
+		assertNull(ImageIconPreloader.getIcon("non/existent/icon.png"));
+	}
+
+	/**
+	 * Tests the getIcon method with a timeout that waits for the load
+	 */
+	@Test
+	void testGetIconWithTimeout()
+	{
+		String iconPath = "img/xmas/bell.png";
+		ImageIconPreloader.getIconCache().invalidate(iconPath);
+		ImageIcon imageIcon = ImageIconPreloader.getIcon(iconPath, Duration.ofSeconds(30));
+		assertNotNull(imageIcon);
+		assertSame(imageIcon, ImageIconPreloader.getIcon(iconPath, Duration.ZERO));
+		assertNull(ImageIconPreloader.getIcon("non/existent/icon.png", Duration.ofSeconds(30)));
+	}
+
+	/**
+	 * Tests the configureExecutor method with every executor type
+	 */
+	@Test
+	void testConfigureExecutor()
+	{
+		String iconPath = "img/xmas/stars.png";
+		try
+		{
+			for (PreloadExecutorType executorType : PreloadExecutorType.values())
+			{
+				ImageIconPreloader.configureExecutor(
+					PreloadOptions.builder().executorType(executorType).parallelism(2).build());
+				ImageIconPreloader.getIconCache().invalidate(iconPath);
+				assertNotNull(ImageIconPreloader.getIconAsync(iconPath).join());
+			}
+			Executor executor = Runnable::run;
+			ImageIconPreloader.configureExecutor(executor);
+			assertSame(executor, ImageIconPreloader.getExecutor());
+		}
+		finally
+		{
+			ImageIconPreloader.configureExecutor(PreloadOptions.DEFAULT);
+		}
+	}
+
+	/**
+	 * Tests the newExecutor method with virtual threads and a limited parallelism
+	 *
+	 * @throws InterruptedException
+	 *             if the current thread is interrupted
+	 */
+	@Test
+	void testNewExecutorVirtualThreads() throws InterruptedException
+	{
+		Executor executor = ImageIconPreloader.newExecutor(PreloadOptions.builder()
+			.executorType(PreloadExecutorType.VIRTUAL_THREADS).parallelism(2).build());
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maximum = new AtomicInteger();
+		AtomicBoolean virtual = new AtomicBoolean(true);
+		CountDownLatch latch = new CountDownLatch(8);
+		for (int i = 0; i < 8; i++)
+		{
+			executor.execute(() -> {
+				maximum.accumulateAndGet(running.incrementAndGet(), Math::max);
+				virtual.compareAndSet(true, Thread.currentThread().isVirtual());
+				try
+				{
+					Thread.sleep(20);
+				}
+				catch (InterruptedException e)
+				{
+					Thread.currentThread().interrupt();
+				}
+				running.decrementAndGet();
+				latch.countDown();
+			});
+		}
+		assertTrue(latch.await(30, TimeUnit.SECONDS));
+		assertTrue(maximum.get() <= 2);
+		assertTrue(virtual.get());
+	}
+
+	/**
+	 * Tests the newExecutor method with a bounded platform pool and the common pool
+	 */
+	@Test
+	void testNewExecutorPools()
+	{
+		Executor executor = ImageIconPreloader.newExecutor(PreloadOptions.builder()
+			.executorType(PreloadExecutorType.BOUNDED_PLATFORM_POOL).parallelism(3).build());
+		ThreadPoolExecutor pool = assertInstanceOf(ThreadPoolExecutor.class, executor);
+		assertEquals(3, pool.getMaximumPoolSize());
+		Thread thread = CompletableFuture.supplyAsync(Thread::currentThread, pool).join();
+		assertTrue(thread.isDaemon());
+		assertFalse(thread.isVirtual());
+		pool.shutdown();
+
+		assertSame(ForkJoinPool.commonPool(), ImageIconPreloader.newExecutor(
+			PreloadOptions.builder().executorType(PreloadExecutorType.COMMON_POOL).build()));
+		assertThrows(IllegalArgumentException.class,
+			() -> ImageIconPreloader.newExecutor(PreloadOptions.builder().parallelism(0).build()));
+	}
+
+	/**
+	 * Tests the preloadIcon method with a description that joins a running load without a
+	 * description
+	 */
+	@Test
+	void testPreloadIconWithDescriptionJoinsLoad()
+	{
+		String iconPath = "img/xmas/key.png";
+		Queue<Runnable> tasks = new ArrayDeque<>();
+		try
+		{
+			ImageIconPreloader.configureExecutor(tasks::add);
+			ImageIconPreloader.getIconCache().invalidate(iconPath);
+			CompletableFuture<ImageIcon> future = ImageIconPreloader.getIconAsync(iconPath);
+			ImageIconPreloader.preloadIcon(iconPath, "Key icon");
+			while (!tasks.isEmpty())
+			{
+				tasks.remove().run();
+			}
+			assertEquals("Key icon", future.join().getDescription());
+			ImageIconPreloader.preloadIcon(iconPath, "Other icon");
+			assertEquals("Key icon", ImageIconPreloader.getIcon(iconPath).getDescription());
+		}
+		finally
+		{
+			ImageIconPreloader.configureExecutor(PreloadOptions.DEFAULT);
+		}
+	}
 }
@@ -0,0 +1,87 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.icon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.img.ImageResampler;
+import io.github.astrapi69.img.NoiseMode;
+import io.github.astrapi69.img.RandomImageGenerator;
+import io.github.astrapi69.img.ResampleFilter;
+
+/**
+ * The unit test class for the class {@link LazyMultiResolutionImage}
+ */
+class LazyMultiResolutionImageTest
+{
+
+	/**
+	 * Test for method {@link LazyMultiResolutionImage#getResolutionVariant(double, double)}
+	 */
+	@Test
+	void testGetResolutionVariant()
+	{
+		final BufferedImage large = RandomImageGenerator.generate(128, 128,
+			BufferedImage.TYPE_INT_ARGB, NoiseMode.GRADIENT, 3L);
+		final BufferedImage medium = ImageResampler.resize(large, 64, 64);
+		final LazyMultiResolutionImage image = new LazyMultiResolutionImage(32, 32,
+			ResampleFilter.LANCZOS3, List.of(large, medium));
+		assertEquals(32, image.getWidth(null));
+		assertEquals(32, image.getHeight(null));
+		assertSame(large, image.getResolutionVariant(128, 128));
+		assertSame(medium, image.getResolutionVariant(63.6, 64.4));
+
+		final BufferedImage base = image.getResolutionVariant(32, 32);
+		assertEquals(32, base.getWidth());
+		assertSame(base, image.getResolutionVariant(32, 32));
+		final BufferedImage scaled = image.getResolutionVariant(48, 48);
+		assertEquals(48, scaled.getHeight());
+		assertEquals(256, image.getResolutionVariant(256, 256).getWidth());
+
+		final List<Image> variants = image.getResolutionVariants();
+		assertEquals(5, variants.size());
+		assertEquals(32, variants.get(0).getWidth(null));
+		assertEquals(256, variants.get(4).getWidth(null));
+
+		final BufferedImage zoomed = image.getResolutionVariant(50, 50);
+		assertEquals(50, zoomed.getWidth());
+		assertNotSame(zoomed, image.getResolutionVariant(50, 50));
+		assertNotSame(image.getResolutionVariant(320, 320), image.getResolutionVariant(320, 320));
+		assertSame(image.getResolutionVariant(40, 40), image.getResolutionVariant(40, 40));
+		assertEquals(6, image.getResolutionVariants().size());
+		assertThrows(IllegalArgumentException.class, () -> image.getResolutionVariant(0, 10));
+		assertThrows(IllegalArgumentException.class,
+			() -> new LazyMultiResolutionImage(32, 32, ResampleFilter.BICUBIC, List.of()));
+	}
+}
@@ -0,0 +1,90 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.icon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import javax.swing.ImageIcon;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link MultiResolutionImageFactory}
+ */
+class MultiResolutionImageFactoryTest
+{
+
+	/**
+	 * Test for method {@link MultiResolutionImageFactory#newMultiResolutionImage(String)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	void testNewMultiResolutionImageFromResource() throws IOException
+	{
+		final LazyMultiResolutionImage image = MultiResolutionImageFactory
+			.newMultiResolutionImage("img/xmas/key.png");
+		assertEquals(640, image.getWidth(null));
+		assertEquals(360, image.getHeight(null));
+		final BufferedImage variant = image.getResolutionVariant(960, 540);
+		assertEquals(960, variant.getWidth());
+		assertEquals(1, image.getResolutionVariants().size() - 1);
+		assertThrows(IOException.class,
+			() -> MultiResolutionImageFactory.newMultiResolutionImage("img/xmas/missing.png"));
+	}
+
+	/**
+	 * Test for method {@link MultiResolutionImageFactory#newImageIcon(BufferedImage, int, int)}
+	 */
+	@Test
+	void testNewImageIcon()
+	{
+		final ImageIcon icon = MultiResolutionImageFactory
+			.newImageIcon(new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB), 16, 16);
+		assertEquals(16, icon.getIconWidth());
+		assertEquals(16, icon.getIconHeight());
+		assertInstanceOf(LazyMultiResolutionImage.class, icon.getImage());
+	}
+
+	/**
+	 * Test for method {@link MultiResolutionImageFactory#toScaledResourceName(String, double)}
+	 */
+	@Test
+	void testToScaledResourceName()
+	{
+		assertEquals("icons/save@2x.png",
+			MultiResolutionImageFactory.toScaledResourceName("icons/save.png", 2));
+		assertEquals("icons/save@1.5x.png",
+			MultiResolutionImageFactory.toScaledResourceName("icons/save.png", 1.5));
+		assertEquals("icons.d/save@3x",
+			MultiResolutionImageFactory.toScaledResourceName("icons.d/save", 3));
+	}
+}
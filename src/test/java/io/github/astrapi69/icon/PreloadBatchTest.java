@@ -0,0 +1,191 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.icon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.swing.ImageIcon;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.icon.model.PreloadOptions;
+
+/**
+ * The unit test class for the class {@link PreloadBatch}
+ */
+class PreloadBatchTest
+{
+
+	/** The tasks of the manual executor */
+	private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+	private static void invalidate(String... iconPaths)
+	{
+		for (String iconPath : iconPaths)
+		{
+			ImageIconPreloader.getIconCache().invalidate(iconPath);
+		}
+	}
+
+	/**
+	 * Restores the default executor after each test
+	 */
+	@AfterEach
+	void tearDown()
+	{
+		ImageIconPreloader.configureExecutor(PreloadOptions.DEFAULT);
+	}
+
+	/**
+	 * Test for the completion, the counters and the callbacks of a batch
+	 */
+	@Test
+	void testCompletion()
+	{
+		invalidate("img/xmas/stars.png", "img/xmas/key.png");
+		PreloadBatch batch = ImageIconPreloader.preloadIcons("img/xmas/stars.png",
+			"img/xmas/key.png", "non/existent/icon.png", "img/xmas/stars.png");
+		Map<String, ImageIcon> loaded = new ConcurrentHashMap<>();
+		Map<String, Throwable> failed = new ConcurrentHashMap<>();
+		batch.onIconLoaded(loaded::put).onIconFailed(failed::put);
+		assertEquals(List.of("img/xmas/stars.png", "img/xmas/key.png", "non/existent/icon.png"),
+			List.copyOf(batch.getIconPaths()));
+		assertEquals(3, batch.getTotalCount());
+
+		Map<String, ImageIcon> icons = batch.getCompletion().join();
+		assertEquals(List.of("img/xmas/stars.png", "img/xmas/key.png"),
+			List.copyOf(icons.keySet()));
+		assertEquals(icons, loaded);
+		assertEquals(batch.getFailures(), failed);
+		assertTrue(failed.containsKey("non/existent/icon.png"));
+		assertEquals(2, batch.getLoadedCount());
+		assertEquals(1, batch.getFailedCount());
+		assertEquals(3, batch.getDoneCount());
+		assertEquals(1f, batch.getProgress());
+		assertTrue(batch.isDone());
+		assertFalse(batch.isCancelled());
+		assertFalse(batch.cancel());
+		assertNotNull(ImageIconPreloader.getIcon("img/xmas/key.png"));
+	}
+
+	/**
+	 * Test for the completion of a part of a batch
+	 */
+	@Test
+	void testCompletionOfIcons()
+	{
+		ImageIconPreloader.configureExecutor(tasks::add);
+		invalidate("img/xmas/stars.png", "img/xmas/key.png");
+		PreloadBatch batch = ImageIconPreloader.preloadIcons("img/xmas/stars.png",
+			"img/xmas/key.png");
+		CompletableFuture<Map<String, ImageIcon>> critical = batch
+			.getCompletion("img/xmas/key.png");
+		assertEquals(0f, batch.getProgress());
+		assertThrows(IllegalArgumentException.class,
+			() -> batch.getCompletion("img/xmas/bell.png"));
+
+		tasks.remove().run();
+		assertFalse(critical.isDone());
+		tasks.remove().run();
+		assertEquals(List.of("img/xmas/key.png"), List.copyOf(critical.join().keySet()));
+		assertEquals(2, batch.getCompletion().join().size());
+	}
+
+	/**
+	 * Test for method {@link PreloadBatch#cancel()}
+	 */
+	@Test
+	void testCancel()
+	{
+		ImageIconPreloader.configureExecutor(tasks::add);
+		invalidate("img/xmas/stars.png", "img/xmas/key.png");
+		PreloadBatch batch = ImageIconPreloader.preloadIcons("img/xmas/stars.png",
+			"img/xmas/key.png");
+		CompletableFuture<ImageIcon> joined = ImageIconPreloader.getIconAsync("img/xmas/key.png");
+		assertTrue(batch.cancel());
+		assertTrue(batch.isCancelled());
+		assertTrue(batch.isDone());
+		assertEquals(0, batch.getLoadedCount());
+		assertEquals(0, batch.getFailedCount());
+		CompletionException exception = assertThrows(CompletionException.class,
+			() -> batch.getCompletion().join());
+		assertInstanceOf(CancellationException.class, exception.getCause());
+
+		while (!tasks.isEmpty())
+		{
+			tasks.remove().run();
+		}
+		assertNull(ImageIconPreloader.getIcon("img/xmas/stars.png"));
+		assertNotNull(joined.join());
+		assertNotNull(ImageIconPreloader.getIcon("img/xmas/key.png"));
+	}
+
+	/**
+	 * Test for the callbacks of a batch that are registered before and after the icons are done
+	 */
+	@Test
+	void testCallbacks()
+	{
+		ImageIconPreloader.configureExecutor(tasks::add);
+		invalidate("img/xmas/stars.png");
+		PreloadBatch batch = ImageIconPreloader.preloadIcons("img/xmas/stars.png",
+			"non/existent/icon.png");
+		List<String> events = new CopyOnWriteArrayList<>();
+		batch.onIconLoaded((iconPath, imageIcon) -> {
+			events.add("before " + batch.getLoadedCount());
+			throw new IllegalStateException("callback failed");
+		}).onIconFailed((iconPath, error) -> events.add("failed " + batch.getFailedCount()));
+		CompletableFuture<Map<String, ImageIcon>> completion = batch.getCompletion()
+			.thenApply(icons -> {
+				events.add("completed");
+				return icons;
+			});
+		while (!tasks.isEmpty())
+		{
+			tasks.remove().run();
+		}
+		assertEquals(1, completion.join().size());
+		batch.onIconLoaded((iconPath, imageIcon) -> events.add("after " + iconPath));
+		assertEquals(List.of("before 1", "failed 1", "completed", "after img/xmas/stars.png"),
+			events);
+	}
+}
@@ -0,0 +1,286 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.icon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.ImageIcon;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.icon.model.PreloadOptions;
+
+/**
+ * The unit test class for the class {@link PreloadScheduler}
+ */
+class PreloadSchedulerTest
+{
+
+	/** The paths of the icons */
+	private static final String STARS = "img/xmas/stars.png";
+	private static final String KEY = "img/xmas/key.png";
+	private static final String BELL = "img/xmas/bell.png";
+
+	/** The tasks of the manual executor */
+	private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+	/** The paths of the icons in the order they were loaded */
+	private final List<String> loaded = new ArrayList<>();
+
+	private CompletableFuture<ImageIcon> schedule(PreloadScheduler scheduler, String iconPath,
+		PreloadPriority priority)
+	{
+		CompletableFuture<ImageIcon> future = scheduler.schedule(iconPath, priority);
+		future.thenRun(() -> loaded.add(iconPath));
+		return future;
+	}
+
+	private void runTasks()
+	{
+		while (!tasks.isEmpty())
+		{
+			tasks.remove().run();
+		}
+	}
+
+	/**
+	 * Sets up the manual executor and removes the icons from the cache before each test
+	 */
+	@BeforeEach
+	void setUp()
+	{
+		ImageIconPreloader.configureExecutor(tasks::add);
+		for (String iconPath : List.of(STARS, KEY, BELL))
+		{
+			ImageIconPreloader.getIconCache().invalidate(iconPath);
+		}
+	}
+
+	/**
+	 * Runs the remaining tasks and restores the default executor after each test
+	 */
+	@AfterEach
+	void tearDown()
+	{
+		runTasks();
+		ImageIconPreloader.configureExecutor(PreloadOptions.DEFAULT);
+	}
+
+	/**
+	 * Test for the order of the loads by priority
+	 */
+	@Test
+	void testSchedule()
+	{
+		PreloadScheduler scheduler = new PreloadScheduler(1);
+		schedule(scheduler, BELL, PreloadPriority.BACKGROUND);
+		schedule(scheduler, KEY, PreloadPriority.LIKELY_SOON);
+		CompletableFuture<ImageIcon> stars = schedule(scheduler, STARS,
+			PreloadPriority.VISIBLE_NOW);
+		assertEquals(3, scheduler.getQueuedCount());
+		assertEquals(1, scheduler.getQueuedCount(PreloadPriority.BACKGROUND));
+		assertEquals(1, tasks.size());
+
+		runTasks();
+		assertEquals(List.of(STARS, KEY, BELL), loaded);
+		assertEquals(0, scheduler.getQueuedCount());
+		assertNotNull(stars.join());
+		assertNotNull(ImageIconPreloader.getIcon(BELL));
+		assertThrows(IllegalArgumentException.class, () -> new PreloadScheduler(0));
+	}
+
+	/**
+	 * Test for method {@link PreloadScheduler#promote(String, PreloadPriority)}
+	 */
+	@Test
+	void testPromote()
+	{
+		PreloadScheduler scheduler = new PreloadScheduler(1);
+		schedule(scheduler, BELL, PreloadPriority.BACKGROUND);
+		schedule(scheduler, KEY, PreloadPriority.BACKGROUND);
+		schedule(scheduler, STARS, PreloadPriority.LIKELY_SOON);
+		assertTrue(scheduler.promote(KEY, PreloadPriority.VISIBLE_NOW));
+		assertFalse(scheduler.promote(KEY, PreloadPriority.BACKGROUND));
+		assertFalse(scheduler.promote("non/existent/icon.png", PreloadPriority.VISIBLE_NOW));
+		assertEquals(PreloadPriority.VISIBLE_NOW, scheduler.getPriority(KEY));
+		schedule(scheduler, BELL, PreloadPriority.VISIBLE_NOW);
+		assertEquals(3, scheduler.getQueuedCount());
+
+		runTasks();
+		assertEquals(List.of(KEY, BELL, BELL, STARS), loaded);
+		assertNull(scheduler.getPriority(KEY));
+	}
+
+	/**
+	 * Test for method {@link PreloadScheduler#cancel(String...)}
+	 */
+	@Test
+	void testCancel()
+	{
+		PreloadScheduler scheduler = new PreloadScheduler(2);
+		CompletableFuture<ImageIcon> bell = schedule(scheduler, BELL, PreloadPriority.BACKGROUND);
+		schedule(scheduler, KEY, PreloadPriority.BACKGROUND);
+		schedule(scheduler, STARS, PreloadPriority.BACKGROUND);
+		CompletableFuture<ImageIcon> joined = ImageIconPreloader.getIconAsync(KEY);
+		assertEquals(2, tasks.size());
+
+		assertEquals(1, scheduler.cancel(BELL, KEY));
+		assertTrue(bell.isCompletedExceptionally());
+		assertNull(scheduler.getPriority(BELL));
+		assertEquals(PreloadPriority.VISIBLE_NOW, scheduler.getPriority(KEY));
+		assertFalse(scheduler.cancel(BELL));
+		assertTrue(scheduler.cancel(STARS));
+
+		CompletableFuture<ImageIcon> again = schedule(scheduler, BELL, PreloadPriority.LIKELY_SOON);
+		runTasks();
+		assertNotNull(joined.join());
+		assertNotNull(again.join());
+		assertEquals(List.of(KEY, BELL), loaded);
+		assertNull(ImageIconPreloader.getIcon(STARS));
+	}
+
+	/**
+	 * Test for method {@link PreloadScheduler#cancel(String)} with a callback of the cancelled load
+	 * that calls the scheduler from another thread
+	 */
+	@Test
+	void testCancelWithCallback()
+	{
+		PreloadScheduler scheduler = new PreloadScheduler(1);
+		schedule(scheduler, KEY, PreloadPriority.BACKGROUND);
+		List<Integer> counts = new ArrayList<>();
+		schedule(scheduler, BELL, PreloadPriority.BACKGROUND).whenComplete((imageIcon,
+			error) -> counts.add(CompletableFuture.supplyAsync(scheduler::getQueuedCount)
+				.completeOnTimeout(-1, 5, TimeUnit.SECONDS).join()));
+
+		assertTrue(scheduler.cancel(BELL));
+		assertEquals(List.of(1), counts);
+	}
+
+	/**
+	 * Test for the promotion of a queued icon that is joined by
+	 * {@link ImageIconPreloader#getIconAsync(String)}
+	 */
+	@Test
+	void testPromoteOnGet()
+	{
+		PreloadScheduler scheduler = new PreloadScheduler(1);
+		schedule(scheduler, BELL, PreloadPriority.LIKELY_SOON);
+		schedule(scheduler, KEY, PreloadPriority.BACKGROUND);
+		schedule(scheduler, STARS, PreloadPriority.BACKGROUND);
+		CompletableFuture<ImageIcon> stars = ImageIconPreloader.getIconAsync(STARS);
+		assertEquals(PreloadPriority.VISIBLE_NOW, scheduler.getPriority(STARS));
+		assertEquals(PreloadPriority.BACKGROUND, scheduler.getPriority(KEY));
+
+		runTasks();
+		assertEquals(List.of(STARS, BELL, KEY), loaded);
+		assertNotNull(stars.join());
+	}
+
+	/**
+	 * Test for method {@link PreloadScheduler#cancel(String)} that must not abandon the loads of
+	 * other callers
+	 */
+	@Test
+	void testCancelForeignLoads()
+	{
+		PreloadScheduler scheduler = ImageIconPreloader.getScheduler();
+		PreloadBatch batch = ImageIconPreloader.preloadIcons(PreloadPriority.BACKGROUND, BELL);
+		assertFalse(scheduler.cancel(BELL));
+		assertFalse(scheduler.cancel(BELL));
+
+		CompletableFuture<ImageIcon> key = ImageIconPreloader.preloadIcon(KEY,
+			PreloadPriority.BACKGROUND);
+		CompletableFuture<ImageIcon> joined = ImageIconPreloader.getIconAsync(KEY);
+		assertFalse(scheduler.cancel(KEY));
+		assertFalse(scheduler.cancel(KEY));
+		assertEquals(2, scheduler.getQueuedCount());
+
+		runTasks();
+		assertEquals(1, batch.getCompletion().join().size());
+		assertNotNull(key.join());
+		assertNotNull(joined.join());
+	}
+
+	/**
+	 * Test for a direct executor that must not load the icons while the scheduler is locked
+	 */
+	@Test
+	void testScheduleWithDirectExecutor()
+	{
+		PreloadScheduler scheduler = new PreloadScheduler(1);
+		List<Integer> counts = new ArrayList<>();
+		ImageIconPreloader.configureExecutor(task -> {
+			counts.add(CompletableFuture.supplyAsync(scheduler::getQueuedCount)
+				.completeOnTimeout(-1, 5, TimeUnit.SECONDS).join());
+			task.run();
+		});
+		CompletableFuture<ImageIcon> bell = schedule(scheduler, BELL, PreloadPriority.BACKGROUND);
+		assertNotNull(bell.join());
+		assertEquals(List.of(1), counts);
+		assertEquals(0, scheduler.getQueuedCount());
+
+		ImageIconPreloader.configureExecutor(task -> {
+			throw new RejectedExecutionException("rejected");
+		});
+		CompletableFuture<ImageIcon> key = schedule(scheduler, KEY, PreloadPriority.BACKGROUND);
+		assertTrue(key.isCompletedExceptionally());
+		assertEquals(0, scheduler.getQueuedCount());
+	}
+
+	/**
+	 * Test for the preload methods of {@link ImageIconPreloader} with a priority
+	 */
+	@Test
+	void testPreloadWithPriority()
+	{
+		PreloadBatch batch = ImageIconPreloader.preloadIcons(PreloadPriority.BACKGROUND, BELL, KEY);
+		CompletableFuture<ImageIcon> stars = ImageIconPreloader.preloadIcon(STARS,
+			PreloadPriority.VISIBLE_NOW);
+		assertEquals(PreloadPriority.BACKGROUND,
+			ImageIconPreloader.getScheduler().getPriority(KEY));
+		ImageIconPreloader.getScheduler().promote(KEY, PreloadPriority.LIKELY_SOON);
+
+		runTasks();
+		assertNotNull(stars.join());
+		assertEquals(2, batch.getCompletion().join().size());
+		assertEquals(0, ImageIconPreloader.getScheduler().getQueuedCount());
+	}
+}
@@ -0,0 +1,97 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.icon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.ImageIcon;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.img.ImageAtlasBuilder;
+import io.github.astrapi69.img.model.ImageAtlas;
+
+/**
+ * The unit test class for the class {@link SpriteSheet}
+ */
+class SpriteSheetTest
+{
+
+	/**
+	 * Test for method {@link SpriteSheet#getIcons(int, int)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	void testGetIconsByCells() throws IOException
+	{
+		final SpriteSheet sheet = SpriteSheet.load("img/xmas/key.png");
+		final List<ImageIcon> icons = sheet.getIcons(100, 64);
+		assertEquals(6 * 5, icons.size());
+		final BufferedImage cell = (BufferedImage)icons.get(6 + 2).getImage();
+		assertEquals(100, cell.getWidth());
+		assertEquals(64, cell.getHeight());
+		assertSame(sheet.getImage().getRaster().getDataBuffer(), cell.getRaster().getDataBuffer());
+		assertEquals(sheet.getImage().getRGB(250, 100), cell.getRGB(50, 36));
+		assertThrows(IllegalArgumentException.class, () -> sheet.getIcons(0, 64));
+		assertThrows(IOException.class, () -> SpriteSheet.load("img/xmas/missing.png"));
+	}
+
+	/**
+	 * Test for method {@link SpriteSheet#getIcons()} with the index of an {@link ImageAtlas}
+	 */
+	@Test
+	void testGetIconsByName()
+	{
+		final Map<String, BufferedImage> images = new LinkedHashMap<>();
+		for (int i = 0; i < 5; i++)
+		{
+			final BufferedImage image = new BufferedImage(16, 16 + i, BufferedImage.TYPE_INT_ARGB);
+			image.setRGB(3, 4, 0xff000000 | i);
+			images.put("icon" + i, image);
+		}
+		final SpriteSheet sheet = new SpriteSheet(ImageAtlasBuilder.build(images));
+		final Map<String, ImageIcon> icons = sheet.getIcons();
+		assertEquals(images.keySet(), icons.keySet());
+		icons.forEach((name, icon) -> {
+			final BufferedImage image = (BufferedImage)icon.getImage();
+			assertEquals(name, icon.getDescription());
+			assertEquals(images.get(name).getHeight(), icon.getIconHeight());
+			assertEquals(images.get(name).getRGB(3, 4), image.getRGB(3, 4));
+			assertSame(sheet.getImage().getRaster().getDataBuffer(),
+				image.getRaster().getDataBuffer());
+		});
+		assertThrows(IllegalArgumentException.class, () -> sheet.getIcon("unknown"));
+	}
+}
@@ -0,0 +1,215 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.icon.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import javax.swing.ImageIcon;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.icon.model.IconCacheOptions;
+
+/**
+ * The unit test class for the class {@link IconCache}
+ */
+class IconCacheTest
+{
+
+	/** The weight of an icon of 10 x 10 pixels */
+	private static final long WEIGHT = 10 * 10 * 4;
+
+	private static ImageIcon newIcon(final int width, final int height)
+	{
+		return new ImageIcon(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB));
+	}
+
+	private static int countHotKeys(final EvictionPolicy evictionPolicy)
+	{
+		final IconCache cache = new IconCache(IconCacheOptions.builder().maximumWeight(100 * WEIGHT)
+			.evictionPolicy(evictionPolicy).build());
+		final ImageIcon icon = newIcon(10, 10);
+		for (int i = 0; i < 50; i++)
+		{
+			cache.put("hot" + i, icon);
+		}
+		for (int round = 0; round < 5; round++)
+		{
+			for (int i = 0; i < 50; i++)
+			{
+				cache.get("hot" + i);
+			}
+			cache.cleanUp();
+		}
+		for (int i = 0; i < 1000; i++)
+		{
+			cache.put("cold" + i, icon);
+		}
+		assertTrue(cache.getWeight() <= 100 * WEIGHT);
+		int count = 0;
+		for (int i = 0; i < 50; i++)
+		{
+			if (cache.get("hot" + i) != null)
+			{
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Test for method {@link IconCache#weigh(ImageIcon)}
+	 */
+	@Test
+	void testWeigh()
+	{
+		assertEquals(765 * 800 * 4, IconCache.weigh(newIcon(765, 800)));
+		assertEquals(4, IconCache.weigh(new ImageIcon()));
+	}
+
+	/**
+	 * Test for the eviction with the policy {@link EvictionPolicy#LRU}
+	 */
+	@Test
+	void testLru()
+	{
+		final IconCache cache = new IconCache(IconCacheOptions.builder().maximumWeight(3 * WEIGHT)
+			.evictionPolicy(EvictionPolicy.LRU).build());
+		final ImageIcon a = newIcon(10, 10);
+		cache.put("a", a);
+		cache.put("b", newIcon(10, 10));
+		cache.put("c", newIcon(10, 10));
+		assertSame(a, cache.get("a"));
+		cache.put("d", newIcon(10, 10));
+		assertNull(cache.get("b"));
+		assertSame(a, cache.get("a"));
+		assertNotNull(cache.get("c"));
+		assertNotNull(cache.get("d"));
+		assertEquals(3, cache.size());
+		assertEquals(3 * WEIGHT, cache.getWeight());
+
+		cache.put("e", newIcon(20, 10));
+		assertEquals(2, cache.size());
+		assertEquals(3 * WEIGHT, cache.getWeight());
+		cache.put("huge", newIcon(100, 100));
+		assertNull(cache.get("huge"));
+		assertTrue(cache.getWeight() <= 3 * WEIGHT);
+	}
+
+	/**
+	 * Test for the eviction with the policy {@link EvictionPolicy#WINDOW_TINY_LFU}, that keeps
+	 * frequently used icons while many icons are used once
+	 */
+	@Test
+	void testWindowTinyLfu()
+	{
+		assertTrue(countHotKeys(EvictionPolicy.WINDOW_TINY_LFU) >= 45);
+		assertEquals(0, countHotKeys(EvictionPolicy.LRU));
+	}
+
+	/**
+	 * Test for the expiration after access
+	 */
+	@Test
+	void testExpireAfterAccess()
+	{
+		final AtomicLong time = new AtomicLong();
+		final IconCache cache = new IconCache(
+			IconCacheOptions.builder().expireAfterAccess(Duration.ofSeconds(1)).build(), time::get);
+		cache.put("a", newIcon(10, 10));
+		cache.put("b", newIcon(10, 10));
+		time.set(Duration.ofMillis(500).toNanos());
+		assertNotNull(cache.get("a"));
+		time.set(Duration.ofMillis(1400).toNanos());
+		assertNotNull(cache.get("a"));
+		assertNull(cache.get("b"));
+		assertEquals(2, cache.size());
+		cache.cleanUp();
+		assertEquals(1, cache.size());
+		assertEquals(WEIGHT, cache.getWeight());
+		time.set(Duration.ofMillis(2500).toNanos());
+		assertNull(cache.get("a"));
+		cache.cleanUp();
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getWeight());
+	}
+
+	/**
+	 * Test for the methods {@link IconCache#invalidate(String)} and
+	 * {@link IconCache#invalidateAll()} with soft values
+	 */
+	@Test
+	void testInvalidate()
+	{
+		final IconCache cache = new IconCache(IconCacheOptions.builder().softValues(true).build());
+		final ImageIcon icon = newIcon(10, 10);
+		cache.put("a", icon);
+		cache.put("b", icon);
+		cache.put("b", newIcon(20, 20));
+		assertSame(icon, cache.get("a"));
+		assertEquals(WEIGHT + 4 * WEIGHT, cache.getWeight());
+		cache.invalidate("a");
+		assertNull(cache.get("a"));
+		assertEquals(4 * WEIGHT, cache.getWeight());
+		cache.invalidateAll();
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getWeight());
+		assertThrows(NullPointerException.class, () -> cache.put("a", null));
+		assertThrows(IllegalArgumentException.class,
+			() -> new IconCache(IconCacheOptions.builder().maximumWeight(-1).build()));
+	}
+
+	/**
+	 * Test for concurrent reads and writes
+	 */
+	@Test
+	void testConcurrentAccess()
+	{
+		final IconCache cache = new IconCache(
+			IconCacheOptions.builder().maximumWeight(64 * WEIGHT).build());
+		final ImageIcon icon = newIcon(10, 10);
+		IntStream.range(0, 20_000).parallel().forEach(i -> {
+			final String key = "key" + ThreadLocalRandom.current().nextInt(256);
+			if (cache.get(key) == null)
+			{
+				cache.put(key, icon);
+			}
+		});
+		cache.cleanUp();
+		assertTrue(cache.getWeight() <= 64 * WEIGHT);
+		assertEquals(cache.getWeight(), cache.size() * WEIGHT);
+	}
+}
@@ -0,0 +1,69 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link ByteBufferImageInputStream}
+ */
+class ByteBufferImageInputStreamTest
+{
+
+	/**
+	 * Test for the read and seek methods of {@link ByteBufferImageInputStream}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	void testReadAndSeek() throws IOException
+	{
+		final ByteBuffer buffer = ByteBuffer.wrap(new byte[] { 9, 9, 0, 0, 0, 42, 1, 2, 3, -1 });
+		buffer.position(2);
+		try (ByteBufferImageInputStream stream = new ByteBufferImageInputStream(buffer))
+		{
+			assertEquals(8, stream.length());
+			assertEquals(42, stream.readInt());
+			assertEquals(1, stream.read());
+			final byte[] bytes = new byte[5];
+			assertEquals(3, stream.read(bytes, 0, 5));
+			assertArrayEquals(new byte[] { 2, 3, -1, 0, 0 }, bytes);
+			assertEquals(-1, stream.read());
+			assertEquals(-1, stream.read(bytes, 0, 5));
+
+			stream.seek(4);
+			assertEquals(1, stream.read());
+			assertEquals(5, stream.getStreamPosition());
+		}
+		assertEquals(2, buffer.position());
+	}
+}
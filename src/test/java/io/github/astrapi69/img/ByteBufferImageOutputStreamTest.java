@@ -0,0 +1,122 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link ByteBufferImageOutputStream}
+ */
+class ByteBufferImageOutputStreamTest
+{
+
+	/**
+	 * Test for the write, seek and read methods of {@link ByteBufferImageOutputStream}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	void testWriteSeekAndRead() throws IOException
+	{
+		final ByteBufferImageOutputStream stream = new ByteBufferImageOutputStream(4);
+		stream.writeInt(0);
+		stream.write(new byte[] { 1, 2, 3, 4, 5, 6 });
+		stream.seek(0);
+		stream.writeInt(42);
+		assertEquals(10, stream.length());
+
+		stream.seek(0);
+		assertEquals(42, stream.readInt());
+		assertEquals(1, stream.read());
+
+		assertArrayEquals(new byte[] { 0, 0, 0, 42, 1, 2, 3, 4, 5, 6 }, stream.toByteArray());
+		final ByteBuffer buffer = stream.toByteBuffer();
+		assertTrue(buffer.isReadOnly());
+		assertEquals(10, buffer.remaining());
+		assertEquals(42, buffer.getInt());
+
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		assertEquals(10, stream.writeTo(output));
+		assertEquals(10, stream.writeTo(Channels.newChannel(output)));
+		assertEquals(20, output.size());
+
+		stream.clear();
+		assertEquals(0, stream.length());
+		assertEquals(0, stream.toByteArray().length);
+		stream.close();
+		assertThrows(IOException.class, () -> stream.write(1));
+	}
+
+	/**
+	 * Test for method {@link ByteBufferImageOutputStream#pooled()}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	void testPooled() throws IOException
+	{
+		final ByteBufferImageOutputStream pooled = ByteBufferImageOutputStream.pooled();
+		pooled.write(new byte[] { 1, 2, 3 });
+		assertSame(pooled, ByteBufferImageOutputStream.pooled());
+		assertEquals(0, pooled.length());
+
+		pooled.close();
+		assertNotSame(pooled, ByteBufferImageOutputStream.pooled());
+	}
+
+	/**
+	 * Test for method {@link ByteBufferImageOutputStream#recycle()}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	void testRecycle() throws IOException
+	{
+		final ByteBufferImageOutputStream pooled = ByteBufferImageOutputStream.pooled();
+		pooled.write(new byte[] { 1, 2, 3 });
+		pooled.recycle();
+		assertSame(pooled, ByteBufferImageOutputStream.pooled());
+
+		pooled.write(new byte[ByteBufferImageOutputStream.MAX_POOLED_CAPACITY + 1]);
+		pooled.recycle();
+		assertEquals(ByteBufferImageOutputStream.MAX_POOLED_CAPACITY + 1, pooled.length());
+		assertNotSame(pooled, ByteBufferImageOutputStream.pooled());
+	}
+}
@@ -0,0 +1,205 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import io.github.astrapi69.img.model.AtlasOptions;
+import io.github.astrapi69.img.model.ImageAtlas;
+import io.github.astrapi69.lang.ClassExtensions;
+
+/**
+ * The unit test class for the class {@link ImageAtlasBuilder}
+ */
+class ImageAtlasBuilderTest
+{
+
+	private static Map<String, BufferedImage> newImages()
+	{
+		final Map<String, BufferedImage> images = new LinkedHashMap<>();
+		for (int i = 0; i < 12; i++)
+		{
+			final BufferedImage image = new BufferedImage(20 + i * 7, 90 - i * 5,
+				i % 2 == 0 ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_3BYTE_BGR);
+			for (int y = 0; y < image.getHeight(); y++)
+			{
+				for (int x = 0; x < image.getWidth(); x++)
+				{
+					image.setRGB(x, y, 0xff000000 | i << 16 | x << 8 | y);
+				}
+			}
+			images.put("icon" + i, image);
+		}
+		return images;
+	}
+
+	private static void assertAtlas(final Map<String, BufferedImage> images, final ImageAtlas atlas)
+	{
+		assertEquals(images.keySet(), atlas.getIndex().keySet());
+		final List<Rectangle> bounds = new ArrayList<>(atlas.getIndex().values());
+		for (int i = 0; i < bounds.size(); i++)
+		{
+			for (int j = i + 1; j < bounds.size(); j++)
+			{
+				assertFalse(bounds.get(i).intersects(bounds.get(j)));
+			}
+		}
+		images.forEach((name, image) -> {
+			final Rectangle rectangle = atlas.getIndex().get(name);
+			assertEquals(image.getWidth(), rectangle.width);
+			assertEquals(image.getHeight(), rectangle.height);
+			for (int y = 0; y < image.getHeight(); y++)
+			{
+				for (int x = 0; x < image.getWidth(); x++)
+				{
+					assertEquals(image.getRGB(x, y),
+						atlas.getImage().getRGB(rectangle.x + x, rectangle.y + y));
+				}
+			}
+		});
+	}
+
+	/**
+	 * Test for method {@link ImageAtlasBuilder#build(Map, AtlasOptions)} with all layouts
+	 *
+	 * @param layout
+	 *            the layout
+	 */
+	@ParameterizedTest
+	@EnumSource(AtlasLayout.class)
+	void testBuild(AtlasLayout layout)
+	{
+		final Map<String, BufferedImage> images = newImages();
+		final ImageAtlas atlas = ImageAtlasBuilder.build(images,
+			AtlasOptions.builder().layout(layout).padding(2).build());
+		assertAtlas(images, atlas);
+		assertEquals(BufferedImage.TYPE_INT_ARGB, atlas.getImage().getType());
+		final Rectangle union = new Rectangle();
+		atlas.getIndex().values().forEach(union::add);
+		assertEquals(union.width, atlas.getImage().getWidth());
+		assertEquals(union.height, atlas.getImage().getHeight());
+		if (layout == AtlasLayout.ROW)
+		{
+			assertEquals(90, atlas.getImage().getHeight());
+		}
+		if (layout == AtlasLayout.GRID)
+		{
+			assertEquals(4 * (97 + 2) - 2, atlas.getImage().getWidth());
+		}
+	}
+
+	/**
+	 * Test for method {@link ImageAtlasBuilder#build(Map, AtlasOptions, ForkJoinPool)} with large
+	 * images that are copied in parallel and a maximum shelf width
+	 */
+	@Test
+	void testBuildParallel()
+	{
+		final Map<String, BufferedImage> images = new LinkedHashMap<>();
+		images.put("bell",
+			ImageExtensions.readQuietly(ClassExtensions.getResourceAsStream("img/xmas/bell.png")));
+		images.put("stars",
+			ImageExtensions.readQuietly(ClassExtensions.getResourceAsStream("img/xmas/stars.png")));
+		images.put("key",
+			ImageExtensions.readQuietly(ClassExtensions.getResourceAsStream("img/xmas/key.png")));
+		final ForkJoinPool pool = new ForkJoinPool(3);
+		try
+		{
+			final ImageAtlas atlas = ImageAtlasBuilder.build(images,
+				AtlasOptions.builder().maxWidth(1600).build(), pool);
+			assertAtlas(images, atlas);
+			assertEquals(765 + 757, atlas.getImage().getWidth());
+			assertEquals(800 + 360, atlas.getImage().getHeight());
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Test for method
+	 * {@link ImageAtlasBuilder#copy(BufferedImage, BufferedImage[], Rectangle[], ForkJoinPool)}
+	 * with binary tiles at offsets that are not aligned to a byte
+	 */
+	@Test
+	void testCopyBinaryTiles()
+	{
+		final BufferedImage[] tiles = new BufferedImage[64];
+		final Rectangle[] bounds = new Rectangle[tiles.length];
+		for (int i = 0; i < tiles.length; i++)
+		{
+			tiles[i] = new BufferedImage(13, 600, BufferedImage.TYPE_BYTE_BINARY);
+			final byte[] data = ((DataBufferByte)tiles[i].getRaster().getDataBuffer()).getData();
+			Arrays.fill(data, (byte)0xFF);
+			bounds[i] = new Rectangle(i * 13, 0, 13, 600);
+		}
+		final byte[] white = new byte[tiles.length * 13 / 8 * 600];
+		Arrays.fill(white, (byte)0xFF);
+		final ForkJoinPool pool = new ForkJoinPool(8);
+		try
+		{
+			for (int run = 0; run < 100; run++)
+			{
+				final BufferedImage target = new BufferedImage(tiles.length * 13, 600,
+					BufferedImage.TYPE_BYTE_BINARY);
+				ImageAtlasBuilder.copy(target, tiles, bounds, pool);
+				assertArrayEquals(white,
+					((DataBufferByte)target.getRaster().getDataBuffer()).getData());
+			}
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Test for method {@link ImageAtlasBuilder#build(Map)} with empty images
+	 */
+	@Test
+	void testBuildEmpty()
+	{
+		assertThrows(IllegalArgumentException.class,
+			() -> ImageAtlasBuilder.build(new LinkedHashMap<>()));
+	}
+}
@@ -0,0 +1,203 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.img.model.DecodeResult;
+
+/**
+ * The unit test class for the class {@link ImageBatchDecoder}
+ */
+class ImageBatchDecoderTest
+{
+
+	/**
+	 * Test for method {@link ImageBatchDecoder#decodeAll(java.util.stream.Stream)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws InterruptedException
+	 *             if the test thread was interrupted
+	 */
+	@Test
+	void testDecodeAll() throws IOException, InterruptedException
+	{
+		final byte[] png = ImageExtensions
+			.toByteArray(new BufferedImage(12, 7, BufferedImage.TYPE_INT_ARGB), "png");
+		final byte[] invalid = new byte[] { 1, 2, 3 };
+
+		final List<DecodeResult> results = new ImageBatchDecoder()
+			.decodeAll(IntStream.range(0, 50).mapToObj(i -> i % 10 == 3 ? invalid : png));
+		assertEquals(50, results.size());
+		for (int i = 0; i < results.size(); i++)
+		{
+			final DecodeResult result = results.get(i);
+			assertEquals(i, result.getIndex());
+			if (i % 10 == 3)
+			{
+				assertFalse(result.isSuccessful());
+				assertNull(result.getImage());
+				assertNotNull(result.getError());
+			}
+			else
+			{
+				assertTrue(result.isSuccessful());
+				assertEquals(12, result.getImage().getWidth());
+			}
+		}
+	}
+
+	/**
+	 * Test for method
+	 * {@link ImageBatchDecoder#decode(java.util.Iterator, ImageBatchDecoder.Decoder, java.util.function.Consumer)}
+	 * with virtual threads and a bounded window
+	 *
+	 * @throws InterruptedException
+	 *             if the test thread was interrupted
+	 */
+	@Test
+	void testDecodeWithBoundedWindow() throws InterruptedException
+	{
+		final AtomicInteger inFlight = new AtomicInteger();
+		final AtomicInteger maxInFlight = new AtomicInteger();
+		final AtomicInteger count = new AtomicInteger();
+		final AtomicInteger failedIndex = new AtomicInteger(-1);
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+		{
+			new ImageBatchDecoder(executor, 3).decode(IntStream.range(0, 40).iterator(), source -> {
+				maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+				try
+				{
+					Thread.sleep(2);
+				}
+				catch (InterruptedException e)
+				{
+					Thread.currentThread().interrupt();
+				}
+				inFlight.decrementAndGet();
+				if (source == 7)
+				{
+					throw new IOException("source 7");
+				}
+				return new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+			}, result -> {
+				count.incrementAndGet();
+				if (!result.isSuccessful())
+				{
+					failedIndex.set((int)result.getIndex());
+				}
+			});
+		}
+		assertEquals(40, count.get());
+		assertEquals(7, failedIndex.get());
+		assertTrue(maxInFlight.get() <= 3);
+		assertThrows(IllegalArgumentException.class, () -> new ImageBatchDecoder(Runnable::run, 0));
+	}
+
+	/**
+	 * Test for method
+	 * {@link ImageBatchDecoder#decode(java.util.Iterator, ImageBatchDecoder.Decoder, java.util.function.Consumer)}
+	 * with a decoder that throws an {@link Error}
+	 *
+	 * @throws InterruptedException
+	 *             if the test thread was interrupted
+	 */
+	@Test
+	void testDecodeWithError() throws InterruptedException
+	{
+		final Queue<DecodeResult> results = new ConcurrentLinkedQueue<>();
+		new ImageBatchDecoder(Runnable::run, 2).decode(IntStream.range(0, 3).iterator(), source -> {
+			if (source == 1)
+			{
+				throw new OutOfMemoryError("source 1");
+			}
+			return new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+		}, results::add);
+		assertEquals(3, results.size());
+		final DecodeResult failed = results.stream().filter(result -> result.getIndex() == 1)
+			.findFirst().orElseThrow();
+		assertInstanceOf(OutOfMemoryError.class, failed.getError());
+	}
+
+	/**
+	 * Test for method
+	 * {@link ImageBatchDecoder#decode(java.util.Iterator, ImageBatchDecoder.Decoder, java.util.function.Consumer)}
+	 * with an executor that fails, the consumer must not be called after the method returned
+	 *
+	 * @throws InterruptedException
+	 *             if the test thread was interrupted
+	 */
+	@Test
+	void testDecodeWithFailingExecutor() throws InterruptedException
+	{
+		final AtomicInteger submitted = new AtomicInteger();
+		final AtomicInteger count = new AtomicInteger();
+		final Executor executor = task -> {
+			if (submitted.incrementAndGet() > 2)
+			{
+				throw new IllegalStateException("executor failed");
+			}
+			Thread.ofVirtual().start(() -> {
+				try
+				{
+					Thread.sleep(50);
+				}
+				catch (InterruptedException e)
+				{
+					Thread.currentThread().interrupt();
+				}
+				task.run();
+			});
+		};
+		assertThrows(IllegalStateException.class,
+			() -> new ImageBatchDecoder(executor, 4).decode(IntStream.range(0, 5).iterator(),
+				source -> new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB),
+				result -> count.incrementAndGet()));
+		final int countOnReturn = count.get();
+		Thread.sleep(100);
+		assertEquals(countOnReturn, count.get());
+		assertEquals(0, countOnReturn);
+	}
+}
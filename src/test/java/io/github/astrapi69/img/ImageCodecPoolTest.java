@@ -0,0 +1,157 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.FileCacheImageInputStream;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanTester;
+
+import io.github.astrapi69.lang.ClassExtensions;
+
+/**
+ * The unit test class for the class {@link ImageCodecPool}
+ */
+class ImageCodecPoolTest
+{
+
+	/**
+	 * Test for method {@link ImageCodecPool#borrowReader(String)} and
+	 * {@link ImageCodecPool#release(ImageReader)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	void testBorrowAndReleaseReader() throws IOException
+	{
+		ImageCodecPool.clear();
+		final ImageReader reader = ImageCodecPool.borrowReader("PNG");
+		assertNotNull(reader);
+		ImageCodecPool.release(reader);
+		assertSame(reader, ImageCodecPool.borrowReader("png"));
+		assertNull(reader.getInput());
+		ImageCodecPool.release(reader);
+
+		assertNull(ImageCodecPool.borrowReader("unknown"));
+	}
+
+	/**
+	 * Test for method {@link ImageCodecPool#borrowReader(ImageInputStream)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	void testBorrowReaderForStream() throws IOException
+	{
+		try (InputStream input = ClassExtensions.getResourceAsStream("img/xmas/key.png");
+			ImageInputStream stream = ImageCodecPool.newImageInputStream(input))
+		{
+			final ImageReader reader = ImageCodecPool.borrowReader(stream);
+			assertEquals("png", reader.getFormatName().toLowerCase());
+			assertEquals(0, stream.getStreamPosition());
+			ImageCodecPool.release(reader);
+		}
+		try (ImageInputStream stream = ImageCodecPool
+			.newImageInputStream(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4 })))
+		{
+			assertNull(ImageCodecPool.borrowReader(stream));
+		}
+	}
+
+	/**
+	 * Test for method {@link ImageCodecPool#borrowWriter(String)} and
+	 * {@link ImageCodecPool#release(ImageWriter)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	void testBorrowAndReleaseWriter() throws IOException
+	{
+		ImageCodecPool.clear();
+		final ImageWriter writer = ImageCodecPool.borrowWriter("jpg");
+		assertNotNull(writer);
+		ImageCodecPool.release(writer);
+		assertSame(writer, ImageCodecPool.borrowWriter("jpeg"));
+		ImageCodecPool.release(writer);
+
+		assertNull(ImageCodecPool.borrowWriter("unknown"));
+	}
+
+	/**
+	 * Test for method {@link ImageCodecPool#newImageInputStream(InputStream)} with both cache
+	 * policies
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	void testNewImageInputStream() throws IOException
+	{
+		assertFalse(ImageCodecPool.isUseDiskCache());
+		try (ImageInputStream stream = ImageCodecPool
+			.newImageInputStream(new ByteArrayInputStream(new byte[0])))
+		{
+			assertTrue(stream instanceof MemoryCacheImageInputStream);
+		}
+		ImageCodecPool.setUseDiskCache(true);
+		try (ImageInputStream stream = ImageCodecPool
+			.newImageInputStream(new ByteArrayInputStream(new byte[0])))
+		{
+			assertTrue(stream instanceof FileCacheImageInputStream);
+		}
+		finally
+		{
+			ImageCodecPool.setUseDiskCache(false);
+		}
+	}
+
+	/**
+	 * Test method for {@link ImageCodecPool} with {@link BeanTester}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(ImageCodecPool.class);
+	}
+}
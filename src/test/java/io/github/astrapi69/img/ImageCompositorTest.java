@@ -0,0 +1,232 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * The unit test class for the class {@link ImageCompositor}
+ */
+class ImageCompositorTest
+{
+
+	private static BufferedImage randomPremultipliedImage(final int width, final int height,
+		final long seed)
+	{
+		final BufferedImage image = RandomImageGenerator.generate(width, height,
+			BufferedImage.TYPE_INT_ARGB, NoiseMode.UNIFORM_ARGB, seed);
+		return ImageConverter.convert(image, BufferedImage.TYPE_INT_ARGB_PRE);
+	}
+
+	private static int[] premultipliedPixels(final int length, final long seed)
+	{
+		final SplittableRandom random = new SplittableRandom(seed);
+		final int[] pixels = new int[length];
+		for (int i = 0; i < length; i++)
+		{
+			pixels[i] = PixelView.premultiply(random.nextInt());
+		}
+		return pixels;
+	}
+
+	private static void assertChannelsEqual(final int expected, final int actual,
+		final int tolerance)
+	{
+		for (int shift = 0; shift < 32; shift += 8)
+		{
+			final int difference = Math
+				.abs(((expected >>> shift) & 0xFF) - ((actual >>> shift) & 0xFF));
+			assertTrue(difference <= tolerance,
+				() -> Integer.toHexString(expected) + " != " + Integer.toHexString(actual));
+		}
+	}
+
+	/**
+	 * Test for method {@link ImageCompositor#composite(BlendMode, int, int)} with the Porter-Duff
+	 * modes against {@link AlphaComposite}
+	 *
+	 * @param mode
+	 *            the blend mode
+	 * @param rule
+	 *            the rule of the {@link AlphaComposite}
+	 */
+	@ParameterizedTest
+	@CsvSource({ "CLEAR, 1", "SRC, 2", "SRC_OVER, 3", "DST_OVER, 4", "SRC_IN, 5", "DST_IN, 6",
+			"SRC_OUT, 7", "DST_OUT, 8", "DST, 9", "SRC_ATOP, 10", "DST_ATOP, 11", "XOR, 12" })
+	void testPorterDuff(final BlendMode mode, final int rule)
+	{
+		final BufferedImage src = randomPremultipliedImage(31, 17, 1L);
+		final BufferedImage dst = randomPremultipliedImage(31, 17, 2L);
+		final BufferedImage expected = randomPremultipliedImage(31, 17, 2L);
+		final Graphics2D graphics = expected.createGraphics();
+		graphics.setComposite(AlphaComposite.getInstance(rule));
+		graphics.drawImage(src, 0, 0, null);
+		graphics.dispose();
+
+		ImageCompositor.composite(mode, src, dst, 0, 0);
+		final PixelView actualView = PixelView.of(dst);
+		final PixelView expectedView = PixelView.of(expected);
+		for (int y = 0; y < 17; y++)
+		{
+			for (int x = 0; x < 31; x++)
+			{
+				assertChannelsEqual(expectedView.getIntData()[y * 31 + x],
+					actualView.getIntData()[y * 31 + x], 1);
+			}
+		}
+	}
+
+	/**
+	 * Test for method {@link ImageCompositor#composite(BlendMode, int, int)} with the separable
+	 * blend modes
+	 */
+	@Test
+	void testBlendModes()
+	{
+		assertEquals(0xFF404040,
+			ImageCompositor.composite(BlendMode.MULTIPLY, 0xFF808080, 0xFF808080));
+		assertEquals(0xFFC0C0C0,
+			ImageCompositor.composite(BlendMode.SCREEN, 0xFF808080, 0xFF808080));
+		assertEquals(0xFF808080,
+			ImageCompositor.composite(BlendMode.OVERLAY, 0xFF808080, 0xFF808080));
+		assertEquals(0xFF404040,
+			ImageCompositor.composite(BlendMode.OVERLAY, 0xFF808080, 0xFF404040));
+		assertEquals(0xFF204080,
+			ImageCompositor.composite(BlendMode.DARKEN, 0xFF208080, 0xFF8040FF));
+		assertEquals(0xFF8080FF,
+			ImageCompositor.composite(BlendMode.LIGHTEN, 0xFF208080, 0xFF8040FF));
+		assertEquals(0xFFFF9020, ImageCompositor.composite(BlendMode.ADD, 0x80800010, 0x80FF9010));
+		// a transparent destination shows the source and a transparent source the destination
+		for (final BlendMode mode : new BlendMode[] { BlendMode.MULTIPLY, BlendMode.SCREEN,
+				BlendMode.OVERLAY, BlendMode.DARKEN, BlendMode.LIGHTEN, BlendMode.ADD })
+		{
+			assertEquals(0x80402010, ImageCompositor.composite(mode, 0x80402010, 0));
+			assertEquals(0x80402010, ImageCompositor.composite(mode, 0, 0x80402010));
+		}
+	}
+
+	/**
+	 * Test for method
+	 * {@link ImageCompositor#composite(BlendMode, int[], int, int, int[], int, int, int, int, float)}
+	 */
+	@Test
+	void testCompositeRasters()
+	{
+		final int[] src = premultipliedPixels(7 * 40, 3L);
+		final int[] dst = premultipliedPixels(9 * 50, 4L);
+		final int[] expected = dst.clone();
+		for (int y = 0; y < 5; y++)
+		{
+			for (int x = 0; x < 33; x++)
+			{
+				final int d = 3 + 9 + y * 50 + x;
+				expected[d] = ImageCompositor.composite(BlendMode.SRC_OVER, src[2 + y * 40 + x],
+					expected[d]);
+			}
+		}
+		ImageCompositor.composite(BlendMode.SRC_OVER, src, 2, 40, dst, 3 + 9, 50, 33, 5, 1f);
+		assertArrayEquals(expected, dst);
+
+		for (int y = 0; y < 5; y++)
+		{
+			for (int x = 0; x < 33; x++)
+			{
+				final int d = 3 + 9 + y * 50 + x;
+				expected[d] = ImageCompositor.composite(BlendMode.SCREEN,
+					ImageCompositor.fade(src[2 + y * 40 + x], 128), expected[d]);
+			}
+		}
+		ImageCompositor.composite(BlendMode.SCREEN, src, 2, 40, dst, 3 + 9, 50, 33, 5, 0.5f);
+		assertArrayEquals(expected, dst);
+		assertEquals(0x40201008, ImageCompositor.fade(0x80402010, 128));
+		assertEquals(0x80402010, ImageCompositor.fade(0x80402010, 255));
+		assertEquals(0, ImageCompositor.fade(0x80402010, 0));
+	}
+
+	/**
+	 * Test for method
+	 * {@link ImageCompositor#composite(BlendMode, BufferedImage, BufferedImage, int, int, float)}
+	 * with images that are not premultiplied and a source that overlaps the destination
+	 */
+	@Test
+	void testCompositeImages()
+	{
+		final BufferedImage src = RandomImageGenerator.generate(20, 12, BufferedImage.TYPE_INT_ARGB,
+			NoiseMode.UNIFORM_ARGB, 5L);
+		final BufferedImage dst = RandomImageGenerator.generate(30, 10,
+			BufferedImage.TYPE_4BYTE_ABGR, NoiseMode.UNIFORM_ARGB, 6L);
+		final int[] expected = dst.getRGB(0, 0, 30, 10, null, 0, 30);
+		for (int y = 0; y < 10; y++)
+		{
+			for (int x = 0; x < 30; x++)
+			{
+				final int sx = x + 5;
+				final int sy = y - 3;
+				if (sx < 20 && sy >= 0)
+				{
+					expected[y * 30 + x] = PixelView
+						.unpremultiply(ImageCompositor.composite(BlendMode.MULTIPLY,
+							ImageCompositor.fade(PixelView.premultiply(src.getRGB(sx, sy)), 191),
+							PixelView.premultiply(expected[y * 30 + x])));
+				}
+			}
+		}
+		ImageCompositor.composite(BlendMode.MULTIPLY, src, dst, -5, 3, 0.75f);
+		assertArrayEquals(expected, dst.getRGB(0, 0, 30, 10, null, 0, 30));
+
+		final BufferedImage premultiplied = ImageConverter.convert(src,
+			BufferedImage.TYPE_INT_ARGB_PRE);
+		final BufferedImage target = randomPremultipliedImage(30, 10, 7L);
+		final BufferedImage reference = randomPremultipliedImage(30, 10, 7L);
+		ImageCompositor.composite(BlendMode.XOR, premultiplied, target.getSubimage(4, 2, 20, 8), 0,
+			0);
+		final int[] referencePixels = PixelView.of(reference).getIntData();
+		final int[] srcPixels = PixelView.of(premultiplied).getIntData();
+		for (int y = 0; y < 8; y++)
+		{
+			for (int x = 0; x < 20; x++)
+			{
+				final int d = (y + 2) * 30 + x + 4;
+				referencePixels[d] = ImageCompositor.composite(BlendMode.XOR, srcPixels[y * 20 + x],
+					referencePixels[d]);
+			}
+		}
+		assertArrayEquals(referencePixels, PixelView.of(target).getIntData());
+
+		ImageCompositor.composite(BlendMode.CLEAR, src, target, 30, 0);
+		assertArrayEquals(referencePixels, PixelView.of(target).getIntData());
+	}
+}
@@ -0,0 +1,156 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import javax.swing.ImageIcon;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * The unit test class for the class {@link ImageConverter}
+ */
+class ImageConverterTest
+{
+
+	private static int[] pixels(final BufferedImage image)
+	{
+		return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+	}
+
+	/**
+	 * Test for method {@link ImageConverter#convert(BufferedImage, int)} that must keep the pixels
+	 * and compose them over black for target types without alpha
+	 *
+	 * @param sourceType
+	 *            the type of the source image
+	 * @param targetType
+	 *            the type of the target image
+	 */
+	@ParameterizedTest
+	@CsvSource({ "2, 1", "2, 5", "2, 6", "6, 2", "5, 2", "1, 6", "2, 4", "4, 5" })
+	void testConvert(int sourceType, int targetType)
+	{
+		final BufferedImage source = RandomImageGenerator.generate(211, 97, sourceType,
+			NoiseMode.UNIFORM_ARGB, 11L);
+		final int[] expected = pixels(source);
+		final BufferedImage actual = ImageConverter.convert(source, targetType);
+		assertEquals(targetType, actual.getType());
+		if (!actual.getColorModel().hasAlpha())
+		{
+			for (int i = 0; i < expected.length; i++)
+			{
+				final int alpha = expected[i] >>> 24;
+				expected[i] = 0xff000000 | ((expected[i] >> 16) & 0xff) * alpha / 255 << 16
+					| ((expected[i] >> 8) & 0xff) * alpha / 255 << 8
+					| (expected[i] & 0xff) * alpha / 255;
+			}
+		}
+		assertArrayEquals(expected, pixels(actual));
+	}
+
+	/**
+	 * Test for method {@link ImageConverter#convert(BufferedImage, int)} with premultiplied, gray
+	 * and indexed images
+	 */
+	@Test
+	void testConvertPremultipliedAndIndexed()
+	{
+		final BufferedImage source = RandomImageGenerator.generate(64, 48,
+			BufferedImage.TYPE_INT_ARGB, NoiseMode.GRADIENT, 1L);
+		assertSame(source, ImageConverter.convert(source, BufferedImage.TYPE_INT_ARGB));
+		final BufferedImage premultiplied = ImageConverter.convert(source,
+			BufferedImage.TYPE_INT_ARGB_PRE);
+		assertArrayEquals(pixels(source), pixels(premultiplied));
+		assertArrayEquals(pixels(source),
+			pixels(ImageConverter.convert(premultiplied, BufferedImage.TYPE_INT_ARGB)));
+		final BufferedImage gray = RandomImageGenerator.generate(64, 48,
+			BufferedImage.TYPE_BYTE_GRAY, NoiseMode.GRAYSCALE, 1L);
+		assertArrayEquals(pixels(gray),
+			pixels(ImageConverter.convert(gray, BufferedImage.TYPE_INT_ARGB)));
+		final BufferedImage indexed = ImageConverter.convert(source,
+			BufferedImage.TYPE_BYTE_INDEXED);
+		assertEquals(BufferedImage.TYPE_BYTE_INDEXED, indexed.getType());
+	}
+
+	/**
+	 * Test for method {@link ImageConverter#toCanonical(BufferedImage)}
+	 */
+	@Test
+	void testToCanonical()
+	{
+		final BufferedImage argb = new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB);
+		assertSame(argb, ImageConverter.toCanonical(argb));
+		assertEquals(BufferedImage.TYPE_INT_ARGB, ImageConverter
+			.toCanonical(new BufferedImage(4, 4, BufferedImage.TYPE_4BYTE_ABGR)).getType());
+		assertEquals(BufferedImage.TYPE_INT_RGB, ImageConverter
+			.toCanonical(new BufferedImage(4, 4, BufferedImage.TYPE_3BYTE_BGR)).getType());
+	}
+
+	/**
+	 * Test for the methods {@link ImageConverter#toBufferedImage(Image)} and
+	 * {@link ImageConverter#createCompatibleImage(int, int, int)} that must also work in a headless
+	 * environment
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	void testToBufferedImage() throws IOException
+	{
+		final BufferedImage source = RandomImageGenerator.generate(30, 20,
+			BufferedImage.TYPE_INT_ARGB, NoiseMode.GRADIENT, 2L);
+		assertSame(source, ImageConverter.toBufferedImage(source));
+		final Image toolkitImage = new ImageIcon(ImageExtensions.toByteArray(source, "png"))
+			.getImage();
+		final BufferedImage converted = ImageConverter.toBufferedImage(toolkitImage);
+		assertEquals(30, converted.getWidth());
+		assertEquals(20, converted.getHeight());
+		assertArrayEquals(pixels(source), pixels(converted));
+		if (GraphicsEnvironment.isHeadless())
+		{
+			assertNull(ImageConverter.getGraphicsConfiguration());
+			assertEquals(BufferedImage.TYPE_INT_ARGB_PRE,
+				ImageConverter.createCompatibleImage(4, 4, Transparency.TRANSLUCENT).getType());
+			assertEquals(BufferedImage.TYPE_INT_RGB,
+				ImageConverter.createCompatibleImage(4, 4, Transparency.OPAQUE).getType());
+		}
+		ImageConverter.clearGraphicsConfiguration();
+		assertSame(ImageConverter.getGraphicsConfiguration(),
+			ImageConverter.getGraphicsConfiguration());
+	}
+}
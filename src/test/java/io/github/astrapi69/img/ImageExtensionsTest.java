@@ -24,16 +24,37 @@
  */
 package io.github.astrapi69.img;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.awt.Color;
+import java.awt.Graphics2D;
 import java.awt.Image;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import javax.imageio.ImageIO;
 import javax.swing.Icon;
@@ -44,6 +65,7 @@ import org.meanbean.test.BeanTester;
 import io.github.astrapi69.file.create.FileFactory;
 import io.github.astrapi69.file.delete.DeleteFileExtensions;
 import io.github.astrapi69.file.search.PathFinder;
+import io.github.astrapi69.img.model.WriteOptions;
 import io.github.astrapi69.lang.ClassExtensions;
 
 /**
@@ -113,6 +135,33 @@ class ImageExtensionsTest
 		DeleteFileExtensions.delete(verticalImg);
 	}
 
+	/**
+	 * Test for method {@link ImageExtensions#concatenateImages(List, int, int, int, Direction)}
+	 * with binary tiles of an odd width that share the bytes of the target
+	 */
+	@Test
+	public void testConcatenateBinaryImages()
+	{
+		final List<BufferedImage> tiles = new ArrayList<>();
+		for (int i = 0; i < 64; i++)
+		{
+			final BufferedImage tile = new BufferedImage(13, 600, BufferedImage.TYPE_BYTE_BINARY);
+			final Graphics2D graphics = tile.createGraphics();
+			graphics.setColor(Color.WHITE);
+			graphics.fillRect(0, 0, tile.getWidth(), tile.getHeight());
+			graphics.dispose();
+			tiles.add(tile);
+		}
+		final byte[] white = new byte[64 * 13 / 8 * 600];
+		Arrays.fill(white, (byte)0xFF);
+		for (int run = 0; run < 200; run++)
+		{
+			final BufferedImage image = ImageExtensions.concatenateImages(tiles, 64 * 13, 600,
+				BufferedImage.TYPE_BYTE_BINARY, Direction.horizontal);
+			assertArrayEquals(white, ((DataBufferByte)image.getRaster().getDataBuffer()).getData());
+		}
+	}
+
 	/**
 	 * Test for method {ImageExtensions#randomBufferedImage(int, int, int)}.
 	 *
@@ -138,6 +187,20 @@ class ImageExtensionsTest
 		}
 	}
 
+	/**
+	 * Test for method {@link ImageExtensions#randomBufferedImage(int, int, int, long)}
+	 */
+	@Test
+	public void testRandomBufferedImageWithSeed()
+	{
+		final BufferedImage expected = ImageExtensions.randomBufferedImage(64, 32,
+			BufferedImage.TYPE_INT_ARGB, 42L);
+		final BufferedImage actual = ImageExtensions.randomBufferedImage(64, 32,
+			BufferedImage.TYPE_INT_ARGB, 42L);
+		assertArrayEquals(expected.getRGB(0, 0, 64, 32, null, 0, 64),
+			actual.getRGB(0, 0, 64, 32, null, 0, 64));
+	}
+
 	/**
 	 * Test for method {@link ImageExtensions#unweaveFrom(BufferedImage)}
 	 *
@@ -210,6 +273,205 @@ class ImageExtensionsTest
 		DeleteFileExtensions.delete(outputfile);
 	}
 
+	/**
+	 * Test for method {@link ImageExtensions#read(byte[], Rectangle, int)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testReadWithRegionAndSubsampling() throws IOException
+	{
+		BufferedImage actual;
+		final File bell = PathFinder.getRelativePath(PathFinder.getSrcTestResourcesDir(), "img",
+			"xmas", "bell.png");
+		final byte[] byteArray = Files.readAllBytes(bell.toPath());
+		final BufferedImage fullImage = ImageExtensions.read(byteArray);
+
+		actual = ImageExtensions.read(byteArray, null, 2);
+		assertEquals(383, actual.getWidth());
+		assertEquals(400, actual.getHeight());
+		assertEquals(fullImage.getRGB(200, 300), actual.getRGB(100, 150));
+
+		actual = ImageExtensions.read(byteArray, new Rectangle(100, 200, 50, 40), 1);
+		assertEquals(50, actual.getWidth());
+		assertEquals(40, actual.getHeight());
+		assertEquals(fullImage.getRGB(110, 220), actual.getRGB(10, 20));
+
+		actual = ImageExtensions.read(byteArray, new Rectangle(700, 700, 200, 200), 4);
+		assertEquals(17, actual.getWidth());
+		assertEquals(25, actual.getHeight());
+
+		assertThrows(IllegalArgumentException.class,
+			() -> ImageExtensions.read(byteArray, null, 0));
+		assertThrows(IllegalArgumentException.class,
+			() -> ImageExtensions.read(byteArray, new Rectangle(900, 900, 10, 10), 1));
+		assertNull(ImageExtensions.readQuietly(byteArray, new Rectangle(900, 900, 10, 10), 1));
+		assertNull(ImageExtensions.read(new byte[] { 1, 2, 3 }, null, 1));
+	}
+
+	/**
+	 * Test for method {@link ImageExtensions#read(Path)} and
+	 * {@link ImageExtensions#read(ByteBuffer)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testReadWithPathAndByteBuffer() throws IOException
+	{
+		BufferedImage actual;
+		final File key = PathFinder.getRelativePath(PathFinder.getSrcTestResourcesDir(), "img",
+			"xmas", "key.png");
+		final BufferedImage expected = ImageIO.read(key);
+
+		actual = ImageExtensions.read(key.toPath());
+		assertEquals(expected.getWidth(), actual.getWidth());
+		assertEquals(expected.getHeight(), actual.getHeight());
+		assertEquals(expected.getRGB(320, 180), actual.getRGB(320, 180));
+
+		final byte[] bytes = Files.readAllBytes(key.toPath());
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 3);
+		buffer.put(new byte[] { 1, 2, 3 }).put(bytes).flip().position(3);
+		actual = ImageExtensions.read(buffer);
+		assertEquals(expected.getRGB(320, 180), actual.getRGB(320, 180));
+		assertEquals(3, buffer.position());
+	}
+
+	/**
+	 * Test for method {@link ImageExtensions#toByteArray(BufferedImage, String)},
+	 * {@link ImageExtensions#toByteBuffer(BufferedImage, String)},
+	 * {@link ImageExtensions#write(BufferedImage, String, OutputStream)} and
+	 * {@link ImageExtensions#write(BufferedImage, String, WritableByteChannel)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testEncode() throws IOException
+	{
+		final BufferedImage image = ImageIO
+			.read(ClassExtensions.getResourceAsStream("img/xmas/bell.png"));
+		final byte[] expected = ImageExtensions.toByteArray(image, "png");
+		assertEquals(image.getRGB(300, 400), ImageExtensions.read(expected).getRGB(300, 400));
+
+		final ByteBuffer buffer = ImageExtensions.toByteBuffer(image, "png");
+		final byte[] actual = new byte[buffer.remaining()];
+		buffer.get(actual);
+		assertArrayEquals(expected, actual);
+
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		assertEquals(expected.length, ImageExtensions.write(image, "png", output));
+		assertArrayEquals(expected, output.toByteArray());
+
+		output.reset();
+		assertEquals(expected.length,
+			ImageExtensions.write(image, "png", Channels.newChannel(output)));
+		assertArrayEquals(expected, output.toByteArray());
+
+		assertEquals(0, ImageExtensions.toByteArray(image, "unknown").length);
+		assertThrows(IOException.class, () -> ImageExtensions.write(image, "unknown", output));
+	}
+
+	/**
+	 * Test for method {@link ImageExtensions#writeAsync(BufferedImage, String, Path)} and
+	 * {@link ImageExtensions#readAsync(Path)}
+	 *
+	 * @throws Exception
+	 *             if the asynchronous computation failed
+	 */
+	@Test
+	public void testWriteAndReadAsync() throws Exception
+	{
+		final BufferedImage image = ImageIO
+			.read(ClassExtensions.getResourceAsStream("img/xmas/stars.png"));
+		final File outputFile = new File(PathFinder.getSrcTestResourcesDir(), "async-output.png");
+
+		final Path written;
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+		{
+			written = ImageExtensions.writeAsync(image, "png", outputFile.toPath(), executor)
+				.get(30, TimeUnit.SECONDS);
+		}
+		assertEquals(outputFile.toPath().toAbsolutePath(), written);
+		assertEquals(0, outputFile.getParentFile()
+			.listFiles((dir, name) -> name.startsWith(".async-output.png")).length);
+
+		final BufferedImage actual = ImageExtensions.readAsync(written).get(30, TimeUnit.SECONDS);
+		assertEquals(image.getWidth(), actual.getWidth());
+		assertEquals(image.getRGB(400, 300), actual.getRGB(400, 300));
+		DeleteFileExtensions.delete(outputFile);
+
+		final ExecutionException exception = assertThrows(ExecutionException.class,
+			() -> ImageExtensions.readAsync(written).get(30, TimeUnit.SECONDS));
+		assertTrue(exception.getCause() instanceof NoSuchFileException);
+		assertThrows(ExecutionException.class,
+			() -> ImageExtensions.writeAsync(image, "unknown", written).get(30, TimeUnit.SECONDS));
+		assertFalse(outputFile.exists());
+	}
+
+	/**
+	 * Test for method {@link ImageExtensions#toByteArray(BufferedImage, String, WriteOptions)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testToByteArrayWithWriteOptions() throws IOException
+	{
+		final BufferedImage image = ImageIO
+			.read(ClassExtensions.getResourceAsStream("img/xmas/key.png"));
+
+		final byte[] stored = ImageExtensions.toByteArray(image, "png",
+			WriteOptions.builder().deflateLevel(0).build());
+		final byte[] fastest = ImageExtensions.toByteArray(image, "png", WriteOptions.FASTEST);
+		final byte[] smallest = ImageExtensions.toByteArray(image, "png", WriteOptions.SMALLEST);
+		assertTrue(fastest.length < stored.length);
+		assertTrue(smallest.length <= fastest.length);
+		assertEquals(image.getRGB(100, 100), ImageExtensions.read(smallest).getRGB(100, 100));
+		assertEquals(image.getRGB(100, 100), ImageExtensions.read(stored).getRGB(100, 100));
+
+		final byte[] low = ImageExtensions.toByteArray(image, "jpeg",
+			WriteOptions.builder().compressionQuality(0.1f).build());
+		final byte[] high = ImageExtensions.toByteArray(image, "jpeg",
+			WriteOptions.builder().compressionQuality(0.95f).build());
+		assertTrue(low.length < high.length);
+
+		final byte[] progressive = ImageExtensions.toByteArray(image, "jpeg",
+			WriteOptions.builder().progressive(true).build());
+		assertTrue(containsMarker(progressive, 0xc2));
+		assertFalse(containsMarker(high, 0xc2));
+
+		final byte[] tiled = ImageExtensions.toByteArray(image, "tiff",
+			WriteOptions.builder().compressionType("LZW").tileWidth(64).tileHeight(64).build());
+		assertEquals(image.getRGB(300, 200), ImageExtensions.read(tiled).getRGB(300, 200));
+
+		assertArrayEquals(ImageExtensions.toByteArray(image, "png"),
+			ImageExtensions.toByteArray(image, "png", WriteOptions.DEFAULT));
+
+		final BufferedImage photo = ImageIO
+			.read(ClassExtensions.getResourceAsStream("img/xmas/bell.png"));
+		final byte[] photoDefault = ImageExtensions.toByteArray(photo, "png");
+		final byte[] photoFastest = ImageExtensions.toByteArray(photo, "png", WriteOptions.FASTEST);
+		final byte[] photoSmallest = ImageExtensions.toByteArray(photo, "png",
+			WriteOptions.SMALLEST);
+		assertTrue(photoSmallest.length <= photoDefault.length);
+		assertTrue(photoSmallest.length <= photoFastest.length);
+		assertEquals(photo.getRGB(400, 400), ImageExtensions.read(photoSmallest).getRGB(400, 400));
+	}
+
+	private static boolean containsMarker(final byte[] jpeg, final int marker)
+	{
+		for (int i = 0; i < jpeg.length - 1; i++)
+		{
+			if ((jpeg[i] & 0xff) == 0xff && (jpeg[i + 1] & 0xff) == marker)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Test method for {@link ImageExtensions} with {@link BeanTester}
 	 */
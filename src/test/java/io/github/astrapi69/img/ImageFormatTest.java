@@ -0,0 +1,84 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import javax.imageio.stream.ImageInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import io.github.astrapi69.lang.ClassExtensions;
+
+/**
+ * The unit test class for the enum {@link ImageFormat}
+ */
+class ImageFormatTest
+{
+
+	/**
+	 * Test for method {@link ImageFormat#detect(byte[])}
+	 *
+	 * @param formatName
+	 *            the format name to encode
+	 * @param expected
+	 *            the expected format
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@ParameterizedTest
+	@CsvSource({ "png, PNG", "jpeg, JPEG", "gif, GIF", "bmp, BMP", "tiff, TIFF_BIG_ENDIAN",
+			"qoi, QOI" })
+	void testDetect(String formatName, ImageFormat expected) throws IOException
+	{
+		final BufferedImage image = new BufferedImage(8, 8, BufferedImage.TYPE_INT_RGB);
+		assertEquals(expected, ImageFormat.detect(ImageExtensions.toByteArray(image, formatName)));
+	}
+
+	/**
+	 * Test for method {@link ImageFormat#detect(ImageInputStream)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	void testDetectImageInputStream() throws IOException
+	{
+		try (ImageInputStream stream = ImageCodecPool
+			.newImageInputStream(ClassExtensions.getResourceAsStream("img/xmas/stars.png")))
+		{
+			assertEquals(ImageFormat.PNG, ImageFormat.detect(stream));
+			assertEquals(0, stream.getStreamPosition());
+		}
+		assertNull(ImageFormat.detect(new byte[] { 'B' }));
+		assertNull(ImageFormat.detect(new byte[0]));
+	}
+}
@@ -0,0 +1,114 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanTester;
+
+import io.github.astrapi69.file.search.PathFinder;
+import io.github.astrapi69.img.model.ImageInfo;
+import io.github.astrapi69.lang.ClassExtensions;
+
+/**
+ * The unit test class for the class {@link ImageProbe}
+ */
+class ImageProbeTest
+{
+
+	/**
+	 * Test for method {@link ImageProbe#probe(java.nio.file.Path)} and
+	 * {@link ImageProbe#probe(InputStream)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	void testProbePng() throws IOException
+	{
+		ImageInfo actual;
+		final File bell = PathFinder.getRelativePath(PathFinder.getSrcTestResourcesDir(), "img",
+			"xmas", "bell.png");
+
+		actual = ImageProbe.probe(bell.toPath());
+		assertEquals("png", actual.getFormatName());
+		assertEquals(765, actual.getWidth());
+		assertEquals(800, actual.getHeight());
+		assertEquals(4, actual.getNumComponents());
+		assertTrue(actual.isAlpha());
+		assertEquals(1, actual.getFrameCount());
+
+		try (InputStream input = ClassExtensions.getResourceAsStream("img/xmas/key.png"))
+		{
+			actual = ImageProbe.probe(input);
+		}
+		assertEquals(640, actual.getWidth());
+		assertEquals(360, actual.getHeight());
+		assertEquals(3, actual.getNumComponents());
+		assertFalse(actual.isAlpha());
+	}
+
+	/**
+	 * Test for method {@link ImageProbe#probe(byte[])} with several formats
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	void testProbeByteArray() throws IOException
+	{
+		final BufferedImage image = new BufferedImage(31, 17, BufferedImage.TYPE_INT_RGB);
+		for (String formatName : new String[] { "jpeg", "gif", "bmp", "tiff" })
+		{
+			final ImageInfo actual = ImageProbe
+				.probe(ImageExtensions.toByteArray(image, formatName));
+			assertEquals(formatName, actual.getFormatName());
+			assertEquals(31, actual.getWidth());
+			assertEquals(17, actual.getHeight());
+		}
+		assertNull(ImageProbe.probe(new byte[] { 1, 2, 3 }));
+		assertNull(ImageProbe.probe(new ByteArrayInputStream(new byte[0])));
+	}
+
+	/**
+	 * Test method for {@link ImageProbe} with {@link BeanTester}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(ImageProbe.class);
+	}
+}
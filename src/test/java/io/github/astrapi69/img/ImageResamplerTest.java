@@ -0,0 +1,168 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.meanbean.test.BeanTester;
+
+import io.github.astrapi69.lang.ClassExtensions;
+
+/**
+ * The unit test class for the class {@link ImageResampler}
+ */
+class ImageResamplerTest
+{
+
+	/**
+	 * Test for method {@link ImageResampler#resize(BufferedImage, int, int, ResampleFilter)} with
+	 * all filters
+	 *
+	 * @param filter
+	 *            the filter to test
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@ParameterizedTest
+	@EnumSource(ResampleFilter.class)
+	void testResize(ResampleFilter filter) throws IOException
+	{
+		final BufferedImage source = ImageIO
+			.read(ClassExtensions.getResourceAsStream("img/xmas/stars.png"));
+
+		BufferedImage actual = ImageResampler.resize(source, 100, 60, filter);
+		assertEquals(100, actual.getWidth());
+		assertEquals(60, actual.getHeight());
+		assertEquals(BufferedImage.TYPE_INT_ARGB, actual.getType());
+
+		actual = ImageResampler.resize(source, source.getWidth() * 3, source.getHeight() * 2,
+			filter);
+		assertEquals(source.getWidth() * 3, actual.getWidth());
+		assertEquals(source.getHeight() * 2, actual.getHeight());
+	}
+
+	/**
+	 * Test for method {@link ImageResampler#resize(BufferedImage, int, int, ResampleFilter)} that a
+	 * uniform color stays the same with all filters
+	 *
+	 * @param filter
+	 *            the filter to test
+	 */
+	@ParameterizedTest
+	@EnumSource(ResampleFilter.class)
+	void testResizeKeepsUniformColor(ResampleFilter filter)
+	{
+		final int color = 0x80336699;
+		final BufferedImage source = new BufferedImage(300, 200, BufferedImage.TYPE_INT_ARGB);
+		for (int y = 0; y < source.getHeight(); y++)
+		{
+			for (int x = 0; x < source.getWidth(); x++)
+			{
+				source.setRGB(x, y, color);
+			}
+		}
+		final BufferedImage actual = ImageResampler.resize(source, 37, 411, filter,
+			ForkJoinPool.commonPool());
+		for (int y = 0; y < actual.getHeight(); y++)
+		{
+			for (int x = 0; x < actual.getWidth(); x++)
+			{
+				assertEquals(color, actual.getRGB(x, y));
+			}
+		}
+	}
+
+	/**
+	 * Test for method {@link ImageResampler#resize(BufferedImage, int, int)} with a negative
+	 * dimension that keeps the aspect ratio
+	 */
+	@Test
+	void testResizeKeepsAspectRatio()
+	{
+		final BufferedImage source = new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB);
+
+		BufferedImage actual = ImageResampler.resize(source, 50, -1);
+		assertEquals(50, actual.getWidth());
+		assertEquals(25, actual.getHeight());
+
+		actual = ImageResampler.resize(source, -1, 50);
+		assertEquals(100, actual.getWidth());
+		assertEquals(50, actual.getHeight());
+	}
+
+	/**
+	 * Test for method {@link ImageResampler#resize(BufferedImage, int, int)} with invalid
+	 * dimensions
+	 */
+	@Test
+	void testResizeWithInvalidDimensions()
+	{
+		final BufferedImage source = new BufferedImage(20, 10, BufferedImage.TYPE_INT_ARGB);
+		assertThrows(IllegalArgumentException.class, () -> ImageResampler.resize(source, -1, -1));
+		assertThrows(IllegalArgumentException.class, () -> ImageResampler.resize(source, 0, 10));
+	}
+
+	/**
+	 * Test for method {@link ImageResampler#resize(BufferedImage, int, int)} with a sub image that
+	 * shares the raster of the parent image
+	 */
+	@Test
+	void testResizeSubimage()
+	{
+		final BufferedImage parent = new BufferedImage(40, 40, BufferedImage.TYPE_INT_ARGB);
+		for (int y = 10; y < 20; y++)
+		{
+			for (int x = 10; x < 20; x++)
+			{
+				parent.setRGB(x, y, 0xffff0000);
+			}
+		}
+		final BufferedImage actual = ImageResampler.resize(parent.getSubimage(10, 10, 10, 10), 5,
+			5);
+		assertEquals(0xffff0000, actual.getRGB(2, 2));
+		assertEquals(0xffff0000, actual.getRGB(0, 0));
+		assertEquals(0xffff0000, actual.getRGB(4, 4));
+	}
+
+	/**
+	 * Test method for {@link ImageResampler} with {@link BeanTester}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(ImageResampler.class);
+	}
+}
@@ -0,0 +1,223 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.IIOException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import io.github.astrapi69.lang.ClassExtensions;
+
+/**
+ * The unit test class for the class {@link ImageSteganography}
+ */
+class ImageSteganographyTest
+{
+
+	private static byte[] newPayload(final int length)
+	{
+		final byte[] payload = new byte[length];
+		new SplittableRandom(length).nextBytes(payload);
+		return payload;
+	}
+
+	/**
+	 * Test for the round trip of the methods
+	 * {@link ImageSteganography#embed(BufferedImage, InputStream, int)} and
+	 * {@link ImageSteganography#extract(BufferedImage)} with all densities and different image
+	 * types
+	 *
+	 * @param bitsPerChannel
+	 *            the count of bits per channel
+	 * @param imageType
+	 *            the type of the image
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@ParameterizedTest
+	@CsvSource({ "1, 2", "2, 1", "3, 5", "4, 6", "5, 2", "6, 1", "7, 2", "8, 5" })
+	void testEmbedAndExtract(int bitsPerChannel, int imageType) throws IOException
+	{
+		final BufferedImage image = RandomImageGenerator.generate(300, 200, imageType,
+			NoiseMode.UNIFORM_ARGB, 3L);
+		final int[] alpha = image.getAlphaRaster() != null
+			? image.getAlphaRaster().getPixels(0, 0, 300, 200, (int[])null)
+			: null;
+		final byte[] payload = newPayload(
+			(int)ImageSteganography.capacity(image, bitsPerChannel) - bitsPerChannel);
+		ImageSteganography.embed(image, new ByteArrayInputStream(payload), bitsPerChannel);
+		try (InputStream extracted = ImageSteganography.extract(image))
+		{
+			assertArrayEquals(payload, extracted.readAllBytes());
+		}
+		if (alpha != null)
+		{
+			assertArrayEquals(alpha, image.getAlphaRaster().getPixels(0, 0, 300, 200, (int[])null));
+		}
+	}
+
+	/**
+	 * Test for method {@link ImageSteganography#embed(BufferedImage, byte[], int, ForkJoinPool)}
+	 * with a large image that is woven in parallel and only changes the low bits
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	void testEmbedParallel() throws IOException
+	{
+		final BufferedImage original = ImageExtensions
+			.readQuietly(ClassExtensions.getResourceAsStream("img/xmas/bell.png"));
+		final BufferedImage image = ImageResampler.resize(original, original.getWidth(),
+			original.getHeight());
+		final int[] before = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0,
+			image.getWidth());
+		final byte[] payload = newPayload(200_000);
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try
+		{
+			ImageSteganography.embed(image, payload, 2, pool);
+			assertArrayEquals(payload, ImageSteganography.extract(image, pool).readAllBytes());
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+		final int[] after = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0,
+			image.getWidth());
+		for (int i = 0; i < before.length; i++)
+		{
+			assertEquals(before[i] & 0xfffcfcfc, after[i] & 0xfffcfcfc);
+		}
+	}
+
+	/**
+	 * Test for the methods of {@link ImageSteganography} with invalid arguments
+	 */
+	@Test
+	void testInvalid()
+	{
+		final BufferedImage image = new BufferedImage(20, 20, BufferedImage.TYPE_INT_ARGB);
+		assertThrows(IIOException.class, () -> ImageSteganography.extract(image));
+		assertThrows(IllegalArgumentException.class,
+			() -> ImageSteganography.embed(image, new ByteArrayInputStream(new byte[200]), 1));
+		assertThrows(IllegalArgumentException.class, () -> ImageSteganography.capacity(image, 9));
+		ImageSteganography.embed(image, newPayload(100), 4, ForkJoinPool.commonPool());
+		image.setRGB(10, 2, image.getRGB(10, 2) ^ 0x010101);
+		final IIOException exception = assertThrows(IIOException.class,
+			() -> ImageSteganography.extract(image));
+		assertTrue(exception.getMessage().contains("Checksum"));
+	}
+
+	/**
+	 * Test for the round trip of the methods
+	 * {@link ImageSteganography#embed(BufferedImage, InputStream, int)} and
+	 * {@link ImageSteganography#extract(BufferedImage)} with translucent premultiplied images
+	 *
+	 * @param imageType
+	 *            the type of the image
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@ParameterizedTest
+	@CsvSource({ "3", "7" })
+	void testEmbedAndExtractPremultiplied(int imageType) throws IOException
+	{
+		final BufferedImage image = new BufferedImage(64, 64, imageType);
+		final Graphics2D graphics = image.createGraphics();
+		graphics.setColor(new Color(0x80, 0x40, 0xc0, 0x80));
+		graphics.fillRect(0, 0, 64, 64);
+		graphics.dispose();
+		final byte[] payload = newPayload(500);
+		ImageSteganography.embed(image, new ByteArrayInputStream(payload), 2);
+		assertArrayEquals(payload, ImageSteganography.extract(image).readAllBytes());
+		assertEquals(0x80, image.getRGB(20, 20) >>> 24);
+	}
+
+	/**
+	 * Test for the methods of {@link ImageSteganography} with image types that cannot keep the low
+	 * bits
+	 *
+	 * @param imageType
+	 *            the type of the image
+	 */
+	@ParameterizedTest
+	@CsvSource({ "8", "9", "10", "11", "12", "13" })
+	void testUnsupportedImageTypes(int imageType)
+	{
+		final BufferedImage image = new BufferedImage(64, 64, imageType);
+		assertThrows(IllegalArgumentException.class,
+			() -> ImageSteganography.embed(image, new ByteArrayInputStream(newPayload(10)), 2));
+		assertThrows(IllegalArgumentException.class, () -> ImageSteganography.extract(image));
+	}
+
+	/**
+	 * Test for method {@link ImageSteganography#embed(BufferedImage, InputStream, int)} with a
+	 * stream that exceeds the capacity, at most one byte more than the capacity is read
+	 */
+	@Test
+	void testEmbedOversizedStream()
+	{
+		final BufferedImage image = new BufferedImage(20, 20, BufferedImage.TYPE_INT_RGB);
+		final long capacity = ImageSteganography.capacity(image, 1);
+		final AtomicLong read = new AtomicLong();
+		final InputStream endless = new InputStream()
+		{
+			@Override
+			public int read()
+			{
+				read.incrementAndGet();
+				return 0;
+			}
+
+			@Override
+			public int read(final byte[] bytes, final int offset, final int length)
+			{
+				read.addAndGet(length);
+				return length;
+			}
+		};
+		assertThrows(IllegalArgumentException.class,
+			() -> ImageSteganography.embed(image, endless, 1));
+		assertEquals(capacity + 1, read.get());
+	}
+}
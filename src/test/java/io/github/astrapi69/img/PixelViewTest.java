@@ -0,0 +1,138 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * The unit test class for the class {@link PixelView}
+ */
+class PixelViewTest
+{
+
+	/**
+	 * Test for method {@link PixelView#of(BufferedImage)} with the specialized and the generic
+	 * implementations that must give the same pixels as {@link BufferedImage#getRGB(int, int)} and
+	 * {@link BufferedImage#setRGB(int, int, int)}, also on subimages
+	 *
+	 * @param imageType
+	 *            the type of the image
+	 * @param viewClass
+	 *            the simple name of the expected implementation
+	 */
+	@ParameterizedTest
+	@CsvSource({ "2, IntArgb", "1, IntRgb", "5, ThreeByteBgr", "6, FourByteAbgr", "3, IntArgbPre",
+			"10, Generic", "4, Generic" })
+	void testOf(int imageType, String viewClass)
+	{
+		final BufferedImage image = RandomImageGenerator.generate(37, 23, imageType,
+			NoiseMode.UNIFORM_ARGB, 5L);
+		final BufferedImage expected = RandomImageGenerator.generate(37, 23, imageType,
+			NoiseMode.UNIFORM_ARGB, 5L);
+		final BufferedImage subimage = image.getSubimage(3, 4, 20, 10);
+		final PixelView view = PixelView.of(subimage);
+		assertEquals(viewClass, view.getClass().getSimpleName());
+		assertEquals(imageType == BufferedImage.TYPE_INT_ARGB_PRE, view.isPackedArgbPre());
+		assertEquals(20, view.getWidth());
+		assertEquals(10, view.getHeight());
+		for (int y = 0; y < 10; y++)
+		{
+			for (int x = 0; x < 20; x++)
+			{
+				assertEquals(subimage.getRGB(x, y), view.getArgb(x, y));
+			}
+		}
+		final int[] row = new int[22];
+		view.getRow(5, row, 2);
+		assertArrayEquals(subimage.getRGB(0, 5, 20, 1, null, 0, 20),
+			Arrays.copyOfRange(row, 2, 22));
+
+		for (int i = 0; i < row.length; i++)
+		{
+			row[i] = 0x80000000 | i * 0x0a0b0c;
+		}
+		view.setRow(7, row, 1);
+		view.setArgb(19, 9, 0x7f123456);
+		expected.getSubimage(3, 4, 20, 10).setRGB(0, 7, 20, 1, row, 1, 20);
+		expected.setRGB(3 + 19, 4 + 9, 0x7f123456);
+		assertArrayEquals(expected.getRGB(0, 0, 37, 23, null, 0, 37),
+			image.getRGB(0, 0, 37, 23, null, 0, 37));
+		assertArrayEquals(subimage.getRGB(0, 0, 20, 10, null, 0, 20), view.toArgbArray());
+	}
+
+	/**
+	 * Test for the backing array accessors of {@link PixelView}
+	 */
+	@Test
+	void testBackingArrays()
+	{
+		final BufferedImage image = new BufferedImage(10, 8, BufferedImage.TYPE_INT_ARGB);
+		final PixelView view = PixelView.of(image.getSubimage(2, 3, 4, 4));
+		assertNotNull(view.getIntData());
+		assertNull(view.getByteData());
+		assertEquals(3 * 10 + 2, view.getOffset());
+		assertEquals(10, view.getScanlineStride());
+		assertEquals(1, view.getPixelStride());
+		view.setArgb(0, 0, 0x12345678);
+		assertEquals(0x12345678, image.getRGB(2, 3));
+
+		final PixelView byteView = PixelView
+			.of(new BufferedImage(10, 8, BufferedImage.TYPE_3BYTE_BGR).getSubimage(1, 2, 4, 4));
+		assertNotNull(byteView.getByteData());
+		assertEquals(2 * 30 + 3, byteView.getOffset());
+		assertEquals(30, byteView.getScanlineStride());
+		assertEquals(3, byteView.getPixelStride());
+
+		final PixelView generic = PixelView
+			.of(new BufferedImage(4, 4, BufferedImage.TYPE_USHORT_GRAY));
+		assertNull(generic.getIntData());
+		assertEquals(-1, generic.getOffset());
+	}
+
+	/**
+	 * Test for the packed ARGB helpers of {@link PixelView}
+	 */
+	@Test
+	void testPackedArgb()
+	{
+		final int argb = PixelView.argb(0x12, 0x34, 0x56, 0x78);
+		assertEquals(0x12345678, argb);
+		assertEquals(0x12, PixelView.alpha(argb));
+		assertEquals(0x34, PixelView.red(argb));
+		assertEquals(0x56, PixelView.green(argb));
+		assertEquals(0x78, PixelView.blue(argb));
+		assertEquals(0xff000000, PixelView.argb(0x1ff, 0, 0, 0));
+	}
+}
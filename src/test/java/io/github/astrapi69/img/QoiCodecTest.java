@@ -0,0 +1,193 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import javax.imageio.IIOException;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.img.model.ImageInfo;
+import io.github.astrapi69.lang.ClassExtensions;
+
+/**
+ * The unit test class for the class {@link QoiCodec}
+ */
+class QoiCodecTest
+{
+
+	private static byte[] encode(final BufferedImage image) throws IOException
+	{
+		final ByteBufferImageOutputStream stream = new ByteBufferImageOutputStream();
+		QoiCodec.encode(image, stream);
+		return stream.toByteArray();
+	}
+
+	private static BufferedImage decode(final byte[] bytes) throws IOException
+	{
+		return QoiCodec.decode(new ByteBufferImageInputStream(ByteBuffer.wrap(bytes)));
+	}
+
+	private static int[] pixels(final BufferedImage image)
+	{
+		return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+	}
+
+	/**
+	 * Test for the round trip of the methods
+	 * {@link QoiCodec#encode(BufferedImage, javax.imageio.stream.ImageOutputStream)} and
+	 * {@link QoiCodec#decode( javax.imageio.stream.ImageInputStream)} with images that have an
+	 * alpha channel
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	void testRoundTripArgb() throws IOException
+	{
+		final BufferedImage image = ImageExtensions
+			.readQuietly(ClassExtensions.getResourceAsStream("img/xmas/bell.png"));
+		final byte[] bytes = encode(image);
+		assertEquals(4, bytes[12]);
+		final BufferedImage decoded = decode(bytes);
+		assertEquals(BufferedImage.TYPE_INT_ARGB, decoded.getType());
+		assertEquals(image.getWidth(), decoded.getWidth());
+		assertEquals(image.getHeight(), decoded.getHeight());
+		assertArrayEquals(pixels(image), pixels(decoded));
+	}
+
+	/**
+	 * Test for the round trip of the QOI codec with opaque images and random pixels that use all
+	 * operations of the format
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	void testRoundTripRgb() throws IOException
+	{
+		final BufferedImage image = ImageExtensions
+			.readQuietly(ClassExtensions.getResourceAsStream("img/xmas/key.png"));
+		final BufferedImage decoded = decode(encode(image));
+		assertEquals(BufferedImage.TYPE_INT_RGB, decoded.getType());
+		assertArrayEquals(pixels(image), pixels(decoded));
+
+		final SplittableRandom random = new SplittableRandom(42);
+		final BufferedImage noise = new BufferedImage(97, 61, BufferedImage.TYPE_INT_ARGB);
+		int pixel = 0;
+		for (int y = 0; y < noise.getHeight(); y++)
+		{
+			for (int x = 0; x < noise.getWidth(); x++)
+			{
+				switch (random.nextInt(4))
+				{
+					case 0 -> pixel = random.nextInt();
+					case 1 -> pixel += random.nextInt(5) - 2;
+					case 2 -> pixel = pixel & 0xff000000 | random.nextInt(0x1000000);
+					default -> {
+					}
+				}
+				noise.setRGB(x, y, pixel);
+			}
+		}
+		assertArrayEquals(pixels(noise), pixels(decode(encode(noise))));
+	}
+
+	/**
+	 * Test for method
+	 * {@link QoiCodec#encode(int[], int, int, int, int, int, javax.imageio.stream.ImageOutputStream)}
+	 * with a uniform image that is encoded in runs
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	void testEncodeRuns() throws IOException
+	{
+		final int[] pixels = new int[100 * 100];
+		Arrays.fill(pixels, 0xff336699);
+		final ByteBufferImageOutputStream stream = new ByteBufferImageOutputStream();
+		QoiCodec.encode(pixels, 0, 100, 100, 100, 3, stream);
+		final byte[] bytes = stream.toByteArray();
+		// header, one rgb pixel, 162 runs and the end marker
+		assertEquals(14 + 4 + 162 + 8, bytes.length);
+		assertTrue(Arrays.stream(pixels(decode(bytes))).allMatch(p -> p == 0xff336699));
+		assertThrows(IllegalArgumentException.class,
+			() -> QoiCodec.encode(pixels, 0, 100, 100, 100, 2, stream));
+	}
+
+	/**
+	 * Test for method {@link QoiCodec#decode(javax.imageio.stream.ImageInputStream)} with invalid
+	 * data
+	 */
+	@Test
+	void testDecodeInvalid()
+	{
+		assertThrows(IIOException.class,
+			() -> decode(new byte[] { 'q', 'o', 'i', 'x', 0, 0, 0, 1, 0, 0, 0, 1, 4, 0 }));
+		assertThrows(EOFException.class,
+			() -> decode(new byte[] { 'q', 'o', 'i', 'f', 0, 0, 0, 4, 0, 0, 0, 4, 4, 0 }));
+	}
+
+	/**
+	 * Test for the format name {@link QoiCodec#FORMAT_NAME} in the methods of
+	 * {@link ImageExtensions} and {@link ImageProbe}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	void testImageExtensions() throws IOException
+	{
+		final BufferedImage image = ImageExtensions
+			.readQuietly(ClassExtensions.getResourceAsStream("img/xmas/stars.png"));
+		final byte[] bytes = ImageExtensions.toByteArray(image, "QOI");
+		assertEquals(ImageFormat.QOI, ImageFormat.detect(bytes));
+		assertArrayEquals(pixels(image), pixels(ImageExtensions.read(bytes)));
+
+		final BufferedImage region = ImageExtensions.read(bytes, new Rectangle(10, 20, 101, 50), 2);
+		assertEquals(51, region.getWidth());
+		assertEquals(25, region.getHeight());
+		assertEquals(image.getRGB(10 + 2 * 7, 20 + 2 * 3), region.getRGB(7, 3));
+
+		final ImageInfo info = ImageProbe.probe(bytes);
+		assertEquals(QoiCodec.FORMAT_NAME, info.getFormatName());
+		assertEquals(image.getWidth(), info.getWidth());
+		assertEquals(image.getHeight(), info.getHeight());
+		assertTrue(info.isAlpha());
+	}
+}
@@ -0,0 +1,147 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * The unit test class for the class {@link RandomImageGenerator}
+ */
+class RandomImageGeneratorTest
+{
+
+	private static int[] pixels(final BufferedImage image)
+	{
+		return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+	}
+
+	/**
+	 * Test for method
+	 * {@link RandomImageGenerator#generate(int, int, int, NoiseMode, long, ForkJoinPool)} that the
+	 * same seed generates the same image at any count of threads
+	 *
+	 * @param imageType
+	 *            the type of the image
+	 */
+	@ParameterizedTest
+	@CsvSource({ "2", "1", "5", "6", "10", "13" })
+	void testGenerateDeterministic(int imageType)
+	{
+		final ForkJoinPool single = new ForkJoinPool(1);
+		final ForkJoinPool multiple = new ForkJoinPool(4);
+		try
+		{
+			for (final NoiseMode mode : NoiseMode.values())
+			{
+				final BufferedImage expected = RandomImageGenerator.generate(301, 207, imageType,
+					mode, 42L, single);
+				final BufferedImage actual = RandomImageGenerator.generate(301, 207, imageType,
+					mode, 42L, multiple);
+				assertEquals(imageType, actual.getType());
+				assertArrayEquals(pixels(expected), pixels(actual));
+			}
+			assertFalse(Arrays.equals(
+				pixels(
+					RandomImageGenerator.generate(64, 64, imageType, NoiseMode.UNIFORM_ARGB, 1L)),
+				pixels(
+					RandomImageGenerator.generate(64, 64, imageType, NoiseMode.UNIFORM_ARGB, 2L))));
+		}
+		finally
+		{
+			single.shutdown();
+			multiple.shutdown();
+		}
+	}
+
+	/**
+	 * Test for method {@link RandomImageGenerator#generate(int, int, int, NoiseMode, long)} with
+	 * the pixels of the noise modes
+	 *
+	 * @param mode
+	 *            the noise mode
+	 */
+	@ParameterizedTest
+	@EnumSource(NoiseMode.class)
+	void testGenerateModes(NoiseMode mode)
+	{
+		final int[] pixels = pixels(
+			RandomImageGenerator.generate(200, 100, BufferedImage.TYPE_INT_ARGB, mode, 7L));
+		switch (mode)
+		{
+			case GRAYSCALE :
+				assertTrue(Arrays.stream(pixels).allMatch(p -> p >>> 24 == 0xff
+					&& (p & 0xff) == ((p >> 8) & 0xff) && (p & 0xff) == ((p >> 16) & 0xff)));
+				assertTrue(Arrays.stream(pixels).distinct().count() > 200);
+				break;
+			case GRADIENT :
+				assertTrue(Arrays.stream(pixels).allMatch(p -> p >>> 24 == 0xff));
+				for (int y = 0; y < 100; y++)
+				{
+					for (int x = 1; x < 200; x++)
+					{
+						final int previous = pixels[y * 200 + x - 1];
+						final int current = pixels[y * 200 + x];
+						assertTrue(Math.abs((previous & 0xff) - (current & 0xff)) <= 2);
+					}
+				}
+				break;
+			default :
+				assertTrue(Arrays.stream(pixels).map(p -> p >>> 24).distinct().count() > 200);
+		}
+	}
+
+	/**
+	 * Test for method {@link RandomImageGenerator#generate(int, int, int, NoiseMode, long)} that
+	 * adjacent seeds generate images without common rows
+	 */
+	@Test
+	void testGenerateAdjacentSeeds()
+	{
+		final int[] first = pixels(RandomImageGenerator.generate(64, 64,
+			BufferedImage.TYPE_INT_ARGB, NoiseMode.UNIFORM_ARGB, 0L));
+		final int[] second = pixels(RandomImageGenerator.generate(64, 64,
+			BufferedImage.TYPE_INT_ARGB, NoiseMode.UNIFORM_ARGB, 1L));
+		for (int y = 0; y < 64; y++)
+		{
+			for (int other = 0; other < 64; other++)
+			{
+				assertFalse(
+					Arrays.equals(first, y * 64, y * 64 + 64, second, other * 64, other * 64 + 64));
+			}
+		}
+	}
+}
@@ -0,0 +1,186 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.img.kernel;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.awt.Color;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.color.ColorExtensions;
+import io.github.astrapi69.img.PixelView;
+
+/**
+ * The unit test class for the class {@link PixelKernel}
+ */
+class PixelKernelTest
+{
+
+	/** The count of pixels, that is no multiple of any vector length */
+	private static final int LENGTH = 1021;
+
+	/** The offset of the pixels in the arrays */
+	private static final int OFFSET = 3;
+
+	private static boolean isVectorAvailable()
+	{
+		return ModuleLayer.boot().findModule(PixelKernel.VECTOR_MODULE).isPresent()
+			&& VectorPixelKernel.isSupported();
+	}
+
+	private static int[] randomPixels(final long seed)
+	{
+		final SplittableRandom random = new SplittableRandom(seed);
+		final int[] pixels = new int[OFFSET + LENGTH];
+		for (int i = 0; i < pixels.length; i++)
+		{
+			pixels[i] = random.nextInt();
+		}
+		pixels[OFFSET] = 0x00FFFFFF;
+		pixels[OFFSET + 1] = 0xFFFFFFFF;
+		pixels[OFFSET + 2] = 0x01010101;
+		return pixels;
+	}
+
+	private static int[] premultipliedPixels(final long seed)
+	{
+		final int[] pixels = randomPixels(seed);
+		PixelKernel.scalar().premultiply(pixels, 0, pixels, 0, pixels.length);
+		return pixels;
+	}
+
+	private static void assertSameResults(final PixelKernel expected, final PixelKernel actual)
+	{
+		final int[] src = randomPixels(42);
+		final int[] premultiplied = premultipliedPixels(7);
+		int[] left = new int[LENGTH];
+		int[] right = new int[LENGTH];
+
+		expected.premultiply(src, OFFSET, left, 0, LENGTH);
+		actual.premultiply(src, OFFSET, right, 0, LENGTH);
+		assertArrayEquals(left, right);
+
+		expected.unpremultiply(premultiplied, OFFSET, left, 0, LENGTH);
+		actual.unpremultiply(premultiplied, OFFSET, right, 0, LENGTH);
+		assertArrayEquals(left, right);
+
+		expected.grayscale(src, OFFSET, left, 0, LENGTH);
+		actual.grayscale(src, OFFSET, right, 0, LENGTH);
+		assertArrayEquals(left, right);
+
+		expected.swapRedBlue(src, OFFSET, left, 0, LENGTH);
+		actual.swapRedBlue(src, OFFSET, right, 0, LENGTH);
+		assertArrayEquals(left, right);
+
+		expected.tint(src, OFFSET, left, 0, LENGTH, 0x3366CC, 0.6f);
+		actual.tint(src, OFFSET, right, 0, LENGTH, 0x3366CC, 0.6f);
+		assertArrayEquals(left, right);
+
+		left = premultipliedPixels(11);
+		right = left.clone();
+		expected.blend(premultiplied, OFFSET, left, OFFSET, LENGTH);
+		actual.blend(premultiplied, OFFSET, right, OFFSET, LENGTH);
+		assertArrayEquals(left, right);
+	}
+
+	/**
+	 * Test for method {@link PixelKernel#getDefault()}
+	 */
+	@Test
+	void testGetDefault()
+	{
+		assertFalse(PixelKernel.scalar().isVectorized());
+		assertEquals(isVectorAvailable(), PixelKernel.getDefault().isVectorized());
+	}
+
+	/**
+	 * Test for the scalar kernel against the scalar pixel operations of {@link PixelView} and
+	 * {@link ColorExtensions}
+	 */
+	@Test
+	void testScalar()
+	{
+		final PixelKernel kernel = PixelKernel.scalar();
+		final int[] src = randomPixels(42);
+		final int[] dst = new int[OFFSET + LENGTH];
+
+		kernel.premultiply(src, OFFSET, dst, OFFSET, LENGTH);
+		for (int i = OFFSET; i < dst.length; i++)
+		{
+			assertEquals(PixelView.premultiply(src[i]), dst[i]);
+		}
+		kernel.unpremultiply(dst, OFFSET, dst, OFFSET, LENGTH);
+		for (int i = OFFSET; i < dst.length; i++)
+		{
+			assertEquals(PixelView.unpremultiply(PixelView.premultiply(src[i])), dst[i]);
+		}
+		kernel.grayscale(src, OFFSET, dst, OFFSET, LENGTH);
+		for (int i = OFFSET; i < dst.length; i++)
+		{
+			assertEquals(ColorExtensions.toGray(src[i]), dst[i]);
+		}
+		kernel.swapRedBlue(src, OFFSET, dst, OFFSET, LENGTH);
+		for (int i = OFFSET; i < dst.length; i++)
+		{
+			assertEquals(PixelView.argb(PixelView.alpha(src[i]), PixelView.blue(src[i]),
+				PixelView.green(src[i]), PixelView.red(src[i])), dst[i]);
+		}
+		kernel.swapRedBlue(new int[] { 0x80123456 }, 0, dst, 0, 1);
+		assertEquals(0x80563412, dst[0]);
+
+		final float[] hsb = new float[3];
+		final float[] tint = Color.RGBtoHSB(0x33, 0x66, 0xCC, null);
+		kernel.tint(src, OFFSET, dst, OFFSET, LENGTH, 0x3366CC, 0.6f);
+		for (int i = OFFSET; i < dst.length; i++)
+		{
+			final int expected = ColorExtensions.tint(src[i], tint[0], tint[1], 0.6f, hsb);
+			assertEquals(expected >>> 24, dst[i] >>> 24);
+			assertTrue(Math.abs(PixelView.red(expected) - PixelView.red(dst[i])) <= 2);
+			assertTrue(Math.abs(PixelView.green(expected) - PixelView.green(dst[i])) <= 2);
+			assertTrue(Math.abs(PixelView.blue(expected) - PixelView.blue(dst[i])) <= 2);
+		}
+
+		final int[] background = { 0xFF0000FF, 0xFF0000FF, 0x00000000 };
+		kernel.blend(new int[] { 0x80800000, 0x00000000, 0x80408000 }, 0, background, 0, 3);
+		assertArrayEquals(new int[] { 0xFF80007F, 0xFF0000FF, 0x80408000 }, background);
+	}
+
+	/**
+	 * Test for the kernel on the Vector API against the scalar kernel
+	 */
+	@Test
+	void testVector()
+	{
+		assumeTrue(isVectorAvailable());
+		assertSameResults(PixelKernel.scalar(), new VectorPixelKernel());
+		assertSameResults(PixelKernel.scalar(), PixelKernel.getDefault());
+	}
+}
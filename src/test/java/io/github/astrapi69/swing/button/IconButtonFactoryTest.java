@@ -25,6 +25,8 @@
 package io.github.astrapi69.swing.button;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import javax.swing.Icon;
 import javax.swing.JButton;
@@ -33,6 +35,11 @@ import javax.swing.UIManager;
 import org.junit.jupiter.api.Test;
 import org.meanbean.test.BeanTester;
 
+import io.github.astrapi69.icon.IconVariants;
+import io.github.astrapi69.icon.ImageIconFactory;
+import io.github.astrapi69.icon.model.IconVariant;
+import io.github.astrapi69.swing.button.builder.JButtonInfo;
+
 /**
  * The unit test class for the class {@link IconButtonFactory}
  *
@@ -142,6 +149,35 @@ class IconButtonFactoryTest
 		assertNotNull(actual);
 	}
 
+	/**
+	 * Test for method {@link IconButtonFactory#newDerivedIconButton(Icon, String)}
+	 */
+	@Test
+	void testNewDerivedIconButton()
+	{
+		JButton actual;
+		Icon icon;
+		Icon selectedIcon;
+
+		icon = ImageIconFactory.newImageIcon("img/xmas/bell.png");
+		actual = IconButtonFactory.newDerivedIconButton(icon, "a tool tip");
+		assertSame(icon, actual.getIcon());
+		assertSame(IconVariants.derive(icon, IconVariant.ROLLOVER), actual.getRolloverIcon());
+		assertSame(IconVariants.derive(icon, IconVariant.PRESSED), actual.getPressedIcon());
+		assertSame(IconVariants.derive(icon, IconVariant.DISABLED), actual.getDisabledIcon());
+		assertSame(IconVariants.derive(icon, IconVariant.PRESSED), actual.getSelectedIcon());
+
+		selectedIcon = UIManager.getIcon("FileView.fileIcon");
+		actual = JButtonInfo.builder().icon(icon).selectedIcon(selectedIcon).deriveIcons(true)
+			.build().toJButton();
+		assertSame(selectedIcon, actual.getSelectedIcon());
+		assertSame(IconVariants.derive(icon, IconVariant.DISABLED), actual.getDisabledIcon());
+
+		actual = IconButtonFactory.newIconButton(icon);
+		assertNull(actual.getRolloverIcon());
+		assertNull(actual.getPressedIcon());
+	}
+
 	/**
 	 * Test method for {@link IconButtonFactory} with {@link BeanTester}
 	 */